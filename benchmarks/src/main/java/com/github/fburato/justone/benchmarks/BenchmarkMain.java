@@ -0,0 +1,28 @@
+package com.github.fburato.justone.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks jar. Accepts the JMH command line options and always enables the GC profiler,
+ * so that every benchmark reports the allocations per operation next to its timing.
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        final var commandLineOptions = new CommandLineOptions(args);
+        final var profilers = commandLineOptions.getProfilers();
+        final var options = new OptionsBuilder().parent(commandLineOptions);
+        if (profilers.stream().noneMatch(profiler -> profiler.getKlass().equals(GCProfiler.class.getName()))) {
+            options.addProfiler(GCProfiler.class);
+        }
+        new Runner(options.build()).run();
+    }
+}
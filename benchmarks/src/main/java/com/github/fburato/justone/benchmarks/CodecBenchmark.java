@@ -0,0 +1,98 @@
+package com.github.fburato.justone.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fburato.justone.io.BinaryModelCodecs;
+import com.github.fburato.justone.io.JsonEntityCodec;
+import com.github.fburato.justone.model.GameState;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.github.fburato.justone.benchmarks.Games.ENGINE;
+import static com.github.fburato.justone.benchmarks.Games.HOST;
+
+/**
+ * Encoding and decoding of a completed game with Jackson and with the binary codec of the model. The size of
+ * both encodings is reported by {@link #encodedSize} as the {@code jsonBytes} and {@code binaryBytes} counters;
+ * JMH sums counters across iterations, so a single measurement iteration is taken for it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CodecBenchmark {
+
+    @Param({"3", "8", "30"})
+    public int players;
+
+    @Param({"13", "100"})
+    public int words;
+
+    private final JsonEntityCodec<GameState> json = new JsonEntityCodec<>(new ObjectMapper().findAndRegisterModules(),
+                                                                          GameState.class);
+    private GameState gameState;
+    private byte[] jsonEncoded;
+    private byte[] binaryEncoded;
+
+    @Setup
+    public void setUp() {
+        final var created = Games.created("benchmark", players, words);
+        gameState = Games.playTurns(Games.orThrow(ENGINE.execute(created, Games.proceed(HOST))), words);
+        jsonEncoded = json.encode(gameState);
+        binaryEncoded = BinaryModelCodecs.GAME_STATE.encode(gameState);
+        if (!json.decode(jsonEncoded).equals(gameState)
+                || !BinaryModelCodecs.GAME_STATE.decode(binaryEncoded).equals(gameState)) {
+            throw new IllegalStateException("codecs do not round-trip the benchmark game");
+        }
+    }
+
+    @Benchmark
+    public byte[] encodeJson() {
+        return json.encode(gameState);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return BinaryModelCodecs.GAME_STATE.encode(gameState);
+    }
+
+    @Benchmark
+    public GameState decodeJson() {
+        return json.decode(jsonEncoded);
+    }
+
+    @Benchmark
+    public GameState decodeBinary() {
+        return BinaryModelCodecs.GAME_STATE.decode(binaryEncoded);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public void encodedSize(EncodedSize encodedSize) {
+        encodedSize.jsonBytes = json.encode(gameState).length;
+        encodedSize.binaryBytes = BinaryModelCodecs.GAME_STATE.encode(gameState).length;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EncodedSize {
+
+        public long jsonBytes;
+        public long binaryBytes;
+    }
+}
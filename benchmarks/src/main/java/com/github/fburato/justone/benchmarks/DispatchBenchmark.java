@@ -0,0 +1,83 @@
+package com.github.fburato.justone.benchmarks;
+
+import com.github.fburato.justone.game.engine.LegacyDispatch;
+import com.github.fburato.justone.model.Action;
+import com.github.fburato.justone.model.GameState;
+import com.github.fburato.justone.model.TurnRole;
+import io.vavr.control.Try;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.github.fburato.justone.benchmarks.Games.ENGINE;
+
+/**
+ * Dispatch of actions through the compiled transition table of the engine compared with the previous dispatch
+ * path. Run with {@code -prof gc} to compare the allocations of the two paths.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DispatchBenchmark {
+
+    private final LegacyDispatch legacyDispatch = new LegacyDispatch(ENGINE);
+
+    private GameState selection;
+    private GameState guessing;
+    private Action<String> hint;
+    private Action<String> guess;
+    private Action<Void> illegalProceed;
+
+    @Setup
+    public void setUp() {
+        selection = Games.playTurns(Games.started(8, 13), 1);
+        final var provider = Games.withRole(Games.currentTurn(selection), TurnRole.PROVIDER).get(0);
+        hint = Games.hint(provider, "benchmark");
+        illegalProceed = Games.proceed(provider);
+        guessing = Games.removeTurn(Games.provideAllHints(selection));
+        final var guesser = Games.withRole(Games.currentTurn(guessing), TurnRole.GUESSER).get(0);
+        guess = Games.guess(guesser, "benchmark");
+    }
+
+    @Benchmark
+    public Try<GameState> provideHintCompiled() {
+        return ENGINE.execute(selection, hint);
+    }
+
+    @Benchmark
+    public Try<GameState> provideHintLegacy() {
+        return legacyDispatch.execute(selection, hint);
+    }
+
+    @Benchmark
+    public Try<GameState> guessWordCompiled() {
+        return ENGINE.execute(guessing, guess);
+    }
+
+    @Benchmark
+    public Try<GameState> guessWordLegacy() {
+        return legacyDispatch.execute(guessing, guess);
+    }
+
+    @Benchmark
+    public Try<GameState> illegalActionCompiled() {
+        return ENGINE.execute(selection, illegalProceed);
+    }
+
+    @Benchmark
+    public Try<GameState> illegalActionLegacy() {
+        return legacyDispatch.execute(selection, illegalProceed);
+    }
+}
@@ -0,0 +1,150 @@
+package com.github.fburato.justone.benchmarks;
+
+import com.github.fburato.justone.game.engine.GameEvent;
+import com.github.fburato.justone.model.Action;
+import com.github.fburato.justone.model.GameState;
+import com.github.fburato.justone.model.TurnRole;
+import io.vavr.control.Try;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.fburato.justone.benchmarks.Games.ENGINE;
+import static com.github.fburato.justone.benchmarks.Games.HOST;
+
+/**
+ * Cost of {@link com.github.fburato.justone.game.engine.Engine#init} and of every transition of the engine,
+ * executed on the second to last turn of a game so that the whole history of the game is in the state. The
+ * {@code ForEvents} benchmarks run the same transitions through
+ * {@link com.github.fburato.justone.game.engine.Engine#executeForEvents}, which returns the events emitted by
+ * the transition without building the resulting state.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class EngineBenchmark {
+
+    @Param({"3", "8", "30", "100"})
+    public int players;
+
+    @Param({"13", "100", "1000"})
+    public int words;
+
+    private List<String> playerIds;
+    private List<String> wordsToGuess;
+    private GameState created;
+    private GameState selection;
+    private GameState lastHintMissing;
+    private GameState removal;
+    private GameState guessing;
+    private GameState conclusion;
+    private Action<String> hint;
+    private Action<String> lastHint;
+    private Action<String> removeHint;
+    private Action<Void> proceedToGuessing;
+    private Action<String> guess;
+    private Action<String> kick;
+
+    @Setup
+    public void setUp() {
+        playerIds = Games.playerIds(players);
+        wordsToGuess = Games.words(words);
+        created = Games.created("benchmark", players, words);
+        selection = Games.playTurns(Games.started(players, words), words - 2);
+
+        final var providers = Games.withRole(Games.currentTurn(selection), TurnRole.PROVIDER);
+        hint = Games.hint(providers.get(0), "benchmark");
+        kick = Games.kick(HOST, providers.get(0));
+        final var lastProvider = providers.get(providers.size() - 1);
+        lastHint = Games.hint(lastProvider, "hint-" + lastProvider);
+        lastHintMissing = selection;
+        for (final var provider : providers.subList(0, providers.size() - 1)) {
+            lastHintMissing = Games.orThrow(ENGINE.execute(lastHintMissing, Games.hint(provider, "hint-" + provider)));
+        }
+
+        removal = Games.orThrow(ENGINE.execute(lastHintMissing, lastHint));
+        final var remover = Games.withRole(Games.currentTurn(removal), TurnRole.REMOVER).get(0);
+        removeHint = Games.removeHint(remover, "hint-" + providers.get(0));
+        proceedToGuessing = Games.proceed(remover);
+
+        guessing = Games.removeTurn(removal);
+        final var guesser = Games.withRole(Games.currentTurn(guessing), TurnRole.GUESSER).get(0);
+        guess = Games.guess(guesser, "benchmark");
+
+        conclusion = Games.guessTurn(guessing);
+    }
+
+    @Benchmark
+    public Try<GameState> init() {
+        return ENGINE.init("benchmark", HOST, playerIds, wordsToGuess);
+    }
+
+    @Benchmark
+    public Try<GameState> startGame() {
+        return ENGINE.execute(created, Games.proceed(HOST));
+    }
+
+    @Benchmark
+    public Try<GameState> provideHint() {
+        return ENGINE.execute(selection, hint);
+    }
+
+    @Benchmark
+    public Try<GameState> provideLastHint() {
+        return ENGINE.execute(lastHintMissing, lastHint);
+    }
+
+    @Benchmark
+    public Try<GameState> removeHint() {
+        return ENGINE.execute(removal, removeHint);
+    }
+
+    @Benchmark
+    public Try<GameState> proceedToGuessing() {
+        return ENGINE.execute(removal, proceedToGuessing);
+    }
+
+    @Benchmark
+    public Try<GameState> guessWord() {
+        return ENGINE.execute(guessing, guess);
+    }
+
+    @Benchmark
+    public Try<GameState> concludeTurn() {
+        return ENGINE.execute(conclusion, Games.proceed(HOST));
+    }
+
+    @Benchmark
+    public Try<GameState> kickPlayer() {
+        return ENGINE.execute(selection, kick);
+    }
+
+    @Benchmark
+    public Try<List<GameEvent>> provideHintForEvents() {
+        return ENGINE.executeForEvents(selection, hint);
+    }
+
+    @Benchmark
+    public Try<List<GameEvent>> guessWordForEvents() {
+        return ENGINE.executeForEvents(guessing, guess);
+    }
+
+    @Benchmark
+    public Try<List<GameEvent>> concludeTurnForEvents() {
+        return ENGINE.executeForEvents(conclusion, Games.proceed(HOST));
+    }
+}
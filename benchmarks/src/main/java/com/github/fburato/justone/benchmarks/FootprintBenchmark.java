@@ -0,0 +1,69 @@
+package com.github.fburato.justone.benchmarks;
+
+import com.github.fburato.justone.model.GameState;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.fburato.justone.benchmarks.Games.ENGINE;
+import static com.github.fburato.justone.benchmarks.Games.HOST;
+
+/**
+ * Heap retained by completed games, reported as the {@code bytesPerGame} counter. Every invocation plays
+ * {@link #GAMES} games, keeps them reachable and measures the used heap after a full collection before and after
+ * playing them. JMH sums counters across iterations, so a single measurement iteration is taken.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "-Xmx4g"})
+@Warmup(iterations = 1)
+@Measurement(iterations = 1)
+public class FootprintBenchmark {
+
+    private static final int GAMES = 200;
+
+    @Param({"3", "8", "30", "100"})
+    public int players;
+
+    @Param({"13", "100"})
+    public int words;
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; ++i) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    @Benchmark
+    public GameState[] residentGames(Footprint footprint) {
+        final var before = usedHeap();
+        final var games = new GameState[GAMES];
+        for (int i = 0; i < GAMES; ++i) {
+            final var created = Games.created("game-" + i, players, words);
+            games[i] = Games.playTurns(Games.orThrow(ENGINE.execute(created, Games.proceed(HOST))), words);
+        }
+        final var after = usedHeap();
+        footprint.bytesPerGame = (after - before) / GAMES;
+        return games;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+
+        public long bytesPerGame;
+    }
+}
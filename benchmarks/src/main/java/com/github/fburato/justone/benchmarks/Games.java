@@ -0,0 +1,114 @@
+package com.github.fburato.justone.benchmarks;
+
+import com.github.fburato.justone.game.engine.ActionCompiler;
+import com.github.fburato.justone.game.engine.Engine;
+import com.github.fburato.justone.model.Action;
+import com.github.fburato.justone.model.GameState;
+import com.github.fburato.justone.model.Turn;
+import com.github.fburato.justone.model.TurnAction;
+import com.github.fburato.justone.model.TurnPlayer;
+import com.github.fburato.justone.model.TurnRole;
+import io.vavr.control.Try;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Fixtures shared by the benchmarks: deterministic games played through the public {@link Engine} API.
+ */
+final class Games {
+
+    static final Engine ENGINE = new Engine(ActionCompiler.DEFAULT_ACTION_COMPILER);
+    static final String HOST = "player-0";
+
+    private Games() {
+    }
+
+    static List<String> playerIds(int players) {
+        return IntStream.range(0, players)
+                        .mapToObj(i -> "player-" + i)
+                        .toList();
+    }
+
+    static List<String> words(int words) {
+        return IntStream.range(0, words)
+                        .mapToObj(i -> "word-" + i)
+                        .toList();
+    }
+
+    static GameState created(String id, int players, int words) {
+        return orThrow(ENGINE.init(id, HOST, playerIds(players), words(words)));
+    }
+
+    static GameState started(int players, int words) {
+        return orThrow(ENGINE.execute(created("benchmark", players, words), proceed(HOST)));
+    }
+
+    static GameState playTurns(GameState gameState, int turns) {
+        var current = gameState;
+        for (int i = 0; i < turns; ++i) {
+            current = playTurn(current);
+        }
+        return current;
+    }
+
+    static GameState playTurn(GameState gameState) {
+        return concludeTurn(guessTurn(removeTurn(provideAllHints(gameState))));
+    }
+
+    static GameState provideAllHints(GameState gameState) {
+        var current = gameState;
+        for (final var provider : withRole(currentTurn(gameState), TurnRole.PROVIDER)) {
+            current = orThrow(ENGINE.execute(current, hint(provider, "hint-" + provider)));
+        }
+        return current;
+    }
+
+    static GameState removeTurn(GameState gameState) {
+        return orThrow(ENGINE.execute(gameState, proceed(withRole(currentTurn(gameState), TurnRole.REMOVER).get(0))));
+    }
+
+    static GameState guessTurn(GameState gameState) {
+        final var guesser = withRole(currentTurn(gameState), TurnRole.GUESSER).get(0);
+        return orThrow(ENGINE.execute(gameState, guess(guesser, gameState.wordsToGuess().get(gameState.currentTurn()))));
+    }
+
+    static GameState concludeTurn(GameState gameState) {
+        return orThrow(ENGINE.execute(gameState, proceed(HOST)));
+    }
+
+    static Turn currentTurn(GameState gameState) {
+        return gameState.turns().get(gameState.currentTurn());
+    }
+
+    static List<String> withRole(Turn turn, TurnRole turnRole) {
+        return turn.players().stream()
+                   .filter(tp -> tp.roles().contains(turnRole))
+                   .map(TurnPlayer::playerId)
+                   .toList();
+    }
+
+    static Action<Void> proceed(String playerId) {
+        return new Action<>(playerId, TurnAction.PROCEED, Void.class, null);
+    }
+
+    static Action<String> hint(String playerId, String hint) {
+        return new Action<>(playerId, TurnAction.PROVIDE_HINT, String.class, hint);
+    }
+
+    static Action<String> guess(String playerId, String guess) {
+        return new Action<>(playerId, TurnAction.GUESS_WORD, String.class, guess);
+    }
+
+    static Action<String> removeHint(String playerId, String hint) {
+        return new Action<>(playerId, TurnAction.REMOVE_HINT, String.class, hint);
+    }
+
+    static Action<String> kick(String playerId, String kicked) {
+        return new Action<>(playerId, TurnAction.KICK_PLAYER, String.class, kicked);
+    }
+
+    static GameState orThrow(Try<GameState> tryState) {
+        return tryState.getOrElseThrow(t -> new IllegalStateException("benchmark fixture failed", t));
+    }
+}
@@ -0,0 +1,51 @@
+package com.github.fburato.justone.benchmarks;
+
+import com.github.fburato.justone.model.GameState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.github.fburato.justone.benchmarks.Games.ENGINE;
+import static com.github.fburato.justone.benchmarks.Games.HOST;
+
+/**
+ * Cost of playing a whole game, from the first turn to the conclusion of the game, with every provider giving
+ * a hint on every turn.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PlaythroughBenchmark {
+
+    @Param({"3", "8", "30", "100"})
+    public int players;
+
+    @Param({"13", "100", "1000"})
+    public int words;
+
+    private GameState created;
+
+    @Setup
+    public void setUp() {
+        created = Games.created("benchmark", players, words);
+    }
+
+    @Benchmark
+    public GameState playGame() {
+        final var started = Games.orThrow(ENGINE.execute(created, Games.proceed(HOST)));
+        return Games.playTurns(started, words);
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.fburato.justone.benchmarks;
+
+import com.github.fburato.justone.model.Action;
+import com.github.fburato.justone.model.GameState;
+import com.github.fburato.justone.model.TurnRole;
+import io.vavr.control.Try;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.github.fburato.justone.benchmarks.Games.ENGINE;
+
+/**
+ * Throughput of the engine on a selection turn when half of the actions are rejected: hints sent by the
+ * guesser, who is not a provider, alternate with hints sent by a provider.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RejectionBenchmark {
+
+    private GameState selection;
+    private Action<String> accepted;
+    private Action<String> rejected;
+
+    @Setup
+    public void setUp() {
+        selection = Games.started(8, 13);
+        final var turn = Games.currentTurn(selection);
+        accepted = Games.hint(Games.withRole(turn, TurnRole.PROVIDER).get(0), "benchmark");
+        rejected = Games.hint(Games.withRole(turn, TurnRole.GUESSER).get(0), "benchmark");
+    }
+
+    @Benchmark
+    public Try<GameState> accepted() {
+        return ENGINE.execute(selection, accepted);
+    }
+
+    @Benchmark
+    public Try<GameState> rejected() {
+        return ENGINE.execute(selection, rejected);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public void halfRejected(Blackhole blackhole) {
+        blackhole.consume(ENGINE.execute(selection, accepted));
+        blackhole.consume(ENGINE.execute(selection, rejected));
+    }
+}
@@ -0,0 +1,62 @@
+package com.github.fburato.justone.benchmarks;
+
+import com.github.fburato.justone.model.Action;
+import com.github.fburato.justone.model.GameState;
+import com.github.fburato.justone.model.TurnRole;
+import io.vavr.control.Try;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.github.fburato.justone.benchmarks.Games.ENGINE;
+
+/**
+ * Cost of a single action on the last turn of games of increasing length. With the turn history shared
+ * structurally between states, the cost should stay flat as the number of turns grows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TurnHistoryBenchmark {
+
+    @Param({"13", "100", "1000"})
+    public int turns;
+
+    private GameState selection;
+    private GameState guessing;
+    private Action<String> hint;
+    private Action<String> guess;
+
+    @Setup
+    public void setUp() {
+        selection = Games.playTurns(Games.started(8, turns), turns - 1);
+        final var provider = Games.withRole(Games.currentTurn(selection), TurnRole.PROVIDER).get(0);
+        hint = Games.hint(provider, "benchmark");
+        guessing = Games.removeTurn(Games.provideAllHints(selection));
+        final var guesser = Games.withRole(Games.currentTurn(guessing), TurnRole.GUESSER).get(0);
+        guess = Games.guess(guesser, "benchmark");
+    }
+
+    @Benchmark
+    public Try<GameState> provideHint() {
+        return ENGINE.execute(selection, hint);
+    }
+
+    @Benchmark
+    public Try<GameState> guessWord() {
+        return ENGINE.execute(guessing, guess);
+    }
+}
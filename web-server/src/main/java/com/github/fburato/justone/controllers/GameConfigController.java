@@ -38,6 +38,7 @@ public class GameConfigController {
                         .add(createGameConfig())
                         .add(updateGameConfig())
                         .add(deleteGameConfig())
+                        .add(getGameConfigsByHost())
                         .build())
                 .build();
     }
@@ -92,6 +93,12 @@ public class GameConfigController {
         });
     }
 
+    private RouterFunction<ServerResponse> getGameConfigsByHost() {
+        return route(GET("/configs/host/{host}"), req -> gameConfigService
+                .getGameConfigsByHost(req.pathVariable("host"))
+                .collectList()
+                .flatMap(gameConfigs -> ok().body(BodyInserters.fromValue(gameConfigs))));
+    }
 
     public record CreateGameConfigRequest(String host, String languageId, List<String> wordPackNames) {
     }
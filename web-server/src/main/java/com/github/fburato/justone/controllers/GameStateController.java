@@ -1,16 +1,30 @@
 package com.github.fburato.justone.controllers;
 
 import com.github.fburato.justone.controllers.validation.EntityValidator;
+import com.github.fburato.justone.dtos.ActionResultDTO;
+import com.github.fburato.justone.dtos.BatchResultDTO;
 import com.github.fburato.justone.dtos.ErrorDTO;
+import com.github.fburato.justone.dtos.gamestates.GameStateSummaryDTO;
+import com.github.fburato.justone.dtos.gamestates.PlayerDTO;
+import com.github.fburato.justone.dtos.gamestates.WordsDTO;
+import com.github.fburato.justone.game.engine.BatchExecution;
+import com.github.fburato.justone.game.errors.EngineException;
+import com.github.fburato.justone.game.errors.ErrorCode;
 import com.github.fburato.justone.model.GameState;
+import com.github.fburato.justone.model.GameStateSummary;
+import com.github.fburato.justone.model.GameStatus;
 import com.github.fburato.justone.services.GameStateService;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.springframework.web.reactive.function.server.RequestPredicates.*;
 import static org.springframework.web.reactive.function.server.RouterFunctions.route;
@@ -31,8 +45,14 @@ public class GameStateController {
         return route()
                 .nest(path("/games"), () -> route()
                         .add(getGameState())
+                        .add(getGameStateSummary())
+                        .add(getGameStateSummaries())
+                        .add(getGameStateSummariesByStatus())
+                        .add(getGameStateSummariesByPlayer())
                         .add(createGame())
                         .add(executeAction())
+                        .add(executeActions())
+                        .add(validateAction())
                         .add(deleteState())
                         .build())
                 .build();
@@ -46,6 +66,59 @@ public class GameStateController {
         });
     }
 
+    private RouterFunction<ServerResponse> getGameStateSummary() {
+        return route(GET("/{id}/summary"), req -> {
+            final var id = req.pathVariable("id");
+            return gameStateService.getGameStateSummary(id)
+                    .flatMap(maybeSummary -> maybeSummary
+                            .map(summary -> ok()
+                                    .body(BodyInserters.fromValue(toSummaryDTO(summary))))
+                            .orElseGet(() -> toServerResponse(id, Optional.empty())));
+        });
+    }
+
+    private RouterFunction<ServerResponse> getGameStateSummaries() {
+        return route(GET("/summaries"), req -> toSummariesResponse(gameStateService.getAllGameStateSummaries()));
+    }
+
+    private RouterFunction<ServerResponse> getGameStateSummariesByStatus() {
+        return route(GET("/summaries/status/{status}"), req -> {
+            final var status = req.pathVariable("status");
+            final var gameStatus = Arrays.stream(GameStatus.values())
+                    .filter(value -> value.name().equals(status))
+                    .findFirst();
+            if (gameStatus.isEmpty()) {
+                return status(HttpStatus.BAD_REQUEST)
+                        .body(BodyInserters.fromValue(new ErrorDTO(String.format(
+                                "status='%s' should be one of %s", status, Arrays.toString(GameStatus.values())))));
+            }
+            return toSummariesResponse(gameStateService.getGameStateSummariesByStatus(gameStatus.get()));
+        });
+    }
+
+    private RouterFunction<ServerResponse> getGameStateSummariesByPlayer() {
+        return route(GET("/summaries/player/{playerId}"), req ->
+                toSummariesResponse(gameStateService.getGameStateSummariesByPlayer(req.pathVariable("playerId"))));
+    }
+
+    private Mono<ServerResponse> toSummariesResponse(Flux<GameStateSummary> summaries) {
+        return summaries
+                .map(this::toSummaryDTO)
+                .collectList()
+                .flatMap(summaryDTOs -> ok()
+                        .body(BodyInserters.fromValue(summaryDTOs)));
+    }
+
+    private GameStateSummaryDTO toSummaryDTO(GameStateSummary summary) {
+        return new GameStateSummaryDTO(
+                summary.id(),
+                summary.status(),
+                summary.players().stream()
+                        .map(player -> new PlayerDTO(player.id(), player.playerRole()))
+                        .toList(),
+                new WordsDTO(summary.words().remaining(), summary.words().correct(), summary.words().wrong()));
+    }
+
     private Mono<ServerResponse> toServerResponse(String id, Optional<GameState> maybeGameState) {
         return maybeGameState
                 .map(gameState -> ok()
@@ -75,6 +148,60 @@ public class GameStateController {
         });
     }
 
+    private RouterFunction<ServerResponse> executeActions() {
+        return route(PUT("/{id}/state/batch"), req -> {
+            final var id = req.pathVariable("id");
+            final var batch = entityValidator.parseBodyAndValidate(req, GameStateService.BatchActionRequest.class);
+            return batch.flatMap(bar -> gameStateService.executeActions(id, bar)
+                    .flatMap(maybeExecution -> maybeExecution
+                            .map(execution -> ok()
+                                    .body(BodyInserters.fromValue(toBatchResult(execution))))
+                            .orElseGet(() -> toServerResponse(id, Optional.empty()))));
+        });
+    }
+
+    private RouterFunction<ServerResponse> validateAction() {
+        return route(POST("/{id}/state/validate"), req -> {
+            final var id = req.pathVariable("id");
+            final var action = entityValidator.parseBodyAndValidate(req, GameStateService.ActionRequest.class);
+            return action.flatMap(ar -> gameStateService.validateAction(id, ar)
+                    .flatMap(maybeErrorCodes -> maybeErrorCodes
+                            .map(errorCodes -> ok()
+                                    .body(BodyInserters.fromValue(toActionResult(errorCodes))))
+                            .orElseGet(() -> toServerResponse(id, Optional.empty()))));
+        });
+    }
+
+    private ActionResultDTO toActionResult(List<ErrorCode> errorCodes) {
+        if (errorCodes.isEmpty()) {
+            return new ActionResultDTO(true, null);
+        }
+        return new ActionResultDTO(false, new ErrorDTO(
+                errorCodes.stream()
+                        .map(ErrorCode::name)
+                        .collect(Collectors.joining(", ")),
+                errorCodes.stream()
+                        .map(ErrorCode::code)
+                        .toList()));
+    }
+
+    private BatchResultDTO toBatchResult(BatchExecution batchExecution) {
+        return new BatchResultDTO(batchExecution.gameState(), batchExecution.results().stream()
+                .map(result -> result.isSuccess()
+                        ? new ActionResultDTO(true, null)
+                        : new ActionResultDTO(false, toError(result.getCause())))
+                .toList());
+    }
+
+    private ErrorDTO toError(Throwable throwable) {
+        if (throwable instanceof EngineException engineException) {
+            return new ErrorDTO(engineException.getMessage(), engineException.errorCodes().stream()
+                    .map(ErrorCode::code)
+                    .toList());
+        }
+        return new ErrorDTO(String.valueOf(throwable.getMessage()));
+    }
+
     private RouterFunction<ServerResponse> deleteState() {
         return route(DELETE("/{id}/state"), req -> {
             final var id = req.pathVariable("id");
@@ -1,5 +1,6 @@
 package com.github.fburato.justone.controllers.validation;
 
+import com.github.fburato.justone.model.Language;
 import io.vavr.collection.Seq;
 import io.vavr.control.Validation;
 import org.apache.commons.lang3.StringUtils;
@@ -39,6 +40,14 @@ class BaseValidators {
         return Validation.valid(trimmed);
     }
 
+    static Validation<Seq<String>, String> optionalLanguageId(String value, String fieldName) {
+        final var trimmed = StringUtils.stripToNull(value);
+        if (trimmed != null && !Language.isKnownId(trimmed)) {
+            return Validation.invalid(io.vavr.collection.List.of(String.format("%s='%s' is not the id of a known language", fieldName, value)));
+        }
+        return Validation.valid(trimmed);
+    }
+
     static <T> Validation<Seq<String>, T> notNull(T value, String fieldName) {
         if (value == null) {
             return Validation.invalid(io.vavr.collection.List.of(String.format("%s should not be null", fieldName)));
@@ -0,0 +1,58 @@
+package com.github.fburato.justone.controllers.validation;
+
+import com.github.fburato.justone.game.engine.BatchMode;
+import com.github.fburato.justone.services.GameStateService;
+import io.vavr.collection.Seq;
+import io.vavr.control.Validation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+public class BatchActionRequestValidator implements EntityValidator.Validator<GameStateService.BatchActionRequest> {
+
+    private final ActionRequestValidator actionRequestValidator = new ActionRequestValidator();
+
+    @Override
+    public Class<GameStateService.BatchActionRequest> validatorType() {
+        return GameStateService.BatchActionRequest.class;
+    }
+
+    @Override
+    public Validation<List<String>, GameStateService.BatchActionRequest> validate(
+            GameStateService.BatchActionRequest value) {
+        return Validation.combine(
+                        actions(value.actions()),
+                        Validation.<Seq<String>, BatchMode>valid(
+                                value.batchMode() == null ? BatchMode.ALL_OR_NOTHING : value.batchMode()))
+                .ap(GameStateService.BatchActionRequest::new)
+                .mapError(s -> s.flatMap(Function.identity()).asJava());
+    }
+
+    private Validation<Seq<String>, List<GameStateService.ActionRequest>> actions(
+            List<GameStateService.ActionRequest> actions) {
+        if (actions == null || actions.isEmpty()) {
+            return Validation.invalid(io.vavr.collection.List.of(
+                    String.format("actions=%s should be a non-empty list", actions)));
+        }
+        final List<String> errors = new ArrayList<>();
+        final List<GameStateService.ActionRequest> validActions = new ArrayList<>(actions.size());
+        for (int i = 0; i < actions.size(); ++i) {
+            if (actions.get(i) == null) {
+                errors.add(String.format("actions[%d] should not be null", i));
+                continue;
+            }
+            final var validation = actionRequestValidator.validate(actions.get(i));
+            if (validation.isValid()) {
+                validActions.add(validation.get());
+            } else {
+                final var index = i;
+                validation.getError().forEach(error -> errors.add(String.format("actions[%d]: %s", index, error)));
+            }
+        }
+        if (errors.isEmpty()) {
+            return Validation.valid(validActions);
+        }
+        return Validation.invalid(io.vavr.collection.List.ofAll(errors));
+    }
+}
@@ -8,6 +8,7 @@ import java.util.function.Function;
 
 import static com.github.fburato.justone.controllers.validation.BaseValidators.nonEmptyList;
 import static com.github.fburato.justone.controllers.validation.BaseValidators.notBlankStrippedString;
+import static com.github.fburato.justone.controllers.validation.BaseValidators.optionalLanguageId;
 
 public class CreateStateRequestValidator implements EntityValidator.Validator<GameStateService.CreateStateRequest> {
     @Override
@@ -20,7 +21,8 @@ public class CreateStateRequestValidator implements EntityValidator.Validator<Ga
         return Validation.combine(
                         notBlankStrippedString(value.host(), "host"),
                         nonEmptyList(value.players(), "players"),
-                        nonEmptyList(value.wordsToGuess(), "wordsToGuess"))
+                        nonEmptyList(value.wordsToGuess(), "wordsToGuess"),
+                        optionalLanguageId(value.languageId(), "languageId"))
                 .ap(GameStateService.CreateStateRequest::new)
                 .mapError(s -> s.flatMap(Function.identity()).asJava());
     }
@@ -0,0 +1,4 @@
+package com.github.fburato.justone.dtos;
+
+public record ActionResultDTO(boolean success, ErrorDTO error) {
+}
@@ -0,0 +1,8 @@
+package com.github.fburato.justone.dtos;
+
+import com.github.fburato.justone.model.GameState;
+
+import java.util.List;
+
+public record BatchResultDTO(GameState gameState, List<ActionResultDTO> results) {
+}
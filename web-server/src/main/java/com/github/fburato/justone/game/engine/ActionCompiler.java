@@ -3,6 +3,7 @@ package com.github.fburato.justone.game.engine;
 import com.github.fburato.justone.game.errors.ErrorCode;
 import com.github.fburato.justone.game.errors.InvalidActionException;
 import com.github.fburato.justone.model.Action;
+import com.github.fburato.justone.model.TurnAction;
 import io.vavr.control.Try;
 
 import java.util.ArrayList;
@@ -11,27 +12,34 @@ import java.util.List;
 public interface ActionCompiler {
 
     ActionCompiler DEFAULT_ACTION_COMPILER = new ActionCompiler() {
+        private final Class<?>[] payloadTypes = payloadTypes();
+
+        private Class<?>[] payloadTypes() {
+            final var actions = TurnAction.values();
+            final var types = new Class<?>[actions.length];
+            for (final var action : actions) {
+                types[action.ordinal()] = switch (action) {
+                    case PROCEED, CANCEL_GAME, CANCEL_PROVIDED_HINT, UNDO -> Void.class;
+                    default -> String.class;
+                };
+            }
+            return types;
+        }
+
         @Override
         public <T> Try<Action<T>> compile(Action<T> action) {
+            final boolean payloadTypeMismatch = !(action.payload() == null && action.payloadType() == Void.class)
+                    && !action.payloadType().isInstance(action.payload());
+            final boolean invalidPayload = action.payloadType() != payloadTypes[action.playerAction().ordinal()];
+            if (!payloadTypeMismatch && !invalidPayload) {
+                return Try.success(action);
+            }
             final List<ErrorCode> errors = new ArrayList<>();
-            if (!(action.payload() == null && action.payloadType() == Void.class)
-                    && !action.payloadType().isInstance(action.payload())) {
+            if (payloadTypeMismatch) {
                 errors.add(ErrorCode.PAYLOAD_TYPE_MISMATCH);
             }
-            switch (action.playerAction()) {
-                case PROCEED, CANCEL_GAME, CANCEL_PROVIDED_HINT -> {
-                    if (action.payloadType() != Void.class) {
-                        errors.add(ErrorCode.INVALID_PAYLOAD);
-                    }
-                }
-                default -> {
-                    if (action.payloadType() != String.class) {
-                        errors.add(ErrorCode.INVALID_PAYLOAD);
-                    }
-                }
-            }
-            if (errors.size() == 0) {
-                return Try.success(action);
+            if (invalidPayload) {
+                errors.add(ErrorCode.INVALID_PAYLOAD);
             }
             return Try.failure(new InvalidActionException(errors.toArray(ErrorCode[]::new)));
         }
@@ -0,0 +1,17 @@
+package com.github.fburato.justone.game.engine;
+
+import com.github.fburato.justone.model.GameState;
+import io.vavr.control.Try;
+
+import java.util.List;
+
+/**
+ * Outcome of a batch of actions: the state committed by the batch and the result of every action executed, in
+ * order. The results stop at the first failed action.
+ */
+public record BatchExecution(GameState gameState, List<Try<GameState>> results) {
+
+    public boolean succeeded() {
+        return results.stream().allMatch(Try::isSuccess);
+    }
+}
@@ -0,0 +1,16 @@
+package com.github.fburato.justone.game.engine;
+
+/**
+ * How a batch of actions is committed when one of the actions fails. In both modes the actions following a
+ * failed action are not executed.
+ */
+public enum BatchMode {
+    /**
+     * The state is left unchanged if any of the actions fails.
+     */
+    ALL_OR_NOTHING,
+    /**
+     * The state reflects the actions executed successfully before the first failure.
+     */
+    STOP_AT_FIRST_FAILURE
+}
@@ -0,0 +1,70 @@
+package com.github.fburato.justone.game.engine;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Predicates compiled for the words to guess, e.g. the matchers of a {@link GuessEvaluator} or the checkers of a
+ * {@link HintChecker}. A word is compiled the first time it is played and the predicate is shared by every turn
+ * and game playing the same word, whether the state was created by the engine or read back from a repository.
+ * <p>
+ * The predicates are kept in a bounded cache with two generations, like the normalised forms of a
+ * {@link FoldingHintNormaliser}.
+ */
+final class CompiledWords {
+
+    static final int DEFAULT_CACHE_SIZE = 16_384;
+
+    private final Function<String, ? extends Predicate<String>> compiler;
+    private final int generationSize;
+    private volatile Map<String, Predicate<String>> young = new ConcurrentHashMap<>();
+    private volatile Map<String, Predicate<String>> old = Map.of();
+
+    CompiledWords(Function<String, ? extends Predicate<String>> compiler) {
+        this(compiler, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * @param cacheSize the maximum number of compiled words kept
+     */
+    CompiledWords(Function<String, ? extends Predicate<String>> compiler, int cacheSize) {
+        if (cacheSize < 2) {
+            throw new IllegalArgumentException(String.format("cacheSize=%d should be at least 2", cacheSize));
+        }
+        this.compiler = compiler;
+        this.generationSize = cacheSize / 2;
+    }
+
+    /**
+     * @return the predicate compiled for the word
+     */
+    Predicate<String> of(String word) {
+        final var currentYoung = young;
+        var compiled = currentYoung.get(word);
+        if (compiled != null) {
+            return compiled;
+        }
+        compiled = old.get(word);
+        if (compiled == null) {
+            compiled = compiler.apply(word);
+        }
+        if (currentYoung.size() >= generationSize) {
+            promote(currentYoung);
+        }
+        young.put(word, compiled);
+        return compiled;
+    }
+
+    private synchronized void promote(Map<String, Predicate<String>> fullYoung) {
+        if (young == fullYoung) {
+            old = fullYoung;
+            young = new ConcurrentHashMap<>();
+        }
+    }
+
+    int cachedWords() {
+        return young.size() + old.size();
+    }
+}
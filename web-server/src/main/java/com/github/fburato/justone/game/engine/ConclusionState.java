@@ -5,96 +5,90 @@ import com.github.fburato.justone.game.errors.IllegalActionException;
 import com.github.fburato.justone.game.errors.InvalidStateException;
 import com.github.fburato.justone.model.Action;
 import com.github.fburato.justone.model.GameState;
-import com.github.fburato.justone.model.GameStatus;
+import com.github.fburato.justone.model.Players;
 import com.github.fburato.justone.model.Turn;
 import com.github.fburato.justone.model.TurnAction;
 import com.github.fburato.justone.model.TurnPhase;
-import com.github.fburato.justone.model.TurnPlayer;
+import com.github.fburato.justone.model.TurnPlayers;
 import com.github.fburato.justone.model.TurnRole;
 import io.vavr.control.Try;
 
-import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
-import java.util.stream.IntStream;
+import java.util.Set;
 
 import static com.github.fburato.justone.game.engine.Engine.hostOrRoot;
 
 class ConclusionState implements EngineState {
 
+    private static final Set<TurnAction> ACCEPTED_ACTIONS = EnumSet.of(TurnAction.PROCEED);
+
+    @Override
+    public Try<List<GameEvent>> events(GameState gameState, Action<?> action) {
+        final var check = check(gameState, action);
+        if (check.isFailure()) {
+            return Try.failure(check.getCause());
+        }
+        if (gameState.currentTurn() < gameState.wordsToGuess().size() - 1) {
+            return handleNonTerminal(gameState);
+        }
+        return handleTerminal();
+    }
+
     @Override
-    public Try<GameState> execute(GameState gameState, Action<?> action) {
+    public Try<Void> check(GameState gameState, Action<?> action) {
         final var turn = gameState.turns().get(gameState.currentTurn());
         if (turn.phase() != TurnPhase.CONCLUSION) {
-            return Try.failure(new InvalidStateException(ErrorCode.UNEXPECTED_TURN_PHASE));
+            return Try.failure(InvalidStateException.of(ErrorCode.UNEXPECTED_TURN_PHASE));
         }
         if (action.playerAction() != TurnAction.PROCEED) {
-            return Try.failure(new IllegalActionException(ErrorCode.ILLEGAL_ACTION));
+            return Try.failure(IllegalActionException.of(ErrorCode.ILLEGAL_ACTION));
         }
         if (!hostOrRoot(action.playerId(), gameState)) {
-            return Try.failure(new IllegalActionException(ErrorCode.UNAUTHORISED_ACTION));
+            return Try.failure(IllegalActionException.of(ErrorCode.UNAUTHORISED_ACTION));
         }
-        if (gameState.currentTurn() < gameState.wordsToGuess().size() - 1) {
-            return handleNonTerminal(gameState);
-        }
-        return handleTerminal(gameState);
+        return ALLOWED;
     }
 
-    private Try<GameState> handleNonTerminal(GameState gameState) {
-        final var turns = new ArrayList<>(gameState.turns());
+    @Override
+    public Set<TurnAction> acceptedActions() {
+        return ACCEPTED_ACTIONS;
+    }
+
+    private Try<List<GameEvent>> handleNonTerminal(GameState gameState) {
         final var currentTurn = gameState.currentTurn();
-        final var previousGuesser = gameState.turns().get(currentTurn)
-                                             .players().stream()
-                                             .filter(tp -> tp.roles().contains(TurnRole.GUESSER))
-                                             .findFirst()
-                                             .orElseThrow();
-        final var previousGuesserIndexInPlayers = IntStream.range(0, gameState.players().size())
-                                                           .filter(i -> gameState.players().get(i).id()
-                                                                                 .equals(previousGuesser.playerId()))
-                                                           .findFirst()
-                                                           .orElseThrow();
+        final var previousGuesser = TurnPlayers.of(gameState.turns().get(currentTurn).players())
+                                               .playersWithRole(TurnRole.GUESSER)
+                                               .get(0);
+        final var previousGuesserIndexInPlayers = Players.of(gameState.players()).positionOf(previousGuesser);
+        if (previousGuesserIndexInPlayers < 0) {
+            throw new NoSuchElementException(
+                    String.format("previous guesser %s is not a player of the game", previousGuesser));
+        }
         final var nextGuesserInPlayers = (previousGuesserIndexInPlayers + 1) % gameState.players().size();
         final var nextRemoverInPlayers = (nextGuesserInPlayers + 1) % gameState.players().size();
-        final var players = IntStream.range(0, gameState.players().size())
-                                     .mapToObj(i -> {
-                                         if (i == nextGuesserInPlayers) {
-                                             return new TurnPlayer(gameState.players().get(i).id(),
-                                                                   List.of(TurnRole.GUESSER));
-                                         } else if (i == nextRemoverInPlayers) {
-                                             return new TurnPlayer(gameState.players().get(i).id(),
-                                                                   List.of(TurnRole.REMOVER, TurnRole.PROVIDER));
-                                         } else {
-                                             return new TurnPlayer(gameState.players().get(i).id(),
-                                                                   List.of(TurnRole.PROVIDER));
-                                         }
-                                     }).toList();
-        turns.add(new Turn(
+        final var players = TurnPlayers.of(Players.of(gameState.players()), i -> {
+            if (i == nextGuesserInPlayers) {
+                return InitState.GUESSER_ROLES;
+            } else if (i == nextRemoverInPlayers) {
+                return InitState.REMOVER_ROLES;
+            }
+            return InitState.PROVIDER_ROLES;
+        });
+        return Try.success(List.of(new GameEvent.TurnStarted(new Turn(
                 TurnPhase.SELECTION,
                 List.of(),
                 List.of(),
                 List.of(),
                 Optional.empty(),
                 players
-        ));
-        return Try.success(new GameState(
-                gameState.id(),
-                GameStatus.IN_PROGRESS,
-                gameState.players(),
-                turns,
-                gameState.wordsToGuess(),
-                currentTurn + 1
-        ));
+        ))));
     }
 
-    private Try<GameState> handleTerminal(GameState gameState) {
-        return Try.success(new GameState(
-                gameState.id(),
-                GameStatus.CONCLUDED,
-                gameState.players(),
-                gameState.turns(),
-                gameState.wordsToGuess(),
-                gameState.currentTurn() + 1
-        ));
+    private Try<List<GameEvent>> handleTerminal() {
+        return Try.success(List.of(new GameEvent.GameConcluded()));
     }
 
 }
@@ -1,5 +1,6 @@
 package com.github.fburato.justone.game.engine;
 
+import com.github.fburato.justone.game.errors.EngineException;
 import com.github.fburato.justone.game.errors.ErrorCode;
 import com.github.fburato.justone.game.errors.IllegalActionException;
 import com.github.fburato.justone.game.errors.InvalidActionException;
@@ -9,51 +10,92 @@ import com.github.fburato.justone.model.GameState;
 import com.github.fburato.justone.model.GameStatus;
 import com.github.fburato.justone.model.Player;
 import com.github.fburato.justone.model.PlayerRole;
+import com.github.fburato.justone.model.Players;
+import com.github.fburato.justone.model.Turn;
 import com.github.fburato.justone.model.TurnAction;
 import com.github.fburato.justone.model.TurnPhase;
+import com.github.fburato.justone.model.Words;
 import io.vavr.control.Try;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
-
-import static com.github.fburato.justone.utils.StreamUtils.append;
 
 public class Engine {
 
     public static final String ROOT = "root";
     private static final EngineState UNKNOWN_STATE = new UnknownState();
     private final ActionCompiler actionCompiler;
-    private final Map<EngineStateType, EngineState> engineStateRegistry = Map.of(
-            EngineStateType.INIT, new InitState(),
-            EngineStateType.KICK, new KickState(),
-            EngineStateType.SELECTION, new SelectionState(),
-            EngineStateType.INVALID_CURRENT_TURN,
-            (gs, ac) -> Try.failure(new InvalidStateException(ErrorCode.INVALID_CURRENT_TURN)),
-            EngineStateType.REMOVAL, new RemovalState(),
-            EngineStateType.GUESS, new GuessingState(),
-            EngineStateType.CONCLUSION, new ConclusionState()
-    );
+    private final CompiledWords matchers;
+    private final TransitionTable transitionTable;
 
     public Engine(ActionCompiler actionCompiler) {
+        this(actionCompiler,
+             HintNormalisers.DEFAULT_HINT_NORMALISERS,
+             GuessEvaluator.DEFAULT_GUESS_EVALUATOR,
+             HintChecker.DEFAULT_HINT_CHECKER);
+    }
+
+    public Engine(ActionCompiler actionCompiler, HintNormaliser hintNormaliser) {
+        this(actionCompiler, hintNormaliser, GuessEvaluator.DEFAULT_GUESS_EVALUATOR);
+    }
+
+    public Engine(ActionCompiler actionCompiler, HintNormaliser hintNormaliser, GuessEvaluator guessEvaluator) {
+        this(actionCompiler, hintNormaliser, guessEvaluator, HintChecker.DEFAULT_HINT_CHECKER);
+    }
+
+    public Engine(ActionCompiler actionCompiler,
+                  HintNormaliser hintNormaliser,
+                  GuessEvaluator guessEvaluator,
+                  HintChecker hintChecker) {
+        this(actionCompiler, HintNormalisers.of(hintNormaliser), guessEvaluator, hintChecker);
+    }
+
+    /**
+     * @param hintNormalisers the normalisers of the hints of every game, chosen by the language of the game
+     */
+    public Engine(ActionCompiler actionCompiler,
+                  HintNormalisers hintNormalisers,
+                  GuessEvaluator guessEvaluator,
+                  HintChecker hintChecker) {
         this.actionCompiler = actionCompiler;
+        this.matchers = new CompiledWords(guessEvaluator::compile);
+        this.transitionTable = new TransitionTable(
+                Map.of(
+                        EngineStateType.INIT, new InitState(),
+                        EngineStateType.SELECTION, new SelectionState(hintNormalisers, hintChecker),
+                        EngineStateType.INVALID_CURRENT_TURN,
+                        (gs, ac) -> Try.failure(InvalidStateException.of(ErrorCode.INVALID_CURRENT_TURN)),
+                        EngineStateType.REMOVAL, new RemovalState(),
+                        EngineStateType.GUESS, new GuessingState(matchers),
+                        EngineStateType.CONCLUSION, new ConclusionState(),
+                        EngineStateType.UNKNOWN, UNKNOWN_STATE
+                ),
+                Map.of(
+                        TurnAction.CANCEL_GAME, new GameAction(this::handleCancel, this::checkCancel),
+                        TurnAction.ADMIT_PLAYER, new GameAction(this::handleAdmit, this::checkAdmit),
+                        TurnAction.KICK_PLAYER, new KickState()
+                ),
+                (gs, ac) -> Try.failure(IllegalActionException.of(ErrorCode.ILLEGAL_ACTION))
+        );
     }
 
     static boolean hostOrRoot(String playerId, GameState gameState) {
-        return Set.of(Engine.host(gameState), ROOT).contains(playerId);
+        final var host = Engine.host(gameState);
+        return ROOT.equals(playerId) || host.equals(playerId);
     }
 
     static String host(GameState gameState) {
-        return gameState.players().stream()
-                        .filter(p -> p.playerRole() == PlayerRole.HOST)
-                        .findFirst()
-                        .map(Player::id)
-                        .orElseThrow(() -> new IllegalStateException(
-                                String.format("gameState for gameId=%s does not contain host", gameState.id())));
+        final var host = Players.of(gameState.players()).hostId();
+        if (host == null) {
+            throw new IllegalStateException(
+                    String.format("gameState for gameId=%s does not contain host", gameState.id()));
+        }
+        return host;
     }
 
     public Try<GameState> init(
@@ -61,6 +103,46 @@ public class Engine {
             String hostPlayerId,
             List<String> playerIds,
             List<String> wordsToGuess
+    ) {
+        return init(id, hostPlayerId, playerIds, wordsToGuess, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Initialises a game as {@link #init(String, String, List, List)} does, normalising its hints with the rules
+     * of the language with the given id.
+     */
+    public Try<GameState> init(
+            String id,
+            String hostPlayerId,
+            List<String> playerIds,
+            List<String> wordsToGuess,
+            String languageId
+    ) {
+        return init(id, hostPlayerId, playerIds, wordsToGuess, ThreadLocalRandom.current().nextLong(), languageId);
+    }
+
+    /**
+     * Initialises a game as {@link #init(String, String, List, List)} does, using the given seed for all the
+     * random choices of the game. Games initialised with the same seed and receiving the same actions go through
+     * the same states.
+     */
+    public Try<GameState> init(
+            String id,
+            String hostPlayerId,
+            List<String> playerIds,
+            List<String> wordsToGuess,
+            long seed
+    ) {
+        return init(id, hostPlayerId, playerIds, wordsToGuess, seed, null);
+    }
+
+    public Try<GameState> init(
+            String id,
+            String hostPlayerId,
+            List<String> playerIds,
+            List<String> wordsToGuess,
+            long seed,
+            String languageId
     ) {
         final List<ErrorCode> errorCodes = new ArrayList<>();
         if (StringUtils.isBlank(id)) {
@@ -89,89 +171,209 @@ public class Engine {
                 correctPlayers,
                 List.of(),
                 wordsToGuess,
-                0
+                0,
+                seed,
+                Words.of(wordsToGuess.size()),
+                languageId
         ));
     }
 
-    @SuppressWarnings("unchecked")
-    public Try<GameState> execute(GameState gameState, Action<?> action) {
-        return actionCompiler.compile(action)
-                             .flatMapTry(validAction -> {
-                                 if (!allowedToRunActions(action.playerId(), gameState)) {
-                                     return Try.failure(new IllegalActionException(ErrorCode.ILLEGAL_ACTION));
-                                 }
-                                 if (action.playerAction() == TurnAction.CANCEL_GAME) {
-                                     return handleCancel(gameState, (Action<Void>) action);
-                                 }
-                                 if (action.playerAction() == TurnAction.ADMIT_PLAYER) {
-                                     return handleAdmit(gameState, (Action<String>) action);
-                                 }
-                                 if (action.playerAction() == TurnAction.KICK_PLAYER) {
-                                     return engineStateRegistry.get(EngineStateType.KICK)
-                                                               .execute(gameState, action);
-                                 }
-                                 final var currentStateType = calculateCurrentState(gameState);
-                                 final var engineState = engineStateRegistry.getOrDefault(currentStateType,
-                                                                                          UNKNOWN_STATE);
-                                 return engineState.execute(gameState, action);
-                             });
-    }
-
-    private EngineStateType calculateCurrentState(GameState gameState) {
-        if (gameState.currentTurn() == 0 && gameState.turns().isEmpty()) {
-            return EngineStateType.INIT;
-        } else if (gameState.currentTurn() < 0 || gameState.currentTurn() >= gameState.turns().size()) {
-            return EngineStateType.INVALID_CURRENT_TURN;
-        } else if (gameState.turns().get(gameState.currentTurn()).phase() == TurnPhase.SELECTION) {
-            return EngineStateType.SELECTION;
-        } else if (gameState.turns().get(gameState.currentTurn()).phase() == TurnPhase.REMOVAL) {
-            return EngineStateType.REMOVAL;
-        } else if (gameState.turns().get(gameState.currentTurn()).phase() == TurnPhase.GUESSING) {
-            return EngineStateType.GUESS;
-        } else if (gameState.turns().get(gameState.currentTurn()).phase() == TurnPhase.CONCLUSION) {
-            return EngineStateType.CONCLUSION;
-        } else {
-            return EngineStateType.UNKNOWN;
+    public Try<GameState> execute(GameState state, Action<?> action) {
+        try {
+            final var gameState = withWordTotals(state);
+            return eventsOf(gameState, action).map(events -> GameEvents.applyAll(gameState, events));
+        } catch (RuntimeException e) {
+            return Try.failure(e);
         }
     }
 
-    private boolean allowedToRunActions(String playerId, GameState gameState) {
-        return Stream.concat(Stream.of(ROOT), gameState.players().stream()
-                                                       .map(Player::id))
-                     .collect(Collectors.toSet())
-                     .contains(playerId);
+    /**
+     * Executes the action as {@link #execute} does, returning the events recording its effect on the state
+     * instead of the new state. The events are emitted by the engine states without building the new state, which
+     * is obtained folding them with {@link GameEvents#applyAll} over the state. Nothing persists the events yet;
+     * the repositories keep whole states.
+     */
+    public Try<List<GameEvent>> executeForEvents(GameState state, Action<?> action) {
+        try {
+            return eventsOf(withWordTotals(state), action);
+        } catch (RuntimeException e) {
+            return Try.failure(e);
+        }
     }
 
-    private Try<GameState> handleCancel(GameState gameState, Action<Void> cancelAction) {
-        if (hostOrRoot(cancelAction.playerId(), gameState)) {
-            return Try.success(new GameState(
-                    gameState.id(),
-                    GameStatus.CANCELLED,
-                    gameState.players(),
-                    gameState.turns(),
-                    gameState.wordsToGuess(),
-                    gameState.currentTurn()
-            ));
+    private Try<List<GameEvent>> eventsOf(GameState gameState, Action<?> action) {
+        final var compiledAction = actionCompiler.compile(action);
+        if (compiledAction.isFailure()) {
+            return Try.failure(compiledAction.getCause());
         }
-        return Try.failure(new IllegalActionException(ErrorCode.ILLEGAL_ACTION));
+        if (!allowedToRunActions(action.playerId(), gameState)) {
+            return Try.failure(IllegalActionException.of(ErrorCode.ILLEGAL_ACTION));
+        }
+        return transitionTable.transition(gameState, action.playerAction())
+                              .events(gameState, action);
     }
 
-    private Try<GameState> handleAdmit(GameState gameState, Action<String> admitAction) {
-        if (!hostOrRoot(admitAction.playerId(), gameState)) {
-            return Try.failure(new IllegalActionException(ErrorCode.ILLEGAL_ACTION));
+    /**
+     * Checks whether {@link #execute} would accept the action on the game, running the same authorisation and
+     * phase checks without building the new state.
+     *
+     * @return the codes of the errors the action would fail with, empty if the action would be accepted
+     */
+    public List<ErrorCode> check(GameState state, Action<?> action) {
+        try {
+            final var gameState = withWordTotals(state);
+            final var compiledAction = actionCompiler.compile(action);
+            if (compiledAction.isFailure()) {
+                return errorCodesOf(compiledAction.getCause());
+            }
+            if (!allowedToRunActions(action.playerId(), gameState)) {
+                return List.of(ErrorCode.ILLEGAL_ACTION);
+            }
+            if (action.playerAction() == TurnAction.UNDO) {
+                return hostOrRoot(action.playerId(), gameState) ? List.of() : List.of(ErrorCode.ILLEGAL_ACTION);
+            }
+            final var check = transitionTable.transition(gameState, action.playerAction())
+                                             .check(gameState, action);
+            return check.isSuccess() ? List.of() : errorCodesOf(check.getCause());
+        } catch (RuntimeException e) {
+            return errorCodesOf(e);
+        }
+    }
+
+    private static List<ErrorCode> errorCodesOf(Throwable throwable) {
+        if (throwable instanceof EngineException engineException && !engineException.errorCodes().isEmpty()) {
+            return engineException.errorCodes();
+        }
+        return List.of(ErrorCode.UNKNOWN);
+    }
+
+    public BatchExecution executeAll(GameState gameState, List<Action<?>> actions) {
+        return executeAll(gameState, actions, BatchMode.ALL_OR_NOTHING);
+    }
+
+    public BatchExecution executeAll(GameState gameState, List<Action<?>> actions, BatchMode batchMode) {
+        final List<Try<GameState>> results = new ArrayList<>(actions.size());
+        var currentState = gameState;
+        for (final var action : actions) {
+            final var result = execute(currentState, action);
+            results.add(result);
+            if (result.isFailure()) {
+                return new BatchExecution(batchMode == BatchMode.ALL_OR_NOTHING ? gameState : currentState,
+                                          results);
+            }
+            currentState = result.get();
         }
-        final var playerId = admitAction.payload();
-        if (gameState.players().stream()
-                     .anyMatch(p -> StringUtils.equals(p.id(), playerId))) {
-            return Try.failure(new InvalidActionException(ErrorCode.ILLEGAL_ACTION));
+        return new BatchExecution(currentState, results);
+    }
+
+    /**
+     * Completes a state read without the totals of its words, e.g. written before the totals were kept, with the
+     * totals derived from its turns: every turn which is concluded with a guess has decided its word, and a
+     * skipped guess counts as wrong.
+     *
+     * @return the state itself if it has the totals of its words
+     */
+    public GameState withWordTotals(GameState gameState) {
+        if (gameState.words() != null || gameState.wordsToGuess() == null) {
+            return gameState;
         }
-        return Try.success(new GameState(
+        final var wordsToGuess = gameState.wordsToGuess();
+        var words = Words.of(wordsToGuess.size());
+        final var turns = gameState.turns() == null ? List.<Turn>of() : gameState.turns();
+        for (int i = 0; i < Math.min(turns.size(), wordsToGuess.size()); ++i) {
+            final var turn = turns.get(i);
+            if (turn.phase() == TurnPhase.CONCLUSION
+                    && turn.wordGuessed() != null && turn.wordGuessed().isPresent()) {
+                final var guess = turn.wordGuessed().get();
+                final var skipped = ROOT.equals(guess.playerId()) && guess.word().isEmpty();
+                words = words.withGuess(!skipped && matchers.of(wordsToGuess.get(i)).test(guess.word()));
+            }
+        }
+        return new GameState(
                 gameState.id(),
                 gameState.status(),
-                append(gameState.players().stream(), new Player(playerId, PlayerRole.PLAYER)).toList(),
+                gameState.players(),
                 gameState.turns(),
-                gameState.wordsToGuess(),
-                gameState.currentTurn()
-        ));
+                wordsToGuess,
+                gameState.currentTurn(),
+                gameState.seed(),
+                words,
+                gameState.languageId()
+        );
+    }
+
+    /**
+     * Steps the game back to the previous version of its state. The engine does not keep past versions: the
+     * caller provides the version to go back to, or {@code null} if there is none.
+     */
+    public Try<GameState> undo(GameState gameState, Action<?> undoAction, GameState previousVersion) {
+        try {
+            final var compiledAction = actionCompiler.compile(undoAction);
+            if (compiledAction.isFailure()) {
+                return Try.failure(compiledAction.getCause());
+            }
+            if (undoAction.playerAction() != TurnAction.UNDO || !hostOrRoot(undoAction.playerId(), gameState)) {
+                return Try.failure(IllegalActionException.of(ErrorCode.ILLEGAL_ACTION));
+            }
+            if (previousVersion == null) {
+                return Try.failure(IllegalActionException.of(ErrorCode.NOTHING_TO_UNDO));
+            }
+            return Try.success(previousVersion);
+        } catch (RuntimeException e) {
+            return Try.failure(e);
+        }
+    }
+
+    private boolean allowedToRunActions(String playerId, GameState gameState) {
+        return ROOT.equals(playerId) || Players.of(gameState.players()).hasPlayer(playerId);
+    }
+
+    private Try<Void> checkCancel(GameState gameState, Action<?> cancelAction) {
+        return hostOrRoot(cancelAction.playerId(), gameState)
+                ? EngineState.ALLOWED
+                : Try.failure(IllegalActionException.of(ErrorCode.ILLEGAL_ACTION));
+    }
+
+    private Try<List<GameEvent>> handleCancel(GameState gameState, Action<?> cancelAction) {
+        final var check = checkCancel(gameState, cancelAction);
+        if (check.isSuccess()) {
+            return Try.success(List.of(new GameEvent.GameCancelled()));
+        }
+        return Try.failure(check.getCause());
+    }
+
+    private Try<Void> checkAdmit(GameState gameState, Action<?> admitAction) {
+        if (!hostOrRoot(admitAction.playerId(), gameState)) {
+            return Try.failure(IllegalActionException.of(ErrorCode.ILLEGAL_ACTION));
+        }
+        if (Players.of(gameState.players()).hasPlayer((String) admitAction.payload())) {
+            return Try.failure(InvalidActionException.of(ErrorCode.ILLEGAL_ACTION));
+        }
+        return EngineState.ALLOWED;
+    }
+
+    private Try<List<GameEvent>> handleAdmit(GameState gameState, Action<?> admitAction) {
+        final var check = checkAdmit(gameState, admitAction);
+        if (check.isFailure()) {
+            return Try.failure(check.getCause());
+        }
+        return Try.success(List.of(new GameEvent.PlayerAdmitted((String) admitAction.payload())));
+    }
+
+    /**
+     * Action applying to the game as a whole, in every state of the game.
+     */
+    private record GameAction(BiFunction<GameState, Action<?>, Try<List<GameEvent>>> execution,
+                              BiFunction<GameState, Action<?>, Try<Void>> checker) implements EngineState {
+
+        @Override
+        public Try<List<GameEvent>> events(GameState gameState, Action<?> action) {
+            return execution.apply(gameState, action);
+        }
+
+        @Override
+        public Try<Void> check(GameState gameState, Action<?> action) {
+            return checker.apply(gameState, action);
+        }
     }
 }
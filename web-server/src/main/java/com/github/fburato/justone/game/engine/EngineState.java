@@ -2,8 +2,40 @@ package com.github.fburato.justone.game.engine;
 
 import com.github.fburato.justone.model.Action;
 import com.github.fburato.justone.model.GameState;
+import com.github.fburato.justone.model.TurnAction;
 import io.vavr.control.Try;
 
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
 interface EngineState {
-    Try<GameState> execute(GameState gameState, Action<?> action);
+    Set<TurnAction> ALL_ACTIONS = EnumSet.allOf(TurnAction.class);
+    Try<Void> ALLOWED = Try.success(null);
+    Try<List<GameEvent>> NO_EVENTS = Try.success(List.of());
+
+    /**
+     * @return the events recording the effect of the action on the game, which {@link #execute} folds into the
+     * new state of the game
+     */
+    Try<List<GameEvent>> events(GameState gameState, Action<?> action);
+
+    default Try<GameState> execute(GameState gameState, Action<?> action) {
+        return events(gameState, action).map(events -> GameEvents.applyAll(gameState, events));
+    }
+
+    /**
+     * Checks whether {@link #execute} would accept the action, failing with the same exception it would fail
+     * with. States override it to check the action without building its events.
+     */
+    default Try<Void> check(GameState gameState, Action<?> action) {
+        return events(gameState, action).map(events -> null);
+    }
+
+    /**
+     * @return the actions the state can handle, every other action is rejected before reaching the state
+     */
+    default Set<TurnAction> acceptedActions() {
+        return ALL_ACTIONS;
+    }
 }
@@ -0,0 +1,115 @@
+package com.github.fburato.justone.game.engine;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.function.Predicate;
+
+/**
+ * Accepts the guesses which are equal to the word after folding case, accents and whitespace, or within a
+ * bounded edit distance of it. The distance allowed grows with the length of the word, one edit every four
+ * characters up to {@code maxEditDistance}, so short words have to be guessed exactly.
+ */
+public final class FoldingGuessEvaluator implements GuessEvaluator {
+
+    private final int maxEditDistance;
+
+    public FoldingGuessEvaluator(int maxEditDistance) {
+        if (maxEditDistance < 0) {
+            throw new IllegalArgumentException(String.format("maxEditDistance=%d should not be negative",
+                                                             maxEditDistance));
+        }
+        this.maxEditDistance = maxEditDistance;
+    }
+
+    /**
+     * @return the word without accents, in lower case, without leading and trailing whitespace and with every
+     * other run of whitespace replaced by a single space, the empty string for {@code null}
+     */
+    static String fold(String word) {
+        if (word == null) {
+            return "";
+        }
+        final var decomposed = isAscii(word) ? word : Normalizer.normalize(word, Normalizer.Form.NFD);
+        final var folded = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < decomposed.length(); ++i) {
+            final var c = decomposed.charAt(i);
+            if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+                pendingSpace = folded.length() > 0;
+            } else if (!isMark(c)) {
+                if (pendingSpace) {
+                    folded.append(' ');
+                    pendingSpace = false;
+                }
+                folded.append(c);
+            }
+        }
+        return folded.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isAscii(String word) {
+        for (int i = 0; i < word.length(); ++i) {
+            if (word.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isMark(char c) {
+        final var type = Character.getType(c);
+        return type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK
+                || type == Character.ENCLOSING_MARK;
+    }
+
+    /**
+     * @return whether the edit distance between the strings is at most {@code bound}, computed only on the band
+     * of the diagonal which can stay within the bound
+     */
+    static boolean withinDistance(String a, String b, int bound) {
+        if (Math.abs(a.length() - b.length()) > bound) {
+            return false;
+        }
+        if (bound == 0) {
+            return a.equals(b);
+        }
+        final var outOfBound = bound + 1;
+        var previous = new int[b.length() + 1];
+        var current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); ++j) {
+            previous[j] = j <= bound ? j : outOfBound;
+        }
+        for (int i = 1; i <= a.length(); ++i) {
+            final var from = Math.max(1, i - bound);
+            final var to = Math.min(b.length(), i + bound);
+            current[0] = i <= bound ? i : outOfBound;
+            if (from > 1) {
+                current[from - 1] = outOfBound;
+            }
+            int rowMinimum = current[0];
+            for (int j = from; j <= to; ++j) {
+                final var substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                final var distance = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                current[j] = Math.min(distance, outOfBound);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (to < b.length()) {
+                current[to + 1] = outOfBound;
+            }
+            if (rowMinimum > bound) {
+                return false;
+            }
+            final var swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()] <= bound;
+    }
+
+    @Override
+    public Predicate<String> compile(String word) {
+        final var folded = fold(word);
+        final var bound = Math.min(maxEditDistance, folded.length() / 4);
+        return guess -> guess != null && withinDistance(folded, fold(guess), bound);
+    }
+}
@@ -0,0 +1,80 @@
+package com.github.fburato.justone.game.engine;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Normalises hints following the case rules of a locale: the hint is stripped, its compatibility characters
+ * are replaced (NFKC), its case is folded with the locale, e.g. German {@code ß} is folded as {@code ss} and
+ * Turkish dotless {@code ı} stays distinct from {@code i}, and its diacritics are removed.
+ * <p>
+ * The normalised forms are kept in a bounded cache, so hints given in many games of the same language are
+ * folded once. The cache has two generations: when the young generation is full it replaces the old one and
+ * the forms which are not found again in the young generation are dropped.
+ */
+public final class FoldingHintNormaliser implements HintNormaliser {
+
+    private final Locale locale;
+    private final int generationSize;
+    private volatile Map<String, String> young = new ConcurrentHashMap<>();
+    private volatile Map<String, String> old = Map.of();
+
+    /**
+     * @param cacheSize the maximum number of normalised forms kept
+     */
+    public FoldingHintNormaliser(Locale locale, int cacheSize) {
+        if (cacheSize < 2) {
+            throw new IllegalArgumentException(String.format("cacheSize=%d should be at least 2", cacheSize));
+        }
+        this.locale = locale;
+        this.generationSize = cacheSize / 2;
+    }
+
+    static String fold(String hint, Locale locale) {
+        final var compatible = Normalizer.normalize(hint.strip(), Normalizer.Form.NFKC);
+        final var folded = compatible.toUpperCase(locale).toLowerCase(locale);
+        final var decomposed = Normalizer.normalize(folded, Normalizer.Form.NFD);
+        final var withoutMarks = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); ++i) {
+            final var c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                withoutMarks.append(c);
+            }
+        }
+        return Normalizer.normalize(withoutMarks, Normalizer.Form.NFC);
+    }
+
+    @Override
+    public String normalise(String hint) {
+        if (hint == null) {
+            return null;
+        }
+        final var currentYoung = young;
+        var normalised = currentYoung.get(hint);
+        if (normalised != null) {
+            return normalised;
+        }
+        normalised = old.get(hint);
+        if (normalised == null) {
+            normalised = fold(hint, locale);
+        }
+        if (currentYoung.size() >= generationSize) {
+            promote(currentYoung);
+        }
+        young.put(hint, normalised);
+        return normalised;
+    }
+
+    private synchronized void promote(Map<String, String> fullYoung) {
+        if (young == fullYoung) {
+            old = fullYoung;
+            young = new ConcurrentHashMap<>();
+        }
+    }
+
+    int cachedForms() {
+        return young.size() + old.size();
+    }
+}
@@ -0,0 +1,51 @@
+package com.github.fburato.justone.game.engine;
+
+import com.github.fburato.justone.model.PlayerWord;
+import com.github.fburato.justone.model.Turn;
+import com.github.fburato.justone.model.TurnPhase;
+
+import java.util.List;
+
+/**
+ * Fact recording the effect of an action executed successfully by the engine, see {@link Engine#executeForEvents}.
+ * The states of the engine emit the events of the actions they execute, and {@link Engine#execute} folds them with
+ * {@link GameEvents#apply} into the new state of the game.
+ */
+public sealed interface GameEvent {
+
+    record TurnStarted(Turn turn) implements GameEvent {
+    }
+
+    /**
+     * @param normalisedHint the normalised form of the hint, which counts towards the duplicated hints of the turn
+     */
+    record HintProvided(PlayerWord hint, String normalisedHint) implements GameEvent {
+    }
+
+    record HintCancelled(String playerId) implements GameEvent {
+    }
+
+    record PhaseAdvanced(TurnPhase phase, List<String> hintsToFilter) implements GameEvent {
+    }
+
+    record HintRemoved(PlayerWord hint) implements GameEvent {
+    }
+
+    record HintRemovalCancelled(String hint) implements GameEvent {
+    }
+
+    record GuessMade(PlayerWord guess, boolean correct) implements GameEvent {
+    }
+
+    record PlayerAdmitted(String playerId) implements GameEvent {
+    }
+
+    record PlayerKicked(String playerId) implements GameEvent {
+    }
+
+    record GameCancelled() implements GameEvent {
+    }
+
+    record GameConcluded() implements GameEvent {
+    }
+}
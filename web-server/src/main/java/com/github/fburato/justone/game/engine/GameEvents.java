@@ -0,0 +1,207 @@
+package com.github.fburato.justone.game.engine;
+
+import com.github.fburato.justone.model.GameState;
+import com.github.fburato.justone.model.GameStatus;
+import com.github.fburato.justone.model.Player;
+import com.github.fburato.justone.model.PlayerRole;
+import com.github.fburato.justone.model.PlayerWord;
+import com.github.fburato.justone.model.ProvidedHints;
+import com.github.fburato.justone.model.Players;
+import com.github.fburato.justone.model.Turn;
+import com.github.fburato.justone.model.Turns;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * Pure fold of {@link GameEvent}s over a {@link GameState}. Events are facts: they are applied without
+ * validation, which happens when the engine states emit them.
+ * <p>
+ * Provided hints are kept {@link ProvidedHints#isNormalised() normalised} when they already are, or when their
+ * normalised view is known, using the normalised form carried by {@link GameEvent.HintProvided}, so that the
+ * following actions of the turn do not normalise them again.
+ */
+public final class GameEvents {
+
+    private GameEvents() {
+    }
+
+    public static GameState applyAll(GameState gameState, List<GameEvent> events) {
+        var result = gameState;
+        for (final var event : events) {
+            result = apply(result, event);
+        }
+        return result;
+    }
+
+    public static GameState apply(GameState gameState, GameEvent event) {
+        return switch (event) {
+            case GameEvent.TurnStarted turnStarted -> {
+                final var previousTurns = Turns.of(gameState.turns());
+                final var turns = (previousTurns.isEmpty()
+                        ? previousTurns
+                        : previousTurns.frozen(previousTurns.size() - 1)).appended(turnStarted.turn());
+                yield new GameState(gameState.id(),
+                                    GameStatus.IN_PROGRESS,
+                                    gameState.players(),
+                                    turns,
+                                    gameState.wordsToGuess(),
+                                    turns.size() - 1,
+                                    gameState.seed(),
+                                    gameState.words(),
+                                    gameState.languageId());
+            }
+            case GameEvent.HintProvided hintProvided -> updateCurrentTurn(gameState, turn -> new Turn(
+                    turn.phase(),
+                    withHint(turn.providedHints(), hintProvided),
+                    turn.hintsToFilter(),
+                    turn.hintsToRemove(),
+                    turn.wordGuessed(),
+                    turn.players()));
+            case GameEvent.HintCancelled hintCancelled -> updateCurrentTurn(gameState, turn -> new Turn(
+                    turn.phase(),
+                    withoutHintOf(turn.providedHints(), hintCancelled.playerId()),
+                    turn.hintsToFilter(),
+                    turn.hintsToRemove(),
+                    turn.wordGuessed(),
+                    turn.players()));
+            case GameEvent.PhaseAdvanced phaseAdvanced -> updateCurrentTurn(gameState, turn -> new Turn(
+                    phaseAdvanced.phase(),
+                    turn.providedHints(),
+                    phaseAdvanced.hintsToFilter(),
+                    turn.hintsToRemove(),
+                    turn.wordGuessed(),
+                    turn.players()));
+            case GameEvent.HintRemoved hintRemoved -> updateCurrentTurn(gameState, turn -> {
+                final List<PlayerWord> hintsToRemove = new ArrayList<>(turn.hintsToRemove());
+                hintsToRemove.add(hintRemoved.hint());
+                return new Turn(turn.phase(), turn.providedHints(), turn.hintsToFilter(), hintsToRemove,
+                                turn.wordGuessed(), turn.players());
+            });
+            case GameEvent.HintRemovalCancelled removalCancelled -> updateCurrentTurn(gameState, turn -> new Turn(
+                    turn.phase(),
+                    turn.providedHints(),
+                    turn.hintsToFilter(),
+                    turn.hintsToRemove().stream()
+                        .filter(hint -> !StringUtils.equals(hint.word(), removalCancelled.hint()))
+                        .toList(),
+                    turn.wordGuessed(),
+                    turn.players()));
+            case GameEvent.GuessMade guessMade -> {
+                final var guessed = updateCurrentTurn(gameState, turn -> new Turn(
+                        turn.phase(),
+                        turn.providedHints(),
+                        turn.hintsToFilter(),
+                        turn.hintsToRemove(),
+                        Optional.of(guessMade.guess()),
+                        turn.players()));
+                yield new GameState(guessed.id(),
+                                    guessed.status(),
+                                    guessed.players(),
+                                    guessed.turns(),
+                                    guessed.wordsToGuess(),
+                                    guessed.currentTurn(),
+                                    guessed.seed(),
+                                    guessed.words().withGuess(guessMade.correct()),
+                                    guessed.languageId());
+            }
+            case GameEvent.PlayerAdmitted playerAdmitted -> new GameState(
+                    gameState.id(),
+                    gameState.status(),
+                    Players.of(gameState.players()).appended(new Player(playerAdmitted.playerId(),
+                                                                        PlayerRole.PLAYER)),
+                    gameState.turns(),
+                    gameState.wordsToGuess(),
+                    gameState.currentTurn(),
+                    gameState.seed(),
+                    gameState.words(),
+                    gameState.languageId());
+            case GameEvent.PlayerKicked playerKicked -> {
+                final var position = Players.of(gameState.players()).positionOf(playerKicked.playerId());
+                yield position < 0 ? gameState : KickState.kicked(gameState, position);
+            }
+            case GameEvent.GameCancelled ignored -> withStatus(gameState, GameStatus.CANCELLED,
+                                                               gameState.currentTurn());
+            case GameEvent.GameConcluded ignored -> concluded(gameState);
+        };
+    }
+
+    /**
+     * @return the hints with the hint of the player replaced in place, or appended if the player had none
+     */
+    private static List<PlayerWord> withHint(List<PlayerWord> hints, GameEvent.HintProvided hintProvided) {
+        final var providedHints = ProvidedHints.of(hints).normalisedIfKnown();
+        if (providedHints.isNormalised()) {
+            return providedHints.withHint(hintProvided.hint(), hintProvided.normalisedHint());
+        }
+        final List<PlayerWord> newHints = new ArrayList<>(hints.size() + 1);
+        boolean replaced = false;
+        for (final var hint : hints) {
+            if (StringUtils.equals(hint.playerId(), hintProvided.hint().playerId())) {
+                newHints.add(hintProvided.hint());
+                replaced = true;
+            } else {
+                newHints.add(hint);
+            }
+        }
+        if (!replaced) {
+            newHints.add(hintProvided.hint());
+        }
+        return newHints;
+    }
+
+    private static List<PlayerWord> withoutHintOf(List<PlayerWord> hints, String playerId) {
+        final var providedHints = ProvidedHints.of(hints).normalisedIfKnown();
+        if (providedHints.isNormalised()) {
+            return providedHints.withoutHintOf(playerId);
+        }
+        return hints.stream()
+                    .filter(hint -> !StringUtils.equals(hint.playerId(), playerId))
+                    .toList();
+    }
+
+    private static GameState updateCurrentTurn(GameState gameState, UnaryOperator<Turn> update) {
+        final var turns = Turns.of(gameState.turns())
+                               .updated(gameState.currentTurn(),
+                                        update.apply(gameState.turns().get(gameState.currentTurn())));
+        return new GameState(gameState.id(),
+                             gameState.status(),
+                             gameState.players(),
+                             turns,
+                             gameState.wordsToGuess(),
+                             gameState.currentTurn(),
+                             gameState.seed(),
+                             gameState.words(),
+                             gameState.languageId());
+    }
+
+    private static GameState concluded(GameState gameState) {
+        final var turns = gameState.currentTurn() < gameState.turns().size()
+                ? Turns.of(gameState.turns()).frozen(gameState.currentTurn())
+                : gameState.turns();
+        return new GameState(gameState.id(),
+                             GameStatus.CONCLUDED,
+                             gameState.players(),
+                             turns,
+                             gameState.wordsToGuess(),
+                             gameState.currentTurn() + 1,
+                             gameState.seed(),
+                             gameState.words(),
+                             gameState.languageId());
+    }
+
+    private static GameState withStatus(GameState gameState, GameStatus status, int currentTurn) {
+        return new GameState(gameState.id(),
+                             status,
+                             gameState.players(),
+                             gameState.turns(),
+                             gameState.wordsToGuess(),
+                             currentTurn,
+                             gameState.seed(),
+                             gameState.words(),
+                             gameState.languageId());
+    }
+}
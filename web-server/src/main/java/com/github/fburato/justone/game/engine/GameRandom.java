@@ -0,0 +1,22 @@
+package com.github.fburato.justone.game.engine;
+
+import com.github.fburato.justone.model.GameState;
+
+import java.util.SplittableRandom;
+
+/**
+ * Source of the random choices of the engine. Every game has its own generator, initialised from the seed stored in
+ * the state and the current turn, so that games do not contend on a shared generator and every choice can be
+ * reproduced from the state it was taken on.
+ */
+final class GameRandom {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private GameRandom() {
+    }
+
+    static SplittableRandom of(GameState gameState) {
+        return new SplittableRandom(gameState.seed() + GOLDEN_GAMMA * gameState.currentTurn());
+    }
+}
@@ -0,0 +1,17 @@
+package com.github.fburato.justone.game.engine;
+
+import java.util.function.Predicate;
+
+/**
+ * Decides whether a guess names the word to guess. The engine compiles a matcher once for every word and keeps it
+ * for the games playing the same word, so that evaluating a guess only prepares the guess.
+ */
+public interface GuessEvaluator {
+
+    GuessEvaluator DEFAULT_GUESS_EVALUATOR = new FoldingGuessEvaluator(2);
+
+    /**
+     * @return the matcher accepting the guesses of the word
+     */
+    Predicate<String> compile(String word);
+}
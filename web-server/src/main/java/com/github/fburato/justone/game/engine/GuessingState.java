@@ -6,56 +6,85 @@ import com.github.fburato.justone.game.errors.InvalidStateException;
 import com.github.fburato.justone.model.Action;
 import com.github.fburato.justone.model.GameState;
 import com.github.fburato.justone.model.PlayerWord;
-import com.github.fburato.justone.model.Turn;
 import com.github.fburato.justone.model.TurnAction;
 import com.github.fburato.justone.model.TurnPhase;
-import com.github.fburato.justone.model.TurnPlayer;
+import com.github.fburato.justone.model.TurnPlayers;
 import com.github.fburato.justone.model.TurnRole;
 import io.vavr.control.Try;
 
-import java.util.ArrayList;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
 
 class GuessingState implements EngineState {
 
+    private static final Set<TurnAction> ACCEPTED_ACTIONS = EnumSet.of(TurnAction.GUESS_WORD, TurnAction.PROCEED);
+
+    private final CompiledWords matchers;
+
+    GuessingState() {
+        this(GuessEvaluator.DEFAULT_GUESS_EVALUATOR);
+    }
+
+    GuessingState(GuessEvaluator guessEvaluator) {
+        this(new CompiledWords(guessEvaluator::compile));
+    }
+
+    GuessingState(CompiledWords matchers) {
+        this.matchers = matchers;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
-    public Try<GameState> execute(GameState gameState, Action<?> action) {
+    public Try<List<GameEvent>> events(GameState gameState, Action<?> action) {
+        final var check = check(gameState, action);
+        if (check.isFailure()) {
+            return Try.failure(check.getCause());
+        }
+        if (action.playerAction() == TurnAction.PROCEED) {
+            return handleSkip(gameState);
+        }
+        return handleGuess(gameState, action.playerId(), ((Action<String>) action).payload());
+    }
+
+    @Override
+    public Try<Void> check(GameState gameState, Action<?> action) {
         final var turn = gameState.turns().get(gameState.currentTurn());
         if (turn.phase() != TurnPhase.GUESSING) {
-            return Try.failure(new InvalidStateException(ErrorCode.UNEXPECTED_TURN_PHASE));
+            return Try.failure(InvalidStateException.of(ErrorCode.UNEXPECTED_TURN_PHASE));
+        }
+        if (action.playerAction() == TurnAction.PROCEED && Engine.ROOT.equals(action.playerId())) {
+            return ALLOWED;
         }
         if (action.playerAction() != TurnAction.GUESS_WORD) {
-            return Try.failure(new IllegalActionException(ErrorCode.ILLEGAL_ACTION));
+            return Try.failure(IllegalActionException.of(ErrorCode.ILLEGAL_ACTION));
         }
-        final var guessers = turn.players().stream()
-                                 .filter(tp -> tp.roles().contains(TurnRole.GUESSER))
-                                 .map(TurnPlayer::playerId)
-                                 .collect(Collectors.toSet());
-        if (!guessers.contains(action.playerId())) {
-            return Try.failure(new IllegalActionException(ErrorCode.UNAUTHORISED_ACTION));
+        if (!TurnPlayers.of(turn.players()).hasRole(action.playerId(), TurnRole.GUESSER)) {
+            return Try.failure(IllegalActionException.of(ErrorCode.UNAUTHORISED_ACTION));
         }
-        return handleGuess(gameState, action.playerId(), ((Action<String>) action).payload());
+        return ALLOWED;
+    }
+
+    @Override
+    public Set<TurnAction> acceptedActions() {
+        return ACCEPTED_ACTIONS;
+    }
+
+    /**
+     * @return the events of skipping the guess of the current turn, which counts the word as guessed wrongly
+     */
+    private static Try<List<GameEvent>> handleSkip(GameState gameState) {
+        final var turn = gameState.turns().get(gameState.currentTurn());
+        return Try.success(List.of(new GameEvent.GuessMade(new PlayerWord(Engine.ROOT, ""), false),
+                                   new GameEvent.PhaseAdvanced(TurnPhase.CONCLUSION, turn.hintsToFilter())));
     }
 
-    private Try<GameState> handleGuess(GameState gameState, String guesser, String guess) {
+    private Try<List<GameEvent>> handleGuess(GameState gameState, String guesser, String guess) {
         final var turn = gameState.turns().get(gameState.currentTurn());
-        final var turns = new ArrayList<>(gameState.turns());
-        turns.set(gameState.currentTurn(),
-                  new Turn(TurnPhase.CONCLUSION,
-                           turn.providedHints(),
-                           turn.hintsToFilter(),
-                           turn.hintsToRemove(),
-                           Optional.of(new PlayerWord(guesser, guess)),
-                           turn.players()));
-        return Try.success(new GameState(
-                gameState.id(),
-                gameState.status(),
-                gameState.players(),
-                turns,
-                gameState.wordsToGuess(),
-                gameState.currentTurn()
-        ));
+        final var wordsToGuess = gameState.wordsToGuess();
+        final var correct = gameState.currentTurn() < wordsToGuess.size()
+                && matchers.of(wordsToGuess.get(gameState.currentTurn())).test(guess);
+        return Try.success(List.of(new GameEvent.GuessMade(new PlayerWord(guesser, guess), correct),
+                                   new GameEvent.PhaseAdvanced(TurnPhase.CONCLUSION, turn.hintsToFilter())));
     }
 }
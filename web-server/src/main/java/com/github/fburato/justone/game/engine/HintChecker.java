@@ -0,0 +1,17 @@
+package com.github.fburato.justone.game.engine;
+
+import java.util.function.Predicate;
+
+/**
+ * Decides whether a hint may be given for the word to guess. The engine compiles a checker once for every word and
+ * keeps it for the games playing the same word, so that checking a provided hint only prepares the hint.
+ */
+public interface HintChecker {
+
+    HintChecker DEFAULT_HINT_CHECKER = new StemHintChecker();
+
+    /**
+     * @return the predicate accepting the legal hints for the word
+     */
+    Predicate<String> compile(String word);
+}
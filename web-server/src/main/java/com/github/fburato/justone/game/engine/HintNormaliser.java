@@ -0,0 +1,24 @@
+package com.github.fburato.justone.game.engine;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Locale;
+import java.util.function.UnaryOperator;
+
+/**
+ * Maps a hint to the form used to decide whether two hints are the same. Every hint is normalised once
+ * when it is provided and the result is kept with the hint for the rest of the turn.
+ * <p>
+ * The normalisers following the rules of the language of a game are given by {@link HintNormalisers}.
+ */
+public interface HintNormaliser extends UnaryOperator<String> {
+
+    HintNormaliser DEFAULT_HINT_NORMALISER = hint -> StringUtils.lowerCase(StringUtils.strip(hint), Locale.ROOT);
+
+    String normalise(String hint);
+
+    @Override
+    default String apply(String hint) {
+        return normalise(hint);
+    }
+}
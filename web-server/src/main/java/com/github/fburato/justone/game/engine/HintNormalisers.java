@@ -0,0 +1,62 @@
+package com.github.fburato.justone.game.engine;
+
+import com.github.fburato.justone.model.Language;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Registry of the {@link HintNormaliser}s of the languages of the games. The id of the {@link Language} of a
+ * game is read as a BCP 47 language tag and the normaliser is chosen by the ISO 639 language of the tag alone,
+ * since case rules do not depend on the region. Games without a language, or with a language which is not an
+ * ISO 639 language, use the rules of no particular locale, so the registry holds at most one normaliser for
+ * every ISO 639 language whatever the ids of the games. The normaliser of a language is created the first time
+ * it is needed and shared by every game of that language, together with its cache of normalised forms.
+ */
+public final class HintNormalisers {
+
+    public static final int DEFAULT_CACHE_SIZE = 16_384;
+    public static final HintNormalisers DEFAULT_HINT_NORMALISERS = new HintNormalisers(DEFAULT_CACHE_SIZE);
+
+    private final Function<Locale, HintNormaliser> factory;
+    private final Map<Locale, HintNormaliser> normalisers = new ConcurrentHashMap<>();
+
+    /**
+     * @param cacheSize the maximum number of normalised forms kept for every language
+     */
+    public HintNormalisers(int cacheSize) {
+        this(locale -> new FoldingHintNormaliser(locale, cacheSize));
+    }
+
+    private HintNormalisers(Function<Locale, HintNormaliser> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * @return the registry using the same normaliser for every language
+     */
+    public static HintNormalisers of(HintNormaliser hintNormaliser) {
+        return new HintNormalisers(locale -> hintNormaliser);
+    }
+
+    static Locale localeOf(String languageId) {
+        return languageId == null || languageId.isBlank()
+                ? Locale.ROOT
+                : Locale.forLanguageTag(languageId.strip().replace('_', '-'));
+    }
+
+    static Locale keyOf(String languageId) {
+        final var language = localeOf(languageId).getLanguage();
+        return Language.isIsoLanguage(language) ? new Locale(language) : Locale.ROOT;
+    }
+
+    public HintNormaliser forLanguage(String languageId) {
+        return normalisers.computeIfAbsent(keyOf(languageId), factory);
+    }
+
+    int size() {
+        return normalisers.size();
+    }
+}
@@ -7,70 +7,83 @@ import com.github.fburato.justone.model.GameState;
 import com.github.fburato.justone.model.Player;
 import com.github.fburato.justone.model.PlayerRole;
 import com.github.fburato.justone.model.PlayerWord;
+import com.github.fburato.justone.model.Players;
 import com.github.fburato.justone.model.Turn;
 import com.github.fburato.justone.model.TurnPhase;
+import com.github.fburato.justone.model.TurnPlayers;
+import com.github.fburato.justone.model.Turns;
 import io.vavr.control.Try;
-import org.apache.commons.lang3.StringUtils;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.IntStream;
 
 import static com.github.fburato.justone.game.engine.Engine.hostOrRoot;
 
 class KickState implements EngineState {
 
     @Override
-    @SuppressWarnings("unchecked")
-    public Try<GameState> execute(GameState gameState, Action<?> action) {
-        final Action<String> kickAction = (Action<String>) action;
-        if (!hostOrRoot(kickAction.playerId(), gameState)) {
-            return Try.failure(new IllegalActionException(ErrorCode.ILLEGAL_ACTION));
+    public Try<List<GameEvent>> events(GameState gameState, Action<?> action) {
+        final var check = check(gameState, action);
+        if (check.isFailure()) {
+            return Try.failure(check.getCause());
         }
-        final var playerId = kickAction.payload();
-        if (gameState.players().stream()
-                     .noneMatch(p -> StringUtils.equals(p.id(), playerId))) {
-            return Try.success(gameState);
+        final var playerId = (String) action.payload();
+        if (!Players.of(gameState.players()).hasPlayer(playerId)) {
+            return NO_EVENTS;
         }
-        final var playerIndexToRemove = IntStream.range(0, gameState.players().size())
-                                                 .filter(i -> StringUtils.equals(gameState.players().get(i).id(),
-                                                                                 playerId))
-                                                 .findFirst().orElseThrow();
-        final var newPlayers = new ArrayList<>(gameState.players());
-        if (gameState.players().size() - 1 < 2) {
-            return Try.failure(new IllegalActionException(ErrorCode.ILLEGAL_ACTION));
+        return Try.success(List.of(new GameEvent.PlayerKicked(playerId)));
+    }
+
+    @Override
+    public Try<Void> check(GameState gameState, Action<?> action) {
+        if (!hostOrRoot(action.playerId(), gameState)) {
+            return Try.failure(IllegalActionException.of(ErrorCode.ILLEGAL_ACTION));
         }
-        if (gameState.players().get(playerIndexToRemove).playerRole() == PlayerRole.HOST) {
-            final var nextHostIndex = (playerIndexToRemove + 1) % gameState.players().size();
-            final var nextHost = gameState.players().get(nextHostIndex);
-            newPlayers.set(nextHostIndex, new Player(nextHost.id(), PlayerRole.HOST));
+        final var players = Players.of(gameState.players());
+        if (players.hasPlayer((String) action.payload()) && players.size() - 1 < 2) {
+            return Try.failure(IllegalActionException.of(ErrorCode.ILLEGAL_ACTION));
+        }
+        return ALLOWED;
+    }
+
+    static GameState kicked(GameState gameState, int playerIndexToRemove) {
+        final var players = Players.of(gameState.players());
+        final var playerId = players.get(playerIndexToRemove).id();
+        var newPlayers = players;
+        if (players.get(playerIndexToRemove).playerRole() == PlayerRole.HOST) {
+            final var nextHostIndex = (playerIndexToRemove + 1) % players.size();
+            final var nextHost = players.get(nextHostIndex);
+            newPlayers = newPlayers.updated(nextHostIndex, new Player(nextHost.id(), PlayerRole.HOST));
         }
-        newPlayers.remove(playerIndexToRemove);
+        newPlayers = newPlayers.removed(playerIndexToRemove);
         final List<Turn> turns;
+        var words = gameState.words();
         if (gameState.currentTurn() < gameState.turns().size()) {
             final var currentTurn = gameState.turns().get(gameState.currentTurn());
-            turns = new ArrayList<>(gameState.turns());
-            turns.set(gameState.currentTurn(), new Turn(
+            if (currentTurn.phase() != TurnPhase.CONCLUSION) {
+                words = words.withGuess(false);
+            }
+            turns = Turns.of(gameState.turns()).updated(gameState.currentTurn(), new Turn(
                     TurnPhase.CONCLUSION,
                     currentTurn.providedHints(),
                     currentTurn.hintsToFilter(),
                     currentTurn.hintsToRemove(),
                     Optional.of(new PlayerWord(Engine.ROOT, "")),
-                    currentTurn.players().stream()
-                               .filter(turnPlayer -> !StringUtils.equals(turnPlayer.playerId(), playerId))
-                               .toList()
+                    TurnPlayers.of(currentTurn.players()).without(playerId)
             ));
         } else {
             turns = gameState.turns();
         }
-        return Try.success(new GameState(
+        return new GameState(
                 gameState.id(),
                 gameState.status(),
                 newPlayers,
                 turns,
                 gameState.wordsToGuess(),
-                gameState.currentTurn()
-        ));
+                gameState.currentTurn(),
+                gameState.seed(),
+                words,
+                gameState.languageId()
+        );
     }
 }
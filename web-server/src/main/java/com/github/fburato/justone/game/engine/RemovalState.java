@@ -6,38 +6,29 @@ import com.github.fburato.justone.game.errors.InvalidStateException;
 import com.github.fburato.justone.model.Action;
 import com.github.fburato.justone.model.GameState;
 import com.github.fburato.justone.model.PlayerWord;
-import com.github.fburato.justone.model.Turn;
 import com.github.fburato.justone.model.TurnAction;
 import com.github.fburato.justone.model.TurnPhase;
-import com.github.fburato.justone.model.TurnPlayer;
+import com.github.fburato.justone.model.TurnPlayers;
 import com.github.fburato.justone.model.TurnRole;
 import io.vavr.control.Try;
-import org.apache.commons.lang3.StringUtils;
 
-import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 class RemovalState implements EngineState {
 
+    private static final Set<TurnAction> ACCEPTED_ACTIONS = EnumSet.of(TurnAction.REMOVE_HINT,
+                                                                       TurnAction.CANCEL_REMOVED_HINT,
+                                                                       TurnAction.PROCEED);
+
     @Override
     @SuppressWarnings("unchecked")
-    public Try<GameState> execute(GameState gameState, Action<?> action) {
-        final var turn = gameState.turns().get(gameState.currentTurn());
-        if (turn.phase() != TurnPhase.REMOVAL) {
-            return Try.failure(new InvalidStateException(ErrorCode.UNEXPECTED_TURN_PHASE));
-        }
-        if (!Set.of(TurnAction.REMOVE_HINT, TurnAction.CANCEL_REMOVED_HINT, TurnAction.PROCEED).contains(
-                action.playerAction())) {
-            return Try.failure(new IllegalActionException(ErrorCode.ILLEGAL_ACTION));
-        }
-        final var removers = turn.players().stream()
-                                 .filter(tp -> tp.roles().contains(TurnRole.REMOVER))
-                                 .map(TurnPlayer::playerId)
-                                 .collect(Collectors.toSet());
-        if (!removers.contains(action.playerId())) {
-            return Try.failure(new IllegalActionException(ErrorCode.UNAUTHORISED_ACTION));
+    public Try<List<GameEvent>> events(GameState gameState, Action<?> action) {
+        final var check = check(gameState, action);
+        if (check.isFailure()) {
+            return Try.failure(check.getCause());
         }
         if (action.playerAction() == TurnAction.PROCEED) {
             return handleProceed(gameState);
@@ -48,83 +39,53 @@ class RemovalState implements EngineState {
         return handleCancelRemovedHint(gameState, ((Action<String>) action).payload());
     }
 
-    private Try<GameState> handleProceed(GameState gameState) {
+    @Override
+    public Try<Void> check(GameState gameState, Action<?> action) {
+        final var turn = gameState.turns().get(gameState.currentTurn());
+        if (turn.phase() != TurnPhase.REMOVAL) {
+            return Try.failure(InvalidStateException.of(ErrorCode.UNEXPECTED_TURN_PHASE));
+        }
+        if (!ACCEPTED_ACTIONS.contains(action.playerAction())) {
+            return Try.failure(IllegalActionException.of(ErrorCode.ILLEGAL_ACTION));
+        }
+        final var expired = action.playerAction() == TurnAction.PROCEED && Engine.ROOT.equals(action.playerId());
+        if (!expired && !TurnPlayers.of(turn.players()).hasRole(action.playerId(), TurnRole.REMOVER)) {
+            return Try.failure(IllegalActionException.of(ErrorCode.UNAUTHORISED_ACTION));
+        }
+        return ALLOWED;
+    }
+
+    @Override
+    public Set<TurnAction> acceptedActions() {
+        return ACCEPTED_ACTIONS;
+    }
+
+    private Try<List<GameEvent>> handleProceed(GameState gameState) {
         final var turn = gameState.turns().get(gameState.currentTurn());
-        final var turns = new ArrayList<>(gameState.turns());
-        turns.set(gameState.currentTurn(),
-                  new Turn(TurnPhase.GUESSING,
-                           turn.providedHints(),
-                           turn.hintsToFilter(),
-                           turn.hintsToRemove(),
-                           turn.wordGuessed(),
-                           turn.players()));
-        return Try.success(new GameState(
-                gameState.id(),
-                gameState.status(),
-                gameState.players(),
-                turns,
-                gameState.wordsToGuess(),
-                gameState.currentTurn()
-        ));
+        return Try.success(List.of(new GameEvent.PhaseAdvanced(TurnPhase.GUESSING, turn.hintsToFilter())));
     }
 
-    private Try<GameState> handleRemoveHint(GameState gameState, String remover, String toRemove) {
+    private Try<List<GameEvent>> handleRemoveHint(GameState gameState, String remover, String toRemove) {
         final var turn = gameState.turns().get(gameState.currentTurn());
-        final var turns = new ArrayList<>(gameState.turns());
-        final List<PlayerWord> hintsToRemove = new ArrayList<>(turn.hintsToRemove());
         if (turn.providedHints().stream()
                 .map(PlayerWord::word)
                 .collect(Collectors.toSet()).contains(toRemove) &&
-                !hintsToRemove.stream()
-                              .map(PlayerWord::word)
-                              .collect(Collectors.toSet()).contains(toRemove) &&
+                !turn.hintsToRemove().stream()
+                     .map(PlayerWord::word)
+                     .collect(Collectors.toSet()).contains(toRemove) &&
                 !turn.hintsToFilter().contains(toRemove)) {
-            hintsToRemove.add(new PlayerWord(remover, toRemove));
+            return Try.success(List.of(new GameEvent.HintRemoved(new PlayerWord(remover, toRemove))));
         }
-        turns.set(gameState.currentTurn(),
-                  new Turn(turn.phase(),
-                           turn.providedHints(),
-                           turn.hintsToFilter(),
-                           hintsToRemove,
-                           turn.wordGuessed(),
-                           turn.players()));
-        return Try.success(new GameState(
-                gameState.id(),
-                gameState.status(),
-                gameState.players(),
-                turns,
-                gameState.wordsToGuess(),
-                gameState.currentTurn()
-        ));
+        return NO_EVENTS;
     }
 
-    private Try<GameState> handleCancelRemovedHint(GameState gameState, String toRemove) {
+    private Try<List<GameEvent>> handleCancelRemovedHint(GameState gameState, String toRemove) {
         final var turn = gameState.turns().get(gameState.currentTurn());
-        final var turns = new ArrayList<>(gameState.turns());
-        final List<PlayerWord> hintsToRemove;
         if (turn.hintsToRemove().stream()
                 .map(PlayerWord::word)
                 .collect(Collectors.toSet()).contains(toRemove)) {
-            hintsToRemove = turn.hintsToRemove().stream()
-                                .filter(pw -> !StringUtils.equals(toRemove, pw.word()))
-                                .toList();
-        } else {
-            hintsToRemove = turn.hintsToRemove();
+            return Try.success(List.of(new GameEvent.HintRemovalCancelled(toRemove)));
         }
-        turns.set(gameState.currentTurn(),
-                  new Turn(turn.phase(),
-                           turn.providedHints(),
-                           turn.hintsToFilter(),
-                           hintsToRemove,
-                           turn.wordGuessed(),
-                           turn.players()));
-        return Try.success(new GameState(
-                gameState.id(),
-                gameState.status(),
-                gameState.players(),
-                turns,
-                gameState.wordsToGuess(),
-                gameState.currentTurn()
-        ));
+        return NO_EVENTS;
     }
 }
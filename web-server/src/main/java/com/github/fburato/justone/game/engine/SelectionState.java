@@ -2,48 +2,63 @@ package com.github.fburato.justone.game.engine;
 
 import com.github.fburato.justone.game.errors.ErrorCode;
 import com.github.fburato.justone.game.errors.IllegalActionException;
+import com.github.fburato.justone.game.errors.InvalidActionException;
 import com.github.fburato.justone.game.errors.InvalidStateException;
 import com.github.fburato.justone.model.Action;
 import com.github.fburato.justone.model.GameState;
 import com.github.fburato.justone.model.PlayerWord;
+import com.github.fburato.justone.model.ProvidedHints;
 import com.github.fburato.justone.model.Turn;
 import com.github.fburato.justone.model.TurnAction;
 import com.github.fburato.justone.model.TurnPhase;
-import com.github.fburato.justone.model.TurnPlayer;
+import com.github.fburato.justone.model.TurnPlayers;
 import com.github.fburato.justone.model.TurnRole;
 import io.vavr.control.Try;
-import org.apache.commons.lang3.StringUtils;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
+/**
+ * Selection of the hints. {@link TurnAction#PROCEED} is only accepted from {@link Engine#ROOT}, when the
+ * deadline of the phase expires: the providers who have not provided a hint are skipped. A skipped provider has
+ * no hint in the turn, so it is neither counted for the duplicated hints nor shown in the following phases.
+ */
 class SelectionState implements EngineState {
 
-    private static String normalise(String hint) {
-        return StringUtils.lowerCase(StringUtils.strip(hint));
+    private static final Set<TurnAction> ACCEPTED_ACTIONS = EnumSet.of(TurnAction.PROVIDE_HINT,
+                                                                       TurnAction.CANCEL_PROVIDED_HINT,
+                                                                       TurnAction.PROCEED);
+
+    private final HintNormalisers hintNormalisers;
+    private final CompiledWords hintCheckers;
+
+    SelectionState() {
+        this(HintNormalisers.DEFAULT_HINT_NORMALISERS, HintChecker.DEFAULT_HINT_CHECKER);
+    }
+
+    SelectionState(HintNormaliser hintNormaliser) {
+        this(hintNormaliser, HintChecker.DEFAULT_HINT_CHECKER);
+    }
+
+    SelectionState(HintNormaliser hintNormaliser, HintChecker hintChecker) {
+        this(HintNormalisers.of(hintNormaliser), hintChecker);
+    }
+
+    SelectionState(HintNormalisers hintNormalisers, HintChecker hintChecker) {
+        this.hintNormalisers = hintNormalisers;
+        this.hintCheckers = new CompiledWords(hintChecker::compile);
     }
 
     @Override
     @SuppressWarnings("unchecked")
-    public Try<GameState> execute(GameState gameState, Action<?> action) {
-        final var turn = gameState.turns().get(gameState.currentTurn());
-        if (turn.phase() != TurnPhase.SELECTION) {
-            return Try.failure(new InvalidStateException(ErrorCode.UNEXPECTED_TURN_PHASE));
+    public Try<List<GameEvent>> events(GameState gameState, Action<?> action) {
+        final var check = check(gameState, action);
+        if (check.isFailure()) {
+            return Try.failure(check.getCause());
         }
-        if (!Set.of(TurnAction.PROVIDE_HINT, TurnAction.CANCEL_PROVIDED_HINT).contains(action.playerAction())) {
-            return Try.failure(new IllegalActionException(ErrorCode.ILLEGAL_ACTION));
-        }
-        final var providers = turn.players().stream()
-                                  .filter(tp -> tp.roles().contains(TurnRole.PROVIDER))
-                                  .map(TurnPlayer::playerId)
-                                  .collect(Collectors.toSet());
-        if (!providers.contains(action.playerId())) {
-            return Try.failure(new IllegalActionException(ErrorCode.UNAUTHORISED_ACTION));
+        if (action.playerAction() == TurnAction.PROCEED) {
+            return handleExpiredSelection(gameState);
         }
 
         if (action.playerAction() == TurnAction.PROVIDE_HINT) {
@@ -53,81 +68,86 @@ class SelectionState implements EngineState {
         return handleCancelHint(gameState, (Action<Void>) action);
     }
 
-    private Try<GameState> handleProvidedHint(GameState gameState, Action<String> hintAction) {
+    @Override
+    public Try<Void> check(GameState gameState, Action<?> action) {
         final var turn = gameState.turns().get(gameState.currentTurn());
-        final var turnHints = new ArrayList<>(turn.providedHints());
-        final var currentPlayerIndex = IntStream.range(0, turnHints.size())
-                                                .filter(i -> turnHints.get(i).playerId().equals(hintAction.playerId()))
-                                                .findFirst();
-        if (currentPlayerIndex.isEmpty()) {
-            turnHints.add(new PlayerWord(hintAction.playerId(), hintAction.payload()));
-        } else {
-            turnHints.set(currentPlayerIndex.getAsInt(), new PlayerWord(hintAction.playerId(), hintAction.payload()));
+        if (turn.phase() != TurnPhase.SELECTION) {
+            return Try.failure(InvalidStateException.of(ErrorCode.UNEXPECTED_TURN_PHASE));
+        }
+        if (!ACCEPTED_ACTIONS.contains(action.playerAction())) {
+            return Try.failure(IllegalActionException.of(ErrorCode.ILLEGAL_ACTION));
+        }
+        if (action.playerAction() == TurnAction.PROCEED) {
+            return Engine.ROOT.equals(action.playerId())
+                    ? ALLOWED
+                    : Try.failure(IllegalActionException.of(ErrorCode.ILLEGAL_ACTION));
+        }
+        if (!TurnPlayers.of(turn.players()).hasRole(action.playerId(), TurnRole.PROVIDER)) {
+            return Try.failure(IllegalActionException.of(ErrorCode.UNAUTHORISED_ACTION));
         }
+        if (action.playerAction() == TurnAction.PROVIDE_HINT) {
+            final var wordsToGuess = gameState.wordsToGuess();
+            if (gameState.currentTurn() < wordsToGuess.size()
+                    && !hintCheckers.of(wordsToGuess.get(gameState.currentTurn())).test((String) action.payload())) {
+                return Try.failure(InvalidActionException.of(ErrorCode.ILLEGAL_HINT));
+            }
+        }
+        return ALLOWED;
+    }
+
+    @Override
+    public Set<TurnAction> acceptedActions() {
+        return ACCEPTED_ACTIONS;
+    }
 
-        final var turns = new ArrayList<>(gameState.turns());
-        turns.set(gameState.currentTurn(), updateTurn(turn, turnHints));
-        return Try.success(new GameState(
-                gameState.id(),
-                gameState.status(),
-                gameState.players(),
-                turns,
-                gameState.wordsToGuess(),
-                gameState.currentTurn()
-        ));
+    private ProvidedHints providedHints(Turn turn, HintNormaliser hintNormaliser) {
+        return ProvidedHints.of(turn.providedHints())
+                            .normalisedWith(hintNormaliser);
     }
 
-    private Turn updateTurn(Turn oldTurn, List<PlayerWord> providedHints) {
-        final Map<String, String> hintsOfProviders = providedHints.stream()
-                                                                  .collect(Collectors.toMap(PlayerWord::playerId,
-                                                                                            PlayerWord::word));
-        final Set<String> providers = oldTurn.players().stream()
-                                             .filter(tp -> tp.roles().contains(TurnRole.PROVIDER))
-                                             .map(TurnPlayer::playerId)
-                                             .collect(Collectors.toSet());
-        if (!hintsOfProviders.keySet().containsAll(providers)) {
-            return new Turn(oldTurn.phase(), providedHints, oldTurn.hintsToFilter(), oldTurn.hintsToRemove(),
-                            oldTurn.wordGuessed(), oldTurn.players());
+    private Try<List<GameEvent>> handleProvidedHint(GameState gameState, Action<String> hintAction) {
+        final var turn = gameState.turns().get(gameState.currentTurn());
+        final var hintNormaliser = hintNormalisers.forLanguage(gameState.languageId());
+        final var hintProvided = new GameEvent.HintProvided(new PlayerWord(hintAction.playerId(), hintAction.payload()),
+                                                            hintNormaliser.normalise(hintAction.payload()));
+        final var turnHints = providedHints(turn, hintNormaliser)
+                .withHint(hintProvided.hint(), hintProvided.normalisedHint());
+        if (!allProvidersHaveHints(TurnPlayers.of(turn.players()), turnHints)) {
+            return Try.success(List.of(hintProvided));
         }
-
-        final Map<String, Integer> countOfDuplicates = new HashMap<>();
-        hintsOfProviders.values().forEach(hint -> {
-            final var normalised = normalise(hint);
-            final var count = countOfDuplicates.getOrDefault(normalised, 0);
-            countOfDuplicates.put(normalised, count + 1);
-        });
-        final List<String> toExclude = hintsOfProviders.values().stream()
-                                                       .filter(hint -> {
-                                                           final var normalised = normalise(hint);
-                                                           return countOfDuplicates.get(normalised) > 1;
-                                                       }).distinct()
-                                                       .toList();
-        return new Turn(TurnPhase.REMOVAL, providedHints, toExclude, oldTurn.hintsToRemove(), oldTurn.wordGuessed(),
-                        oldTurn.players());
+        return Try.success(List.of(hintProvided, removalOf(turnHints)));
     }
 
-    private Try<GameState> handleCancelHint(GameState gameState, Action<Void> cancelAction) {
+    private Try<List<GameEvent>> handleExpiredSelection(GameState gameState) {
         final var turn = gameState.turns().get(gameState.currentTurn());
-        final var turnHints = new ArrayList<>(turn.providedHints());
-        final var currentPlayerIndex = IntStream.range(0, turnHints.size())
-                                                .filter(i -> turnHints.get(i).playerId()
-                                                                      .equals(cancelAction.playerId()))
-                                                .findFirst();
-        if (currentPlayerIndex.isPresent()) {
-            turnHints.remove(currentPlayerIndex.getAsInt());
+        final var hintNormaliser = hintNormalisers.forLanguage(gameState.languageId());
+        return Try.success(List.of(removalOf(providedHints(turn, hintNormaliser))));
+    }
+
+    /**
+     * @return the event moving the turn to the removal of the hints, filtering the duplicated ones
+     */
+    private static GameEvent removalOf(ProvidedHints providedHints) {
+        return new GameEvent.PhaseAdvanced(TurnPhase.REMOVAL, providedHints.duplicatedHints());
+    }
+
+    private boolean allProvidersHaveHints(TurnPlayers turnPlayers, ProvidedHints providedHints) {
+        final var providers = turnPlayers.countWithRole(TurnRole.PROVIDER);
+        if (providedHints.size() < providers) {
+            return false;
         }
+        final var providersWithHints = providedHints.stream()
+                                                    .filter(hint -> turnPlayers.hasRole(hint.playerId(),
+                                                                                        TurnRole.PROVIDER))
+                                                    .count();
+        return providersWithHints >= providers;
+    }
 
-        final var turns = new ArrayList<>(gameState.turns());
-        turns.set(gameState.currentTurn(),
-                  new Turn(turn.phase(), turnHints, turn.hintsToFilter(), turn.hintsToRemove(), turn.wordGuessed(),
-                           turn.players()));
-        return Try.success(new GameState(
-                gameState.id(),
-                gameState.status(),
-                gameState.players(),
-                turns,
-                gameState.wordsToGuess(),
-                gameState.currentTurn()
-        ));
+    private Try<List<GameEvent>> handleCancelHint(GameState gameState, Action<Void> cancelAction) {
+        final var turn = gameState.turns().get(gameState.currentTurn());
+        if (turn.providedHints().stream().noneMatch(hint -> cancelAction.playerId().equals(hint.playerId()))) {
+            return NO_EVENTS;
+        }
+        return Try.success(List.of(new GameEvent.HintCancelled(cancelAction.playerId())));
     }
 }
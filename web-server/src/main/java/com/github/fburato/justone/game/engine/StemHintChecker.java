@@ -0,0 +1,107 @@
+package com.github.fburato.justone.game.engine;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Rejects the hints which contain the stem of the word after folding case, accents and whitespace as
+ * {@link FoldingGuessEvaluator} does. The stem is a prefix of the word, the word without its plural, its final
+ * "y" or its first common inflectional suffix, so hints containing the word itself, its plural or its stem are
+ * rejected. The stem is searched with a precomputed Knuth-Morris-Pratt table, in time linear in the length of
+ * the hint.
+ */
+public final class StemHintChecker implements HintChecker {
+
+    private static final List<String> SUFFIXES = List.of("ing", "ed", "er", "ly");
+    private static final List<String> SIBILANTS = List.of("s", "x", "z", "ch", "sh");
+    private static final String VOWELS = "aeiou";
+    private static final int MIN_STEM_LENGTH = 3;
+    // stripping a suffix from a short word leaves a stem common to unrelated words, e.g. "tow" for "tower"
+    private static final int MIN_SUFFIX_STEM_LENGTH = 4;
+
+    /**
+     * @return the prefix of the word without its plural, the final "y" after a consonant or its first common
+     * inflectional suffix, unless fewer than {@code MIN_STEM_LENGTH} characters, or {@code
+     * MIN_SUFFIX_STEM_LENGTH} for the inflectional suffixes, would be left. The "y" is dropped so that the stem
+     * of a word ending in "y" is also contained in its plural in "ies".
+     */
+    static String stem(String foldedWord) {
+        if (foldedWord.endsWith("ies")) {
+            return stemmed(foldedWord, 3, MIN_STEM_LENGTH);
+        }
+        if (foldedWord.endsWith("es") && endsWithSibilant(foldedWord, 2)) {
+            return stemmed(foldedWord, 2, MIN_STEM_LENGTH);
+        }
+        if (foldedWord.endsWith("s") && !foldedWord.endsWith("ss")) {
+            return stemmed(foldedWord, 1, MIN_STEM_LENGTH);
+        }
+        if (foldedWord.endsWith("y") && endsWithConsonant(foldedWord, 1)) {
+            return stemmed(foldedWord, 1, MIN_STEM_LENGTH);
+        }
+        for (final var suffix : SUFFIXES) {
+            if (foldedWord.endsWith(suffix)) {
+                return stemmed(foldedWord, suffix.length(), MIN_SUFFIX_STEM_LENGTH);
+            }
+        }
+        return foldedWord;
+    }
+
+    private static boolean endsWithSibilant(String word, int suffixLength) {
+        final var withoutSuffix = word.substring(0, word.length() - suffixLength);
+        return SIBILANTS.stream().anyMatch(withoutSuffix::endsWith);
+    }
+
+    private static boolean endsWithConsonant(String word, int suffixLength) {
+        final var end = word.length() - suffixLength - 1;
+        return end >= 0 && Character.isLetter(word.charAt(end)) && VOWELS.indexOf(word.charAt(end)) < 0;
+    }
+
+    private static String stemmed(String word, int suffixLength, int minStemLength) {
+        final var stem = word.substring(0, word.length() - suffixLength);
+        return stem.length() < minStemLength ? word : stem;
+    }
+
+    /**
+     * @return for every prefix of the pattern, the length of its longest proper prefix which is also a suffix
+     */
+    static int[] failureTable(String pattern) {
+        final var failure = new int[pattern.length()];
+        int matched = 0;
+        for (int i = 1; i < pattern.length(); ++i) {
+            while (matched > 0 && pattern.charAt(i) != pattern.charAt(matched)) {
+                matched = failure[matched - 1];
+            }
+            if (pattern.charAt(i) == pattern.charAt(matched)) {
+                ++matched;
+            }
+            failure[i] = matched;
+        }
+        return failure;
+    }
+
+    static boolean contains(String text, String pattern, int[] failure) {
+        int matched = 0;
+        for (int i = 0; i < text.length(); ++i) {
+            while (matched > 0 && text.charAt(i) != pattern.charAt(matched)) {
+                matched = failure[matched - 1];
+            }
+            if (text.charAt(i) == pattern.charAt(matched)) {
+                ++matched;
+            }
+            if (matched == pattern.length()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Predicate<String> compile(String word) {
+        final var stem = stem(FoldingGuessEvaluator.fold(word));
+        if (stem.isEmpty()) {
+            return hint -> true;
+        }
+        final var failure = failureTable(stem);
+        return hint -> hint == null || !contains(FoldingGuessEvaluator.fold(hint), stem, failure);
+    }
+}
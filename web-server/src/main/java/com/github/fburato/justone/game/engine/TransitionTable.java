@@ -0,0 +1,73 @@
+package com.github.fburato.justone.game.engine;
+
+import com.github.fburato.justone.model.GameState;
+import com.github.fburato.justone.model.TurnAction;
+import com.github.fburato.justone.model.TurnPhase;
+
+import java.util.Map;
+
+/**
+ * Flat table of the transitions of the engine, indexed by the type of the current state of the game and by the
+ * action executed on it. The table is compiled once: actions which apply to the game as a whole are handled the
+ * same way in every state, actions not accepted by a state are routed to the illegal action handler and every
+ * other action is routed to the state itself.
+ */
+final class TransitionTable {
+
+    private static final EngineStateType[] STATE_TYPES = EngineStateType.values();
+    private static final TurnAction[] ACTIONS = TurnAction.values();
+    private static final EngineStateType[] STATE_TYPES_BY_PHASE = new EngineStateType[TurnPhase.values().length];
+
+    static {
+        STATE_TYPES_BY_PHASE[TurnPhase.SELECTION.ordinal()] = EngineStateType.SELECTION;
+        STATE_TYPES_BY_PHASE[TurnPhase.REMOVAL.ordinal()] = EngineStateType.REMOVAL;
+        STATE_TYPES_BY_PHASE[TurnPhase.GUESSING.ordinal()] = EngineStateType.GUESS;
+        STATE_TYPES_BY_PHASE[TurnPhase.CONCLUSION.ordinal()] = EngineStateType.CONCLUSION;
+    }
+
+    private final EngineState[] transitions = new EngineState[STATE_TYPES.length * ACTIONS.length];
+
+    TransitionTable(Map<EngineStateType, EngineState> states,
+                    Map<TurnAction, EngineState> gameActions,
+                    EngineState illegalAction) {
+        final var unknownState = states.get(EngineStateType.UNKNOWN);
+        for (final var stateType : STATE_TYPES) {
+            final var state = states.getOrDefault(stateType, unknownState);
+            for (final var action : ACTIONS) {
+                final EngineState transition;
+                if (gameActions.containsKey(action)) {
+                    transition = gameActions.get(action);
+                } else if (state.acceptedActions().contains(action)) {
+                    transition = state;
+                } else {
+                    transition = illegalAction;
+                }
+                transitions[index(stateType, action)] = transition;
+            }
+        }
+    }
+
+    private static int index(EngineStateType stateType, TurnAction action) {
+        return stateType.ordinal() * ACTIONS.length + action.ordinal();
+    }
+
+    static EngineStateType stateTypeOf(GameState gameState) {
+        final var turns = gameState.turns();
+        final int currentTurn = gameState.currentTurn();
+        if (currentTurn == 0 && turns.isEmpty()) {
+            return EngineStateType.INIT;
+        }
+        if (currentTurn < 0 || currentTurn >= turns.size()) {
+            return EngineStateType.INVALID_CURRENT_TURN;
+        }
+        final var phase = turns.get(currentTurn).phase();
+        if (phase == null) {
+            return EngineStateType.UNKNOWN;
+        }
+        return STATE_TYPES_BY_PHASE[phase.ordinal()];
+    }
+
+    EngineState transition(GameState gameState, TurnAction action) {
+        return transitions[index(stateTypeOf(gameState), action)];
+    }
+}
@@ -6,10 +6,17 @@ import com.github.fburato.justone.model.Action;
 import com.github.fburato.justone.model.GameState;
 import io.vavr.control.Try;
 
+import java.util.List;
+
 class UnknownState implements EngineState {
 
     @Override
-    public Try<GameState> execute(GameState gameState, Action<?> action) {
-        return Try.failure(new InvalidStateException(ErrorCode.UNRECOGNISED_STATE));
+    public Try<List<GameEvent>> events(GameState gameState, Action<?> action) {
+        return Try.failure(InvalidStateException.of(ErrorCode.UNRECOGNISED_STATE));
+    }
+
+    @Override
+    public Try<Void> check(GameState gameState, Action<?> action) {
+        return Try.failure(InvalidStateException.of(ErrorCode.UNRECOGNISED_STATE));
     }
 }
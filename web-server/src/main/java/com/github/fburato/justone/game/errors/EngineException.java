@@ -1,6 +1,9 @@
 package com.github.fburato.justone.game.errors;
 
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -19,12 +22,33 @@ public class EngineException extends RuntimeException {
     }
 
     public EngineException(ErrorCode... errorCodes) {
-        super(Stream.of(errorCodes)
-                    .map(ErrorCode::name)
-                    .collect(Collectors.joining(", ")));
+        super(message(errorCodes));
         this.errorCodes = List.of(errorCodes);
     }
 
+    /**
+     * Creates an exception without stack trace and suppressed exceptions, which can be shared between threads
+     * and thrown or returned any number of times.
+     */
+    protected EngineException(boolean writableStackTrace, ErrorCode... errorCodes) {
+        super(message(errorCodes), null, false, writableStackTrace);
+        this.errorCodes = List.of(errorCodes);
+    }
+
+    private static String message(ErrorCode... errorCodes) {
+        return Stream.of(errorCodes)
+                     .map(ErrorCode::name)
+                     .collect(Collectors.joining(", "));
+    }
+
+    protected static <T extends EngineException> Map<ErrorCode, T> sharedInstances(Function<ErrorCode, T> factory) {
+        final Map<ErrorCode, T> instances = new EnumMap<>(ErrorCode.class);
+        for (final var errorCode : ErrorCode.values()) {
+            instances.put(errorCode, factory.apply(errorCode));
+        }
+        return instances;
+    }
+
     public List<ErrorCode> errorCodes() {
         return errorCodes;
     }
@@ -8,9 +8,11 @@ public enum ErrorCode {
     NOT_ENOUGH_PLAYERS(400_004),
     NO_ID(400_005),
     NOT_ENOUGH_WORDS(400_006),
+    ILLEGAL_HINT(400_007),
 
     ILLEGAL_ACTION(401_001),
     UNAUTHORISED_ACTION(401_002),
+    NOTHING_TO_UNDO(401_003),
 
     UNRECOGNISED_STATE(500_001),
     INVALID_CURRENT_TURN(500_002),
@@ -1,12 +1,29 @@
 package com.github.fburato.justone.game.errors;
 
+import java.util.Map;
+
 /**
  * Represents a failure due to the action well formed, but not
  * executable in the given state
  */
 public class IllegalActionException extends EngineException {
 
+    private static final Map<ErrorCode, IllegalActionException> SHARED_INSTANCES =
+            sharedInstances(errorCode -> new IllegalActionException(false, errorCode));
+
     public IllegalActionException(ErrorCode... errorCodes) {
         super(errorCodes);
     }
+
+    private IllegalActionException(boolean writableStackTrace, ErrorCode... errorCodes) {
+        super(writableStackTrace, errorCodes);
+    }
+
+    /**
+     * @return the shared instance without stack trace for the error code, used for the failures which are
+     * part of the normal flow of a game
+     */
+    public static IllegalActionException of(ErrorCode errorCode) {
+        return SHARED_INSTANCES.get(errorCode);
+    }
 }
@@ -1,12 +1,29 @@
 package com.github.fburato.justone.game.errors;
 
+import java.util.Map;
+
 /**
  * Represents a failure due to the state provided being not
  * processable because malformed in some way
  */
 public class InvalidStateException extends EngineException {
 
+    private static final Map<ErrorCode, InvalidStateException> SHARED_INSTANCES =
+            sharedInstances(errorCode -> new InvalidStateException(false, errorCode));
+
     public InvalidStateException(ErrorCode... errorCodes) {
         super(errorCodes);
     }
+
+    private InvalidStateException(boolean writableStackTrace, ErrorCode... errorCodes) {
+        super(writableStackTrace, errorCodes);
+    }
+
+    /**
+     * @return the shared instance without stack trace for the error code, used for the failures which are
+     * part of the normal flow of a game
+     */
+    public static InvalidStateException of(ErrorCode errorCode) {
+        return SHARED_INSTANCES.get(errorCode);
+    }
 }
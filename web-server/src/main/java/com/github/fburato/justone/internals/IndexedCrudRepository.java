@@ -0,0 +1,204 @@
+package com.github.fburato.justone.internals;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Repository keeping secondary indexes of the entities of the decorated repository, so that the entities with a
+ * given key are found without scanning every entity. Every index maps the keys an entity is extracted to, e.g.
+ * its status or the ids of its players, to the ids of the entities with that key. Indexes of the entities already
+ * in the decorated repository are built once, when the decorator is created, and kept up to date as entities are
+ * saved or deleted through it. The entities found while building the indexes can be passed on to other
+ * structures built from the same entities, so that the decorated repository is scanned once for all of them.
+ * <p>
+ * The keys last indexed for every entity are kept, so that updating an entity does not read its previous version
+ * from the decorated repository. Entities found through an index are checked against the key before being
+ * returned, so that an entity updated while being looked up is not returned under a key it no longer has.
+ * <p>
+ * The indexes and the indexed keys are kept in memory for every entity of the decorated repository, including
+ * the entities a tiered repository has spilled to disk: they are not bounded and grow with the number of
+ * entities stored.
+ */
+public final class IndexedCrudRepository<ID, E> implements CrudRepository<ID, E> {
+
+    private final CrudRepository<ID, E> repository;
+    private final List<Index<E>> indexes;
+    private final Map<String, Integer> positions = new HashMap<>();
+    private final List<Map<Object, Set<ID>>> idsByKey = new ArrayList<>();
+    private final Map<ID, List<Collection<?>>> indexedKeys = new ConcurrentHashMap<>();
+
+    public IndexedCrudRepository(CrudRepository<ID, E> repository, List<Index<E>> indexes) {
+        this(repository, indexes, entity -> {
+        });
+    }
+
+    /**
+     * @param scanned receives every entity already in the repository, as it is indexed
+     */
+    public IndexedCrudRepository(CrudRepository<ID, E> repository,
+                                 List<Index<E>> indexes,
+                                 Consumer<? super E> scanned) {
+        this.repository = repository;
+        this.indexes = List.copyOf(indexes);
+        for (final var index : this.indexes) {
+            if (positions.putIfAbsent(index.name(), positions.size()) != null) {
+                throw new IllegalArgumentException(String.format("index='%s' is defined more than once",
+                                                                 index.name()));
+            }
+            idsByKey.add(new ConcurrentHashMap<>());
+        }
+        repository.getAll().forEach(entity -> {
+            index(entity);
+            scanned.accept(entity);
+        });
+    }
+
+    /**
+     * @return the entities with the key in the index
+     */
+    public Stream<E> findBy(String indexName, Object key) {
+        final var position = positionOf(indexName);
+        final var index = indexes.get(position);
+        return findIdsBy(indexName, key)
+                .map(repository::findById)
+                .flatMap(Optional::stream)
+                .filter(entity -> keysOf(index, entity).contains(key));
+    }
+
+    /**
+     * @return the ids of the entities with the key in the index, without reading the entities; none for a null
+     * key, as null keys are not indexed
+     */
+    public Stream<ID> findIdsBy(String indexName, Object key) {
+        final var position = positionOf(indexName);
+        if (key == null) {
+            return Stream.empty();
+        }
+        final var ids = idsByKey.get(position).get(key);
+        return ids == null ? Stream.empty() : List.copyOf(ids).stream();
+    }
+
+    private int positionOf(String indexName) {
+        final var position = positions.get(indexName);
+        if (position == null) {
+            throw new IllegalArgumentException(String.format("index='%s' is not defined", indexName));
+        }
+        return position;
+    }
+
+    private static <E> Collection<?> keysOf(Index<E> index, E entity) {
+        final var keys = index.keys().apply(entity);
+        return keys == null ? List.of() : keys;
+    }
+
+    private void index(E entity) {
+        final var id = idExtractor(entity);
+        final List<Collection<?>> keys = new ArrayList<>(indexes.size());
+        for (final var index : indexes) {
+            keys.add(keysOf(index, entity));
+        }
+        indexedKeys.compute(id, (entityId, previousKeys) -> {
+            for (int i = 0; i < indexes.size(); ++i) {
+                final var previous = previousKeys == null ? List.of() : previousKeys.get(i);
+                final var current = keys.get(i);
+                for (final var key : previous) {
+                    if (key != null && !current.contains(key)) {
+                        removeId(i, key, entityId);
+                    }
+                }
+                for (final var key : current) {
+                    if (key != null) {
+                        idsByKey.get(i).computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(entityId);
+                    }
+                }
+            }
+            return keys;
+        });
+    }
+
+    private void unindex(ID id) {
+        indexedKeys.computeIfPresent(id, (entityId, previousKeys) -> {
+            for (int i = 0; i < indexes.size(); ++i) {
+                for (final var key : previousKeys.get(i)) {
+                    if (key != null) {
+                        removeId(i, key, entityId);
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    private void removeId(int position, Object key, ID id) {
+        idsByKey.get(position).computeIfPresent(key, (k, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    @Override
+    public ID idExtractor(E entity) {
+        return repository.idExtractor(entity);
+    }
+
+    @Override
+    public Optional<E> findById(ID id) {
+        return repository.findById(id);
+    }
+
+    @Override
+    public Stream<E> getAll() {
+        return repository.getAll();
+    }
+
+    @Override
+    public E save(E entity) {
+        final var saved = repository.save(entity);
+        index(saved);
+        return saved;
+    }
+
+    @Override
+    public void saveAll(Collection<E> entities) {
+        repository.saveAll(entities);
+        entities.forEach(this::index);
+    }
+
+    @Override
+    public boolean delete(ID id) {
+        final var deleted = repository.delete(id);
+        unindex(id);
+        return deleted;
+    }
+
+    /**
+     * Secondary index named {@code name}, under which every entity is found by each of the keys extracted from it.
+     */
+    public record Index<E>(String name, Function<E, ? extends Collection<?>> keys) {
+
+        public Index {
+            Objects.requireNonNull(name);
+            Objects.requireNonNull(keys);
+        }
+
+        /**
+         * @return an index under which every entity is found by a single key, none if the key is null
+         */
+        public static <E> Index<E> of(String name, Function<E, ?> key) {
+            return new Index<>(name, entity -> {
+                final var entityKey = key.apply(entity);
+                return entityKey == null ? List.of() : List.of(entityKey);
+            });
+        }
+    }
+}
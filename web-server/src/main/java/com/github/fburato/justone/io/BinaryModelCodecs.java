@@ -0,0 +1,395 @@
+package com.github.fburato.justone.io;
+
+import com.github.fburato.justone.model.FrozenTurns;
+import com.github.fburato.justone.model.GameConfig;
+import com.github.fburato.justone.model.GameState;
+import com.github.fburato.justone.model.GameStatus;
+import com.github.fburato.justone.model.Player;
+import com.github.fburato.justone.model.PlayerRole;
+import com.github.fburato.justone.model.PlayerWord;
+import com.github.fburato.justone.model.Turn;
+import com.github.fburato.justone.model.TurnPhase;
+import com.github.fburato.justone.model.TurnPlayer;
+import com.github.fburato.justone.model.TurnRole;
+import com.github.fburato.justone.model.Words;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Compact binary codecs of the model records. Every encoding starts with the {@link #FORMAT_VERSION} it was
+ * written with, so that decoding can tell older formats apart once the records evolve.
+ * <p>
+ * Integers are written as varints (signed ones zigzag encoded), enums as their ordinal and strings through a
+ * dictionary local to the encoded entity: the first occurrence of a string is written in full and every later
+ * occurrence as its position in the dictionary, so the player ids and hints repeated across the turns of a game
+ * are written once. Nulls are encoded, so that every record round-trips to an equal one.
+ */
+public final class BinaryModelCodecs {
+
+    public static final int FORMAT_VERSION = 1;
+
+    public static final EntityCodec<GameState> GAME_STATE = codecOf(BinaryModelCodecs::writeGameState,
+                                                                   BinaryModelCodecs::readGameState);
+    public static final EntityCodec<Turn> TURN = codecOf(BinaryModelCodecs::writeTurn,
+                                                         BinaryModelCodecs::readTurn);
+    public static final EntityCodec<GameConfig> GAME_CONFIG = codecOf(BinaryModelCodecs::writeGameConfig,
+                                                                     BinaryModelCodecs::readGameConfig);
+
+    private static final GameStatus[] GAME_STATUSES = GameStatus.values();
+    private static final PlayerRole[] PLAYER_ROLES = PlayerRole.values();
+    private static final TurnPhase[] TURN_PHASES = TurnPhase.values();
+    private static final TurnRole[] TURN_ROLES = TurnRole.values();
+
+    private BinaryModelCodecs() {
+    }
+
+    private static <E> EntityCodec<E> codecOf(Writer<E> writer, Function<Input, E> reader) {
+        return new EntityCodec<>() {
+            @Override
+            public byte[] encode(E entity) {
+                final var output = new Output();
+                output.writeVarInt(FORMAT_VERSION);
+                writer.write(output, entity);
+                return output.toByteArray();
+            }
+
+            @Override
+            public E decode(byte[] bytes) {
+                final var input = new Input(bytes);
+                final var version = input.readVarInt();
+                if (version != FORMAT_VERSION) {
+                    throw new IllegalArgumentException(String.format("format version=%d is not supported", version));
+                }
+                final var entity = reader.apply(input);
+                if (input.position != bytes.length) {
+                    throw new IllegalArgumentException(String.format("%d trailing bytes after the entity",
+                                                                     bytes.length - input.position));
+                }
+                return entity;
+            }
+        };
+    }
+
+    private static void writeGameState(Output output, GameState gameState) {
+        output.writeString(gameState.id());
+        output.writeEnum(gameState.status());
+        output.writeList(gameState.players(), BinaryModelCodecs::writePlayer);
+        output.writeList(gameState.turns(), BinaryModelCodecs::writeTurn);
+        output.writeList(gameState.wordsToGuess(), Output::writeString);
+        output.writeSignedVarInt(gameState.currentTurn());
+        output.writeLong(gameState.seed());
+        final var words = gameState.words();
+        output.writeBoolean(words != null);
+        if (words != null) {
+            output.writeSignedVarInt(words.remaining());
+            output.writeSignedVarInt(words.correct());
+            output.writeSignedVarInt(words.wrong());
+        }
+        output.writeString(gameState.languageId());
+    }
+
+    /**
+     * Turns before the last one are frozen as the engine does once a turn is over, see {@link FrozenTurns}.
+     */
+    private static GameState readGameState(Input input) {
+        final var id = input.readString();
+        final var status = input.readEnum(GAME_STATUSES);
+        final var players = input.readList(BinaryModelCodecs::readPlayer);
+        var turns = input.readList(BinaryModelCodecs::readTurn);
+        if (turns != null) {
+            final List<Turn> frozenTurns = new ArrayList<>(turns.size());
+            for (int i = 0; i < turns.size(); ++i) {
+                frozenTurns.add(i < turns.size() - 1 ? FrozenTurns.freeze(turns.get(i)) : turns.get(i));
+            }
+            turns = frozenTurns;
+        }
+        final var wordsToGuess = input.readList(Input::readString);
+        final var currentTurn = input.readSignedVarInt();
+        final var seed = input.readLong();
+        final var words = input.readBoolean()
+                ? new Words(input.readSignedVarInt(), input.readSignedVarInt(), input.readSignedVarInt())
+                : null;
+        return new GameState(id, status, players, turns, wordsToGuess, currentTurn, seed, words, input.readString());
+    }
+
+    private static void writePlayer(Output output, Player player) {
+        output.writeString(player.id());
+        output.writeEnum(player.playerRole());
+    }
+
+    private static Player readPlayer(Input input) {
+        return new Player(input.readString(), input.readEnum(PLAYER_ROLES));
+    }
+
+    private static void writeTurn(Output output, Turn turn) {
+        output.writeEnum(turn.phase());
+        output.writeList(turn.providedHints(), BinaryModelCodecs::writePlayerWord);
+        output.writeList(turn.hintsToFilter(), Output::writeString);
+        output.writeList(turn.hintsToRemove(), BinaryModelCodecs::writePlayerWord);
+        if (turn.wordGuessed() == null) {
+            output.writeVarInt(0);
+        } else if (turn.wordGuessed().isEmpty()) {
+            output.writeVarInt(1);
+        } else {
+            output.writeVarInt(2);
+            writePlayerWord(output, turn.wordGuessed().get());
+        }
+        output.writeList(turn.players(), BinaryModelCodecs::writeTurnPlayer);
+    }
+
+    private static Turn readTurn(Input input) {
+        final var phase = input.readEnum(TURN_PHASES);
+        final var providedHints = input.readList(BinaryModelCodecs::readPlayerWord);
+        final var hintsToFilter = input.readList(Input::readString);
+        final var hintsToRemove = input.readList(BinaryModelCodecs::readPlayerWord);
+        final var wordGuessedTag = input.readVarInt();
+        final Optional<PlayerWord> wordGuessed = switch (wordGuessedTag) {
+            case 0 -> null;
+            case 1 -> Optional.empty();
+            case 2 -> Optional.of(readPlayerWord(input));
+            default -> throw new IllegalArgumentException(String.format("invalid word guessed tag=%d",
+                                                                        wordGuessedTag));
+        };
+        return new Turn(phase, providedHints, hintsToFilter, hintsToRemove, wordGuessed,
+                        input.readList(BinaryModelCodecs::readTurnPlayer));
+    }
+
+    private static void writePlayerWord(Output output, PlayerWord playerWord) {
+        output.writeString(playerWord.playerId());
+        output.writeString(playerWord.word());
+    }
+
+    private static PlayerWord readPlayerWord(Input input) {
+        return new PlayerWord(input.readString(), input.readString());
+    }
+
+    /**
+     * Roles are written as a bitmask of their ordinals, as the players of a turn keep them as a set.
+     */
+    private static void writeTurnPlayer(Output output, TurnPlayer turnPlayer) {
+        output.writeString(turnPlayer.playerId());
+        if (turnPlayer.roles() == null) {
+            output.writeVarInt(0);
+            return;
+        }
+        int mask = 0;
+        for (final var turnRole : turnPlayer.roles()) {
+            mask |= 1 << turnRole.ordinal();
+        }
+        output.writeVarInt(mask + 1);
+    }
+
+    private static TurnPlayer readTurnPlayer(Input input) {
+        final var playerId = input.readString();
+        final var mask = input.readVarInt() - 1;
+        if (mask < 0) {
+            return new TurnPlayer(playerId, null);
+        }
+        if (mask >= 1 << TURN_ROLES.length) {
+            throw new IllegalArgumentException(String.format("invalid turn roles=%d", mask));
+        }
+        final List<TurnRole> roles = new ArrayList<>(TURN_ROLES.length);
+        for (final var turnRole : TURN_ROLES) {
+            if ((mask & 1 << turnRole.ordinal()) != 0) {
+                roles.add(turnRole);
+            }
+        }
+        return new TurnPlayer(playerId, List.copyOf(roles));
+    }
+
+    private static void writeGameConfig(Output output, GameConfig gameConfig) {
+        output.writeString(gameConfig.gameId());
+        output.writeString(gameConfig.host());
+        output.writeString(gameConfig.languageId());
+        output.writeList(gameConfig.wordPackNames(), Output::writeString);
+    }
+
+    private static GameConfig readGameConfig(Input input) {
+        return new GameConfig(input.readString(), input.readString(), input.readString(),
+                              input.readList(Input::readString));
+    }
+
+    @FunctionalInterface
+    private interface Writer<T> {
+        void write(Output output, T value);
+    }
+
+    /**
+     * Growable buffer the entities are encoded in. Strings are written as a varint: 0 for null, 1 for a string
+     * written in full (its length in bytes and its UTF-8 bytes follow) and 2 plus its position in the dictionary
+     * for a string already written.
+     */
+    private static final class Output {
+
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private byte[] bytes = new byte[256];
+        private int position;
+
+        private void ensureCapacity(int additional) {
+            if (position + additional > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, position + additional));
+            }
+        }
+
+        void writeVarInt(int value) {
+            ensureCapacity(5);
+            while ((value & ~0x7f) != 0) {
+                bytes[position++] = (byte) ((value & 0x7f) | 0x80);
+                value >>>= 7;
+            }
+            bytes[position++] = (byte) value;
+        }
+
+        void writeSignedVarInt(int value) {
+            writeVarInt((value << 1) ^ (value >> 31));
+        }
+
+        void writeLong(long value) {
+            ensureCapacity(Long.BYTES);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                bytes[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeBoolean(boolean value) {
+            writeVarInt(value ? 1 : 0);
+        }
+
+        void writeEnum(Enum<?> value) {
+            writeVarInt(value == null ? 0 : value.ordinal() + 1);
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeVarInt(0);
+                return;
+            }
+            final var entry = dictionary.get(value);
+            if (entry != null) {
+                writeVarInt(entry + 2);
+                return;
+            }
+            dictionary.put(value, dictionary.size());
+            final var utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(1);
+            writeVarInt(utf8.length);
+            ensureCapacity(utf8.length);
+            System.arraycopy(utf8, 0, bytes, position, utf8.length);
+            position += utf8.length;
+        }
+
+        <T> void writeList(List<T> values, Writer<T> writer) {
+            if (values == null) {
+                writeVarInt(0);
+                return;
+            }
+            writeVarInt(values.size() + 1);
+            for (final var value : values) {
+                writer.write(this, value);
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, position);
+        }
+    }
+
+    private static final class Input {
+
+        private final List<String> dictionary = new ArrayList<>();
+        private final byte[] bytes;
+        private int position;
+
+        private Input(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        private void require(int length) {
+            if (length < 0 || length > bytes.length - position) {
+                throw new IllegalArgumentException(String.format("truncated entity at position=%d", position));
+            }
+        }
+
+        int readVarInt() {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                require(1);
+                final var b = bytes[position++];
+                value |= (b & 0x7f) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException(String.format("malformed varint at position=%d", position));
+        }
+
+        int readSignedVarInt() {
+            final var value = readVarInt();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        long readLong() {
+            require(Long.BYTES);
+            long value = 0;
+            for (int i = 0; i < Long.BYTES; ++i) {
+                value = (value << 8) | (bytes[position++] & 0xff);
+            }
+            return value;
+        }
+
+        boolean readBoolean() {
+            return readVarInt() != 0;
+        }
+
+        <T extends Enum<T>> T readEnum(T[] values) {
+            final var ordinal = readVarInt() - 1;
+            if (ordinal < 0) {
+                return null;
+            }
+            if (ordinal >= values.length) {
+                throw new IllegalArgumentException(String.format("invalid ordinal=%d of %s", ordinal,
+                                                                 values[0].getDeclaringClass().getSimpleName()));
+            }
+            return values[ordinal];
+        }
+
+        String readString() {
+            final var tag = readVarInt();
+            if (tag == 0) {
+                return null;
+            }
+            if (tag > 1) {
+                if (tag < 0 || tag - 2 >= dictionary.size()) {
+                    throw new IllegalArgumentException(String.format("invalid dictionary entry=%d", tag - 2));
+                }
+                return dictionary.get(tag - 2);
+            }
+            final var length = readVarInt();
+            require(length);
+            final var value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            dictionary.add(value);
+            return value;
+        }
+
+        <T> List<T> readList(Function<Input, T> reader) {
+            final var size = readVarInt() - 1;
+            if (size == -1) {
+                return null;
+            }
+            require(size);
+            final List<T> values = new ArrayList<>(size);
+            for (int i = 0; i < size; ++i) {
+                values.add(reader.apply(this));
+            }
+            return values;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.github.fburato.justone.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Helpers for the repositories decorating other repositories, whose {@code close} throws no checked exception.
+ */
+final class Closeables {
+
+    private Closeables() {
+    }
+
+    /**
+     * Stops the executor and waits a minute at most for its current task. An interrupted wait stops waiting and
+     * restores the interrupt flag of the thread.
+     */
+    static void shutdown(ExecutorService executor) {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Closes the repository if it is {@link AutoCloseable}. A checked failure is rethrown unchecked: an
+     * {@link IOException} as an {@link UncheckedIOException} and any other as an {@link IllegalStateException}; an
+     * interrupted close restores the interrupt flag of the thread.
+     */
+    static void closeIfCloseable(Object repository) {
+        if (!(repository instanceof AutoCloseable closeable)) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while closing " + repository, e);
+        } catch (Exception e) {
+            throw new IllegalStateException("could not close " + repository, e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.github.fburato.justone.io;
+
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Codec compressing the encoding of another codec with deflate. The length of the uncompressed encoding is
+ * written first, so that decoding inflates it into a buffer of the right size at once.
+ */
+public class DeflateEntityCodec<E> implements EntityCodec<E> {
+
+    private final EntityCodec<E> codec;
+    private final int level;
+
+    public DeflateEntityCodec(EntityCodec<E> codec) {
+        this(codec, Deflater.BEST_SPEED);
+    }
+
+    public DeflateEntityCodec(EntityCodec<E> codec, int level) {
+        this.codec = codec;
+        this.level = level;
+    }
+
+    @Override
+    public byte[] encode(E entity) {
+        final var encoded = codec.encode(entity);
+        final var deflater = new Deflater(level);
+        try {
+            deflater.setInput(encoded);
+            deflater.finish();
+            var compressed = new byte[Integer.BYTES + encoded.length / 2 + 64];
+            var length = Integer.BYTES;
+            while (!deflater.finished()) {
+                if (length == compressed.length) {
+                    compressed = Arrays.copyOf(compressed, compressed.length * 2);
+                }
+                length += deflater.deflate(compressed, length, compressed.length - length);
+            }
+            compressed[0] = (byte) (encoded.length >>> 24);
+            compressed[1] = (byte) (encoded.length >>> 16);
+            compressed[2] = (byte) (encoded.length >>> 8);
+            compressed[3] = (byte) encoded.length;
+            return Arrays.copyOf(compressed, length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    @Override
+    public E decode(byte[] bytes) {
+        if (bytes.length < Integer.BYTES) {
+            throw new IllegalArgumentException(String.format("compressed entity of %d bytes is truncated",
+                                                             bytes.length));
+        }
+        final var length = (bytes[0] & 0xff) << 24 | (bytes[1] & 0xff) << 16 | (bytes[2] & 0xff) << 8
+                | (bytes[3] & 0xff);
+        if (length < 0) {
+            throw new IllegalArgumentException(String.format("invalid uncompressed length=%d", length));
+        }
+        final var inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, Integer.BYTES, bytes.length - Integer.BYTES);
+            final var encoded = new byte[length];
+            var inflated = 0;
+            while (!inflater.finished()) {
+                final var read = inflater.inflate(encoded, inflated, length - inflated);
+                if (read == 0 && (inflated == length || inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                inflated += read;
+            }
+            if (inflated != length || !inflater.finished()) {
+                throw new IllegalArgumentException(String.format("compressed entity inflated to %d bytes, "
+                                                                         + "expected %d", inflated, length));
+            }
+            return codec.decode(encoded);
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("malformed compressed entity", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.github.fburato.justone.io;
+
+/**
+ * Conversion of entities to and from the bytes stored by durable repositories. Decoding the bytes produced by
+ * {@link #encode} returns an entity equal to the encoded one.
+ */
+public interface EntityCodec<E> {
+
+    byte[] encode(E entity);
+
+    E decode(byte[] bytes);
+}
@@ -0,0 +1,38 @@
+package com.github.fburato.justone.io;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Codec storing entities as the JSON they are served with by the controllers.
+ */
+public class JsonEntityCodec<E> implements EntityCodec<E> {
+
+    private final ObjectMapper objectMapper;
+    private final Class<E> entityClass;
+
+    public JsonEntityCodec(ObjectMapper objectMapper, Class<E> entityClass) {
+        this.objectMapper = objectMapper;
+        this.entityClass = entityClass;
+    }
+
+    @Override
+    public byte[] encode(E entity) {
+        try {
+            return objectMapper.writeValueAsBytes(entity);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public E decode(byte[] bytes) {
+        try {
+            return objectMapper.readValue(bytes, entityClass);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,500 @@
+package com.github.fburato.justone.io;
+
+import com.github.fburato.justone.internals.CrudRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Durable repository storing entities in an append-only log of memory-mapped segment files. Saving an entity
+ * appends a record to the mapped memory of the active segment and points the in-memory index of the
+ * repository to it; deleting an entity appends a tombstone. Reads decode the record the index points to.
+ * <p>
+ * Records are made of their length, the CRC32 of their payload and the payload: the kind of record, the id and
+ * the encoded entity. When the repository is opened the segments are replayed in order to rebuild the index:
+ * the log ends at the first record whose length or checksum is invalid, so that a record torn by a crash is
+ * discarded with everything written after it. The segments following the one holding the invalid record are set
+ * aside with a {@code .discarded} suffix, so that the recovered entities are always a prefix of the log.
+ * <p>
+ * Mapped memory is forced to disk by a background thread every {@code syncInterval}, so that saves do not
+ * wait for the disk and writes within the same interval are synced together. With a zero interval every write
+ * is forced before returning.
+ * <p>
+ * Once the dead records of the sealed segments exceed the compaction threshold, the background thread copies
+ * the live records of the oldest segment at the end of the log and deletes the segment. Segments are only
+ * compacted oldest first, so that dropping the tombstones of a segment never brings back an entity saved in an
+ * older one.
+ */
+public final class MappedLogCrudRepository<E> implements CrudRepository<String, E>, AutoCloseable {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    public static final Duration DEFAULT_SYNC_INTERVAL = Duration.ofMillis(200);
+    public static final double DEFAULT_COMPACTION_THRESHOLD = 0.5;
+    static final Duration COMPACTION_INTERVAL = Duration.ofSeconds(1);
+
+    private static final Logger LOG = LoggerFactory.getLogger(MappedLogCrudRepository.class);
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String DISCARDED_SUFFIX = ".discarded";
+    private static final int HEADER = 2 * Integer.BYTES;
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+
+    private final Path directory;
+    private final EntityCodec<E> codec;
+    private final Function<E, String> idExtractor;
+    private final int segmentSize;
+    private final Duration syncInterval;
+    private final double compactionThreshold;
+    private final Map<String, Location> index = new ConcurrentHashMap<>();
+    private final NavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final Object writeLock = new Object();
+    private final ScheduledExecutorService background;
+    private Segment active;
+    private volatile boolean closed;
+
+    public MappedLogCrudRepository(Path directory, EntityCodec<E> codec, Function<E, String> idExtractor)
+            throws IOException {
+        this(directory, codec, idExtractor, DEFAULT_SEGMENT_SIZE, DEFAULT_SYNC_INTERVAL);
+    }
+
+    public MappedLogCrudRepository(Path directory,
+                                   EntityCodec<E> codec,
+                                   Function<E, String> idExtractor,
+                                   int segmentSize,
+                                   Duration syncInterval) throws IOException {
+        this(directory, codec, idExtractor, segmentSize, syncInterval, DEFAULT_COMPACTION_THRESHOLD, true);
+    }
+
+    /**
+     * @param segmentSize         the size of the segments, records larger than it get a segment of their own
+     * @param syncInterval        the interval between two syncs of the mapped memory, zero to sync every write
+     * @param compactionThreshold the ratio of dead bytes in the sealed segments above which they are compacted
+     * @param runInBackground     whether sync and compaction run on a background thread, otherwise only when
+     *                            {@link #sync} and {@link #compact} are called
+     */
+    MappedLogCrudRepository(Path directory,
+                            EntityCodec<E> codec,
+                            Function<E, String> idExtractor,
+                            int segmentSize,
+                            Duration syncInterval,
+                            double compactionThreshold,
+                            boolean runInBackground) throws IOException {
+        if (segmentSize <= HEADER) {
+            throw new IllegalArgumentException(String.format("segmentSize=%d should be greater than %d",
+                                                             segmentSize, HEADER));
+        }
+        if (syncInterval.isNegative()) {
+            throw new IllegalArgumentException(String.format("syncInterval=%s should not be negative",
+                                                             syncInterval));
+        }
+        this.directory = directory;
+        this.codec = codec;
+        this.idExtractor = idExtractor;
+        this.segmentSize = segmentSize;
+        this.syncInterval = syncInterval;
+        this.compactionThreshold = compactionThreshold;
+        Files.createDirectories(directory);
+        recover();
+        if (runInBackground) {
+            background = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final var thread = new Thread(runnable, "mapped-log-" + directory.getFileName());
+                thread.setDaemon(true);
+                return thread;
+            });
+            if (!syncInterval.isZero()) {
+                background.scheduleWithFixedDelay(this::sync, syncInterval.toNanos(), syncInterval.toNanos(),
+                                                  TimeUnit.NANOSECONDS);
+            }
+            background.scheduleWithFixedDelay(this::compact, COMPACTION_INTERVAL.toNanos(),
+                                              COMPACTION_INTERVAL.toNanos(), TimeUnit.NANOSECONDS);
+        } else {
+            background = null;
+        }
+    }
+
+    private static Path segmentPath(Path directory, long segmentId) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, segmentId, SEGMENT_SUFFIX));
+    }
+
+    private static long segmentIdOf(Path path) {
+        final var name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private void recover() throws IOException {
+        final List<Path> paths;
+        try (final var files = Files.list(directory)) {
+            paths = files.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                                         && path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                         .sorted()
+                         .toList();
+        }
+        for (int i = 0; i < paths.size(); ++i) {
+            final var path = paths.get(i);
+            final var segment = Segment.open(path, segmentIdOf(path), (int) Files.size(path));
+            segments.put(segment.id, segment);
+            final var end = segment.replay((kind, id, record) -> {
+                if (kind == PUT) {
+                    segment.liveBytes.addAndGet(record.size());
+                    release(index.put(id, record));
+                } else {
+                    release(index.remove(id));
+                }
+            });
+            segment.position = end;
+            if (end + Integer.BYTES <= segment.capacity() && segment.buffer.getInt(end) != 0) {
+                LOG.warn("discarding the torn tail of segment={} from offset={}", path, end);
+                segment.clear(end);
+                discard(paths.subList(i + 1, paths.size()));
+                break;
+            }
+        }
+        active = segments.isEmpty() ? createSegment(0, segmentSize) : segments.lastEntry().getValue();
+    }
+
+    /**
+     * Sets aside the segments following an invalid record, whose records may depend on the records discarded with
+     * it, e.g. a deletion followed by a newer save. They are renamed so that they are not replayed again.
+     */
+    private static void discard(List<Path> paths) throws IOException {
+        for (final var path : paths) {
+            final var discarded = path.resolveSibling(path.getFileName() + DISCARDED_SUFFIX);
+            LOG.warn("discarding segment={} following an invalid record, moved to {}", path, discarded);
+            Files.move(path, discarded, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private Segment createSegment(long segmentId, int capacity) throws IOException {
+        final var segment = Segment.open(segmentPath(directory, segmentId), segmentId, capacity);
+        segments.put(segmentId, segment);
+        return segment;
+    }
+
+    @Override
+    public String idExtractor(E entity) {
+        return idExtractor.apply(entity);
+    }
+
+    @Override
+    public Optional<E> findById(String id) {
+        final var location = index.get(id);
+        return location == null ? Optional.empty() : Optional.of(codec.decode(location.value()));
+    }
+
+    @Override
+    public Stream<E> getAll() {
+        return index.values().stream()
+                    .map(location -> codec.decode(location.value()));
+    }
+
+    @Override
+    public E save(E entity) {
+        final var id = idExtractor(entity);
+        final var value = codec.encode(entity);
+        synchronized (writeLock) {
+            put(id, value);
+        }
+        written();
+        return entity;
+    }
+
+    @Override
+    public void saveAll(Collection<E> entities) {
+        final List<String> ids = new ArrayList<>(entities.size());
+        final List<byte[]> values = new ArrayList<>(entities.size());
+        for (final var entity : entities) {
+            ids.add(idExtractor(entity));
+            values.add(codec.encode(entity));
+        }
+        synchronized (writeLock) {
+            for (int i = 0; i < ids.size(); ++i) {
+                put(ids.get(i), values.get(i));
+            }
+        }
+        written();
+    }
+
+    @Override
+    public boolean delete(String id) {
+        synchronized (writeLock) {
+            requireOpen();
+            if (!index.containsKey(id)) {
+                return false;
+            }
+            append(DELETE, id, new byte[0]);
+            release(index.remove(id));
+        }
+        written();
+        return true;
+    }
+
+    private void put(String id, byte[] value) {
+        requireOpen();
+        final var location = append(PUT, id, value);
+        location.segment.liveBytes.addAndGet(location.size());
+        release(index.put(id, location));
+    }
+
+    private void release(Location location) {
+        if (location != null) {
+            location.segment.liveBytes.addAndGet(-location.size());
+        }
+    }
+
+    private void requireOpen() {
+        if (closed) {
+            throw new IllegalStateException(String.format("repository in %s has been closed", directory));
+        }
+    }
+
+    private void written() {
+        if (syncInterval.isZero()) {
+            sync();
+        }
+    }
+
+    /**
+     * Appends a record to the active segment, rolling to a new segment if the record does not fit. Only called
+     * holding the write lock.
+     */
+    private Location append(byte kind, String id, byte[] value) {
+        final var idBytes = id.getBytes(StandardCharsets.UTF_8);
+        final var payload = new byte[1 + Integer.BYTES + idBytes.length + value.length];
+        payload[0] = kind;
+        putInt(payload, 1, idBytes.length);
+        System.arraycopy(idBytes, 0, payload, 1 + Integer.BYTES, idBytes.length);
+        System.arraycopy(value, 0, payload, 1 + Integer.BYTES + idBytes.length, value.length);
+        final var crc = new CRC32();
+        crc.update(payload);
+        final var size = HEADER + payload.length;
+        if (active.capacity() - active.position < size) {
+            try {
+                active = createSegment(active.id + 1, Math.max(segmentSize, size));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        final var offset = active.position;
+        active.buffer.put(offset + HEADER, payload);
+        active.buffer.putInt(offset + Integer.BYTES, (int) crc.getValue());
+        active.buffer.putInt(offset, payload.length);
+        active.position += size;
+        active.dirty = true;
+        return new Location(active, offset, payload.length, 1 + Integer.BYTES + idBytes.length);
+    }
+
+    private static void putInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+
+    /**
+     * Forces the segments written since the last sync to disk.
+     */
+    void sync() {
+        for (final var segment : segments.values()) {
+            if (segment.dirty) {
+                segment.dirty = false;
+                try {
+                    segment.buffer.force();
+                } catch (RuntimeException e) {
+                    segment.dirty = true;
+                    LOG.warn("could not sync segment={}", segment.path, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Compacts the oldest sealed segments while the dead records of the sealed segments exceed the threshold.
+     */
+    void compact() {
+        try {
+            synchronized (writeLock) {
+                while (!closed && shouldCompact()) {
+                    compactOldest();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("could not compact the segments in directory={}", directory, e);
+        }
+    }
+
+    private boolean shouldCompact() {
+        long total = 0;
+        long live = 0;
+        for (final var segment : segments.headMap(active.id).values()) {
+            total += segment.position;
+            live += segment.liveBytes.get();
+        }
+        return total > 0 && total - live > compactionThreshold * total;
+    }
+
+    private void compactOldest() throws IOException {
+        final var oldest = segments.firstEntry().getValue();
+        oldest.replay((kind, id, record) -> {
+            final var location = index.get(id);
+            if (kind == PUT && location != null && location.segment == oldest && location.offset == record.offset) {
+                put(id, location.value());
+            }
+        });
+        sync();
+        segments.remove(oldest.id);
+        oldest.channel.close();
+        Files.delete(oldest.path);
+    }
+
+    /**
+     * @return the number of segment files of the log
+     */
+    int segmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (background != null) {
+            background.shutdown();
+        }
+        synchronized (writeLock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            sync();
+            for (final var segment : segments.values()) {
+                segment.channel.close();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface RecordConsumer {
+        void accept(byte kind, String id, Location location);
+    }
+
+    private record Location(Segment segment, int offset, int payloadLength, int valueOffset) {
+
+        int size() {
+            return HEADER + payloadLength;
+        }
+
+        byte[] value() {
+            final var value = new byte[payloadLength - valueOffset];
+            segment.buffer.get(offset + HEADER + valueOffset, value);
+            return value;
+        }
+    }
+
+    private static final class Segment {
+
+        private final long id;
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private final AtomicLong liveBytes = new AtomicLong();
+        private int position;
+        private volatile boolean dirty;
+
+        private Segment(long id, Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment open(Path path, long id, int capacity) throws IOException {
+            final var channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                                 StandardOpenOption.WRITE);
+            try {
+                return new Segment(id, path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity));
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        int capacity() {
+            return buffer.capacity();
+        }
+
+        /**
+         * Passes the valid records of the segment to the consumer in order.
+         *
+         * @return the offset following the last valid record
+         */
+        int replay(RecordConsumer consumer) {
+            int offset = 0;
+            final var crc = new CRC32();
+            while (offset + HEADER <= capacity()) {
+                final var length = buffer.getInt(offset);
+                if (length < 1 + Integer.BYTES || length > capacity() - offset - HEADER) {
+                    break;
+                }
+                final var payload = new byte[length];
+                buffer.get(offset + HEADER, payload);
+                crc.reset();
+                crc.update(payload);
+                if ((int) crc.getValue() != buffer.getInt(offset + Integer.BYTES)) {
+                    break;
+                }
+                final var idLength = getInt(payload, 1);
+                if ((payload[0] != PUT && payload[0] != DELETE)
+                        || idLength < 0 || idLength > length - 1 - Integer.BYTES) {
+                    break;
+                }
+                final var id = new String(payload, 1 + Integer.BYTES, idLength, StandardCharsets.UTF_8);
+                consumer.accept(payload[0], id, new Location(this, offset, length, 1 + Integer.BYTES + idLength));
+                offset += HEADER + length;
+            }
+            return offset;
+        }
+
+        private static int getInt(byte[] bytes, int offset) {
+            return (bytes[offset] & 0xff) << 24
+                    | (bytes[offset + 1] & 0xff) << 16
+                    | (bytes[offset + 2] & 0xff) << 8
+                    | (bytes[offset + 3] & 0xff);
+        }
+
+        /**
+         * Zeroes the segment from the offset, so that appending after a torn record does not leave its bytes
+         * behind.
+         */
+        void clear(int from) {
+            final var zeros = new byte[Math.min(64 * 1024, capacity() - from)];
+            for (int offset = from; offset < capacity(); offset += zeros.length) {
+                buffer.put(offset, zeros, 0, Math.min(zeros.length, capacity() - offset));
+            }
+            dirty = true;
+        }
+    }
+}
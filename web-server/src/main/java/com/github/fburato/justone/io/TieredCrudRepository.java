@@ -0,0 +1,363 @@
+package com.github.fburato.justone.io;
+
+import com.github.fburato.justone.internals.CrudRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Repository keeping recently used entities in memory, the hot tier, and spilling the others to a cold
+ * repository, typically on disk. Entities are spilled when they are finished, when they have not been accessed
+ * for {@code ttl} and, least recently used first, when the hot tier holds more than {@code maxHotEntities}.
+ * Finished and idle entities are spilled by a background sweep every {@link #SWEEP_INTERVAL}; entities over the
+ * budget are spilled by the writer which exceeded it.
+ * <p>
+ * Reads look in the hot tier first and rehydrate the entities they find in the cold tier, so that lookups and
+ * {@link #getAll} see every entity wherever it is kept. A rehydrated entity keeps its cold copy: spilling it
+ * again before it is saved only drops it from memory.
+ * <p>
+ * The hot tier is lost if the process stops without closing the repository, unless a {@code journal} is given:
+ * every entity saved in the hot tier is then written to the journal too, typically a durable log behind a
+ * write-behind queue, and dropped from it once it is spilled to the cold tier. The entities left in the journal
+ * when the repository is created are moved to the cold tier, so that they are found again after a crash. The
+ * journal is written after the hot tier is updated and outside of its lock, so that a slow journal slows down the
+ * writers only and not the reads; writes to the journal are ordered by a lock of their own.
+ * <p>
+ * Closing the repository spills every entity saved since it was last spilled and closes the cold repository and
+ * the journal.
+ */
+public final class TieredCrudRepository<ID, E> implements CrudRepository<ID, E>, AutoCloseable {
+
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(10);
+    public static final int DEFAULT_MAX_HOT_ENTITIES = 10_000;
+    static final Duration SWEEP_INTERVAL = Duration.ofSeconds(1);
+
+    private static final Logger LOG = LoggerFactory.getLogger(TieredCrudRepository.class);
+
+    private final CrudRepository<ID, E> cold;
+    private final CrudRepository<ID, E> journal;
+    private final Predicate<E> finished;
+    private final long ttlNanos;
+    private final int maxHotEntities;
+    private final LongSupplier nanoClock;
+    private final LinkedHashMap<ID, Entry<E>> hot = new LinkedHashMap<>(16, 0.75f, true);
+    private final Object spillLock = new Object();
+    private final Object journalLock = new Object();
+    private final ScheduledExecutorService background;
+    private volatile boolean closed;
+
+    public TieredCrudRepository(CrudRepository<ID, E> cold, Predicate<E> finished) {
+        this(cold, finished, DEFAULT_TTL, DEFAULT_MAX_HOT_ENTITIES);
+    }
+
+    public TieredCrudRepository(CrudRepository<ID, E> cold, Predicate<E> finished, Duration ttl, int maxHotEntities) {
+        this(cold, null, finished, ttl, maxHotEntities);
+    }
+
+    /**
+     * @param journal the repository the entities of the hot tier are also written to, so that they survive a crash
+     */
+    public TieredCrudRepository(CrudRepository<ID, E> cold,
+                                CrudRepository<ID, E> journal,
+                                Predicate<E> finished,
+                                Duration ttl,
+                                int maxHotEntities) {
+        this(cold, journal, finished, ttl, maxHotEntities, System::nanoTime, true);
+    }
+
+    TieredCrudRepository(CrudRepository<ID, E> cold,
+                         Predicate<E> finished,
+                         Duration ttl,
+                         int maxHotEntities,
+                         LongSupplier nanoClock,
+                         boolean runInBackground) {
+        this(cold, null, finished, ttl, maxHotEntities, nanoClock, runInBackground);
+    }
+
+    /**
+     * @param journal         the repository the entities of the hot tier are also written to, none if {@code null}
+     * @param finished        whether an entity will no longer be updated, so that it is spilled at the next sweep
+     * @param runInBackground whether finished and idle entities are spilled by a background thread, otherwise only
+     *                        when {@link #sweep} is called
+     */
+    TieredCrudRepository(CrudRepository<ID, E> cold,
+                         CrudRepository<ID, E> journal,
+                         Predicate<E> finished,
+                         Duration ttl,
+                         int maxHotEntities,
+                         LongSupplier nanoClock,
+                         boolean runInBackground) {
+        if (ttl.isNegative()) {
+            throw new IllegalArgumentException(String.format("ttl=%s should not be negative", ttl));
+        }
+        if (maxHotEntities < 0) {
+            throw new IllegalArgumentException(String.format("maxHotEntities=%d should not be negative",
+                                                             maxHotEntities));
+        }
+        this.cold = cold;
+        this.journal = journal;
+        this.finished = finished;
+        this.ttlNanos = ttl.toNanos();
+        this.maxHotEntities = maxHotEntities;
+        this.nanoClock = nanoClock;
+        if (journal != null) {
+            recover();
+        }
+        if (runInBackground) {
+            background = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final var thread = new Thread(runnable, "tiered-sweep");
+                thread.setDaemon(true);
+                return thread;
+            });
+            background.scheduleWithFixedDelay(this::sweep, SWEEP_INTERVAL.toNanos(), SWEEP_INTERVAL.toNanos(),
+                                              TimeUnit.NANOSECONDS);
+        } else {
+            background = null;
+        }
+    }
+
+    /**
+     * Moves the entities left in the journal by a previous run to the cold tier.
+     */
+    private void recover() {
+        final List<E> recovered = journal.getAll().toList();
+        if (recovered.isEmpty()) {
+            return;
+        }
+        LOG.info("recovering {} entities of the hot tier from the journal", recovered.size());
+        cold.saveAll(recovered);
+        recovered.forEach(entity -> journal.delete(idExtractor(entity)));
+    }
+
+    @Override
+    public ID idExtractor(E entity) {
+        return cold.idExtractor(entity);
+    }
+
+    @Override
+    public Optional<E> findById(ID id) {
+        synchronized (hot) {
+            final var entry = hot.get(id);
+            if (entry != null) {
+                entry.lastAccessNanos = nanoClock.getAsLong();
+                return Optional.of(entry.entity);
+            }
+        }
+        final Optional<E> rehydrated;
+        synchronized (spillLock) {
+            rehydrated = cold.findById(id);
+            if (rehydrated.isEmpty()) {
+                return rehydrated;
+            }
+            synchronized (hot) {
+                final var entry = hot.get(id);
+                if (entry != null) {
+                    return Optional.of(entry.entity);
+                }
+                hot.put(id, new Entry<>(rehydrated.get(), false, nanoClock.getAsLong()));
+            }
+        }
+        spillOverBudget();
+        return rehydrated;
+    }
+
+    @Override
+    public Stream<E> getAll() {
+        final List<E> hotEntities;
+        final var hotIds = new HashSet<ID>();
+        synchronized (hot) {
+            hotEntities = new ArrayList<>(hot.size());
+            hot.forEach((id, entry) -> {
+                hotIds.add(id);
+                hotEntities.add(entry.entity);
+            });
+        }
+        return Stream.concat(hotEntities.stream(),
+                             cold.getAll()
+                                 .filter(entity -> !hotIds.contains(idExtractor(entity))));
+    }
+
+    @Override
+    public E save(E entity) {
+        requireOpen();
+        synchronized (journalLock) {
+            synchronized (hot) {
+                hot.put(idExtractor(entity), new Entry<>(entity, true, nanoClock.getAsLong()));
+            }
+            if (journal != null) {
+                journal.save(entity);
+            }
+        }
+        spillOverBudget();
+        return entity;
+    }
+
+    @Override
+    public void saveAll(Collection<E> entities) {
+        requireOpen();
+        final var now = nanoClock.getAsLong();
+        synchronized (journalLock) {
+            synchronized (hot) {
+                for (final var entity : entities) {
+                    hot.put(idExtractor(entity), new Entry<>(entity, true, now));
+                }
+            }
+            if (journal != null) {
+                journal.saveAll(entities);
+            }
+        }
+        spillOverBudget();
+    }
+
+    @Override
+    public boolean delete(ID id) {
+        requireOpen();
+        synchronized (spillLock) {
+            final Entry<E> entry;
+            synchronized (journalLock) {
+                synchronized (hot) {
+                    entry = hot.remove(id);
+                }
+                if (journal != null) {
+                    journal.delete(id);
+                }
+            }
+            final var deletedCold = cold.delete(id);
+            return entry != null || deletedCold;
+        }
+    }
+
+    private void requireOpen() {
+        if (closed) {
+            throw new IllegalStateException("tiered repository has been closed");
+        }
+    }
+
+    private void spillOverBudget() {
+        try {
+            while (true) {
+                final Map.Entry<ID, Entry<E>> eldest;
+                synchronized (hot) {
+                    if (hot.size() <= maxHotEntities) {
+                        return;
+                    }
+                    eldest = hot.entrySet().iterator().next();
+                }
+                spill(eldest.getKey(), eldest.getValue());
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("could not spill the hot tier over the budget of {} entities", maxHotEntities, e);
+        }
+    }
+
+    /**
+     * Spills the entities which are finished or have been idle for longer than the ttl.
+     */
+    void sweep() {
+        try {
+            final var now = nanoClock.getAsLong();
+            final List<Map.Entry<ID, Entry<E>>> toSpill = new ArrayList<>();
+            synchronized (hot) {
+                for (final var entry : hot.entrySet()) {
+                    final var value = entry.getValue();
+                    if (now - value.lastAccessNanos >= ttlNanos || finished.test(value.entity)) {
+                        toSpill.add(Map.entry(entry.getKey(), value));
+                    }
+                }
+            }
+            toSpill.forEach(entry -> spill(entry.getKey(), entry.getValue()));
+        } catch (RuntimeException e) {
+            LOG.warn("could not sweep the hot tier", e);
+        }
+    }
+
+    /**
+     * Writes the entry to the cold tier if it has been saved since it was rehydrated and drops it from the hot
+     * tier and the journal, unless it has been replaced in the meantime.
+     */
+    private void spill(ID id, Entry<E> entry) {
+        synchronized (spillLock) {
+            synchronized (hot) {
+                if (hot.get(id) != entry) {
+                    return;
+                }
+            }
+            if (entry.dirty) {
+                cold.save(entry.entity);
+            }
+            synchronized (journalLock) {
+                final boolean removed;
+                synchronized (hot) {
+                    removed = hot.remove(id, entry);
+                }
+                if (removed && journal != null && entry.dirty) {
+                    journal.delete(id);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number of entities kept in memory
+     */
+    int hotCount() {
+        synchronized (hot) {
+            return hot.size();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (background != null) {
+            Closeables.shutdown(background);
+        }
+        final List<E> dirty = new ArrayList<>();
+        synchronized (hot) {
+            hot.values().stream()
+               .filter(entry -> entry.dirty)
+               .forEach(entry -> dirty.add(entry.entity));
+            hot.clear();
+        }
+        cold.saveAll(dirty);
+        if (journal != null) {
+            dirty.forEach(entity -> journal.delete(idExtractor(entity)));
+            Closeables.closeIfCloseable(journal);
+        }
+        Closeables.closeIfCloseable(cold);
+    }
+
+    /**
+     * Entity of the hot tier, dirty when it has been saved since it was read from the cold tier. Entries are
+     * compared by identity, so that an entry replaced while it was being spilled is kept.
+     */
+    private static final class Entry<E> {
+
+        private final E entity;
+        private final boolean dirty;
+        private volatile long lastAccessNanos;
+
+        private Entry(E entity, boolean dirty, long lastAccessNanos) {
+            this.entity = entity;
+            this.dirty = dirty;
+            this.lastAccessNanos = lastAccessNanos;
+        }
+    }
+}
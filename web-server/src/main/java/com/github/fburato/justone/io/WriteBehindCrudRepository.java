@@ -0,0 +1,288 @@
+package com.github.fburato.justone.io;
+
+import com.github.fburato.justone.internals.CrudRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Repository which keeps writes in memory and writes them behind to the decorated repository. Saving or
+ * deleting an entity records the write as pending and returns at once; reads are served from the pending
+ * writes first, so that they always see the latest write. Pending writes are flushed in batches every
+ * {@code flushInterval}: saves through {@link CrudRepository#saveAll} and deletions one by one.
+ * <p>
+ * Writes to the same id are coalesced: an id waits in the queue at most once and only its latest write is
+ * flushed. The queue holds at most {@code capacity} ids; a writer finding it full flushes a batch itself and
+ * then waits for room, so that writers are slowed down to the speed of the decorated repository. A writer which
+ * finds no room within {@code writeTimeout} fails with an {@link IllegalStateException} caused by the last failure
+ * of the decorated repository, and its write is dropped. A batch which fails to be flushed stays pending and is
+ * retried with the next flush.
+ * <p>
+ * Closing the repository flushes every pending write and closes the decorated repository.
+ */
+public final class WriteBehindCrudRepository<ID, E> implements CrudRepository<ID, E>, AutoCloseable {
+
+    public static final int DEFAULT_CAPACITY = 10_000;
+    public static final int DEFAULT_BATCH_SIZE = 256;
+    public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofMillis(50);
+    public static final Duration DEFAULT_WRITE_TIMEOUT = Duration.ofSeconds(10);
+
+    private static final Logger LOG = LoggerFactory.getLogger(WriteBehindCrudRepository.class);
+
+    private final CrudRepository<ID, E> repository;
+    private final int batchSize;
+    private final long writeTimeoutNanos;
+    private final Map<ID, Write<E>> pending = new ConcurrentHashMap<>();
+    private final Queue<ID> queue = new ConcurrentLinkedQueue<>();
+    private final Semaphore room;
+    private final Object flushLock = new Object();
+    private final ScheduledExecutorService background;
+    private volatile RuntimeException lastFailure;
+    private volatile boolean closed;
+
+    public WriteBehindCrudRepository(CrudRepository<ID, E> repository) {
+        this(repository, DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE, DEFAULT_FLUSH_INTERVAL);
+    }
+
+    public WriteBehindCrudRepository(CrudRepository<ID, E> repository,
+                                     int capacity,
+                                     int batchSize,
+                                     Duration flushInterval) {
+        this(repository, capacity, batchSize, flushInterval, DEFAULT_WRITE_TIMEOUT, true);
+    }
+
+    WriteBehindCrudRepository(CrudRepository<ID, E> repository,
+                              int capacity,
+                              int batchSize,
+                              Duration flushInterval,
+                              boolean runInBackground) {
+        this(repository, capacity, batchSize, flushInterval, DEFAULT_WRITE_TIMEOUT, runInBackground);
+    }
+
+    /**
+     * @param capacity        the number of distinct ids which may be waiting to be flushed
+     * @param batchSize       the number of writes flushed to the decorated repository at once
+     * @param writeTimeout    how long a writer waits for room when the queue is full before failing
+     * @param runInBackground whether pending writes are flushed by a background thread, otherwise only when
+     *                        {@link #flush} is called or the queue is full
+     */
+    WriteBehindCrudRepository(CrudRepository<ID, E> repository,
+                              int capacity,
+                              int batchSize,
+                              Duration flushInterval,
+                              Duration writeTimeout,
+                              boolean runInBackground) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException(String.format("capacity=%d should be positive", capacity));
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException(String.format("batchSize=%d should be positive", batchSize));
+        }
+        if (flushInterval.isNegative() || flushInterval.isZero()) {
+            throw new IllegalArgumentException(String.format("flushInterval=%s should be positive", flushInterval));
+        }
+        if (writeTimeout.isNegative()) {
+            throw new IllegalArgumentException(String.format("writeTimeout=%s should not be negative",
+                                                             writeTimeout));
+        }
+        this.repository = repository;
+        this.batchSize = batchSize;
+        this.writeTimeoutNanos = writeTimeout.toNanos();
+        this.room = new Semaphore(capacity);
+        if (runInBackground) {
+            background = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final var thread = new Thread(runnable, "write-behind");
+                thread.setDaemon(true);
+                return thread;
+            });
+            background.scheduleWithFixedDelay(this::flush, flushInterval.toNanos(), flushInterval.toNanos(),
+                                              TimeUnit.NANOSECONDS);
+        } else {
+            background = null;
+        }
+    }
+
+    @Override
+    public ID idExtractor(E entity) {
+        return repository.idExtractor(entity);
+    }
+
+    @Override
+    public Optional<E> findById(ID id) {
+        final var write = pending.get(id);
+        return write == null ? repository.findById(id) : Optional.ofNullable(write.entity);
+    }
+
+    @Override
+    public Stream<E> getAll() {
+        final Map<ID, Write<E>> snapshot = new HashMap<>(pending);
+        return Stream.concat(snapshot.values().stream()
+                                     .filter(write -> write.entity != null)
+                                     .map(write -> write.entity),
+                             repository.getAll()
+                                       .filter(entity -> !snapshot.containsKey(idExtractor(entity))));
+    }
+
+    @Override
+    public E save(E entity) {
+        write(idExtractor(entity), new Write<>(entity));
+        return entity;
+    }
+
+    @Override
+    public void saveAll(Collection<E> entities) {
+        entities.forEach(this::save);
+    }
+
+    @Override
+    public boolean delete(ID id) {
+        final var write = pending.get(id);
+        final var existed = write == null ? repository.findById(id).isPresent() : write.entity != null;
+        if (existed) {
+            write(id, new Write<>(null));
+        }
+        return existed;
+    }
+
+    /**
+     * Records the write as pending. An id already pending is replaced in place; a new id takes room in the queue
+     * before it is published, so that a write which fails for lack of room leaves nothing behind.
+     */
+    private void write(ID id, Write<E> write) {
+        if (closed) {
+            throw new IllegalStateException("write-behind repository has been closed");
+        }
+        while (pending.computeIfPresent(id, (ignored, previous) -> write) == null) {
+            acquireRoom();
+            if (pending.putIfAbsent(id, write) == null) {
+                queue.offer(id);
+                return;
+            }
+            room.release();
+        }
+    }
+
+    private void acquireRoom() {
+        if (room.tryAcquire()) {
+            return;
+        }
+        flushBatch();
+        try {
+            if (room.tryAcquire(writeTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for room in the write-behind queue", e);
+        }
+        throw new IllegalStateException(String.format("no room in the write-behind queue after %s",
+                                                      Duration.ofNanos(writeTimeoutNanos)), lastFailure);
+    }
+
+    /**
+     * Flushes every write pending when called, in batches.
+     */
+    void flush() {
+        for (int flushed = 0, toFlush = queue.size(); flushed < toFlush; flushed += batchSize) {
+            if (!flushBatch()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return whether the batch has been flushed, false if it failed and is left pending
+     */
+    private boolean flushBatch() {
+        synchronized (flushLock) {
+            final Map<ID, Write<E>> batch = new HashMap<>();
+            ID id;
+            while (batch.size() < batchSize && (id = queue.poll()) != null) {
+                batch.put(id, pending.get(id));
+            }
+            if (batch.isEmpty()) {
+                return true;
+            }
+            try {
+                final List<E> saves = new ArrayList<>(batch.size());
+                final List<ID> deletions = new ArrayList<>();
+                batch.forEach((batchId, write) -> {
+                    if (write.entity == null) {
+                        deletions.add(batchId);
+                    } else {
+                        saves.add(write.entity);
+                    }
+                });
+                if (!saves.isEmpty()) {
+                    repository.saveAll(saves);
+                }
+                deletions.forEach(repository::delete);
+            } catch (RuntimeException e) {
+                LOG.warn("could not flush {} writes, retrying with the next flush", batch.size(), e);
+                lastFailure = e;
+                queue.addAll(batch.keySet());
+                return false;
+            }
+            lastFailure = null;
+            batch.forEach((batchId, write) -> {
+                if (pending.remove(batchId, write)) {
+                    room.release();
+                } else {
+                    queue.offer(batchId);
+                }
+            });
+            return true;
+        }
+    }
+
+    /**
+     * @return the number of ids waiting to be flushed
+     */
+    int pendingCount() {
+        return pending.size();
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (background != null) {
+            Closeables.shutdown(background);
+        }
+        flush();
+        if (!pending.isEmpty()) {
+            LOG.warn("closing with {} writes which could not be flushed", pending.size());
+        }
+        Closeables.closeIfCloseable(repository);
+    }
+
+    /**
+     * Latest write of an id: the entity saved, or null if the id has been deleted. Writes are compared by
+     * identity, so that a write replaced while it was being flushed is not mistaken for the one flushed.
+     */
+    private static final class Write<E> {
+
+        private final E entity;
+
+        private Write(E entity) {
+            this.entity = entity;
+        }
+    }
+}
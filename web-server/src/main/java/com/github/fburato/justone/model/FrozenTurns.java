@@ -0,0 +1,186 @@
+package com.github.fburato.justone.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Compact representation of completed turns. Freezing a turn packs the text of its provided hints, hints to
+ * filter and hints to remove into a single {@code byte[]} and the players of those hints and the offsets of the
+ * text into a single {@code int[]}. The lists of the frozen turn are views over the block which inflate strings
+ * only when they are read, e.g. when the turn is serialised.
+ * <p>
+ * A frozen turn is equal to the turn it was frozen from, but it can no longer be played: only turns which the
+ * engine will not update again should be frozen.
+ */
+public final class FrozenTurns {
+
+    private FrozenTurns() {
+    }
+
+    public static Turn freeze(Turn turn) {
+        if (isFrozen(turn) || turn.providedHints() == null || turn.hintsToFilter() == null
+                || turn.hintsToRemove() == null) {
+            return turn;
+        }
+        final var block = Block.of(turn);
+        return new Turn(turn.phase(),
+                        block.providedHints(),
+                        block.hintsToFilter(),
+                        block.hintsToRemove(),
+                        turn.wordGuessed(),
+                        turn.players());
+    }
+
+    public static boolean isFrozen(Turn turn) {
+        return isFrozen(turn.providedHints());
+    }
+
+    static boolean isFrozen(List<PlayerWord> providedHints) {
+        return providedHints instanceof FrozenHints;
+    }
+
+    /**
+     * Layout of {@code entries}: the number of provided hints, hints to filter and hints to remove, followed by
+     * one entry of three ints per string in that order: the symbol of the player (-1 for hints to filter), the
+     * offset of the text in {@code text} and its length in bytes (-1 for {@code null}).
+     */
+    private static final class Block {
+
+        private static final int HEADER = 3;
+        private static final int ENTRY = 3;
+
+        private final PlayerSymbols symbols;
+        private final byte[] text;
+        private final int[] entries;
+
+        private Block(PlayerSymbols symbols, byte[] text, int[] entries) {
+            this.symbols = symbols;
+            this.text = text;
+            this.entries = entries;
+        }
+
+        static Block of(Turn turn) {
+            var symbols = TurnPlayers.of(turn.players() == null ? List.of() : turn.players()).symbols();
+            final var strings = turn.providedHints().size() + turn.hintsToFilter().size()
+                    + turn.hintsToRemove().size();
+            final var entries = new int[HEADER + ENTRY * strings];
+            entries[0] = turn.providedHints().size();
+            entries[1] = turn.hintsToFilter().size();
+            entries[2] = turn.hintsToRemove().size();
+            final var encoded = new byte[strings][];
+            int entry = 0;
+            for (final var hint : turn.providedHints()) {
+                symbols = symbols.with(hint.playerId());
+                entries[HEADER + ENTRY * entry] = symbols.symbolOf(hint.playerId());
+                encoded[entry++] = encode(hint.word());
+            }
+            for (final var hint : turn.hintsToFilter()) {
+                entries[HEADER + ENTRY * entry] = -1;
+                encoded[entry++] = encode(hint);
+            }
+            for (final var hint : turn.hintsToRemove()) {
+                symbols = symbols.with(hint.playerId());
+                entries[HEADER + ENTRY * entry] = symbols.symbolOf(hint.playerId());
+                encoded[entry++] = encode(hint.word());
+            }
+            int length = 0;
+            for (final var bytes : encoded) {
+                length += bytes == null ? 0 : bytes.length;
+            }
+            final var text = new byte[length];
+            int offset = 0;
+            for (int i = 0; i < strings; ++i) {
+                entries[HEADER + ENTRY * i + 1] = offset;
+                if (encoded[i] == null) {
+                    entries[HEADER + ENTRY * i + 2] = -1;
+                } else {
+                    System.arraycopy(encoded[i], 0, text, offset, encoded[i].length);
+                    entries[HEADER + ENTRY * i + 2] = encoded[i].length;
+                    offset += encoded[i].length;
+                }
+            }
+            return new Block(symbols, text, entries);
+        }
+
+        private static byte[] encode(String string) {
+            return string == null ? null : string.getBytes(StandardCharsets.UTF_8);
+        }
+
+        List<PlayerWord> providedHints() {
+            return new FrozenHints(this, 0, entries[0]);
+        }
+
+        List<String> hintsToFilter() {
+            return entries[1] == 0 ? List.of() : new FrozenStrings(this, entries[0], entries[1]);
+        }
+
+        List<PlayerWord> hintsToRemove() {
+            return entries[2] == 0 ? List.of() : new FrozenHints(this, entries[0] + entries[1], entries[2]);
+        }
+
+        String string(int entry) {
+            final var base = HEADER + ENTRY * entry;
+            final var length = entries[base + 2];
+            return length < 0 ? null : new String(text, entries[base + 1], length, StandardCharsets.UTF_8);
+        }
+
+        PlayerWord playerWord(int entry) {
+            return new PlayerWord(symbols.idOf(entries[HEADER + ENTRY * entry]), string(entry));
+        }
+    }
+
+    private static final class FrozenHints extends AbstractList<PlayerWord> implements RandomAccess {
+
+        private final Block block;
+        private final int from;
+        private final int size;
+
+        private FrozenHints(Block block, int from, int size) {
+            this.block = block;
+            this.from = from;
+            this.size = size;
+        }
+
+        @Override
+        public PlayerWord get(int index) {
+            return block.playerWord(from + checkedIndex(index, size));
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private static final class FrozenStrings extends AbstractList<String> implements RandomAccess {
+
+        private final Block block;
+        private final int from;
+        private final int size;
+
+        private FrozenStrings(Block block, int from, int size) {
+            this.block = block;
+            this.from = from;
+            this.size = size;
+        }
+
+        @Override
+        public String get(int index) {
+            return block.string(from + checkedIndex(index, size));
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private static int checkedIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return index;
+    }
+}
@@ -2,11 +2,48 @@ package com.github.fburato.justone.model;
 
 import java.util.List;
 
+/**
+ * State of a game. The {@code seed} initialises the random generator from which every random choice of the
+ * engine for this game is taken, so that a game can be replayed exactly from its initial state. The
+ * {@code words} are the running totals of the guesses made so far. When they are not given, every word is
+ * remaining if no guess has been made yet; otherwise they stay {@code null} and the engine derives them from the
+ * turns, see {@code Engine#withWordTotals}. The {@code languageId} is the id of the {@link Language} whose rules the hints of the game are
+ * normalised with, the rules of no particular language when it is {@code null}.
+ */
 public record GameState(
         String id,
         GameStatus status,
         List<Player> players,
         List<Turn> turns,
         List<String> wordsToGuess,
-        int currentTurn) {
+        int currentTurn,
+        long seed,
+        Words words,
+        String languageId) {
+
+    public GameState {
+        if (players != null) {
+            players = Players.of(players);
+        }
+        if (turns != null) {
+            turns = Turns.of(turns);
+        }
+        if (wordsToGuess != null) {
+            if (words == null && noGuessMade(turns)) {
+                words = Words.of(wordsToGuess.size());
+            }
+        }
+    }
+
+    private static boolean noGuessMade(List<Turn> turns) {
+        if (turns == null) {
+            return true;
+        }
+        for (final var turn : turns) {
+            if (turn.phase() == TurnPhase.CONCLUSION && turn.wordGuessed() != null && turn.wordGuessed().isPresent()) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
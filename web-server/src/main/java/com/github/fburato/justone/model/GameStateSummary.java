@@ -8,4 +8,12 @@ public record GameStateSummary(
         List<Player> players,
         Words words
 ) {
+
+    /**
+     * @return the summary of the game, which shares the players and the totals of the words of the game and does
+     * not read its turns
+     */
+    public static GameStateSummary of(GameState gameState) {
+        return new GameStateSummary(gameState.id(), gameState.status(), gameState.players(), gameState.words());
+    }
 }
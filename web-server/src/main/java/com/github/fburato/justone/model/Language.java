@@ -1,5 +1,37 @@
 package com.github.fburato.justone.model;
 
+import java.util.IllformedLocaleException;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * A language of the games. Its id is a BCP 47 language tag, e.g. {@code en} or {@code de-DE}, of one of the
+ * ISO 639 languages.
+ */
 public record Language(String id, String longName) {
 
+    private static final Set<String> ISO_LANGUAGES = Set.of(Locale.getISOLanguages());
+
+    /**
+     * @return whether the id is a well-formed language tag of an ISO 639 language, {@code _} being accepted in
+     * place of {@code -}
+     */
+    public static boolean isKnownId(String id) {
+        if (id == null || id.isBlank()) {
+            return false;
+        }
+        try {
+            final var locale = new Locale.Builder().setLanguageTag(id.strip().replace('_', '-')).build();
+            return isIsoLanguage(locale.getLanguage());
+        } catch (IllformedLocaleException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return whether the language code is the code of an ISO 639 language
+     */
+    public static boolean isIsoLanguage(String language) {
+        return ISO_LANGUAGES.contains(language);
+    }
 }
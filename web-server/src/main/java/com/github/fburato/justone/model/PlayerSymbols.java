@@ -0,0 +1,69 @@
+package com.github.fburato.justone.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable symbol table of the player ids of a game. Every id is given a small integer, the symbol, in the
+ * order the ids are interned, so that turns can store players as primitive indexes into the table instead of
+ * repeating the ids. Symbols are never reused: ids of kicked players keep their symbol, so turns played before
+ * the kick can still be read.
+ */
+public final class PlayerSymbols {
+
+    public static final PlayerSymbols EMPTY = new PlayerSymbols(new String[0], new HashMap<>());
+
+    private final String[] ids;
+    private final Map<String, Integer> symbols;
+
+    private PlayerSymbols(String[] ids, Map<String, Integer> symbols) {
+        this.ids = ids;
+        this.symbols = symbols;
+    }
+
+    public static PlayerSymbols of(List<String> ids) {
+        final Map<String, Integer> symbols = new HashMap<>(ids.size() * 2);
+        for (final var id : ids) {
+            symbols.putIfAbsent(id, symbols.size());
+        }
+        if (symbols.isEmpty()) {
+            return EMPTY;
+        }
+        final var symbolIds = new String[symbols.size()];
+        symbols.forEach((id, symbol) -> symbolIds[symbol] = id);
+        return new PlayerSymbols(symbolIds, symbols);
+    }
+
+    /**
+     * @return the symbol of the id, -1 if the id has not been interned
+     */
+    public int symbolOf(String id) {
+        final var symbol = symbols.get(id);
+        return symbol == null ? -1 : symbol;
+    }
+
+    public String idOf(int symbol) {
+        return ids[symbol];
+    }
+
+    /**
+     * @return a table which contains the id, this table if the id has already been interned
+     */
+    public PlayerSymbols with(String id) {
+        if (symbols.containsKey(id)) {
+            return this;
+        }
+        final var newIds = Arrays.copyOf(ids, ids.length + 1);
+        newIds[ids.length] = id;
+        final Map<String, Integer> newSymbols = new HashMap<>(newIds.length * 2);
+        newSymbols.putAll(symbols);
+        newSymbols.put(id, ids.length);
+        return new PlayerSymbols(newIds, newSymbols);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+}
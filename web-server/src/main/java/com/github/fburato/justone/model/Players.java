@@ -0,0 +1,192 @@
+package com.github.fburato.justone.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Immutable list of the players of a game with an index from player id to position and the position of the
+ * host. The index is built the first time it is needed and carried over when players are admitted or kicked,
+ * so membership and host checks are constant time lookups which do not allocate.
+ * <p>
+ * The players also carry the {@link PlayerSymbols} of the game, which the turns of the game are encoded
+ * against. Symbols are only ever added, so ids of kicked players keep theirs.
+ */
+public final class Players extends AbstractList<Player> implements RandomAccess {
+
+    private static final Players EMPTY = new Players(List.of(), new Index(Map.of(), -1), PlayerSymbols.EMPTY);
+
+    private final List<Player> players;
+    private Index index;
+    private PlayerSymbols symbols;
+
+    private Players(List<Player> players, Index index, PlayerSymbols symbols) {
+        this.players = players;
+        this.index = index;
+        this.symbols = symbols;
+    }
+
+    public static Players of(List<Player> players) {
+        if (players instanceof Players indexedPlayers) {
+            return indexedPlayers;
+        }
+        if (players.isEmpty()) {
+            return EMPTY;
+        }
+        return new Players(List.copyOf(players), null, null);
+    }
+
+    private static Index indexOf(List<Player> players) {
+        final Map<String, Integer> positions = new HashMap<>(players.size() * 2);
+        int hostPosition = -1;
+        for (int i = 0; i < players.size(); ++i) {
+            final var player = players.get(i);
+            positions.putIfAbsent(player.id(), i);
+            if (hostPosition < 0 && player.playerRole() == PlayerRole.HOST) {
+                hostPosition = i;
+            }
+        }
+        return new Index(positions, hostPosition);
+    }
+
+    private Index index() {
+        var currentIndex = index;
+        if (currentIndex == null) {
+            currentIndex = indexOf(players);
+            index = currentIndex;
+        }
+        return currentIndex;
+    }
+
+    public PlayerSymbols symbols() {
+        var currentSymbols = symbols;
+        if (currentSymbols == null) {
+            currentSymbols = PlayerSymbols.of(players.stream().map(Player::id).toList());
+            symbols = currentSymbols;
+        }
+        return currentSymbols;
+    }
+
+    public boolean hasPlayer(String playerId) {
+        return index().positions().containsKey(playerId);
+    }
+
+    /**
+     * @return the position of the player in the game, -1 if the player is not in the game
+     */
+    public int positionOf(String playerId) {
+        final var position = index().positions().get(playerId);
+        return position == null ? -1 : position;
+    }
+
+    /**
+     * @return the id of the host of the game, null if the game has no host
+     */
+    public String hostId() {
+        final var hostPosition = index().hostPosition();
+        return hostPosition < 0 ? null : players.get(hostPosition).id();
+    }
+
+    public Players appended(Player player) {
+        final List<Player> newPlayers = new ArrayList<>(players.size() + 1);
+        newPlayers.addAll(players);
+        newPlayers.add(player);
+        final var currentIndex = index();
+        final Map<String, Integer> positions = new HashMap<>(currentIndex.positions());
+        positions.putIfAbsent(player.id(), players.size());
+        final var hostPosition = currentIndex.hostPosition() < 0 && player.playerRole() == PlayerRole.HOST
+                ? players.size()
+                : currentIndex.hostPosition();
+        return new Players(Collections.unmodifiableList(newPlayers),
+                           new Index(positions, hostPosition),
+                           symbols().with(player.id()));
+    }
+
+    public Players updated(int position, Player player) {
+        final List<Player> newPlayers = new ArrayList<>(players);
+        newPlayers.set(position, player);
+        final var currentIndex = index();
+        if (!Objects.equals(players.get(position).id(), player.id())) {
+            return new Players(Collections.unmodifiableList(newPlayers), null, symbols().with(player.id()));
+        }
+        final int hostPosition;
+        if (player.playerRole() == PlayerRole.HOST) {
+            hostPosition = currentIndex.hostPosition() < 0
+                    ? position
+                    : Math.min(position, currentIndex.hostPosition());
+        } else if (currentIndex.hostPosition() == position) {
+            hostPosition = hostPositionFrom(newPlayers, position + 1);
+        } else {
+            hostPosition = currentIndex.hostPosition();
+        }
+        return new Players(Collections.unmodifiableList(newPlayers),
+                           new Index(currentIndex.positions(), hostPosition),
+                           symbols);
+    }
+
+    public Players removed(int position) {
+        final List<Player> newPlayers = new ArrayList<>(players);
+        final var removedPlayer = newPlayers.remove(position);
+        final var currentIndex = index();
+        final Map<String, Integer> positions = new HashMap<>(currentIndex.positions().size() * 2);
+        for (final var entry : currentIndex.positions().entrySet()) {
+            final int playerPosition = entry.getValue();
+            if (playerPosition > position) {
+                positions.put(entry.getKey(), playerPosition - 1);
+            } else if (playerPosition < position) {
+                positions.put(entry.getKey(), playerPosition);
+            }
+        }
+        if (!positions.containsKey(removedPlayer.id())) {
+            final var duplicatePosition = positionFrom(newPlayers, removedPlayer.id(), position);
+            if (duplicatePosition >= 0) {
+                positions.put(removedPlayer.id(), duplicatePosition);
+            }
+        }
+        final int hostPosition;
+        if (currentIndex.hostPosition() == position) {
+            hostPosition = hostPositionFrom(newPlayers, position);
+        } else if (currentIndex.hostPosition() > position) {
+            hostPosition = currentIndex.hostPosition() - 1;
+        } else {
+            hostPosition = currentIndex.hostPosition();
+        }
+        return new Players(Collections.unmodifiableList(newPlayers), new Index(positions, hostPosition), symbols());
+    }
+
+    private static int positionFrom(List<Player> players, String playerId, int from) {
+        for (int i = from; i < players.size(); ++i) {
+            if (Objects.equals(players.get(i).id(), playerId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int hostPositionFrom(List<Player> players, int from) {
+        for (int i = from; i < players.size(); ++i) {
+            if (players.get(i).playerRole() == PlayerRole.HOST) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public Player get(int index) {
+        return players.get(index);
+    }
+
+    @Override
+    public int size() {
+        return players.size();
+    }
+
+    private record Index(Map<String, Integer> positions, int hostPosition) {
+    }
+}
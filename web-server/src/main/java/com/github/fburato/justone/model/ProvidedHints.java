@@ -0,0 +1,254 @@
+package com.github.fburato.justone.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.UnaryOperator;
+
+/**
+ * Immutable list of the hints provided in a turn, which keeps the normalised form of every hint and a running
+ * count of the hints sharing each normalised form. Each hint is normalised once when it is provided and the
+ * duplicated hints are known without normalising the hints again.
+ * <p>
+ * Hints are stored in parallel arrays: the players as their symbol in the {@link PlayerSymbols} of the game,
+ * the words, the normalised forms and the counts. The {@link PlayerWord}s are views created on access.
+ * <p>
+ * Lists created from plain hints (e.g. deserialised) are not normalised until {@link #normalisedWith} is
+ * called on them. The normalised view is counted in one pass and cached on the list, so that a turn read back
+ * from a repository is normalised once however many actions are executed on it.
+ */
+public final class ProvidedHints extends AbstractList<PlayerWord> implements RandomAccess {
+
+    private static final ProvidedHints EMPTY = new ProvidedHints(PlayerSymbols.EMPTY,
+                                                                 new int[0],
+                                                                 new String[0],
+                                                                 new String[0],
+                                                                 new int[0]);
+
+    private final PlayerSymbols symbols;
+    private final int[] players;
+    private final String[] words;
+    private final String[] normalisedWords;
+    private final int[] occurrences;
+    private volatile NormalisedView normalisedView;
+
+    private ProvidedHints(PlayerSymbols symbols,
+                          int[] players,
+                          String[] words,
+                          String[] normalisedWords,
+                          int[] occurrences) {
+        this.symbols = symbols;
+        this.players = players;
+        this.words = words;
+        this.normalisedWords = normalisedWords;
+        this.occurrences = occurrences;
+    }
+
+    public static ProvidedHints of(List<PlayerWord> hints) {
+        if (hints instanceof ProvidedHints providedHints) {
+            return providedHints;
+        }
+        return of(hints, PlayerSymbols.EMPTY);
+    }
+
+    /**
+     * @return the hints encoded against the symbols of the game, interning the ids the symbols do not contain
+     */
+    public static ProvidedHints of(List<PlayerWord> hints, PlayerSymbols symbols) {
+        if (hints instanceof ProvidedHints providedHints) {
+            return providedHints;
+        }
+        if (hints.isEmpty()) {
+            return symbols == PlayerSymbols.EMPTY
+                    ? EMPTY
+                    : new ProvidedHints(symbols, EMPTY.players, EMPTY.words, EMPTY.normalisedWords, EMPTY.occurrences);
+        }
+        var hintSymbols = symbols;
+        final var hintPlayers = new int[hints.size()];
+        final var hintWords = new String[hints.size()];
+        for (int i = 0; i < hints.size(); ++i) {
+            final var hint = hints.get(i);
+            hintSymbols = hintSymbols.with(hint.playerId());
+            hintPlayers[i] = hintSymbols.symbolOf(hint.playerId());
+            hintWords[i] = hint.word();
+        }
+        return new ProvidedHints(hintSymbols, hintPlayers, hintWords, null, null);
+    }
+
+    public boolean isNormalised() {
+        return normalisedWords != null;
+    }
+
+    /**
+     * @return the hints normalised with the normaliser, cached for the following calls with the same normaliser
+     */
+    public ProvidedHints normalisedWith(UnaryOperator<String> normaliser) {
+        if (isNormalised()) {
+            return this;
+        }
+        final var cached = normalisedView;
+        if (cached != null && cached.normaliser() == normaliser) {
+            return cached.hints();
+        }
+        final var normalised = new String[words.length];
+        final Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < words.length; ++i) {
+            normalised[i] = normaliser.apply(words[i]);
+            counts.merge(normalised[i], 1, Integer::sum);
+        }
+        final var normalisedOccurrences = new int[words.length];
+        for (int i = 0; i < words.length; ++i) {
+            normalisedOccurrences[i] = counts.get(normalised[i]);
+        }
+        final var hints = new ProvidedHints(symbols,
+                                            players,
+                                            words,
+                                            sharedWith(words, normalised),
+                                            normalisedOccurrences);
+        normalisedView = new NormalisedView(normaliser, hints);
+        return hints;
+    }
+
+    /**
+     * @return the hints if normalised, else the view cached by the last call to {@link #normalisedWith}, else the
+     * hints not normalised
+     */
+    public ProvidedHints normalisedIfKnown() {
+        final var cached = normalisedView;
+        return isNormalised() || cached == null ? this : cached.hints();
+    }
+
+    public ProvidedHints withHint(PlayerWord hint, String normalisedHint) {
+        requireNormalised();
+        final var hintSymbols = symbols.with(hint.playerId());
+        final var player = hintSymbols.symbolOf(hint.playerId());
+        final var position = positionOf(player);
+        final var size = position < 0 ? players.length + 1 : players.length;
+        final var newPosition = position < 0 ? players.length : position;
+        final var newPlayers = Arrays.copyOf(players, size);
+        final var newWords = Arrays.copyOf(words, size);
+        final var newNormalisedWords = Arrays.copyOf(normalisedWords, size);
+        final var newOccurrences = Arrays.copyOf(occurrences, size);
+        if (position >= 0) {
+            decrement(newNormalisedWords, newOccurrences, position);
+        }
+        newPlayers[newPosition] = player;
+        newWords[newPosition] = hint.word();
+        newNormalisedWords[newPosition] = Objects.equals(normalisedHint, hint.word()) ? hint.word() : normalisedHint;
+        newOccurrences[newPosition] = 1;
+        for (int i = 0; i < size; ++i) {
+            if (i != newPosition && Objects.equals(newNormalisedWords[i], normalisedHint)) {
+                ++newOccurrences[i];
+                ++newOccurrences[newPosition];
+            }
+        }
+        return new ProvidedHints(hintSymbols,
+                                 newPlayers,
+                                 newWords,
+                                 sharedWith(newWords, newNormalisedWords),
+                                 newOccurrences);
+    }
+
+    public ProvidedHints withoutHintOf(String playerId) {
+        requireNormalised();
+        final var player = symbols.symbolOf(playerId);
+        final var position = player < 0 ? -1 : positionOf(player);
+        if (position < 0) {
+            return this;
+        }
+        final var newOccurrences = occurrences.clone();
+        decrement(normalisedWords, newOccurrences, position);
+        final var newWords = removed(words, position);
+        return new ProvidedHints(symbols,
+                                 removed(players, position),
+                                 newWords,
+                                 normalisedWords == words ? newWords : removed(normalisedWords, position),
+                                 removed(newOccurrences, position));
+    }
+
+    /**
+     * @return the distinct hints whose normalised form has been provided more than once
+     */
+    public List<String> duplicatedHints() {
+        requireNormalised();
+        List<String> duplicated = List.of();
+        for (int i = 0; i < words.length; ++i) {
+            if (occurrences[i] > 1) {
+                if (duplicated.isEmpty()) {
+                    duplicated = new ArrayList<>();
+                }
+                if (!duplicated.contains(words[i])) {
+                    duplicated.add(words[i]);
+                }
+            }
+        }
+        return duplicated;
+    }
+
+    /**
+     * @return the words when every hint is its own normalised form, so that a single array is kept for both
+     */
+    private static String[] sharedWith(String[] words, String[] normalisedWords) {
+        for (int i = 0; i < words.length; ++i) {
+            if (words[i] != normalisedWords[i]) {
+                return normalisedWords;
+            }
+        }
+        return words;
+    }
+
+    private static void decrement(String[] normalisedWords, int[] occurrences, int position) {
+        for (int i = 0; i < normalisedWords.length; ++i) {
+            if (i != position && Objects.equals(normalisedWords[i], normalisedWords[position])) {
+                --occurrences[i];
+            }
+        }
+    }
+
+    private static int[] removed(int[] array, int position) {
+        final var result = new int[array.length - 1];
+        System.arraycopy(array, 0, result, 0, position);
+        System.arraycopy(array, position + 1, result, position, result.length - position);
+        return result;
+    }
+
+    private static String[] removed(String[] array, int position) {
+        final var result = new String[array.length - 1];
+        System.arraycopy(array, 0, result, 0, position);
+        System.arraycopy(array, position + 1, result, position, result.length - position);
+        return result;
+    }
+
+    private int positionOf(int player) {
+        for (int i = 0; i < players.length; ++i) {
+            if (players[i] == player) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void requireNormalised() {
+        if (!isNormalised()) {
+            throw new IllegalStateException("provided hints have not been normalised");
+        }
+    }
+
+    private record NormalisedView(UnaryOperator<String> normaliser, ProvidedHints hints) {
+    }
+
+    @Override
+    public PlayerWord get(int index) {
+        return new PlayerWord(symbols.idOf(players[index]), words[index]);
+    }
+
+    @Override
+    public int size() {
+        return players.length;
+    }
+}
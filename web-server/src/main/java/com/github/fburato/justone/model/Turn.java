@@ -3,6 +3,11 @@ package com.github.fburato.justone.model;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * Turn of a game. Players and provided hints are stored against the {@link PlayerSymbols} of the players of
+ * the turn, see {@link TurnPlayers} and {@link ProvidedHints}. Completed turns are kept frozen, see
+ * {@link FrozenTurns}.
+ */
 public record Turn(
         TurnPhase phase,
         List<PlayerWord> providedHints,
@@ -11,4 +16,16 @@ public record Turn(
         Optional<PlayerWord> wordGuessed,
         List<TurnPlayer> players
 ) {
+
+    public Turn {
+        var symbols = PlayerSymbols.EMPTY;
+        if (players != null) {
+            final var turnPlayers = TurnPlayers.of(players);
+            symbols = turnPlayers.symbols();
+            players = turnPlayers;
+        }
+        if (providedHints != null && !FrozenTurns.isFrozen(providedHints)) {
+            providedHints = ProvidedHints.of(providedHints, symbols);
+        }
+    }
 }
@@ -9,5 +9,6 @@ public enum TurnAction {
     ADMIT_PLAYER,
     KICK_PLAYER,
     PROCEED,
-    CANCEL_GAME
+    CANCEL_GAME,
+    UNDO
 }
@@ -0,0 +1,169 @@
+package com.github.fburato.justone.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.IntFunction;
+
+/**
+ * Immutable list of the players of a turn, stored as the symbols of the players in the {@link PlayerSymbols}
+ * of the game and a bitmask of the roles of each player. The {@link TurnPlayer}s are views created on access.
+ * Checking whether a player has a role is a constant time lookup instead of a scan of the players of the turn.
+ * <p>
+ * Roles are a set: the roles of a player are listed once each, in the order they are declared in {@link TurnRole}.
+ */
+public final class TurnPlayers extends AbstractList<TurnPlayer> implements RandomAccess {
+
+    private static final TurnRole[] TURN_ROLES = TurnRole.values();
+    private static final List<List<TurnRole>> ROLES_BY_MASK = rolesByMask();
+    private static final byte PRESENT = (byte) 0x80;
+    private static final TurnPlayers EMPTY = new TurnPlayers(PlayerSymbols.EMPTY, new int[0], new byte[0]);
+
+    private final PlayerSymbols symbols;
+    private final int[] players;
+    private final byte[] roles;
+    private final byte[] rolesBySymbol;
+
+    private TurnPlayers(PlayerSymbols symbols, int[] players, byte[] roles) {
+        this.symbols = symbols;
+        this.players = players;
+        this.roles = roles;
+        this.rolesBySymbol = new byte[symbols.size()];
+        for (int i = 0; i < players.length; ++i) {
+            if (rolesBySymbol[players[i]] == 0) {
+                rolesBySymbol[players[i]] = (byte) (roles[i] | PRESENT);
+            }
+        }
+    }
+
+    private static List<List<TurnRole>> rolesByMask() {
+        final List<List<TurnRole>> rolesByMask = new ArrayList<>(1 << TURN_ROLES.length);
+        for (int mask = 0; mask < 1 << TURN_ROLES.length; ++mask) {
+            final List<TurnRole> maskRoles = new ArrayList<>(TURN_ROLES.length);
+            for (final var turnRole : TURN_ROLES) {
+                if ((mask & maskOf(turnRole)) != 0) {
+                    maskRoles.add(turnRole);
+                }
+            }
+            rolesByMask.add(List.copyOf(maskRoles));
+        }
+        return List.copyOf(rolesByMask);
+    }
+
+    private static int maskOf(TurnRole turnRole) {
+        return 1 << turnRole.ordinal();
+    }
+
+    private static byte maskOf(List<TurnRole> turnRoles) {
+        int mask = 0;
+        for (final var turnRole : turnRoles) {
+            mask |= maskOf(turnRole);
+        }
+        return (byte) mask;
+    }
+
+    public static TurnPlayers of(List<TurnPlayer> players) {
+        if (players instanceof TurnPlayers turnPlayers) {
+            return turnPlayers;
+        }
+        if (players.isEmpty()) {
+            return EMPTY;
+        }
+        return of(players, PlayerSymbols.of(players.stream().map(TurnPlayer::playerId).toList()));
+    }
+
+    /**
+     * @return the players encoded against the symbols of the game, interning the ids the symbols do not contain
+     */
+    public static TurnPlayers of(List<TurnPlayer> players, PlayerSymbols symbols) {
+        if (players instanceof TurnPlayers turnPlayers && turnPlayers.symbols == symbols) {
+            return turnPlayers;
+        }
+        var turnSymbols = symbols;
+        final var playerSymbols = new int[players.size()];
+        final var playerRoles = new byte[players.size()];
+        for (int i = 0; i < players.size(); ++i) {
+            final var player = players.get(i);
+            turnSymbols = turnSymbols.with(player.playerId());
+            playerSymbols[i] = turnSymbols.symbolOf(player.playerId());
+            playerRoles[i] = maskOf(player.roles());
+        }
+        return new TurnPlayers(turnSymbols, playerSymbols, playerRoles);
+    }
+
+    /**
+     * @return every player of the game, in the order of the game, with the roles given by their position
+     */
+    public static TurnPlayers of(Players players, IntFunction<List<TurnRole>> rolesByPosition) {
+        final var symbols = players.symbols();
+        final var playerSymbols = new int[players.size()];
+        final var playerRoles = new byte[players.size()];
+        for (int i = 0; i < players.size(); ++i) {
+            playerSymbols[i] = symbols.symbolOf(players.get(i).id());
+            playerRoles[i] = maskOf(rolesByPosition.apply(i));
+        }
+        return new TurnPlayers(symbols, playerSymbols, playerRoles);
+    }
+
+    public PlayerSymbols symbols() {
+        return symbols;
+    }
+
+    public boolean hasRole(String playerId, TurnRole turnRole) {
+        final var symbol = symbols.symbolOf(playerId);
+        return symbol >= 0 && (rolesBySymbol[symbol] & maskOf(turnRole)) != 0;
+    }
+
+    public int countWithRole(TurnRole turnRole) {
+        int count = 0;
+        for (final var playerRoles : roles) {
+            if ((playerRoles & maskOf(turnRole)) != 0) {
+                ++count;
+            }
+        }
+        return count;
+    }
+
+    public List<String> playersWithRole(TurnRole turnRole) {
+        final List<String> playerIds = new ArrayList<>();
+        for (int i = 0; i < players.length; ++i) {
+            if ((roles[i] & maskOf(turnRole)) != 0) {
+                playerIds.add(symbols.idOf(players[i]));
+            }
+        }
+        return playerIds;
+    }
+
+    /**
+     * @return the players of the turn except the given player
+     */
+    public TurnPlayers without(String playerId) {
+        final var symbol = symbols.symbolOf(playerId);
+        if (symbol < 0 || rolesBySymbol[symbol] == 0) {
+            return this;
+        }
+        int remaining = 0;
+        final var newPlayers = new int[players.length];
+        final var newRoles = new byte[players.length];
+        for (int i = 0; i < players.length; ++i) {
+            if (players[i] != symbol) {
+                newPlayers[remaining] = players[i];
+                newRoles[remaining] = roles[i];
+                ++remaining;
+            }
+        }
+        return new TurnPlayers(symbols, Arrays.copyOf(newPlayers, remaining), Arrays.copyOf(newRoles, remaining));
+    }
+
+    @Override
+    public TurnPlayer get(int index) {
+        return new TurnPlayer(symbols.idOf(players[index]), ROLES_BY_MASK.get(roles[index]));
+    }
+
+    @Override
+    public int size() {
+        return players.length;
+    }
+}
@@ -0,0 +1,66 @@
+package com.github.fburato.justone.model;
+
+import io.vavr.collection.Vector;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Immutable list of turns backed by a persistent vector. Replacing or appending a turn shares the structure
+ * of the original list instead of copying it, so it takes effectively constant time regardless of how many
+ * turns have been played.
+ */
+public final class Turns extends AbstractList<Turn> implements RandomAccess {
+
+    private static final Turns EMPTY = new Turns(Vector.empty());
+
+    private final Vector<Turn> turns;
+
+    private Turns(Vector<Turn> turns) {
+        this.turns = turns;
+    }
+
+    public static Turns of(List<Turn> turns) {
+        if (turns instanceof Turns persistentTurns) {
+            return persistentTurns;
+        }
+        if (turns.isEmpty()) {
+            return EMPTY;
+        }
+        return new Turns(Vector.ofAll(turns));
+    }
+
+    public Turns updated(int index, Turn turn) {
+        return new Turns(turns.update(index, turn));
+    }
+
+    /**
+     * @return the turns with the turn at the index frozen, see {@link FrozenTurns}
+     */
+    public Turns frozen(int index) {
+        final var turn = turns.get(index);
+        final var frozenTurn = FrozenTurns.freeze(turn);
+        return frozenTurn == turn ? this : updated(index, frozenTurn);
+    }
+
+    public Turns appended(Turn turn) {
+        return new Turns(turns.append(turn));
+    }
+
+    @Override
+    public Turn get(int index) {
+        return turns.get(index);
+    }
+
+    @Override
+    public int size() {
+        return turns.size();
+    }
+
+    @Override
+    public Iterator<Turn> iterator() {
+        return turns.iterator();
+    }
+}
@@ -1,4 +1,19 @@
 package com.github.fburato.justone.model;
 
+/**
+ * Running totals of the words of a game: the words which have not been guessed yet and the words guessed
+ * correctly or wrongly so far. The totals are updated when a guess is made instead of being recomputed from
+ * the turns of the game.
+ */
 public record Words(int remaining, int correct, int wrong) {
+
+    public static Words of(int wordsToGuess) {
+        return new Words(wordsToGuess, 0, 0);
+    }
+
+    public Words withGuess(boolean correctGuess) {
+        return correctGuess
+                ? new Words(remaining - 1, correct + 1, wrong)
+                : new Words(remaining - 1, correct, wrong + 1);
+    }
 }
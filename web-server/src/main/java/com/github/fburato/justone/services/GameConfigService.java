@@ -1,6 +1,7 @@
 package com.github.fburato.justone.services;
 
 import com.github.fburato.justone.internals.CrudRepository;
+import com.github.fburato.justone.internals.IndexedCrudRepository;
 import com.github.fburato.justone.model.GameConfig;
 import com.github.fburato.justone.services.errors.EntityIdMismatchException;
 import com.github.fburato.justone.services.errors.GameConfigConflictException;
@@ -8,14 +9,19 @@ import org.apache.commons.lang3.StringUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
 import java.util.Optional;
 
 public class GameConfigService {
 
-    private final CrudRepository<String, GameConfig> gameConfigCrudRepository;
+    static final String HOST_INDEX = "host";
+
+    private final IndexedCrudRepository<String, GameConfig> gameConfigCrudRepository;
 
     public GameConfigService(CrudRepository<String, GameConfig> gameConfigCrudRepository) {
-        this.gameConfigCrudRepository = gameConfigCrudRepository;
+        this.gameConfigCrudRepository = new IndexedCrudRepository<>(
+                gameConfigCrudRepository,
+                List.of(IndexedCrudRepository.Index.of(HOST_INDEX, GameConfig::host)));
     }
 
     public Mono<Optional<GameConfig>> getGameConfig(String gameId) {
@@ -51,6 +57,13 @@ public class GameConfigService {
         return Flux.fromStream(gameConfigCrudRepository.getAll());
     }
 
+    /**
+     * @return the configs of the games hosted by the host, found through the index of the hosts of the configs
+     */
+    public Flux<GameConfig> getGameConfigsByHost(String host) {
+        return Flux.fromStream(() -> gameConfigCrudRepository.findBy(HOST_INDEX, host));
+    }
+
     public Flux<String> getAllGameConfigIds() {
         return Flux.fromStream(gameConfigCrudRepository.getAll().map(GameConfig::gameId));
     }
@@ -0,0 +1,136 @@
+package com.github.fburato.justone.services;
+
+import com.github.fburato.justone.game.engine.Engine;
+import com.github.fburato.justone.model.Action;
+import com.github.fburato.justone.model.GameState;
+import com.github.fburato.justone.model.GameStatus;
+import com.github.fburato.justone.model.TurnAction;
+import com.github.fburato.justone.model.TurnPhase;
+import io.vavr.control.Try;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Deadline of the current phase of a game, armed by the mailbox of the game on a shared {@link TimingWheel}.
+ * <p>
+ * The deadline is armed the first time the mailbox sees the game in a phase with a {@link TurnDeadlines deadline}.
+ * When it expires, the {@link Expiry} is notified with the turn and phase the deadline was armed for, so that the
+ * mailbox can {@link #moveForward move the game forward} like any other action: {@link Engine#ROOT} executes
+ * {@link TurnAction#PROCEED} on the game unless it has left the phase since. If moving the game forward fails, the
+ * deadline is armed again for the same phase, with a delay doubling at every failure.
+ * <p>
+ * Not thread safe: the deadline of a game is only armed and moved forward by the worker of its mailbox.
+ */
+final class GameDeadline {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GameDeadline.class);
+    private static final Action<Void> EXPIRED = new Action<>(Engine.ROOT, TurnAction.PROCEED, Void.class, null);
+    private static final int MAX_BACK_OFF_SHIFT = 5;
+
+    /**
+     * Called on the worker of the timing wheel when the deadline armed for a phase expires.
+     */
+    @FunctionalInterface
+    interface Expiry {
+
+        void expired(int turn, TurnPhase phase);
+    }
+
+    private final Engine engine;
+    private final TurnDeadlines turnDeadlines;
+    private final TimingWheel timingWheel;
+    private final Expiry expiry;
+    private volatile TimingWheel.Timeout timeout;
+    private int armedTurn = -1;
+    private TurnPhase armedPhase;
+    private boolean expiryFailed;
+    private int failedExpiries;
+
+    GameDeadline(Engine engine, TurnDeadlines turnDeadlines, TimingWheel timingWheel, Expiry expiry) {
+        this.engine = engine;
+        this.turnDeadlines = turnDeadlines;
+        this.timingWheel = timingWheel;
+        this.expiry = expiry;
+    }
+
+    /**
+     * @return the state of the game after moving it forward, the same state if the game has left the phase or if
+     * moving it forward failed
+     */
+    GameState moveForward(GameState gameState, int turn, TurnPhase phase) {
+        if (gameState == null || gameState.currentTurn() != turn || phaseOf(gameState) != phase) {
+            return gameState;
+        }
+        final var result = Try.of(() -> engine.execute(gameState, EXPIRED))
+                              .flatMap(tryState -> tryState);
+        if (result.isFailure()) {
+            LOG.warn("could not move gameId={} forward after the deadline of turn={} phase={}",
+                     gameState.id(), turn, phase, result.getCause());
+            expiryFailed = true;
+        }
+        return result.getOrElse(gameState);
+    }
+
+    /**
+     * Arms the deadline of the current phase of the game, if it has not been armed for the phase yet or if moving
+     * the game forward after the deadline armed for the phase failed.
+     *
+     * @param gameState the state of the game, null if the game does not exist
+     */
+    void arm(GameState gameState) {
+        final var phase = gameState == null ? null : phaseOf(gameState);
+        final var turn = gameState == null ? -1 : gameState.currentTurn();
+        final var samePhase = turn == armedTurn && phase == armedPhase;
+        final var retry = samePhase && expiryFailed;
+        expiryFailed = false;
+        if (samePhase && !retry) {
+            return;
+        }
+        failedExpiries = retry ? failedExpiries + 1 : 0;
+        disarm();
+        armedTurn = turn;
+        armedPhase = phase;
+        final var delay = turnDeadlines.of(phase);
+        if (delay != null) {
+            final var backedOffDelay = delay.multipliedBy(1L << Math.min(failedExpiries, MAX_BACK_OFF_SHIFT));
+            timeout = timingWheel.schedule(() -> expiry.expired(turn, phase), backedOffDelay);
+        }
+    }
+
+    /**
+     * Forgets the phase the deadline was armed for, e.g. when the game is replaced by a new one.
+     */
+    void reset() {
+        disarm();
+        armedTurn = -1;
+        armedPhase = null;
+        expiryFailed = false;
+    }
+
+    void disarm() {
+        final var currentTimeout = timeout;
+        if (currentTimeout != null) {
+            currentTimeout.cancel();
+            timeout = null;
+        }
+    }
+
+    /**
+     * @return whether a deadline is armed and has not expired yet, safe to call from any thread
+     */
+    boolean isPending() {
+        final var currentTimeout = timeout;
+        return currentTimeout != null && !currentTimeout.isExpired();
+    }
+
+    /**
+     * @return the phase of the current turn of a game in progress, null otherwise
+     */
+    private static TurnPhase phaseOf(GameState gameState) {
+        if (gameState.status() != GameStatus.IN_PROGRESS || gameState.turns() == null
+                || gameState.currentTurn() < 0 || gameState.currentTurn() >= gameState.turns().size()) {
+            return null;
+        }
+        return gameState.turns().get(gameState.currentTurn()).phase();
+    }
+}
@@ -0,0 +1,63 @@
+package com.github.fburato.justone.services;
+
+import com.github.fburato.justone.game.engine.Engine;
+import com.github.fburato.justone.model.Action;
+import com.github.fburato.justone.model.GameState;
+import com.github.fburato.justone.model.TurnAction;
+import io.vavr.control.Try;
+
+/**
+ * Undo history of a game, kept by its mailbox: the {@link GameVersions versions} preceding the effective actions
+ * and batches of actions applied to the game, which {@link TurnAction#UNDO} steps back to.
+ * <p>
+ * Changes to the history are staged until the mailbox {@link #commit commits} them, once the state of the game
+ * after its batch has been saved, or {@link #rollback rolls them back} if saving failed.
+ * <p>
+ * Not thread safe: the history of a game is only accessed by the worker of its mailbox.
+ */
+final class GameHistory {
+
+    private final Engine engine;
+    private final GameVersions versions;
+
+    GameHistory(Engine engine, int undoDepth) {
+        this.engine = engine;
+        this.versions = new GameVersions(undoDepth);
+    }
+
+    /**
+     * @return the version preceding the game, or the failure of the undo action
+     */
+    Try<GameState> undo(GameState gameState, Action<?> undoAction) {
+        final var result = Try.of(() -> engine.undo(gameState, undoAction, versions.latest()))
+                              .flatMap(tryState -> tryState);
+        if (result.isSuccess()) {
+            versions.forgetLatest();
+        }
+        return result;
+    }
+
+    /**
+     * Records the version of the game preceding an action or batch of actions, unless it left the game unchanged.
+     */
+    void record(GameState before, GameState after) {
+        if (after != before) {
+            versions.record(before);
+        }
+    }
+
+    /**
+     * Forgets every past version, so that the game cannot be stepped back past its current state.
+     */
+    void forget() {
+        versions.clear();
+    }
+
+    void commit() {
+        versions.commit();
+    }
+
+    void rollback() {
+        versions.rollback();
+    }
+}
@@ -0,0 +1,496 @@
+package com.github.fburato.justone.services;
+
+import com.github.fburato.justone.game.engine.BatchExecution;
+import com.github.fburato.justone.game.engine.BatchMode;
+import com.github.fburato.justone.game.engine.Engine;
+import com.github.fburato.justone.internals.CrudRepository;
+import com.github.fburato.justone.model.Action;
+import com.github.fburato.justone.model.GameState;
+import com.github.fburato.justone.model.TurnAction;
+import com.github.fburato.justone.model.TurnPhase;
+import io.vavr.control.Try;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Single writer pipeline for the actions executed on games.
+ * <p>
+ * Every game owns a mailbox that is drained by at most one worker at a time, so that actions on the same game
+ * are applied in arrival order while actions on different games run in parallel on the provided scheduler.
+ * Actions queued while a worker is busy are applied as a batch: the game state is read once, all actions
+ * of the batch are folded over it and the resulting state is saved once.
+ * <p>
+ * Mailboxes also keep the {@link GameHistory history} of their game, up to the undo depth, so that
+ * {@link TurnAction#UNDO} steps the game back to the version preceding the last effective action or batch of
+ * actions. Batches of actions are undone as a whole and cannot contain {@link TurnAction#UNDO} themselves. The
+ * changes a batch makes to the history only take effect once the state after the batch has been saved.
+ * <p>
+ * Games are also created and deleted through their mailbox, so that a deletion is ordered with the actions
+ * queued before and after it and a batch which read the game before the deletion cannot save it back.
+ * <p>
+ * When the phase of the current turn of a game has a {@link TurnDeadlines deadline}, the mailbox arms its
+ * {@link GameDeadline} and moves the game forward through the mailbox when it expires, like any other action.
+ * Moving a game forward after a deadline cannot be undone: the history of the game is forgotten, so that undoing
+ * never gives the players back a phase whose time ran out. Games are armed when they are created, when
+ * {@link #arm} is called for them and whenever their mailbox has handled an envelope.
+ * <p>
+ * Mailboxes only live while their game is active: a mailbox is dropped as soon as it finds its game missing and
+ * when it has been idle, with no deadline armed, for the idle timeout. The history of a game is dropped with
+ * its mailbox. Envelopes are only queued in the mailbox registered for the game, under the lock of its
+ * entry, so that a dropped mailbox never receives work and a game never has two mailboxes.
+ */
+class GameMailboxes {
+
+    static final int DEFAULT_MAX_BATCH_SIZE = 32;
+    static final int DEFAULT_UNDO_DEPTH = 16;
+    static final Duration DEFAULT_TICK_DURATION = Duration.ofMillis(100);
+    static final int DEFAULT_WHEEL_SIZE = 512;
+    static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(10);
+
+    private final Engine engine;
+    private final CrudRepository<String, GameState> gameStateRepository;
+    private final Scheduler scheduler;
+    private final int maxBatchSize;
+    private final int undoDepth;
+    private final TurnDeadlines turnDeadlines;
+    private final TimingWheel timingWheel;
+    private final Duration idleTimeout;
+    private final Map<String, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    GameMailboxes(Engine engine,
+                  CrudRepository<String, GameState> gameStateRepository,
+                  GameStateService.Settings settings) {
+        this(engine, gameStateRepository, settings,
+             new TimingWheel(DEFAULT_TICK_DURATION, DEFAULT_WHEEL_SIZE,
+                             runnable -> new Thread(runnable, "game-mailboxes")),
+             DEFAULT_IDLE_TIMEOUT);
+    }
+
+    GameMailboxes(Engine engine,
+                  CrudRepository<String, GameState> gameStateRepository,
+                  GameStateService.Settings settings,
+                  TimingWheel timingWheel,
+                  Duration idleTimeout) {
+        if (settings.maxActionBatchSize() < 1) {
+            throw new IllegalArgumentException(String.format("maxActionBatchSize=%d should be positive",
+                                                             settings.maxActionBatchSize()));
+        }
+        if (settings.undoDepth() < 0) {
+            throw new IllegalArgumentException(String.format("undoDepth=%d should not be negative",
+                                                             settings.undoDepth()));
+        }
+        this.engine = engine;
+        this.gameStateRepository = gameStateRepository;
+        this.scheduler = settings.actionScheduler();
+        this.maxBatchSize = settings.maxActionBatchSize();
+        this.undoDepth = settings.undoDepth();
+        this.turnDeadlines = settings.turnDeadlines();
+        this.timingWheel = timingWheel;
+        this.idleTimeout = idleTimeout;
+    }
+
+    Mono<Optional<GameState>> submit(String gameId, Action<?> action) {
+        return Mono.create(sink -> offer(gameId, new ActionEnvelope(action, sink)));
+    }
+
+    Mono<Optional<BatchExecution>> submitAll(String gameId, List<Action<?>> actions, BatchMode batchMode) {
+        return Mono.create(sink -> offer(gameId, new BatchEnvelope(actions, batchMode, sink)));
+    }
+
+    /**
+     * Saves the new game, replacing any game with the same id after the actions already queued for it. The past
+     * versions of the replaced game are forgotten.
+     */
+    Mono<GameState> create(GameState gameState) {
+        return Mono.create(sink -> offer(gameState.id(), new CreateEnvelope(gameState, sink)));
+    }
+
+    /**
+     * Deletes the game after the actions already queued for it.
+     *
+     * @return the deleted game, empty if the game did not exist
+     */
+    Mono<Optional<GameState>> delete(String gameId) {
+        return Mono.create(sink -> offer(gameId, new DeleteEnvelope(sink)));
+    }
+
+    /**
+     * Arms the deadline of the current phase of the game, e.g. for the games in progress when the service starts.
+     */
+    void arm(String gameId) {
+        offer(gameId, new ArmEnvelope());
+    }
+
+    int size() {
+        return mailboxes.size();
+    }
+
+    private void offer(String gameId, Envelope envelope) {
+        mailboxes.compute(gameId, (id, mailbox) -> {
+                     final var target = mailbox == null ? new Mailbox(id) : mailbox;
+                     target.queue.offer(envelope);
+                     return target;
+                 })
+                 .scheduleDrain();
+    }
+
+    /**
+     * Unit of work queued in a mailbox. The result of applying the envelope is kept by the envelope until
+     * the state of the batch it belongs to has been saved.
+     */
+    private interface Envelope {
+
+        /**
+         * @param gameState the state of the game, null if the game does not exist
+         * @return the state of the game after the envelope, null if the game does not exist afterwards
+         */
+        GameState apply(GameState gameState, GameHistory history);
+
+        void complete();
+
+        void fail(Throwable throwable);
+    }
+
+    private final class ActionEnvelope implements Envelope {
+
+        private final Action<?> action;
+        private final MonoSink<Optional<GameState>> sink;
+        private Try<GameState> result;
+
+        private ActionEnvelope(Action<?> action, MonoSink<Optional<GameState>> sink) {
+            this.action = action;
+            this.sink = sink;
+        }
+
+        @Override
+        public GameState apply(GameState gameState, GameHistory history) {
+            if (gameState == null) {
+                return null;
+            }
+            if (action.playerAction() == TurnAction.UNDO) {
+                result = history.undo(gameState, action);
+                return result.getOrElse(gameState);
+            }
+            result = Try.of(() -> engine.execute(gameState, action))
+                        .flatMap(tryState -> tryState);
+            final var newState = result.getOrElse(gameState);
+            history.record(gameState, newState);
+            return newState;
+        }
+
+        @Override
+        public void complete() {
+            if (result == null) {
+                sink.success(Optional.empty());
+            } else if (result.isSuccess()) {
+                sink.success(Optional.of(result.get()));
+            } else {
+                sink.error(result.getCause());
+            }
+        }
+
+        @Override
+        public void fail(Throwable throwable) {
+            sink.error(throwable);
+        }
+    }
+
+    /**
+     * Moves the game forward when the deadline of a phase expires, unless the game has left the phase since
+     * the deadline was armed.
+     */
+    private static final class DeadlineEnvelope implements Envelope {
+
+        private final GameDeadline deadline;
+        private final int turn;
+        private final TurnPhase phase;
+
+        private DeadlineEnvelope(GameDeadline deadline, int turn, TurnPhase phase) {
+            this.deadline = deadline;
+            this.turn = turn;
+            this.phase = phase;
+        }
+
+        @Override
+        public GameState apply(GameState gameState, GameHistory history) {
+            final var newState = deadline.moveForward(gameState, turn, phase);
+            if (newState != gameState) {
+                history.forget();
+            }
+            return newState;
+        }
+
+        @Override
+        public void complete() {
+        }
+
+        @Override
+        public void fail(Throwable throwable) {
+        }
+    }
+
+    /**
+     * Leaves the game unchanged, the mailbox arming its deadline after the batch.
+     */
+    private static final class ArmEnvelope implements Envelope {
+
+        @Override
+        public GameState apply(GameState gameState, GameHistory history) {
+            return gameState;
+        }
+
+        @Override
+        public void complete() {
+        }
+
+        @Override
+        public void fail(Throwable throwable) {
+        }
+    }
+
+    private static final class CreateEnvelope implements Envelope {
+
+        private final GameState gameState;
+        private final MonoSink<GameState> sink;
+
+        private CreateEnvelope(GameState gameState, MonoSink<GameState> sink) {
+            this.gameState = gameState;
+            this.sink = sink;
+        }
+
+        @Override
+        public GameState apply(GameState replacedState, GameHistory history) {
+            history.forget();
+            return gameState;
+        }
+
+        @Override
+        public void complete() {
+            sink.success(gameState);
+        }
+
+        @Override
+        public void fail(Throwable throwable) {
+            sink.error(throwable);
+        }
+    }
+
+    private static final class DeleteEnvelope implements Envelope {
+
+        private final MonoSink<Optional<GameState>> sink;
+        private GameState deletedState;
+
+        private DeleteEnvelope(MonoSink<Optional<GameState>> sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public GameState apply(GameState gameState, GameHistory history) {
+            deletedState = gameState;
+            history.forget();
+            return null;
+        }
+
+        @Override
+        public void complete() {
+            sink.success(Optional.ofNullable(deletedState));
+        }
+
+        @Override
+        public void fail(Throwable throwable) {
+            sink.error(throwable);
+        }
+    }
+
+    private final class BatchEnvelope implements Envelope {
+
+        private final List<Action<?>> actions;
+        private final BatchMode batchMode;
+        private final MonoSink<Optional<BatchExecution>> sink;
+        private BatchExecution result;
+
+        private BatchEnvelope(List<Action<?>> actions,
+                              BatchMode batchMode,
+                              MonoSink<Optional<BatchExecution>> sink) {
+            this.actions = actions;
+            this.batchMode = batchMode;
+            this.sink = sink;
+        }
+
+        @Override
+        public GameState apply(GameState gameState, GameHistory history) {
+            if (gameState == null) {
+                return null;
+            }
+            result = engine.executeAll(gameState, actions, batchMode);
+            history.record(gameState, result.gameState());
+            return result.gameState();
+        }
+
+        @Override
+        public void complete() {
+            sink.success(Optional.ofNullable(result));
+        }
+
+        @Override
+        public void fail(Throwable throwable) {
+            sink.error(throwable);
+        }
+    }
+
+    private class Mailbox implements Runnable {
+
+        private final String gameId;
+        private final Queue<Envelope> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+        private final GameHistory history = new GameHistory(engine, undoDepth);
+        private final GameDeadline deadline = new GameDeadline(engine, turnDeadlines, timingWheel, this::expire);
+        private volatile TimingWheel.Timeout idle;
+
+        private Mailbox(String gameId) {
+            this.gameId = gameId;
+        }
+
+        private void scheduleDrain() {
+            if (scheduled.compareAndSet(false, true)) {
+                scheduler.schedule(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                drainBatch();
+            } finally {
+                scheduled.set(false);
+                if (!queue.isEmpty()) {
+                    scheduleDrain();
+                }
+            }
+        }
+
+        private void drainBatch() {
+            final List<Envelope> batch = new ArrayList<>();
+            Envelope envelope;
+            while (batch.size() < maxBatchSize && (envelope = queue.poll()) != null) {
+                batch.add(envelope);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            final GameState gameState;
+            try {
+                gameState = applyBatch(batch);
+            } catch (RuntimeException e) {
+                batch.forEach(env -> env.fail(e));
+                resetIdleTimeout();
+                return;
+            }
+            if (gameState == null) {
+                retire();
+            } else {
+                resetIdleTimeout();
+            }
+        }
+
+        /**
+         * @return the state of the game after the batch, null if the game does not exist
+         */
+        private GameState applyBatch(List<Envelope> batch) {
+            final var initialState = gameStateRepository.findById(gameId).orElse(null);
+            var gameState = initialState;
+            try {
+                for (final var env : batch) {
+                    gameState = env.apply(gameState, history);
+                    if (env instanceof CreateEnvelope) {
+                        // the deadline armed for the replaced game does not apply to the new one
+                        deadline.reset();
+                    }
+                }
+                if (gameState == null) {
+                    if (initialState != null) {
+                        gameStateRepository.delete(gameId);
+                    }
+                } else if (gameState != initialState) {
+                    gameStateRepository.save(gameState);
+                }
+            } catch (RuntimeException e) {
+                history.rollback();
+                throw e;
+            }
+            history.commit();
+            deadline.arm(gameState);
+            batch.forEach(Envelope::complete);
+            return gameState;
+        }
+
+        /**
+         * Drops the mailbox if nothing has been queued in it since the last batch, the next envelope for the game
+         * creating a new mailbox.
+         */
+        private void retire() {
+            final var retired = new AtomicBoolean(false);
+            mailboxes.computeIfPresent(gameId, (id, mailbox) -> {
+                if (mailbox == this && queue.isEmpty()) {
+                    retired.set(true);
+                    return null;
+                }
+                return mailbox;
+            });
+            if (retired.get()) {
+                deadline.disarm();
+                cancelIdleTimeout();
+            }
+        }
+
+        private void resetIdleTimeout() {
+            cancelIdleTimeout();
+            idle = timingWheel.schedule(this::retireIfIdle, idleTimeout);
+        }
+
+        private void cancelIdleTimeout() {
+            final var currentIdle = idle;
+            if (currentIdle != null) {
+                currentIdle.cancel();
+                idle = null;
+            }
+        }
+
+        /**
+         * Runs on the worker of the timing wheel: drops the mailbox unless it has work queued or running, or a
+         * deadline armed. A busy mailbox resets its idle timeout after its next batch.
+         */
+        private void retireIfIdle() {
+            mailboxes.computeIfPresent(gameId, (id, mailbox) -> {
+                final var idleMailbox = mailbox == this && queue.isEmpty() && !scheduled.get()
+                        && !deadline.isPending();
+                return idleMailbox ? null : mailbox;
+            });
+        }
+
+        private void expire(int turn, TurnPhase phase) {
+            final var offered = new AtomicBoolean(false);
+            mailboxes.computeIfPresent(gameId, (id, mailbox) -> {
+                if (mailbox == this) {
+                    queue.offer(new DeadlineEnvelope(deadline, turn, phase));
+                    offered.set(true);
+                }
+                return mailbox;
+            });
+            if (offered.get()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
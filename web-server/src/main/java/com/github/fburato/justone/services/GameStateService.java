@@ -1,56 +1,131 @@
 package com.github.fburato.justone.services;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fburato.justone.game.engine.BatchExecution;
+import com.github.fburato.justone.game.engine.BatchMode;
 import com.github.fburato.justone.game.engine.Engine;
+import com.github.fburato.justone.game.errors.ErrorCode;
 import com.github.fburato.justone.internals.CrudRepository;
+import com.github.fburato.justone.internals.IndexedCrudRepository;
 import com.github.fburato.justone.model.Action;
 import com.github.fburato.justone.model.GameState;
+import com.github.fburato.justone.model.GameStateSummary;
+import com.github.fburato.justone.model.GameStatus;
+import com.github.fburato.justone.model.Player;
 import com.github.fburato.justone.model.TurnAction;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static com.github.fburato.justone.utils.TryUtils.toMono;
 
 public class GameStateService {
 
-    private final CrudRepository<String, GameState> gameStateRepository;
-    private final Engine engine;
+    static final String STATUS_INDEX = "status";
+    static final String PLAYER_INDEX = "player";
+
+    private static final List<IndexedCrudRepository.Index<GameState>> INDEXES = List.of(
+            IndexedCrudRepository.Index.of(STATUS_INDEX, GameState::status),
+            new IndexedCrudRepository.Index<>(PLAYER_INDEX, gameState -> gameState.players() == null
+                    ? List.of()
+                    : gameState.players().stream().map(Player::id).toList()));
 
-    public GameStateService(Engine engine, CrudRepository<String, GameState> gameStateRepository) {
-        this.gameStateRepository = gameStateRepository;
+    private final IndexedCrudRepository<String, GameState> indexedGameStates;
+    private final GameStateSummaries gameStateRepository;
+    private final Engine engine;
+    private final GameMailboxes gameMailboxes;
+
+    /**
+     * The deadlines of the games in progress in the repository are armed when the service is created, for the
+     * whole duration of their current phase.
+     */
+    public GameStateService(Engine engine, CrudRepository<String, GameState> gameStateRepository, Settings settings) {
+        final var summaries = new GameStateSummaries.Scan(engine::withWordTotals);
+        this.indexedGameStates = new IndexedCrudRepository<>(gameStateRepository, INDEXES, summaries);
+        this.gameStateRepository = new GameStateSummaries(indexedGameStates, summaries);
         this.engine = engine;
+        this.gameMailboxes = new GameMailboxes(engine, this.gameStateRepository, settings);
+        if (!settings.turnDeadlines().isEmpty()) {
+            indexedGameStates.findIdsBy(STATUS_INDEX, GameStatus.IN_PROGRESS)
+                             .forEach(gameMailboxes::arm);
+        }
     }
 
     public Mono<Optional<GameState>> getGameState(String gameId) {
         return Mono.just(gameStateRepository.findById(gameId));
     }
 
+    /**
+     * @return the summary of the game, kept up to date as actions are applied to the game without reading it
+     */
+    public Mono<Optional<GameStateSummary>> getGameStateSummary(String gameId) {
+        return Mono.just(gameStateRepository.findSummaryById(gameId));
+    }
+
+    public Flux<GameStateSummary> getAllGameStateSummaries() {
+        return Flux.fromStream(gameStateRepository::getAllSummaries);
+    }
+
+    /**
+     * @return the summaries of the games with the status, found through the index of the statuses of the games
+     */
+    public Flux<GameStateSummary> getGameStateSummariesByStatus(GameStatus status) {
+        return Flux.fromStream(() -> summariesOf(indexedGameStates.findIdsBy(STATUS_INDEX, status))
+                .filter(summary -> summary.status() == status));
+    }
+
+    /**
+     * @return the summaries of the games the player is in, found through the index of the players of the games
+     */
+    public Flux<GameStateSummary> getGameStateSummariesByPlayer(String playerId) {
+        return Flux.fromStream(() -> summariesOf(indexedGameStates.findIdsBy(PLAYER_INDEX, playerId))
+                .filter(summary -> summary.players().stream().anyMatch(player -> playerId.equals(player.id()))));
+    }
+
+    private Stream<GameStateSummary> summariesOf(Stream<String> gameIds) {
+        return gameIds.map(gameStateRepository::findSummaryById)
+                      .flatMap(Optional::stream);
+    }
+
     public Mono<GameState> createGameState(String id, CreateStateRequest createStateRequest) {
         final var tryState = engine.init(id, createStateRequest.host(), createStateRequest.players(),
-                                         createStateRequest.wordsToGuess());
-        return toMono(tryState.onSuccess(gameStateRepository::save));
+                                         createStateRequest.wordsToGuess(), createStateRequest.languageId());
+        return toMono(tryState).flatMap(gameMailboxes::create);
     }
 
     public Mono<Optional<GameState>> executeAction(String gameId, ActionRequest actionRequest) {
-        final var maybeGameState = gameStateRepository.findById(gameId);
-        if (maybeGameState.isEmpty()) {
-            return Mono.just(maybeGameState);
-        }
-        final var gameState = maybeGameState.get();
         return compileActionRequest(actionRequest)
-                .flatMap(compiledAction -> toMono(engine.execute(gameState, compiledAction)))
-                .map(gs -> {
-                    gameStateRepository.save(gs);
-                    return Optional.of(gs);
-                });
+                .flatMap(compiledAction -> gameMailboxes.submit(gameId, compiledAction));
+    }
+
+    public Mono<Optional<BatchExecution>> executeActions(String gameId, BatchActionRequest batchActionRequest) {
+        return Flux.fromIterable(batchActionRequest.actions())
+                   .concatMap(this::compileActionRequest)
+                   .collectList()
+                   .flatMap(compiledActions -> gameMailboxes.submitAll(gameId, compiledActions,
+                                                                       batchActionRequest.batchMode()));
+    }
+
+    /**
+     * Checks whether the action would be accepted by the current state of the game without executing it: the
+     * state is read but the action is not queued in the mailbox of the game and nothing is saved.
+     *
+     * @return the codes of the errors the action would fail with, empty if the game does not exist
+     */
+    public Mono<Optional<List<ErrorCode>>> validateAction(String gameId, ActionRequest actionRequest) {
+        return compileActionRequest(actionRequest)
+                .map(compiledAction -> gameStateRepository.findById(gameId)
+                                                          .map(gameState -> engine.check(gameState, compiledAction)));
     }
 
     private Mono<Action<?>> compileActionRequest(ActionRequest actionRequest) {
         switch (actionRequest.turnAction()) {
-            case PROCEED, CANCEL_GAME, CANCEL_PROVIDED_HINT -> {
+            case PROCEED, CANCEL_GAME, CANCEL_PROVIDED_HINT, UNDO -> {
                 return Mono.just(new Action<>(actionRequest.playerId(), actionRequest.turnAction(), Void.class, null));
             }
             default -> {
@@ -68,11 +143,7 @@ public class GameStateService {
     }
 
     public Mono<Optional<GameState>> deleteGameState(String gameId) {
-        return Mono.just(gameStateRepository.findById(gameId)
-                                            .map(gs -> {
-                                                gameStateRepository.delete(gameId);
-                                                return gs;
-                                            }));
+        return gameMailboxes.delete(gameId);
     }
 
     public Flux<GameState> getAllGameStates() {
@@ -86,9 +157,50 @@ public class GameStateService {
                 .map(GameState::id);
     }
 
-    public record CreateStateRequest(String host, List<String> players, List<String> wordsToGuess) {
+    /**
+     * @param languageId the id of the language of the game, see {@link GameState#languageId()}, may be null
+     */
+    public record CreateStateRequest(String host, List<String> players, List<String> wordsToGuess, String languageId) {
+
+        public CreateStateRequest(String host, List<String> players, List<String> wordsToGuess) {
+            this(host, players, wordsToGuess, null);
+        }
     }
 
     public record ActionRequest(String playerId, TurnAction turnAction, JsonNode payload) {
     }
+
+    public record BatchActionRequest(List<ActionRequest> actions, BatchMode batchMode) {
+    }
+
+    /**
+     * @param actionScheduler    the scheduler the mailboxes of the games are drained on
+     * @param maxActionBatchSize the maximum number of actions on a game applied and saved at once
+     * @param undoDepth          the number of past versions kept for every game, which bounds how many actions can
+     *                           be undone in a row
+     * @param turnDeadlines      the deadlines of the phases of the turns, after which the games are moved forward
+     *                           automatically
+     */
+    public record Settings(Scheduler actionScheduler,
+                           int maxActionBatchSize,
+                           int undoDepth,
+                           TurnDeadlines turnDeadlines) {
+
+        public static final Settings DEFAULT = new Settings(Schedulers.boundedElastic(),
+                                                            GameMailboxes.DEFAULT_MAX_BATCH_SIZE,
+                                                            GameMailboxes.DEFAULT_UNDO_DEPTH,
+                                                            TurnDeadlines.NONE);
+
+        public Settings {
+            turnDeadlines = turnDeadlines == null ? TurnDeadlines.NONE : turnDeadlines;
+        }
+
+        public Settings withUndoDepth(int undoDepth) {
+            return new Settings(actionScheduler, maxActionBatchSize, undoDepth, turnDeadlines);
+        }
+
+        public Settings withTurnDeadlines(TurnDeadlines turnDeadlines) {
+            return new Settings(actionScheduler, maxActionBatchSize, undoDepth, turnDeadlines);
+        }
+    }
 }
@@ -0,0 +1,125 @@
+package com.github.fburato.justone.services;
+
+import com.github.fburato.justone.internals.CrudRepository;
+import com.github.fburato.justone.model.GameState;
+import com.github.fburato.justone.model.GameStateSummary;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Repository of game states which keeps the summary of every game up to date as the game is saved or deleted,
+ * so that summaries are read without loading the game or its turns. Summaries of the games already in the
+ * decorated repository are computed once, either by scanning it when the decorator is created or from a
+ * {@link Scan} fed by a scan the decorated repository makes anyway, e.g. while building its indexes.
+ * <p>
+ * Every write of the games goes through the decorator, including the writes of the mailboxes: the summary of
+ * a game is replaced after the game is saved and removed after the game is deleted.
+ * <p>
+ * A summary is kept in memory for every game of the decorated repository, including the games a tiered
+ * repository has spilled to disk: the summaries are not bounded and grow with the number of games stored.
+ * <p>
+ * Games read without the totals of their words, e.g. written before the totals were kept, are summarised with
+ * the totals derived by {@code withWordTotals}.
+ */
+final class GameStateSummaries implements CrudRepository<String, GameState> {
+
+    private final CrudRepository<String, GameState> gameStateRepository;
+    private final Scan scan;
+
+    GameStateSummaries(CrudRepository<String, GameState> gameStateRepository) {
+        this(gameStateRepository, UnaryOperator.identity());
+    }
+
+    GameStateSummaries(CrudRepository<String, GameState> gameStateRepository,
+                       UnaryOperator<GameState> withWordTotals) {
+        this(gameStateRepository, scanned(gameStateRepository, new Scan(withWordTotals)));
+    }
+
+    /**
+     * @param scan the summaries of the games already in the repository, which is not scanned again
+     */
+    GameStateSummaries(CrudRepository<String, GameState> gameStateRepository, Scan scan) {
+        this.gameStateRepository = gameStateRepository;
+        this.scan = scan;
+    }
+
+    private static Scan scanned(CrudRepository<String, GameState> gameStateRepository, Scan scan) {
+        gameStateRepository.getAll().forEach(scan);
+        return scan;
+    }
+
+    Optional<GameStateSummary> findSummaryById(String id) {
+        return Optional.ofNullable(scan.summaries.get(id));
+    }
+
+    Stream<GameStateSummary> getAllSummaries() {
+        return scan.summaries.values().stream();
+    }
+
+    private void summarise(GameState gameState) {
+        scan.accept(gameState);
+    }
+
+    @Override
+    public String idExtractor(GameState entity) {
+        return gameStateRepository.idExtractor(entity);
+    }
+
+    @Override
+    public Optional<GameState> findById(String id) {
+        return gameStateRepository.findById(id);
+    }
+
+    @Override
+    public Stream<GameState> getAll() {
+        return gameStateRepository.getAll();
+    }
+
+    @Override
+    public GameState save(GameState entity) {
+        final var saved = gameStateRepository.save(entity);
+        summarise(saved);
+        return saved;
+    }
+
+    @Override
+    public void saveAll(Collection<GameState> entities) {
+        gameStateRepository.saveAll(entities);
+        entities.forEach(this::summarise);
+    }
+
+    @Override
+    public boolean delete(String id) {
+        final var deleted = gameStateRepository.delete(id);
+        scan.summaries.remove(id);
+        return deleted;
+    }
+
+    /**
+     * Summaries of the games seen so far, built from the games passed to it. The totals of the words of the games
+     * read without them are derived by {@code withWordTotals}.
+     */
+    static final class Scan implements Consumer<GameState> {
+
+        private final UnaryOperator<GameState> withWordTotals;
+        private final Map<String, GameStateSummary> summaries = new ConcurrentHashMap<>();
+
+        Scan(UnaryOperator<GameState> withWordTotals) {
+            this.withWordTotals = withWordTotals;
+        }
+
+        @Override
+        public void accept(GameState gameState) {
+            summaries.put(gameState.id(),
+                          GameStateSummary.of(gameState.words() == null
+                                                      ? withWordTotals.apply(gameState)
+                                                      : gameState));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.github.fburato.justone.services;
+
+import com.github.fburato.justone.model.GameState;
+
+import java.util.Arrays;
+
+/**
+ * Bounded chain of the past versions of a game, most recent first. Game states are immutable and share their
+ * structure with the states they were derived from, so keeping a version costs a reference and stepping back
+ * to it does not copy or replay anything. Only the most recent {@code depth} versions are kept: recording a
+ * version beyond the depth forgets the oldest one.
+ * <p>
+ * Changes are staged until they are {@link #commit committed}: a mailbox commits the changes made by a batch once
+ * the state of the game after the batch has been saved, and {@link #rollback rolls them back} if saving failed, so
+ * that the chain never steps back over a version which was never saved.
+ * <p>
+ * Not thread safe: the versions of a game are only accessed by the worker of its mailbox.
+ */
+final class GameVersions {
+
+    private final GameState[] versions;
+    private int latest = -1;
+    private int size;
+    private GameState[] committed;
+    private int committedLatest;
+    private int committedSize;
+
+    GameVersions(int depth) {
+        this.versions = new GameState[depth];
+    }
+
+    void record(GameState version) {
+        if (versions.length == 0) {
+            return;
+        }
+        stage();
+        latest = (latest + 1) % versions.length;
+        versions[latest] = version;
+        size = Math.min(size + 1, versions.length);
+    }
+
+    /**
+     * @return the most recent version, null if there is none
+     */
+    GameState latest() {
+        return size == 0 ? null : versions[latest];
+    }
+
+    void clear() {
+        stage();
+        Arrays.fill(versions, null);
+        latest = -1;
+        size = 0;
+    }
+
+    void forgetLatest() {
+        if (size == 0) {
+            return;
+        }
+        stage();
+        versions[latest] = null;
+        latest = (latest - 1 + versions.length) % versions.length;
+        --size;
+    }
+
+    /**
+     * Keeps the changes staged since the last commit.
+     */
+    void commit() {
+        committed = null;
+    }
+
+    /**
+     * Drops the changes staged since the last commit.
+     */
+    void rollback() {
+        if (committed == null) {
+            return;
+        }
+        System.arraycopy(committed, 0, versions, 0, versions.length);
+        latest = committedLatest;
+        size = committedSize;
+        committed = null;
+    }
+
+    private void stage() {
+        if (committed == null) {
+            committed = versions.clone();
+            committedLatest = latest;
+            committedSize = size;
+        }
+    }
+}
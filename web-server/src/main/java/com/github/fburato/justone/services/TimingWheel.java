@@ -0,0 +1,238 @@
+package com.github.fburato.justone.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * Hashed timing wheel running many coarse timeouts on a single thread. Time is divided in ticks and every
+ * timeout is kept in the bucket of the tick it expires in, modulo the number of buckets, so scheduling and
+ * cancelling a timeout take constant time and the worker only visits the bucket of the current tick. A timeout
+ * costs one small object, whatever its delay.
+ * <p>
+ * Timeouts expire up to one tick late. Their tasks run on the worker thread and should only hand work over
+ * to other threads.
+ */
+final class TimingWheel implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TimingWheel.class);
+
+    private final long tickNanos;
+    private final Bucket[] buckets;
+    private final int mask;
+    private final LongSupplier nanoClock;
+    private final long startNanos;
+    private final ThreadFactory threadFactory;
+    private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private volatile boolean closed;
+    private long tick;
+
+    /**
+     * @param wheelSize the number of buckets, rounded up to a power of two
+     */
+    TimingWheel(Duration tickDuration, int wheelSize, ThreadFactory threadFactory) {
+        this(tickDuration, wheelSize, threadFactory, System::nanoTime);
+    }
+
+    TimingWheel(Duration tickDuration, int wheelSize, ThreadFactory threadFactory, LongSupplier nanoClock) {
+        if (tickDuration.toNanos() <= 0) {
+            throw new IllegalArgumentException(String.format("tickDuration=%s should be positive", tickDuration));
+        }
+        if (wheelSize < 1 || wheelSize > 1 << 20) {
+            throw new IllegalArgumentException(String.format("wheelSize=%d should be in [1, 2^20]", wheelSize));
+        }
+        final var size = Integer.highestOneBit(wheelSize) == wheelSize
+                ? wheelSize
+                : Integer.highestOneBit(wheelSize) << 1;
+        this.tickNanos = tickDuration.toNanos();
+        this.buckets = new Bucket[size];
+        for (int i = 0; i < size; ++i) {
+            buckets[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.nanoClock = nanoClock;
+        this.startNanos = nanoClock.getAsLong();
+        this.threadFactory = threadFactory;
+    }
+
+    /**
+     * Schedules the task to run after the delay, starting the worker thread if it is not running yet.
+     */
+    Timeout schedule(Runnable task, Duration delay) {
+        final var timeout = scheduleWithoutStarting(task, delay);
+        start();
+        return timeout;
+    }
+
+    Timeout scheduleWithoutStarting(Runnable task, Duration delay) {
+        if (closed) {
+            throw new IllegalStateException("timing wheel has been closed");
+        }
+        final var elapsed = nanoClock.getAsLong() - startNanos;
+        final var timeout = new Timeout(task, (elapsed + delay.toNanos() + tickNanos - 1) / tickNanos);
+        scheduled.offer(timeout);
+        return timeout;
+    }
+
+    private void start() {
+        if (started.compareAndSet(false, true)) {
+            final var worker = threadFactory.newThread(this::run);
+            worker.setDaemon(true);
+            worker.start();
+        }
+    }
+
+    private void run() {
+        while (!closed) {
+            final var elapsed = nanoClock.getAsLong() - startNanos;
+            final var sleepNanos = tick * tickNanos - elapsed;
+            if (sleepNanos > 0) {
+                LockSupport.parkNanos(this, sleepNanos);
+            } else {
+                advanceTo(elapsed);
+            }
+        }
+    }
+
+    /**
+     * Expires the timeouts of every tick elapsed up to the given time since the wheel was created. Only called
+     * by the worker thread, or by tests on a wheel which has not been started.
+     */
+    void advanceTo(long elapsedNanos) {
+        final var lastTick = elapsedNanos / tickNanos;
+        while (tick <= lastTick) {
+            removeCancelled();
+            addScheduled();
+            buckets[(int) (tick & mask)].expire(tick);
+            ++tick;
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void addScheduled() {
+        Timeout timeout;
+        while ((timeout = scheduled.poll()) != null) {
+            if (timeout.state.get() == Timeout.CANCELLED) {
+                continue;
+            }
+            timeout.deadlineTick = Math.max(timeout.deadlineTick, tick);
+            buckets[(int) (timeout.deadlineTick & mask)].add(timeout);
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    final class Timeout {
+
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final Runnable task;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private long deadlineTick;
+        private Bucket bucket;
+        private Timeout previous;
+        private Timeout next;
+
+        private Timeout(Runnable task, long deadlineTick) {
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /**
+         * @return whether the timeout has been cancelled before expiring
+         */
+        boolean cancel() {
+            if (!state.compareAndSet(PENDING, CANCELLED)) {
+                return false;
+            }
+            cancelled.offer(this);
+            return true;
+        }
+
+        boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(PENDING, EXPIRED)) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                LOG.warn("timeout task failed", e);
+            }
+        }
+    }
+
+    /**
+     * Doubly linked list of the timeouts of a bucket, so that cancelled timeouts are removed in constant time.
+     */
+    private static final class Bucket {
+
+        private Timeout head;
+        private Timeout tail;
+
+        private void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.previous = tail;
+            }
+            tail = timeout;
+        }
+
+        private void remove(Timeout timeout) {
+            if (timeout.previous == null) {
+                head = timeout.next;
+            } else {
+                timeout.previous.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.previous;
+            } else {
+                timeout.next.previous = timeout.previous;
+            }
+            timeout.previous = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        private void expire(long tick) {
+            var timeout = head;
+            while (timeout != null) {
+                final var next = timeout.next;
+                if (timeout.deadlineTick <= tick) {
+                    remove(timeout);
+                    timeout.expire();
+                }
+                timeout = next;
+            }
+        }
+    }
+}
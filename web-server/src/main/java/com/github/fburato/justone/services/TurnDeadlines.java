@@ -0,0 +1,46 @@
+package com.github.fburato.justone.services;
+
+import com.github.fburato.justone.model.TurnPhase;
+
+import java.time.Duration;
+
+/**
+ * Maximum time the players have to complete each phase of a turn. When the deadline of a phase expires the
+ * game is moved forward by {@link com.github.fburato.justone.game.engine.Engine#ROOT} with
+ * {@link com.github.fburato.justone.model.TurnAction#PROCEED}: the providers without a hint are skipped, the hints
+ * marked for removal are removed or the guess is skipped. A {@code null} duration means the phase has no
+ * deadline.
+ */
+public record TurnDeadlines(Duration selection, Duration removal, Duration guessing) {
+
+    public static final TurnDeadlines NONE = new TurnDeadlines(null, null, null);
+
+    public TurnDeadlines {
+        selection = positiveOrNull(selection);
+        removal = positiveOrNull(removal);
+        guessing = positiveOrNull(guessing);
+    }
+
+    private static Duration positiveOrNull(Duration duration) {
+        return duration == null || duration.isNegative() || duration.isZero() ? null : duration;
+    }
+
+    /**
+     * @return the deadline of the phase, null if the phase has no deadline
+     */
+    public Duration of(TurnPhase phase) {
+        if (phase == null) {
+            return null;
+        }
+        return switch (phase) {
+            case SELECTION -> selection;
+            case REMOVAL -> removal;
+            case GUESSING -> guessing;
+            case CONCLUSION -> null;
+        };
+    }
+
+    public boolean isEmpty() {
+        return selection == null && removal == null && guessing == null;
+    }
+}
@@ -36,11 +36,15 @@ public class ControllerWiring {
     static Optional<Tuple2<HttpStatus, ErrorDTO>> mapExceptions(Throwable t) {
         switch (t) {
             case EngineException engineException -> {
-                LOG.warn("EngineException thrown with message={}", engineException.getMessage(), engineException);
                 final var intErrorCodes = engineException.errorCodes().stream()
                         .map(ErrorCode::code)
                         .toList();
                 final var all4xx = intErrorCodes.stream().allMatch(i -> i / 100_000 == 4);
+                if (all4xx) {
+                    LOG.info("Action rejected by the engine with message={}", engineException.getMessage());
+                } else {
+                    LOG.warn("EngineException thrown with message={}", engineException.getMessage(), engineException);
+                }
                 return Optional.of(Tuple.of(
                         all4xx ? HttpStatus.BAD_REQUEST : HttpStatus.INTERNAL_SERVER_ERROR,
                         new ErrorDTO(t.getMessage(), intErrorCodes)
@@ -89,7 +93,8 @@ public class ControllerWiring {
                 new GameConfigValidator(),
                 new CreateGameConfigRequestValidator(),
                 new CreateStateRequestValidator(),
-                new ActionRequestValidator()
+                new ActionRequestValidator(),
+                new BatchActionRequestValidator()
         ));
     }
 
@@ -1,18 +1,87 @@
 package com.github.fburato.justone.wiring;
 
 import com.github.fburato.justone.internals.CrudRepository;
+import com.github.fburato.justone.io.BinaryModelCodecs;
+import com.github.fburato.justone.io.DeflateEntityCodec;
 import com.github.fburato.justone.io.InMemoryCrudRepository;
+import com.github.fburato.justone.io.MappedLogCrudRepository;
+import com.github.fburato.justone.io.TieredCrudRepository;
+import com.github.fburato.justone.io.WriteBehindCrudRepository;
 import com.github.fburato.justone.model.GameConfig;
 import com.github.fburato.justone.model.GameState;
+import com.github.fburato.justone.model.GameStatus;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
 @Configuration
 public class IOWiring {
 
+    private static final int MB = 1024 * 1024;
+    // segments are mapped as a single buffer, so they cannot exceed Integer.MAX_VALUE bytes
+    static final int MAX_SEGMENT_SIZE_MB = Integer.MAX_VALUE / MB;
+
     @Bean
-    public CrudRepository<String, GameState> gameStateRepository() {
-        return new InMemoryCrudRepository<>(GameState::id);
+    public CrudRepository<String, GameState> gameStateRepository(
+            @Value("${justone.storage.game-states:memory}") String storage,
+            @Value("${justone.storage.directory:data}") String directory,
+            @Value("${justone.storage.segment-size-mb:64}") int segmentSizeMb,
+            @Value("${justone.storage.sync-interval-ms:200}") long syncIntervalMs,
+            @Value("${justone.storage.write-behind-capacity:10000}") int writeBehindCapacity,
+            @Value("${justone.storage.write-behind-interval-ms:50}") long writeBehindIntervalMs,
+            @Value("${justone.storage.hot-ttl-ms:600000}") long hotTtlMs,
+            @Value("${justone.storage.hot-max-games:10000}") int hotMaxGames) throws IOException {
+        return switch (storage) {
+            case "memory" -> new InMemoryCrudRepository<>(GameState::id);
+            case "mapped-log" -> writeBehind(new MappedLogCrudRepository<>(Path.of(directory, "game-states"),
+                                                                           BinaryModelCodecs.GAME_STATE,
+                                                                           GameState::id,
+                                                                           segmentSize(segmentSizeMb),
+                                                                           Duration.ofMillis(syncIntervalMs)),
+                                             writeBehindCapacity,
+                                             writeBehindIntervalMs);
+            case "tiered" -> new TieredCrudRepository<>(
+                    new MappedLogCrudRepository<>(Path.of(directory, "cold-game-states"),
+                                                  new DeflateEntityCodec<>(BinaryModelCodecs.GAME_STATE),
+                                                  GameState::id,
+                                                  segmentSize(segmentSizeMb),
+                                                  Duration.ofMillis(syncIntervalMs)),
+                    writeBehind(new MappedLogCrudRepository<>(Path.of(directory, "hot-game-states"),
+                                                              BinaryModelCodecs.GAME_STATE,
+                                                              GameState::id,
+                                                              segmentSize(segmentSizeMb),
+                                                              Duration.ofMillis(syncIntervalMs)),
+                                writeBehindCapacity,
+                                writeBehindIntervalMs),
+                    gameState -> gameState.status() != GameStatus.IN_PROGRESS,
+                    Duration.ofMillis(hotTtlMs),
+                    hotMaxGames);
+            default -> throw new IllegalArgumentException(String.format(
+                    "justone.storage.game-states='%s' should be one of 'memory', 'mapped-log', 'tiered'", storage));
+        };
+    }
+
+    static int segmentSize(int segmentSizeMb) {
+        if (segmentSizeMb < 1 || segmentSizeMb > MAX_SEGMENT_SIZE_MB) {
+            throw new IllegalArgumentException(String.format(
+                    "justone.storage.segment-size-mb=%d should be between 1 and %d", segmentSizeMb,
+                    MAX_SEGMENT_SIZE_MB));
+        }
+        return Math.multiplyExact(segmentSizeMb, MB);
+    }
+
+    private static <E> CrudRepository<String, E> writeBehind(CrudRepository<String, E> repository,
+                                                             int capacity,
+                                                             long intervalMs) {
+        if (capacity == 0) {
+            return repository;
+        }
+        return new WriteBehindCrudRepository<>(repository, capacity, WriteBehindCrudRepository.DEFAULT_BATCH_SIZE,
+                                               Duration.ofMillis(intervalMs));
     }
 
     @Bean
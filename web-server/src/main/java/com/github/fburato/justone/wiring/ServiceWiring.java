@@ -6,14 +6,28 @@ import com.github.fburato.justone.model.GameConfig;
 import com.github.fburato.justone.model.GameState;
 import com.github.fburato.justone.services.GameConfigService;
 import com.github.fburato.justone.services.GameStateService;
+import com.github.fburato.justone.services.TurnDeadlines;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Configuration
 public class ServiceWiring {
     @Bean
-    public GameStateService gameStateService(Engine engine, CrudRepository<String, GameState> gameStateCrudRepository) {
-        return new GameStateService(engine, gameStateCrudRepository);
+    public GameStateService gameStateService(Engine engine,
+                                             CrudRepository<String, GameState> gameStateCrudRepository,
+                                             @Value("${justone.undo-depth:16}") int undoDepth,
+                                             @Value("${justone.deadlines.selection-ms:0}") long selectionMs,
+                                             @Value("${justone.deadlines.removal-ms:0}") long removalMs,
+                                             @Value("${justone.deadlines.guessing-ms:0}") long guessingMs) {
+        final var settings = GameStateService.Settings.DEFAULT
+                .withUndoDepth(undoDepth)
+                .withTurnDeadlines(new TurnDeadlines(Duration.ofMillis(selectionMs),
+                                                     Duration.ofMillis(removalMs),
+                                                     Duration.ofMillis(guessingMs)));
+        return new GameStateService(engine, gameStateCrudRepository, settings);
     }
 
     @Bean
@@ -8,6 +8,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.apache.commons.lang3.RandomUtils.nextInt;
+import static org.apache.commons.lang3.RandomUtils.nextLong;
 
 public final class RandomUtils {
 
@@ -110,7 +111,10 @@ public final class RandomUtils {
                 List.of(randomPlayer(), randomPlayer()),
                 List.of(randomTurn(), randomTurn()),
                 List.of(randomString(), randomString()),
-                nextInt(0, 60)
+                nextInt(0, 60),
+                nextLong(),
+                new Words(nextInt(0, 3), nextInt(0, 3), nextInt(0, 3)),
+                randomString()
         );
     }
 
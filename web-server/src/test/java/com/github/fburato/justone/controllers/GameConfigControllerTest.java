@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
@@ -349,4 +350,26 @@ class GameConfigControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("on GET /games/configs/host/{host} should")
+    class GetGameConfigsByHostTest {
+
+        @Test
+        @DisplayName("return 200 with the configs of the games hosted by the host")
+        void okWithConfigs() {
+            final var host = randomString();
+            final var gameConfig1 = randomGameConfig();
+            final var gameConfig2 = randomGameConfig();
+            when(gameConfigService.getGameConfigsByHost(anyString())).thenReturn(Flux.just(gameConfig1, gameConfig2));
+
+            client.get()
+                    .uri(String.format("/games/configs/host/%s", host))
+                    .exchange()
+                    .expectStatus()
+                    .isEqualTo(HttpStatus.OK)
+                    .expectBodyList(GameConfig.class)
+                    .isEqualTo(List.of(gameConfig1, gameConfig2));
+            verify(gameConfigService).getGameConfigsByHost(host);
+        }
+    }
 }
\ No newline at end of file
@@ -2,15 +2,28 @@ package com.github.fburato.justone.controllers;
 
 import com.fasterxml.jackson.databind.node.TextNode;
 import com.github.fburato.justone.controllers.validation.EntityValidator;
+import com.github.fburato.justone.dtos.ActionResultDTO;
+import com.github.fburato.justone.dtos.BatchResultDTO;
 import com.github.fburato.justone.dtos.ErrorDTO;
+import com.github.fburato.justone.dtos.gamestates.GameStateSummaryDTO;
+import com.github.fburato.justone.dtos.gamestates.PlayerDTO;
+import com.github.fburato.justone.dtos.gamestates.WordsDTO;
+import com.github.fburato.justone.game.engine.BatchExecution;
+import com.github.fburato.justone.game.engine.BatchMode;
+import com.github.fburato.justone.game.errors.ErrorCode;
+import com.github.fburato.justone.game.errors.IllegalActionException;
 import com.github.fburato.justone.model.GameState;
+import com.github.fburato.justone.model.GameStateSummary;
+import com.github.fburato.justone.model.GameStatus;
 import com.github.fburato.justone.model.TurnAction;
 import com.github.fburato.justone.services.GameStateService;
+import io.vavr.control.Try;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
@@ -94,6 +107,149 @@ class GameStateControllerTest {
         }
     }
 
+    private static GameStateSummaryDTO summaryDTOOf(GameState gameState) {
+        return new GameStateSummaryDTO(gameState.id(),
+                                       gameState.status(),
+                                       gameState.players().stream()
+                                               .map(p -> new PlayerDTO(p.id(), p.playerRole()))
+                                               .toList(),
+                                       new WordsDTO(gameState.words().remaining(),
+                                                    gameState.words().correct(),
+                                                    gameState.words().wrong()));
+    }
+
+    @Nested
+    @DisplayName("on GET /games/{id}/summary should")
+    class GetGameStateSummaryTest {
+
+        private final String uri = String.format("/games/%s/summary", gameId);
+
+        @Test
+        @DisplayName("return 404 with message if summary is empty")
+        void notFoundOnEmpty() {
+            when(gameStateService.getGameStateSummary(anyString())).thenReturn(Mono.just(Optional.empty()));
+
+            client.get()
+                    .uri(uri)
+                    .exchange()
+                    .expectStatus()
+                    .isEqualTo(HttpStatus.NOT_FOUND)
+                    .expectBody(ErrorDTO.class)
+                    .isEqualTo(new ErrorDTO(String.format("State for game='%s' could not be found", gameId)));
+            verify(gameStateService).getGameStateSummary(gameId);
+        }
+
+        @Test
+        @DisplayName("return 200 with the summary if the summary is defined")
+        void okOnFound() {
+            final var gameState = randomGameState();
+            when(gameStateService.getGameStateSummary(anyString()))
+                    .thenReturn(Mono.just(Optional.of(GameStateSummary.of(gameState))));
+
+            client.get()
+                    .uri(uri)
+                    .exchange()
+                    .expectStatus()
+                    .isEqualTo(HttpStatus.OK)
+                    .expectBody(GameStateSummaryDTO.class)
+                    .isEqualTo(summaryDTOOf(gameState));
+            verify(gameStateService, never()).getGameState(anyString());
+        }
+    }
+
+    @Nested
+    @DisplayName("on GET /games/summaries should")
+    class GetGameStateSummariesTest {
+
+        @Test
+        @DisplayName("return 200 with the summaries of all the games")
+        void okWithSummaries() {
+            final var gameState1 = randomGameState();
+            final var gameState2 = randomGameState();
+            when(gameStateService.getAllGameStateSummaries()).thenReturn(Flux.just(
+                    GameStateSummary.of(gameState1), GameStateSummary.of(gameState2)));
+
+            client.get()
+                    .uri("/games/summaries")
+                    .exchange()
+                    .expectStatus()
+                    .isEqualTo(HttpStatus.OK)
+                    .expectBodyList(GameStateSummaryDTO.class)
+                    .isEqualTo(List.of(summaryDTOOf(gameState1), summaryDTOOf(gameState2)));
+        }
+
+        @Test
+        @DisplayName("bubble up exceptions if they are raised from the service")
+        void bubbleUpException() {
+            when(gameStateService.getAllGameStateSummaries())
+                    .thenReturn(Flux.error(new RuntimeException(randomString())));
+
+            client.get()
+                    .uri("/games/summaries")
+                    .exchange()
+                    .expectStatus()
+                    .isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @Nested
+    @DisplayName("on GET /games/summaries/status/{status} should")
+    class GetGameStateSummariesByStatusTest {
+
+        @Test
+        @DisplayName("return 200 with the summaries of the games with the status")
+        void okWithSummaries() {
+            final var gameState = randomGameState();
+            when(gameStateService.getGameStateSummariesByStatus(any()))
+                    .thenReturn(Flux.just(GameStateSummary.of(gameState)));
+
+            client.get()
+                    .uri("/games/summaries/status/CONCLUDED")
+                    .exchange()
+                    .expectStatus()
+                    .isEqualTo(HttpStatus.OK)
+                    .expectBodyList(GameStateSummaryDTO.class)
+                    .isEqualTo(List.of(summaryDTOOf(gameState)));
+            verify(gameStateService).getGameStateSummariesByStatus(GameStatus.CONCLUDED);
+        }
+
+        @Test
+        @DisplayName("return 400 with message if the status does not exist")
+        void badRequestOnUnknownStatus() {
+            client.get()
+                    .uri("/games/summaries/status/UNKNOWN")
+                    .exchange()
+                    .expectStatus()
+                    .isEqualTo(HttpStatus.BAD_REQUEST)
+                    .expectBody(ErrorDTO.class)
+                    .isEqualTo(new ErrorDTO("status='UNKNOWN' should be one of [IN_PROGRESS, CONCLUDED, CANCELLED]"));
+            verifyNoInteractions(gameStateService);
+        }
+    }
+
+    @Nested
+    @DisplayName("on GET /games/summaries/player/{playerId} should")
+    class GetGameStateSummariesByPlayerTest {
+
+        @Test
+        @DisplayName("return 200 with the summaries of the games of the player")
+        void okWithSummaries() {
+            final var gameState = randomGameState();
+            final var playerId = randomString();
+            when(gameStateService.getGameStateSummariesByPlayer(anyString()))
+                    .thenReturn(Flux.just(GameStateSummary.of(gameState)));
+
+            client.get()
+                    .uri(String.format("/games/summaries/player/%s", playerId))
+                    .exchange()
+                    .expectStatus()
+                    .isEqualTo(HttpStatus.OK)
+                    .expectBodyList(GameStateSummaryDTO.class)
+                    .isEqualTo(List.of(summaryDTOOf(gameState)));
+            verify(gameStateService).getGameStateSummariesByPlayer(playerId);
+        }
+    }
+
     @Nested
     @DisplayName("on POST /games/{id}/state should")
     class CreateGameStateTest {
@@ -278,6 +434,174 @@ class GameStateControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("on PUT /games/{id}/state/batch should")
+    class ExecuteActionsTest {
+
+        private final String uri = String.format("/games/%s/state/batch", gameId);
+        private final GameStateService.BatchActionRequest request = new GameStateService.BatchActionRequest(
+                List.of(new GameStateService.ActionRequest(randomString(), TurnAction.PROVIDE_HINT,
+                                                           new TextNode(randomString()))),
+                BatchMode.ALL_OR_NOTHING);
+        private final GameStateService.BatchActionRequest validatedRequest = new GameStateService.BatchActionRequest(
+                List.of(new GameStateService.ActionRequest(randomString(), TurnAction.PROCEED, null)),
+                BatchMode.STOP_AT_FIRST_FAILURE);
+        private final GameState gameState = randomGameState();
+
+        private WebTestClient.ResponseSpec request() {
+            return client.put()
+                    .uri(uri)
+                    .bodyValue(request)
+                    .exchange();
+        }
+
+        @Test
+        @DisplayName("validate entity with entity validator")
+        void validateEntity() {
+            when(entityValidator.parseBodyAndValidate(any(), any())).thenReturn(Mono.just(validatedRequest));
+            when(gameStateService.executeActions(anyString(), any())).thenReturn(Mono.just(Optional.empty()));
+
+            request();
+
+            verify(entityValidator).parseBodyAndValidate(satisfies(req ->
+                    StepVerifier.create(req.bodyToMono(GameStateService.BatchActionRequest.class))
+                            .expectNext(request)
+                            .verifyComplete()), eq(GameStateService.BatchActionRequest.class));
+            verify(gameStateService).executeActions(gameId, validatedRequest);
+        }
+
+        @Test
+        @DisplayName("return 404 with message if gameState is empty")
+        void notFoundOnEmpty() {
+            when(entityValidator.parseBodyAndValidate(any(), any())).thenReturn(Mono.just(validatedRequest));
+            when(gameStateService.executeActions(anyString(), any())).thenReturn(Mono.just(Optional.empty()));
+
+            request()
+                    .expectStatus()
+                    .isEqualTo(HttpStatus.NOT_FOUND)
+                    .expectBody(ErrorDTO.class)
+                    .isEqualTo(new ErrorDTO(String.format("State for game='%s' could not be found", gameId)));
+        }
+
+        @Test
+        @DisplayName("return 200 with the final game state and the result of every action")
+        void okOnFound() {
+            final var engineException = new IllegalActionException(ErrorCode.ILLEGAL_ACTION);
+            when(entityValidator.parseBodyAndValidate(any(), any())).thenReturn(Mono.just(validatedRequest));
+            when(gameStateService.executeActions(anyString(), any())).thenReturn(Mono.just(Optional.of(
+                    new BatchExecution(gameState, List.of(Try.success(gameState), Try.failure(engineException))))));
+
+            request()
+                    .expectStatus()
+                    .isEqualTo(HttpStatus.OK)
+                    .expectBody(BatchResultDTO.class)
+                    .isEqualTo(new BatchResultDTO(gameState, List.of(
+                            new ActionResultDTO(true, null),
+                            new ActionResultDTO(false, new ErrorDTO(engineException.getMessage(),
+                                                                    List.of(ErrorCode.ILLEGAL_ACTION.code()))))));
+        }
+
+        @Test
+        @DisplayName("bubble up exceptions if they are raised from the service")
+        void bubbleUpException() {
+            when(entityValidator.parseBodyAndValidate(any(), any())).thenReturn(Mono.just(validatedRequest));
+            when(gameStateService.executeActions(anyString(), any()))
+                    .thenReturn(Mono.error(new RuntimeException(randomString())));
+
+            request()
+                    .expectStatus()
+                    .isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @Nested
+    @DisplayName("on POST /games/{id}/state/validate should")
+    class ValidateActionTest {
+
+        private final String uri = String.format("/games/%s/state/validate", gameId);
+        private final GameStateService.ActionRequest request = new GameStateService.ActionRequest(
+                randomString(), TurnAction.PROVIDE_HINT, new TextNode(randomString()));
+        private final GameStateService.ActionRequest validatedRequest = new GameStateService.ActionRequest(
+                randomString(), TurnAction.PROCEED, null);
+
+        private WebTestClient.ResponseSpec request() {
+            return client.post()
+                    .uri(uri)
+                    .bodyValue(request)
+                    .exchange();
+        }
+
+        @Test
+        @DisplayName("validate entity with entity validator and check the validated action on service")
+        void validateEntity() {
+            when(entityValidator.parseBodyAndValidate(any(), any())).thenReturn(Mono.just(validatedRequest));
+            when(gameStateService.validateAction(anyString(), any())).thenReturn(Mono.just(Optional.empty()));
+
+            request();
+
+            verify(entityValidator).parseBodyAndValidate(satisfies(req ->
+                    StepVerifier.create(req.bodyToMono(GameStateService.ActionRequest.class))
+                            .expectNext(request)
+                            .verifyComplete()), eq(GameStateService.ActionRequest.class));
+            verify(gameStateService).validateAction(gameId, validatedRequest);
+            verify(gameStateService, never()).executeAction(anyString(), any());
+        }
+
+        @Test
+        @DisplayName("return 404 with message if gameState is empty")
+        void notFoundOnEmpty() {
+            when(entityValidator.parseBodyAndValidate(any(), any())).thenReturn(Mono.just(validatedRequest));
+            when(gameStateService.validateAction(anyString(), any())).thenReturn(Mono.just(Optional.empty()));
+
+            request()
+                    .expectStatus()
+                    .isEqualTo(HttpStatus.NOT_FOUND)
+                    .expectBody(ErrorDTO.class)
+                    .isEqualTo(new ErrorDTO(String.format("State for game='%s' could not be found", gameId)));
+        }
+
+        @Test
+        @DisplayName("return 200 with success if the action would be accepted")
+        void okOnAccepted() {
+            when(entityValidator.parseBodyAndValidate(any(), any())).thenReturn(Mono.just(validatedRequest));
+            when(gameStateService.validateAction(anyString(), any())).thenReturn(Mono.just(Optional.of(List.of())));
+
+            request()
+                    .expectStatus()
+                    .isEqualTo(HttpStatus.OK)
+                    .expectBody(ActionResultDTO.class)
+                    .isEqualTo(new ActionResultDTO(true, null));
+        }
+
+        @Test
+        @DisplayName("return 200 with the error codes if the action would be rejected")
+        void okOnRejected() {
+            when(entityValidator.parseBodyAndValidate(any(), any())).thenReturn(Mono.just(validatedRequest));
+            when(gameStateService.validateAction(anyString(), any())).thenReturn(Mono.just(Optional.of(
+                    List.of(ErrorCode.ILLEGAL_ACTION, ErrorCode.UNAUTHORISED_ACTION))));
+
+            request()
+                    .expectStatus()
+                    .isEqualTo(HttpStatus.OK)
+                    .expectBody(ActionResultDTO.class)
+                    .isEqualTo(new ActionResultDTO(false, new ErrorDTO(
+                            "ILLEGAL_ACTION, UNAUTHORISED_ACTION",
+                            List.of(ErrorCode.ILLEGAL_ACTION.code(), ErrorCode.UNAUTHORISED_ACTION.code()))));
+        }
+
+        @Test
+        @DisplayName("bubble up exceptions if they are raised from the service")
+        void bubbleUpException() {
+            when(entityValidator.parseBodyAndValidate(any(), any())).thenReturn(Mono.just(validatedRequest));
+            when(gameStateService.validateAction(anyString(), any()))
+                    .thenReturn(Mono.error(new RuntimeException(randomString())));
+
+            request()
+                    .expectStatus()
+                    .isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     @Nested
     @DisplayName("on DELETE /games/{id}/state should")
     class DeleteStateTest {
@@ -0,0 +1,69 @@
+package com.github.fburato.justone.controllers.validation;
+
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.github.fburato.justone.game.engine.BatchMode;
+import com.github.fburato.justone.model.TurnAction;
+import com.github.fburato.justone.services.GameStateService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.fburato.justone.RandomUtils.randomString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchActionRequestValidatorTest {
+
+    private final BatchActionRequestValidator testee = new BatchActionRequestValidator();
+    private final String playerId = randomString();
+    private final GameStateService.ActionRequest action = new GameStateService.ActionRequest(
+            playerId, TurnAction.PROVIDE_HINT, new TextNode(randomString()));
+
+    @Test
+    @DisplayName("should validate BatchActionRequest")
+    void validateBatchActionRequest() {
+        assertThat(testee.validatorType()).isEqualTo(GameStateService.BatchActionRequest.class);
+    }
+
+    @Test
+    @DisplayName("null or empty actions should be invalid")
+    void emptyActions() {
+        assertThat(testee.validate(new GameStateService.BatchActionRequest(null, BatchMode.ALL_OR_NOTHING))
+                         .getError())
+                .containsExactly("actions=null should be a non-empty list");
+        assertThat(testee.validate(new GameStateService.BatchActionRequest(List.of(), BatchMode.ALL_OR_NOTHING))
+                         .getError())
+                .containsExactly("actions=[] should be a non-empty list");
+    }
+
+    @Test
+    @DisplayName("should validate every action reporting its position")
+    void validateActions() {
+        final var actions = new ArrayList<GameStateService.ActionRequest>();
+        actions.add(action);
+        actions.add(new GameStateService.ActionRequest(" ", null, null));
+        actions.add(null);
+
+        final var validationResult = testee.validate(new GameStateService.BatchActionRequest(actions, null));
+
+        assertThat(validationResult.isInvalid()).isTrue();
+        assertThat(validationResult.getError()).containsExactly(
+                "actions[1]: playerId=' ' is blank while it should be defined",
+                "actions[1]: turnAction should not be null",
+                "actions[2] should not be null");
+    }
+
+    @Test
+    @DisplayName("should normalise actions and default to all or nothing batches")
+    void normalise() {
+        final var validationResult = testee.validate(new GameStateService.BatchActionRequest(
+                List.of(new GameStateService.ActionRequest(" " + playerId + " ", TurnAction.PROCEED, null)), null));
+
+        assertThat(validationResult.isValid()).isTrue();
+        assertThat(validationResult.get()).isEqualTo(new GameStateService.BatchActionRequest(
+                List.of(new GameStateService.ActionRequest(playerId, TurnAction.PROCEED, NullNode.getInstance())),
+                BatchMode.ALL_OR_NOTHING));
+    }
+}
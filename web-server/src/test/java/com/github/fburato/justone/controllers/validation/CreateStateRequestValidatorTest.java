@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -104,4 +105,39 @@ class CreateStateRequestValidatorTest {
         assertThat(validationResult.isValid()).isTrue();
         assertThat(validationResult.get()).isEqualTo(new GameStateService.CreateStateRequest(host, players, wordsToGuess));
     }
+
+    @Test
+    @DisplayName("should return stripped language id and no language id if blank")
+    void returnStrippedLanguageId() {
+        final var withLanguage = testee.validate(
+                new GameStateService.CreateStateRequest(host, players, wordsToGuess, "  tr "));
+        final var withBlankLanguage = testee.validate(
+                new GameStateService.CreateStateRequest(host, players, wordsToGuess, "   "));
+
+        assertThat(withLanguage.get().languageId()).isEqualTo("tr");
+        assertThat(withBlankLanguage.get().languageId()).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"xx", "english", "en-", "12", "tr;"})
+    @DisplayName("should fail if language id is not the id of a known language")
+    void failOnUnknownLanguageId(String languageId) {
+        final var validationResult = testee.validate(
+                new GameStateService.CreateStateRequest(host, players, wordsToGuess, languageId));
+
+        assertThat(validationResult.isInvalid()).isTrue();
+        assertThat(validationResult.getError()).containsExactly(
+                String.format("languageId='%s' is not the id of a known language", languageId));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"en", "de-DE", "de_DE", "pt-BR", "TR"})
+    @DisplayName("should accept language tags of known languages")
+    void acceptKnownLanguageId(String languageId) {
+        final var validationResult = testee.validate(
+                new GameStateService.CreateStateRequest(host, players, wordsToGuess, languageId));
+
+        assertThat(validationResult.isValid()).isTrue();
+        assertThat(validationResult.get().languageId()).isEqualTo(languageId);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.github.fburato.justone.game.engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompiledWordsTest {
+
+    private final List<String> compiled = new ArrayList<>();
+    private final CompiledWords testee = new CompiledWords(word -> {
+        compiled.add(word);
+        return word::equals;
+    }, 16);
+
+    @Test
+    @DisplayName("should compile every word once")
+    void compileOnce() {
+        final Predicate<String> matcher = testee.of("foo");
+
+        assertThat(testee.of("foo")).isSameAs(matcher);
+        assertThat(matcher.test("foo")).isTrue();
+        assertThat(testee.of("bar").test("foo")).isFalse();
+        assertThat(compiled).containsExactly("foo", "bar");
+    }
+
+    @Test
+    @DisplayName("should bound the number of compiled words")
+    void bounded() {
+        for (int i = 0; i < 100; ++i) {
+            testee.of("word" + i);
+        }
+
+        assertThat(testee.cachedWords()).isLessThanOrEqualTo(16);
+    }
+
+    @Test
+    @DisplayName("should fail on cache size less than 2")
+    void failOnSmallCache() {
+        assertThatThrownBy(() -> new CompiledWords(word -> word::equals, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -4,6 +4,7 @@ import com.github.fburato.justone.game.errors.ErrorCode;
 import com.github.fburato.justone.game.errors.IllegalActionException;
 import com.github.fburato.justone.game.errors.InvalidStateException;
 import com.github.fburato.justone.model.Action;
+import com.github.fburato.justone.model.FrozenTurns;
 import com.github.fburato.justone.model.GameState;
 import com.github.fburato.justone.model.GameStatus;
 import com.github.fburato.justone.model.TurnAction;
@@ -155,6 +156,18 @@ class ConclusionTest {
                     });
         }
 
+        @Test
+        @DisplayName("should freeze the concluded turn")
+        void freezeConcludedTurn() {
+            richStateOf(stateWithConcluding)
+                    .execute(proceed(host))
+                    .isValidSatisfying(gameState -> {
+                        assertThat(FrozenTurns.isFrozen(gameState.turns().get(1))).isTrue();
+                        assertThat(gameState.turns().get(1)).isEqualTo(stateWithConcluding.turns().get(1));
+                        assertThat(FrozenTurns.isFrozen(gameState.turns().get(2))).isFalse();
+                    });
+        }
+
         @Test
         @DisplayName("should set the guesser to be the next player in the list who was not guesser in the previous turn")
         void nextGuesser() {
@@ -235,6 +248,17 @@ class ConclusionTest {
 
         }
 
+        @Test
+        @DisplayName("should freeze the last turn")
+        void freezeLastTurn() {
+            richStateOf(stateWithConcludingAtEnd)
+                    .execute(proceed(host))
+                    .isValidSatisfying(gameState -> {
+                        assertThat(FrozenTurns.isFrozen(gameState.turns().get(2))).isTrue();
+                        assertThat(gameState.turns()).isEqualTo(stateWithConcludingAtEnd.turns());
+                    });
+        }
+
         @Test
         @DisplayName("should mark the game as concluded")
         void markAsConcluded() {
@@ -1,6 +1,8 @@
 package com.github.fburato.justone.game.engine;
 
+import com.github.fburato.justone.game.errors.EngineException;
 import com.github.fburato.justone.game.errors.ErrorCode;
+import com.github.fburato.justone.game.errors.IllegalActionException;
 import com.github.fburato.justone.game.errors.InvalidActionException;
 import com.github.fburato.justone.game.errors.InvalidStateException;
 import com.github.fburato.justone.model.Action;
@@ -10,6 +12,7 @@ import com.github.fburato.justone.model.Player;
 import com.github.fburato.justone.model.PlayerRole;
 import com.github.fburato.justone.model.Turn;
 import com.github.fburato.justone.model.TurnAction;
+import com.github.fburato.justone.model.Words;
 import io.vavr.control.Try;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -36,6 +39,7 @@ import static com.github.fburato.justone.game.engine.EngineTestUtils.proceed;
 import static com.github.fburato.justone.game.engine.EngineTestUtils.removeProvided;
 import static com.github.fburato.justone.model.Builders.gameStateBuilder;
 import static com.github.fburato.justone.utils.StreamUtils.append;
+import static org.apache.commons.lang3.RandomUtils.nextLong;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
@@ -93,7 +97,10 @@ public class EngineTest {
                 initState.players(),
                 List.of(new Turn(null, List.of(), List.of(), List.of(), Optional.empty(), List.of())),
                 initState.wordsToGuess(),
-                initState.currentTurn()
+                initState.currentTurn(),
+                initState.seed(),
+                initState.words(),
+                initState.languageId()
         );
         new RichState(Try.success(invalidState), testee::execute)
                 .execute(proceed(host))
@@ -103,6 +110,42 @@ public class EngineTest {
                                         ErrorCode.UNRECOGNISED_STATE));
     }
 
+    @Test
+    @DisplayName("should fail instead of throwing if the state is malformed")
+    void failOnMalformedState() {
+        when(actionCompiler.compile(any())).then(a -> Try.success(a.getArgument(0, Action.class)));
+        final var initState = testee.init(id, host, players, wordsToGuess).get();
+        final var malformedState = new GameState(
+                initState.id(),
+                initState.status(),
+                null,
+                initState.turns(),
+                initState.wordsToGuess(),
+                initState.currentTurn(),
+                initState.seed(),
+                initState.words(),
+                initState.languageId()
+        );
+
+        final var tryState = testee.execute(malformedState, proceed(host));
+
+        assertThat(tryState.isFailure()).isTrue();
+        assertThat(tryState.getCause()).isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    @DisplayName("should fail instead of throwing if the compiler throws")
+    void failOnThrowingCompiler() {
+        final var exception = new RuntimeException(randomString());
+        when(actionCompiler.compile(any())).thenThrow(exception);
+        final GameState state = testee.init(id, host, players, wordsToGuess).get();
+
+        final var tryState = testee.execute(state, proceed(host));
+
+        assertThat(tryState.isFailure()).isTrue();
+        assertThat(tryState.getCause()).isEqualTo(exception);
+    }
+
     void validateAll() {
         when(actionCompiler.compile(any())).then(a -> Try.success(a.getArgument(0, Action.class)));
     }
@@ -121,7 +164,10 @@ public class EngineTest {
                                                 initialState.players(),
                                                 initialState.turns(),
                                                 initialState.wordsToGuess(),
-                                                initialState.currentTurn()
+                                                initialState.currentTurn(),
+                                                initialState.seed(),
+                                                initialState.words(),
+                                                initialState.languageId()
                                         )));
     }
 
@@ -354,7 +400,8 @@ public class EngineTest {
         @Test
         @DisplayName("on valid input, should return initialised game state")
         void validInitialisedGameState() {
-            final var tryState = testee.init(id, host, players, wordsToGuess);
+            final var seed = nextLong();
+            final var tryState = testee.init(id, host, players, wordsToGuess, seed);
 
             assertThat(tryState.isFailure()).isFalse();
             assertThat(tryState.get()).isEqualTo(new GameState(
@@ -366,7 +413,10 @@ public class EngineTest {
                             Collectors.toList()),
                     List.of(),
                     wordsToGuess,
-                    0));
+                    0,
+                    seed,
+                    Words.of(wordsToGuess.size()),
+                    null));
         }
 
         @Test
@@ -374,7 +424,8 @@ public class EngineTest {
         void hostInPlayers() {
             final var playersWithHost = new ArrayList<>(players);
             playersWithHost.add(host);
-            final var tryState = testee.init(id, host, playersWithHost, wordsToGuess);
+            final var seed = nextLong();
+            final var tryState = testee.init(id, host, playersWithHost, wordsToGuess, seed);
 
             assertThat(tryState.isFailure()).isFalse();
             assertThat(tryState.get()).isEqualTo(new GameState(
@@ -386,7 +437,10 @@ public class EngineTest {
                             Collectors.toList()),
                     List.of(),
                     wordsToGuess,
-                    0));
+                    0,
+                    seed,
+                    Words.of(wordsToGuess.size()),
+                    null));
         }
     }
 
@@ -490,7 +544,10 @@ public class EngineTest {
                                                            new Player(newPlayerId, PlayerRole.PLAYER)).toList(),
                                                     stateBeforeAction.turns(),
                                                     stateBeforeAction.wordsToGuess(),
-                                                    stateBeforeAction.currentTurn()
+                                                    stateBeforeAction.currentTurn(),
+                                                    stateBeforeAction.seed(),
+                                                    stateBeforeAction.words(),
+                                                    stateBeforeAction.languageId()
                                             )));
         }
 
@@ -504,4 +561,239 @@ public class EngineTest {
                          assertThat(failure.errorCodes()).containsExactly(ErrorCode.ILLEGAL_ACTION));
         }
     }
+
+    @Nested
+    @DisplayName("on undo")
+    class UndoTests {
+
+        private final GameState previousVersion = state.gameState().get();
+        private final GameState currentVersion = testee.init(id, host, players, wordsToGuess).get();
+
+        private Action<Void> undo(String playerId) {
+            return new Action<>(playerId, TurnAction.UNDO, Void.class, null);
+        }
+
+        @Test
+        @DisplayName("should return the previous version when requested by host or root")
+        void previousVersion() {
+            validateAll();
+
+            assertThat(testee.undo(currentVersion, undo(host), previousVersion).get()).isSameAs(previousVersion);
+            assertThat(testee.undo(currentVersion, undo(Engine.ROOT), previousVersion).get())
+                    .isSameAs(previousVersion);
+        }
+
+        @Test
+        @DisplayName("should fail with ILLEGAL_ACTION when not requested by host or root")
+        void failOnNotHost() {
+            validateAll();
+
+            final var result = testee.undo(currentVersion, undo(players.get(0)), previousVersion);
+
+            assertThat(result.getCause()).isInstanceOfSatisfying(IllegalActionException.class, failure ->
+                    assertThat(failure.errorCodes()).containsExactly(ErrorCode.ILLEGAL_ACTION));
+        }
+
+        @Test
+        @DisplayName("should fail with NOTHING_TO_UNDO without a previous version")
+        void failOnNoPreviousVersion() {
+            validateAll();
+
+            final var result = testee.undo(currentVersion, undo(host), null);
+
+            assertThat(result.getCause()).isInstanceOfSatisfying(IllegalActionException.class, failure ->
+                    assertThat(failure.errorCodes()).containsExactly(ErrorCode.NOTHING_TO_UNDO));
+        }
+
+        @Test
+        @DisplayName("should fail with ILLEGAL_ACTION when executed without versions")
+        void failOnExecute() {
+            validateAll();
+
+            state.execute(undo(host))
+                 .isInvalidInstanceOfSatisfying(IllegalActionException.class, failure ->
+                         assertThat(failure.errorCodes()).containsExactly(ErrorCode.ILLEGAL_ACTION));
+        }
+    }
+
+    @Nested
+    @DisplayName("on check")
+    class CheckTests {
+
+        private List<ErrorCode> errorCodesOfExecution(GameState gameState, Action<?> action) {
+            final var result = testee.execute(gameState, action);
+            return result.isSuccess() ? List.of() : ((EngineException) result.getCause()).errorCodes();
+        }
+
+        private List<Action<?>> someActions(GameState gameState) {
+            final List<Action<?>> actions = new ArrayList<>();
+            final var playerIds = append(append(gameState.players().stream().map(Player::id), Engine.ROOT),
+                                         randomString()).toList();
+            for (final var playerId : playerIds) {
+                actions.add(proceed(playerId));
+                actions.add(cancel(playerId));
+                actions.add(hint(playerId, randomString()));
+                actions.add(removeProvided(playerId, randomString()));
+                actions.add(guessWord(playerId, randomString()));
+                actions.add(kick(playerId, players.get(0)));
+                actions.add(admit(playerId, randomString()));
+                actions.add(admit(playerId, players.get(1)));
+                actions.add(new Action<>(playerId, TurnAction.UNDO, Void.class, null));
+            }
+            return actions;
+        }
+
+        @Test
+        @DisplayName("should return the error codes execute fails with, without changing the state")
+        void agreeWithExecute() {
+            validateAll();
+            final var initialState = state.gameState().get();
+            final var selectionState = state.execute(proceed(host)).gameState().get();
+            final var hintState = state.execute(proceed(host))
+                                       .execute(hint(extractProviders(selectionState.turns().get(0)).get(0),
+                                                     wordsToGuess.get(0)))
+                                       .gameState();
+
+            for (final var gameState : List.of(initialState, selectionState)) {
+                for (final var action : someActions(gameState)) {
+                    if (action.playerAction() != TurnAction.UNDO) {
+                        assertThat(testee.check(gameState, action))
+                                .as("check of %s", action)
+                                .isEqualTo(errorCodesOfExecution(gameState, action));
+                    }
+                }
+            }
+            assertThat(hintState.isFailure()).isTrue();
+            assertThat(testee.check(selectionState, hint(extractProviders(selectionState.turns().get(0)).get(0),
+                                                         wordsToGuess.get(0))))
+                    .containsExactly(ErrorCode.ILLEGAL_HINT);
+        }
+
+        @Test
+        @DisplayName("should return the error codes of the validator")
+        void failOnValidationFailure() {
+            when(actionCompiler.compile(any()))
+                    .then(a -> Try.failure(new InvalidActionException(ErrorCode.INVALID_PAYLOAD)));
+
+            assertThat(testee.check(state.gameState().get(), proceed(host)))
+                    .containsExactly(ErrorCode.INVALID_PAYLOAD);
+        }
+
+        @Test
+        @DisplayName("should return UNKNOWN on failures other than the ones of the engine")
+        void unknownOnOtherFailures() {
+            when(actionCompiler.compile(any())).then(a -> Try.failure(new RuntimeException(randomString())));
+
+            assertThat(testee.check(state.gameState().get(), proceed(host)))
+                    .containsExactly(ErrorCode.UNKNOWN);
+        }
+
+        @Test
+        @DisplayName("should only allow host and root to undo")
+        void undo() {
+            validateAll();
+            final var gameState = state.gameState().get();
+
+            assertThat(testee.check(gameState, new Action<>(host, TurnAction.UNDO, Void.class, null))).isEmpty();
+            assertThat(testee.check(gameState, new Action<>(Engine.ROOT, TurnAction.UNDO, Void.class, null)))
+                    .isEmpty();
+            assertThat(testee.check(gameState, new Action<>(players.get(0), TurnAction.UNDO, Void.class, null)))
+                    .containsExactly(ErrorCode.ILLEGAL_ACTION);
+        }
+    }
+
+    @Nested
+    @DisplayName("on executeAll")
+    class ExecuteAllTests {
+
+        private final String newPlayer = randomString();
+        private final GameState initialState = state.gameState().get();
+
+        @Test
+        @DisplayName("should fold all the actions and return the result of each")
+        void foldActions() {
+            validateAll();
+
+            final var execution = testee.executeAll(initialState, List.of(admit(host, newPlayer),
+                                                                          kick(host, players.get(0))));
+
+            final var admitted = testee.execute(initialState, admit(host, newPlayer)).get();
+            final var kicked = testee.execute(admitted, kick(host, players.get(0))).get();
+            assertThat(execution.succeeded()).isTrue();
+            assertThat(execution.gameState()).isEqualTo(kicked);
+            assertThat(execution.results()).containsExactly(Try.success(admitted), Try.success(kicked));
+        }
+
+        @Test
+        @DisplayName("should leave the state unchanged and stop at the first failure when all or nothing")
+        void allOrNothing() {
+            validateAll();
+
+            final var execution = testee.executeAll(initialState, List.of(admit(host, newPlayer),
+                                                                          admit(host, newPlayer),
+                                                                          cancel(host)));
+
+            assertThat(execution.succeeded()).isFalse();
+            assertThat(execution.gameState()).isSameAs(initialState);
+            assertThat(execution.results()).hasSize(2);
+            assertThat(execution.results().get(0).isSuccess()).isTrue();
+            assertThat(execution.results().get(1).getCause())
+                    .isInstanceOfSatisfying(InvalidActionException.class, failure ->
+                            assertThat(failure.errorCodes()).containsExactly(ErrorCode.ILLEGAL_ACTION));
+        }
+
+        @Test
+        @DisplayName("should keep the actions preceding the first failure when stopping at the first failure")
+        void stopAtFirstFailure() {
+            validateAll();
+
+            final var execution = testee.executeAll(initialState,
+                                                    List.of(admit(host, newPlayer),
+                                                            admit(host, newPlayer),
+                                                            cancel(host)),
+                                                    BatchMode.STOP_AT_FIRST_FAILURE);
+
+            assertThat(execution.succeeded()).isFalse();
+            assertThat(execution.gameState()).isEqualTo(execution.results().get(0).get());
+            assertThat(execution.gameState().status()).isEqualTo(initialState.status());
+            assertThat(execution.results()).hasSize(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("on states without the totals of their words")
+    class WordTotalsTests {
+
+        @Test
+        @DisplayName("should count every word as remaining before any guess")
+        void noGuess() {
+            final var initState = testee.init(id, host, players, wordsToGuess).get();
+
+            final var withoutTotals = gameStateBuilder(initState).with(gsb -> gsb.words = null).build();
+
+            assertThat(withoutTotals.words()).isEqualTo(Words.of(wordsToGuess.size()));
+        }
+
+        @Test
+        @DisplayName("should derive the totals from the concluded turns")
+        void deriveFromTurns() {
+            validateAll();
+            final var firstTurnState = state.execute(proceed(host)).isValid();
+            final var firstTurn = firstTurnState.gameState().get().turns().get(0);
+            final var providers = extractProviders(firstTurn);
+            final var guessed = firstTurnState
+                    .execute(hint(providers.get(0), randomString()))
+                    .execute(hint(providers.get(1), randomString()))
+                    .execute(proceed(extractRemover(firstTurn)))
+                    .execute(guessWord(extractGuesser(firstTurn), wordsToGuess.get(0)))
+                    .isValid()
+                    .gameState().get();
+
+            final var withoutTotals = gameStateBuilder(guessed).with(gsb -> gsb.words = null).build();
+
+            assertThat(withoutTotals.words()).isNull();
+            assertThat(testee.withWordTotals(withoutTotals).words()).isEqualTo(new Words(1, 1, 0));
+            assertThat(testee.execute(withoutTotals, proceed(host)).get().words()).isEqualTo(new Words(1, 1, 0));
+        }
+    }
 }
@@ -9,6 +9,7 @@ import com.github.fburato.justone.model.TurnRole;
 import io.vavr.control.Try;
 
 import java.util.List;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -80,9 +81,13 @@ class EngineTestUtils {
 
     static class RichState {
         private final Try<GameState> gameState;
-        private final EngineState engine;
+        private final BiFunction<GameState, Action<?>, Try<GameState>> engine;
 
         public RichState(Try<GameState> gameState, EngineState engine) {
+            this(gameState, engine::execute);
+        }
+
+        public RichState(Try<GameState> gameState, BiFunction<GameState, Action<?>, Try<GameState>> engine) {
             this.gameState = gameState;
             this.engine = engine;
         }
@@ -107,7 +112,7 @@ class EngineTestUtils {
 
         public RichState execute(Action<?> action) {
             final var current = isValid();
-            return new RichState(engine.execute(current.gameState.get(), action), engine);
+            return new RichState(engine.apply(current.gameState.get(), action), engine);
         }
 
         public RichState isValidSatisfying(Consumer<GameState> assertions) {
@@ -0,0 +1,96 @@
+package com.github.fburato.justone.game.engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FoldingGuessEvaluatorTest {
+
+    private final FoldingGuessEvaluator testee = new FoldingGuessEvaluator(2);
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "Apple|apple",
+            "' Apple  Pie '|apple pie",
+            "Café|cafe",
+            "CRÈME brûlée|creme brulee",
+            "'tab\tseparated'|tab separated"
+    })
+    @DisplayName("should fold case, accents and whitespace")
+    void fold(String word, String folded) {
+        assertThat(FoldingGuessEvaluator.fold(word)).isEqualTo(folded);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "kitten|sitting|3",
+            "flaw|lawn|2",
+            "abc|abc|0",
+            "|abc|3",
+            "abc||3",
+            "gumbo|gambol|2"
+    })
+    @DisplayName("should bound the edit distance")
+    void withinDistance(String a, String b, int distance) {
+        final var first = a == null ? "" : a;
+        final var second = b == null ? "" : b;
+
+        assertThat(FoldingGuessEvaluator.withinDistance(first, second, distance)).isTrue();
+        if (distance > 0) {
+            assertThat(FoldingGuessEvaluator.withinDistance(first, second, distance - 1)).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("should accept guesses equal to the word after folding")
+    void acceptFolded() {
+        final var matcher = testee.compile("Crème Brûlée");
+
+        assertThat(matcher.test("creme brulee")).isTrue();
+        assertThat(matcher.test("  CREME   BRULEE ")).isTrue();
+    }
+
+    @Test
+    @DisplayName("should accept guesses within one edit every four characters of the word")
+    void acceptWithinDistance() {
+        final var matcher = testee.compile("elephant");
+
+        assertThat(matcher.test("elephnt")).isTrue();
+        assertThat(matcher.test("elefant")).isTrue();
+        assertThat(matcher.test("elefan")).isFalse();
+    }
+
+    @Test
+    @DisplayName("should require short words to be guessed exactly")
+    void exactShortWords() {
+        final var matcher = testee.compile("cat");
+
+        assertThat(matcher.test("Cat")).isTrue();
+        assertThat(matcher.test("bat")).isFalse();
+    }
+
+    @Test
+    @DisplayName("should not exceed the maximum edit distance")
+    void maxEditDistance() {
+        final var matcher = new FoldingGuessEvaluator(1).compile("elephant");
+
+        assertThat(matcher.test("elephnt")).isTrue();
+        assertThat(matcher.test("elefant")).isFalse();
+    }
+
+    @Test
+    @DisplayName("should reject null guesses")
+    void rejectNull() {
+        assertThat(testee.compile("word").test(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should fail on negative maximum edit distance")
+    void failOnNegativeDistance() {
+        assertThatThrownBy(() -> new FoldingGuessEvaluator(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,78 @@
+package com.github.fburato.justone.game.engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FoldingHintNormaliserTest {
+
+    private static final Locale TURKISH = Locale.forLanguageTag("tr");
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "' Apple '|apple",
+            "Straße|strasse",
+            "STRASSE|strasse",
+            "Crème Brûlée|creme brulee",
+            "ﬁsh|fish",
+            "ＡＢＣ|abc",
+            "İstanbul|istanbul"
+    })
+    @DisplayName("should strip, replace compatibility characters, fold case and remove diacritics")
+    void foldRoot(String hint, String normalised) {
+        assertThat(FoldingHintNormaliser.fold(hint, Locale.ROOT)).isEqualTo(normalised);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "ISPARTA|ısparta",
+            "İstanbul|istanbul",
+            "ılık|ılık"
+    })
+    @DisplayName("should fold case with the rules of the locale")
+    void foldTurkish(String hint, String normalised) {
+        assertThat(FoldingHintNormaliser.fold(hint, TURKISH)).isEqualTo(normalised);
+    }
+
+    @Test
+    @DisplayName("should keep null hints")
+    void nullHint() {
+        assertThat(new FoldingHintNormaliser(Locale.ROOT, 16).normalise(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("should return the cached normalised form")
+    void cached() {
+        final var testee = new FoldingHintNormaliser(Locale.ROOT, 16);
+
+        final var first = testee.normalise("Apple");
+
+        assertThat(testee.normalise("Apple")).isSameAs(first);
+        assertThat(testee.cachedForms()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should bound the number of cached forms")
+    void bounded() {
+        final var testee = new FoldingHintNormaliser(Locale.ROOT, 16);
+
+        for (int i = 0; i < 1000; ++i) {
+            assertThat(testee.normalise("Hint" + i)).isEqualTo("hint" + i);
+        }
+
+        assertThat(testee.cachedForms()).isLessThanOrEqualTo(16);
+    }
+
+    @Test
+    @DisplayName("should fail on cache size less than 2")
+    void failOnSmallCache() {
+        assertThatThrownBy(() -> new FoldingHintNormaliser(Locale.ROOT, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
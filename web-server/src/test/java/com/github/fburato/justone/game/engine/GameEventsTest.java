@@ -0,0 +1,165 @@
+package com.github.fburato.justone.game.engine;
+
+import com.github.fburato.justone.model.Action;
+import com.github.fburato.justone.model.GameState;
+import com.github.fburato.justone.model.GameStatus;
+import com.github.fburato.justone.model.PlayerWord;
+import com.github.fburato.justone.model.ProvidedHints;
+import com.github.fburato.justone.model.Turn;
+import com.github.fburato.justone.model.TurnPhase;
+import com.github.fburato.justone.model.Turns;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.fburato.justone.RandomUtils.randomString;
+import static com.github.fburato.justone.game.engine.EngineTestUtils.admit;
+import static com.github.fburato.justone.game.engine.EngineTestUtils.cancel;
+import static com.github.fburato.justone.game.engine.EngineTestUtils.cancelRemoval;
+import static com.github.fburato.justone.game.engine.EngineTestUtils.extractGuesser;
+import static com.github.fburato.justone.game.engine.EngineTestUtils.extractProviders;
+import static com.github.fburato.justone.game.engine.EngineTestUtils.extractRemover;
+import static com.github.fburato.justone.game.engine.EngineTestUtils.guessWord;
+import static com.github.fburato.justone.game.engine.EngineTestUtils.hint;
+import static com.github.fburato.justone.game.engine.EngineTestUtils.kick;
+import static com.github.fburato.justone.game.engine.EngineTestUtils.proceed;
+import static com.github.fburato.justone.game.engine.EngineTestUtils.removeHint;
+import static com.github.fburato.justone.game.engine.EngineTestUtils.removeProvided;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameEventsTest {
+
+    private final String host = randomString();
+    private final List<String> players = List.of(randomString(), randomString(), randomString());
+    private final Engine engine = new Engine(ActionCompiler.DEFAULT_ACTION_COMPILER);
+    private final GameState initState = engine.init(randomString(), host, players,
+                                                     List.of(randomString(), randomString(), randomString())).get();
+
+    /**
+     * @return the state after the action, checking that folding the events of the action over the state yields
+     * the state executing the action
+     */
+    private GameState replay(GameState gameState, Action<?> action) {
+        final var expected = engine.execute(gameState, action).get();
+        final var events = engine.executeForEvents(gameState, action).get();
+
+        assertThat(GameEvents.applyAll(gameState, events)).isEqualTo(expected);
+        return expected;
+    }
+
+    private static Turn currentTurn(GameState gameState) {
+        return gameState.turns().get(gameState.currentTurn());
+    }
+
+    /**
+     * @return the state with the hints of its current turn as read back from a repository, not normalised
+     */
+    private static GameState readBack(GameState gameState) {
+        final var turn = currentTurn(gameState);
+        final var turns = Turns.of(gameState.turns())
+                               .updated(gameState.currentTurn(),
+                                        new Turn(turn.phase(), new ArrayList<>(turn.providedHints()),
+                                                 turn.hintsToFilter(), turn.hintsToRemove(), turn.wordGuessed(),
+                                                 turn.players()));
+        return new GameState(gameState.id(), gameState.status(), gameState.players(), turns,
+                             gameState.wordsToGuess(), gameState.currentTurn(), gameState.seed(), gameState.words(),
+                             gameState.languageId());
+    }
+
+    @Test
+    @DisplayName("should fold the events of every player action into the state produced by the engine")
+    void wholeGame() {
+        var gameState = replay(initState, proceed(host));
+        for (int i = 0; i < initState.wordsToGuess().size(); ++i) {
+            final var providers = extractProviders(currentTurn(gameState));
+            gameState = replay(gameState, hint(providers.get(0), "cancelled"));
+            gameState = replay(gameState, removeHint(providers.get(0)));
+            gameState = replay(gameState, removeHint(providers.get(0)));
+            gameState = replay(gameState, hint(providers.get(1), "replaced"));
+            for (final var provider : providers) {
+                gameState = replay(gameState, hint(provider, provider.equals(providers.get(0)) ? "dup" : "DUP "));
+            }
+            assertThat(currentTurn(gameState).phase()).isEqualTo(TurnPhase.REMOVAL);
+            final var remover = extractRemover(currentTurn(gameState));
+            gameState = replay(gameState, removeProvided(remover, "dup"));
+            gameState = replay(gameState, removeProvided(remover, randomString()));
+            gameState = replay(gameState, cancelRemoval(remover, "dup"));
+            gameState = replay(gameState, cancelRemoval(remover, randomString()));
+            gameState = replay(gameState, proceed(remover));
+            gameState = replay(gameState, guessWord(extractGuesser(currentTurn(gameState)), randomString()));
+            gameState = replay(gameState, proceed(host));
+        }
+
+        assertThat(gameState.status()).isEqualTo(GameStatus.CONCLUDED);
+    }
+
+    @Test
+    @DisplayName("should fold the events of moving every phase forward as root when its deadline expires")
+    void expiries() {
+        var gameState = replay(initState, proceed(Engine.ROOT));
+        for (int i = 0; i < initState.wordsToGuess().size(); ++i) {
+            final var providers = extractProviders(currentTurn(gameState));
+            gameState = replay(gameState, hint(providers.get(0), "only"));
+            gameState = replay(gameState, proceed(Engine.ROOT));
+            assertThat(currentTurn(gameState).phase()).isEqualTo(TurnPhase.REMOVAL);
+            gameState = replay(gameState, proceed(Engine.ROOT));
+            assertThat(currentTurn(gameState).phase()).isEqualTo(TurnPhase.GUESSING);
+            gameState = replay(gameState, proceed(Engine.ROOT));
+            assertThat(currentTurn(gameState).phase()).isEqualTo(TurnPhase.CONCLUSION);
+            gameState = replay(gameState, proceed(Engine.ROOT));
+        }
+
+        assertThat(gameState.status()).isEqualTo(GameStatus.CONCLUDED);
+        assertThat(gameState.words().correct()).isZero();
+    }
+
+    @Test
+    @DisplayName("should fold the events of admitting, kicking players and cancelling the game")
+    void gameActions() {
+        final var newPlayer = randomString();
+        var gameState = replay(initState, admit(host, newPlayer));
+        gameState = replay(gameState, proceed(host));
+        gameState = replay(gameState, kick(host, players.get(0)));
+        gameState = replay(gameState, proceed(host));
+        final var provider = extractProviders(currentTurn(gameState)).get(0);
+        gameState = replay(gameState, hint(provider, randomString()));
+        gameState = replay(gameState, kick(host, randomString()));
+        gameState = replay(gameState, kick(Engine.ROOT, host));
+        gameState = replay(gameState, cancel(Engine.ROOT));
+
+        assertThat(gameState.status()).isEqualTo(GameStatus.CANCELLED);
+    }
+
+    @Test
+    @DisplayName("should fold the events of hints provided and cancelled on a state read back from a repository")
+    void readBackHints() {
+        final var started = engine.execute(initState, proceed(host)).get();
+        final var providers = extractProviders(currentTurn(started));
+        var gameState = replay(started, hint(providers.get(0), "first"));
+        gameState = replay(readBack(gameState), hint(providers.get(1), "second"));
+        gameState = replay(readBack(gameState), hint(providers.get(0), "replaced"));
+        assertThat(ProvidedHints.of(currentTurn(gameState).providedHints()).isNormalised()).isTrue();
+        gameState = replay(readBack(gameState), removeHint(providers.get(1)));
+
+        assertThat(currentTurn(gameState).providedHints())
+                .containsExactly(new PlayerWord(providers.get(0), "replaced"));
+    }
+
+    @Test
+    @DisplayName("should record provided hints and phase changes as events")
+    void hintEvents() {
+        final var started = engine.execute(initState, proceed(host)).get();
+        final var providers = extractProviders(currentTurn(started));
+        final var first = engine.execute(started, hint(providers.get(0), "foo")).get();
+        final var second = engine.execute(first, hint(providers.get(1), "bar")).get();
+
+        assertThat(engine.executeForEvents(second, hint(providers.get(0), "baz")).get())
+                .containsExactly(new GameEvent.HintProvided(new PlayerWord(providers.get(0), "baz"), "baz"));
+        assertThat(currentTurn(engine.execute(second, hint(providers.get(0), "baz")).get()).providedHints())
+                .containsExactly(new PlayerWord(providers.get(0), "baz"), new PlayerWord(providers.get(1), "bar"));
+        assertThat(engine.executeForEvents(started, kick(host, randomString())).get()).isEmpty();
+        assertThat(engine.executeForEvents(started, removeHint(providers.get(0))).get()).isEmpty();
+    }
+}
@@ -8,6 +8,7 @@ import com.github.fburato.justone.model.GameState;
 import com.github.fburato.justone.model.PlayerWord;
 import com.github.fburato.justone.model.TurnAction;
 import com.github.fburato.justone.model.TurnPhase;
+import com.github.fburato.justone.model.Words;
 import io.vavr.control.Try;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -17,6 +18,7 @@ import org.junit.jupiter.params.provider.EnumSource;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 import static com.github.fburato.justone.RandomUtils.randomString;
 import static com.github.fburato.justone.game.engine.EngineTestUtils.guessWord;
@@ -145,5 +147,71 @@ class GuessingTest {
                         assertThat(turn.phase()).isEqualTo(TurnPhase.CONCLUSION);
                     });
         }
+
+        @Test
+        @DisplayName("should count a guess matching the word of the turn as correct")
+        void countCorrect() {
+            richStateOf(stateWithGuessing)
+                    .execute(guessWord(guesser, " " + wordsToGuess.get(1).toUpperCase(Locale.ROOT) + " "))
+                    .isValidSatisfying(gameState ->
+                                               assertThat(gameState.words()).isEqualTo(new Words(1, 1, 0)));
+        }
+
+        @Test
+        @DisplayName("should count a guess not matching the word of the turn as wrong")
+        void countWrong() {
+            richStateOf(stateWithGuessing)
+                    .execute(guessWord(guesser, wordsToGuess.get(0)))
+                    .isValidSatisfying(gameState ->
+                                               assertThat(gameState.words()).isEqualTo(new Words(1, 0, 1)));
+        }
+
+        @Test
+        @DisplayName("should compile the word of the turn once for every game playing it")
+        void compileOnce() {
+            final List<String> compiled = new ArrayList<>();
+            final var countingState = new GuessingState(word -> {
+                compiled.add(word);
+                return word::equals;
+            });
+            final var guessed = gameStateBuilder(stateWithGuessing)
+                    .with(gsb -> gsb.wordsToGuess = new ArrayList<>(wordsToGuess))
+                    .build();
+
+            new EngineTestUtils.RichState(Try.success(guessed), countingState)
+                    .execute(guessWord(guesser, wordsToGuess.get(1)))
+                    .isValidSatisfying(gameState -> assertThat(gameState.words()).isEqualTo(new Words(1, 1, 0)));
+            new EngineTestUtils.RichState(Try.success(gameStateBuilder(guessed).build()), countingState)
+                    .execute(guessWord(guesser, "other"))
+                    .isValidSatisfying(gameState -> assertThat(gameState.words()).isEqualTo(new Words(1, 0, 1)));
+            assertThat(compiled).containsExactly(wordsToGuess.get(1));
+        }
+    }
+
+    @Nested
+    @DisplayName("when the deadline of the phase expires")
+    class DeadlineTest {
+
+        @Test
+        @DisplayName("should conclude the turn with an empty wrong guess")
+        void skipGuess() {
+            richStateOf(stateWithGuessing)
+                    .execute(proceed(Engine.ROOT))
+                    .isValidSatisfying(gameState -> {
+                        final var turn = gameState.turns().get(gameState.currentTurn());
+                        assertThat(turn.phase()).isEqualTo(TurnPhase.CONCLUSION);
+                        assertThat(turn.wordGuessed()).contains(new PlayerWord(Engine.ROOT, ""));
+                        assertThat(gameState.words().wrong()).isEqualTo(stateWithGuessing.words().wrong() + 1);
+                    });
+        }
+
+        @Test
+        @DisplayName("should fail with ILLEGAL_ACTION if a player other than root proceeds")
+        void failOnPlayers() {
+            richStateOf(stateWithGuessing)
+                    .execute(proceed(extractGuesser(stateWithGuessing)))
+                    .isInvalidInstanceOfSatisfying(IllegalActionException.class, iae ->
+                            assertThat(iae.errorCodes()).containsExactly(ErrorCode.ILLEGAL_ACTION));
+        }
     }
 }
@@ -0,0 +1,65 @@
+package com.github.fburato.justone.game.engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HintNormalisersTest {
+
+    private final HintNormalisers testee = new HintNormalisers(16);
+
+    @Test
+    @DisplayName("should share the normaliser of a language")
+    void shareNormaliser() {
+        assertThat(testee.forLanguage("tr")).isSameAs(testee.forLanguage(" TR "));
+        assertThat(testee.forLanguage("tr")).isNotSameAs(testee.forLanguage("de"));
+        assertThat(testee.forLanguage(null)).isSameAs(testee.forLanguage(""));
+    }
+
+    @Test
+    @DisplayName("should share the normaliser of a language between its regions")
+    void shareNormaliserBetweenRegions() {
+        assertThat(testee.forLanguage("de-DE")).isSameAs(testee.forLanguage("de"));
+        assertThat(testee.forLanguage("de_AT")).isSameAs(testee.forLanguage("de"));
+    }
+
+    @Test
+    @DisplayName("should use the normaliser of no language for unknown languages")
+    void unknownLanguages() {
+        for (int i = 0; i < 100; ++i) {
+            assertThat(testee.forLanguage("zz" + i)).isSameAs(testee.forLanguage(null));
+        }
+        assertThat(testee.forLanguage("klingon")).isSameAs(testee.forLanguage(null));
+        assertThat(testee.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should normalise with the rules of the language")
+    void languageRules() {
+        assertThat(testee.forLanguage("tr").normalise("ISPARTA")).isEqualTo("ısparta");
+        assertThat(testee.forLanguage("en").normalise("ISPARTA")).isEqualTo("isparta");
+        assertThat(testee.forLanguage(null).normalise("ISPARTA")).isEqualTo("isparta");
+    }
+
+    @Test
+    @DisplayName("should read language ids as language tags")
+    void localeOf() {
+        assertThat(HintNormalisers.localeOf(null)).isEqualTo(Locale.ROOT);
+        assertThat(HintNormalisers.localeOf(" ")).isEqualTo(Locale.ROOT);
+        assertThat(HintNormalisers.localeOf("tr")).isEqualTo(Locale.forLanguageTag("tr"));
+        assertThat(HintNormalisers.localeOf("de_DE")).isEqualTo(Locale.GERMANY);
+    }
+
+    @Test
+    @DisplayName("should use the same normaliser for every language")
+    void singleNormaliser() {
+        final HintNormaliser normaliser = hint -> hint;
+        final var normalisers = HintNormalisers.of(normaliser);
+
+        assertThat(normalisers.forLanguage("tr")).isSameAs(normaliser);
+        assertThat(normalisers.forLanguage(null)).isSameAs(normaliser);
+    }
+}
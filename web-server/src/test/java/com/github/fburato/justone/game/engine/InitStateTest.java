@@ -1,5 +1,6 @@
 package com.github.fburato.justone.game.engine;
 
+import com.github.fburato.justone.RandomUtils;
 import com.github.fburato.justone.game.errors.ErrorCode;
 import com.github.fburato.justone.game.errors.IllegalActionException;
 import com.github.fburato.justone.model.Action;
@@ -18,6 +19,7 @@ import static com.github.fburato.justone.game.engine.EngineTestUtils.extractGues
 import static com.github.fburato.justone.game.engine.EngineTestUtils.extractProviders;
 import static com.github.fburato.justone.game.engine.EngineTestUtils.extractRemover;
 import static com.github.fburato.justone.game.engine.EngineTestUtils.proceed;
+import static org.apache.commons.lang3.RandomUtils.nextLong;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 
@@ -133,6 +135,33 @@ public class InitStateTest {
              });
     }
 
+    @Test
+    @DisplayName("on proceed, should keep the seed of the game")
+    void keepSeed() {
+        final var initialState = state.gameState().get();
+
+        state.execute(proceed(host))
+             .isValidSatisfying(gameState -> assertThat(gameState.seed()).isEqualTo(initialState.seed()));
+    }
+
+    @Test
+    @DisplayName("on proceed, should assign the same roles to games with the same seed")
+    void sameSeedSameRoles() {
+        final var engine = new Engine(mock(ActionCompiler.class));
+        final var manyPlayers = Stream.generate(RandomUtils::randomString).limit(20).toList();
+        final var seed = nextLong();
+        final var firstTurns = Stream.generate(() -> engine.init(id, host, manyPlayers, wordsToGuess, seed))
+                                     .limit(10)
+                                     .map(initialState -> new EngineTestUtils.RichState(initialState, testee)
+                                             .execute(proceed(host))
+                                             .gameState().get()
+                                             .turns().get(0))
+                                     .distinct()
+                                     .toList();
+
+        assertThat(firstTurns).hasSize(1);
+    }
+
     @ParameterizedTest
     @EnumSource(value = TurnAction.class, mode = EnumSource.Mode.EXCLUDE, names = {"PROCEED", "CANCEL_GAME"})
     @DisplayName("should reject actions not allowed")
@@ -7,6 +7,7 @@ import com.github.fburato.justone.model.Player;
 import com.github.fburato.justone.model.PlayerRole;
 import com.github.fburato.justone.model.PlayerWord;
 import com.github.fburato.justone.model.TurnPhase;
+import com.github.fburato.justone.model.Words;
 import io.vavr.control.Try;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.DisplayName;
@@ -89,6 +90,14 @@ class KickTest {
                 });
     }
 
+    @Test
+    @DisplayName("count the word of the concluded turn as wrong")
+    void countConcludedTurnAsWrong() {
+        richStateWithTurn
+                .execute(kick(host, players.get(0)))
+                .isValidSatisfying(gameState -> assertThat(gameState.words()).isEqualTo(new Words(1, 0, 1)));
+    }
+
     @Test
     @DisplayName("promote other player to host if host is removed")
     void promoteNewHostIfRemoved() {
@@ -0,0 +1,115 @@
+package com.github.fburato.justone.game.engine;
+
+import com.github.fburato.justone.game.errors.ErrorCode;
+import com.github.fburato.justone.game.errors.IllegalActionException;
+import com.github.fburato.justone.game.errors.InvalidActionException;
+import com.github.fburato.justone.game.errors.InvalidStateException;
+import com.github.fburato.justone.model.Action;
+import com.github.fburato.justone.model.GameState;
+import com.github.fburato.justone.model.Player;
+import com.github.fburato.justone.model.TurnAction;
+import com.github.fburato.justone.model.TurnPhase;
+import io.vavr.control.Try;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Copy of the dispatch of {@link Engine#execute} before the transition table was compiled: validation of the
+ * payload collecting errors in a list, checks of the action in sequence and resolution of the state by
+ * looking up the current turn once per phase. Game wide actions are delegated to the engine as they do not take
+ * part in the comparison.
+ * <p>
+ * It is kept in the test sources, and shipped in the test jar of the module, so that {@code DispatchBenchmark}
+ * can compare the two paths without the benchmarks declaring classes in the package of the engine.
+ */
+public final class LegacyDispatch {
+
+    private static final ActionCompiler LEGACY_ACTION_COMPILER = new ActionCompiler() {
+        @Override
+        public <T> Try<Action<T>> compile(Action<T> action) {
+            final List<ErrorCode> errors = new ArrayList<>();
+            if (!(action.payload() == null && action.payloadType() == Void.class)
+                    && !action.payloadType().isInstance(action.payload())) {
+                errors.add(ErrorCode.PAYLOAD_TYPE_MISMATCH);
+            }
+            switch (action.playerAction()) {
+                case PROCEED, CANCEL_GAME, CANCEL_PROVIDED_HINT -> {
+                    if (action.payloadType() != Void.class) {
+                        errors.add(ErrorCode.INVALID_PAYLOAD);
+                    }
+                }
+                default -> {
+                    if (action.payloadType() != String.class) {
+                        errors.add(ErrorCode.INVALID_PAYLOAD);
+                    }
+                }
+            }
+            if (errors.size() == 0) {
+                return Try.success(action);
+            }
+            return Try.failure(new InvalidActionException(errors.toArray(ErrorCode[]::new)));
+        }
+    };
+
+    private final Engine engine;
+    private final Map<EngineStateType, EngineState> engineStateRegistry = Map.of(
+            EngineStateType.INIT, new InitState(),
+            EngineStateType.SELECTION, new SelectionState(),
+            EngineStateType.INVALID_CURRENT_TURN,
+            (gs, ac) -> Try.failure(new InvalidStateException(ErrorCode.INVALID_CURRENT_TURN)),
+            EngineStateType.REMOVAL, new RemovalState(),
+            EngineStateType.GUESS, new GuessingState(),
+            EngineStateType.CONCLUSION, new ConclusionState()
+    );
+
+    public LegacyDispatch(Engine engine) {
+        this.engine = engine;
+    }
+
+    public Try<GameState> execute(GameState gameState, Action<?> action) {
+        return LEGACY_ACTION_COMPILER.compile(action)
+                                     .flatMapTry(validAction -> {
+                                         if (!allowedToRunActions(action.playerId(), gameState)) {
+                                             return Try.failure(new IllegalActionException(
+                                                     ErrorCode.ILLEGAL_ACTION));
+                                         }
+                                         if (action.playerAction() == TurnAction.CANCEL_GAME
+                                                 || action.playerAction() == TurnAction.ADMIT_PLAYER
+                                                 || action.playerAction() == TurnAction.KICK_PLAYER) {
+                                             return engine.execute(gameState, action);
+                                         }
+                                         final var engineState = engineStateRegistry.getOrDefault(
+                                                 calculateCurrentState(gameState), new UnknownState());
+                                         return engineState.execute(gameState, action);
+                                     });
+    }
+
+    private EngineStateType calculateCurrentState(GameState gameState) {
+        if (gameState.currentTurn() == 0 && gameState.turns().isEmpty()) {
+            return EngineStateType.INIT;
+        } else if (gameState.currentTurn() < 0 || gameState.currentTurn() >= gameState.turns().size()) {
+            return EngineStateType.INVALID_CURRENT_TURN;
+        } else if (gameState.turns().get(gameState.currentTurn()).phase() == TurnPhase.SELECTION) {
+            return EngineStateType.SELECTION;
+        } else if (gameState.turns().get(gameState.currentTurn()).phase() == TurnPhase.REMOVAL) {
+            return EngineStateType.REMOVAL;
+        } else if (gameState.turns().get(gameState.currentTurn()).phase() == TurnPhase.GUESSING) {
+            return EngineStateType.GUESS;
+        } else if (gameState.turns().get(gameState.currentTurn()).phase() == TurnPhase.CONCLUSION) {
+            return EngineStateType.CONCLUSION;
+        } else {
+            return EngineStateType.UNKNOWN;
+        }
+    }
+
+    private boolean allowedToRunActions(String playerId, GameState gameState) {
+        return Stream.concat(Stream.of(Engine.ROOT), gameState.players().stream()
+                                                              .map(Player::id))
+                     .collect(Collectors.toSet())
+                     .contains(playerId);
+    }
+}
@@ -0,0 +1,78 @@
+package com.github.fburato.justone.game.engine;
+
+import com.github.fburato.justone.game.errors.EngineException;
+import com.github.fburato.justone.model.Action;
+import com.github.fburato.justone.model.GameState;
+import com.github.fburato.justone.model.GameStatus;
+import com.github.fburato.justone.model.Turn;
+import com.github.fburato.justone.model.TurnAction;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.github.fburato.justone.RandomUtils.randomString;
+import static com.github.fburato.justone.game.engine.EngineTestUtils.extractGuesser;
+import static com.github.fburato.justone.game.engine.EngineTestUtils.extractProviders;
+import static com.github.fburato.justone.game.engine.EngineTestUtils.extractRemover;
+import static com.github.fburato.justone.game.engine.EngineTestUtils.guessWord;
+import static com.github.fburato.justone.game.engine.EngineTestUtils.hint;
+import static com.github.fburato.justone.game.engine.EngineTestUtils.proceed;
+import static com.github.fburato.justone.game.engine.EngineTestUtils.removeProvided;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LegacyDispatchTest {
+
+    private final String host = randomString();
+    private final List<String> players = List.of(randomString(), randomString(), randomString());
+    private final Engine engine = new Engine(ActionCompiler.DEFAULT_ACTION_COMPILER);
+    private final LegacyDispatch testee = new LegacyDispatch(engine);
+    private final GameState initState = engine.init(randomString(), host, players,
+                                                     List.of(randomString(), randomString())).get();
+
+    /**
+     * @return the state after the action, checking that both dispatch paths yield the same result
+     */
+    private GameState dispatch(GameState gameState, Action<?> action) {
+        final var expected = engine.execute(gameState, action);
+        final var actual = testee.execute(gameState, action);
+
+        assertThat(actual.isSuccess()).isEqualTo(expected.isSuccess());
+        if (expected.isFailure()) {
+            assertThat(actual.getCause()).isInstanceOf(expected.getCause().getClass());
+            assertThat(((EngineException) actual.getCause()).errorCodes())
+                    .isEqualTo(((EngineException) expected.getCause()).errorCodes());
+            return gameState;
+        }
+        assertThat(actual.get()).isEqualTo(expected.get());
+        return expected.get();
+    }
+
+    private static Turn currentTurn(GameState gameState) {
+        return gameState.turns().get(gameState.currentTurn());
+    }
+
+    @Test
+    @DisplayName("should dispatch every action of a game like the engine")
+    void sameResults() {
+        var gameState = dispatch(initState, proceed(randomString()));
+        gameState = dispatch(gameState, proceed(host));
+        for (int i = 0; i < initState.wordsToGuess().size(); ++i) {
+            final var providers = extractProviders(currentTurn(gameState));
+            gameState = dispatch(gameState, proceed(providers.get(0)));
+            gameState = dispatch(gameState, new Action<>(providers.get(0), TurnAction.PROVIDE_HINT, Void.class,
+                                                         null));
+            for (final var provider : providers) {
+                gameState = dispatch(gameState, hint(provider, randomString()));
+            }
+            final var remover = extractRemover(currentTurn(gameState));
+            gameState = dispatch(gameState, guessWord(remover, randomString()));
+            gameState = dispatch(gameState, removeProvided(remover, randomString()));
+            gameState = dispatch(gameState, proceed(remover));
+            gameState = dispatch(gameState, guessWord(extractGuesser(currentTurn(gameState)), randomString()));
+            gameState = dispatch(gameState, proceed(host));
+        }
+
+        assertThat(gameState.status()).isEqualTo(GameStatus.CONCLUDED);
+    }
+}
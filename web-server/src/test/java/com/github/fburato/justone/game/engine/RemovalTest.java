@@ -257,5 +257,16 @@ class RemovalTest {
                         assertThat(turn.phase()).isEqualTo(TurnPhase.GUESSING);
                     });
         }
+
+        @Test
+        @DisplayName("should transition current turn to GUESSING when root proceeds")
+        void transitionToGuessingByRoot() {
+            richStateOf(stateWithRemoval)
+                    .execute(proceed(Engine.ROOT))
+                    .isValidSatisfying(gameState -> {
+                        final var turn = gameState.turns().get(gameState.currentTurn());
+                        assertThat(turn.phase()).isEqualTo(TurnPhase.GUESSING);
+                    });
+        }
     }
 }
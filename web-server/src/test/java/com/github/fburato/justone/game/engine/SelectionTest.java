@@ -2,12 +2,14 @@ package com.github.fburato.justone.game.engine;
 
 import com.github.fburato.justone.game.errors.ErrorCode;
 import com.github.fburato.justone.game.errors.IllegalActionException;
+import com.github.fburato.justone.game.errors.InvalidActionException;
 import com.github.fburato.justone.game.errors.InvalidStateException;
 import com.github.fburato.justone.model.Action;
 import com.github.fburato.justone.model.GameState;
 import com.github.fburato.justone.model.PlayerWord;
 import com.github.fburato.justone.model.TurnAction;
 import com.github.fburato.justone.model.TurnPhase;
+import com.github.fburato.justone.model.TurnPlayer;
 import com.github.fburato.justone.model.TurnRole;
 import io.vavr.control.Try;
 import org.junit.jupiter.api.DisplayName;
@@ -15,6 +17,7 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -304,5 +307,148 @@ class SelectionTest {
                         assertThat(currentTurn.hintsToFilter()).isEmpty();
                     });
         }
+
+        @Test
+        @DisplayName("should use the provided normaliser to detect identical hints")
+        void pluggableNormaliser() {
+            final var provider1 = stateWithSelection.turns().get(1).players().stream()
+                                                    .filter(tp -> tp.roles().contains(TurnRole.PROVIDER))
+                                                    .findFirst().orElseThrow();
+            final var provider2 = stateWithSelection.turns().get(1).players().stream()
+                                                    .filter(tp -> tp.roles()
+                                                                    .contains(TurnRole.PROVIDER) && !tp.playerId()
+                                                                                                       .equals(provider1.playerId()))
+                                                    .findFirst().orElseThrow();
+            final var hint1 = "colour";
+            final var hint2 = "color";
+            new EngineTestUtils.RichState(Try.success(stateWithSelection),
+                                          new SelectionState(hint -> hint.replace("ou", "o")))
+                    .execute(hint(provider1.playerId(), hint1))
+                    .execute(hint(provider2.playerId(), hint2))
+                    .isValidSatisfying(gameState -> {
+                        final var currentTurn = gameState.turns().get(gameState.currentTurn());
+                        assertThat(currentTurn.hintsToFilter()).containsExactlyInAnyOrder(hint1, hint2);
+                    });
+        }
+
+        @Test
+        @DisplayName("should detect identical hints with the rules of the language of the game")
+        void languageNormaliser() {
+            final var provider1 = stateWithSelection.turns().get(1).players().stream()
+                                                    .filter(tp -> tp.roles().contains(TurnRole.PROVIDER))
+                                                    .findFirst().orElseThrow();
+            final var provider2 = stateWithSelection.turns().get(1).players().stream()
+                                                    .filter(tp -> tp.roles()
+                                                                    .contains(TurnRole.PROVIDER) && !tp.playerId()
+                                                                                                       .equals(provider1.playerId()))
+                                                    .findFirst().orElseThrow();
+            final var hint1 = "Straße";
+            final var hint2 = "STRASSE";
+            final var germanState = gameStateBuilder(stateWithSelection)
+                    .with(gsb -> gsb.languageId = "de")
+                    .build();
+            richStateOf(germanState)
+                    .execute(hint(provider1.playerId(), hint1))
+                    .execute(hint(provider2.playerId(), hint2))
+                    .isValidSatisfying(gameState -> {
+                        final var currentTurn = gameState.turns().get(gameState.currentTurn());
+                        assertThat(currentTurn.hintsToFilter()).containsExactlyInAnyOrder(hint1, hint2);
+                    });
+        }
+    }
+
+    @Nested
+    @DisplayName("on hints for the word to guess")
+    class IllegalHintTest {
+
+        private final GameState stateWithWord = gameStateBuilder(stateWithSelection)
+                .with(gsb -> gsb.wordsToGuess = List.of(randomString(), "Elephant"))
+                .build();
+        private final String provider = stateWithSelection.turns().get(1).players().stream()
+                                                          .filter(tp -> tp.roles().contains(TurnRole.PROVIDER))
+                                                          .findFirst().orElseThrow()
+                                                          .playerId();
+
+        @ParameterizedTest
+        @ValueSource(strings = {"Elephant", " ELEPHANT ", "élephant", "elephants", "baby elephant", "elephantine"})
+        @DisplayName("should fail with ILLEGAL_HINT if the hint contains the stem of the word")
+        void failOnWord(String hint) {
+            richStateOf(stateWithWord)
+                    .execute(hint(provider, hint))
+                    .isInvalidInstanceOfSatisfying(InvalidActionException.class, iae ->
+                            assertThat(iae.errorCodes()).containsExactly(ErrorCode.ILLEGAL_HINT));
+        }
+
+        @Test
+        @DisplayName("should accept hints not containing the stem of the word")
+        void acceptOtherHints() {
+            richStateOf(stateWithWord)
+                    .execute(hint(provider, "trunk"))
+                    .isValidSatisfying(gameState -> {
+                        final var currentTurn = gameState.turns().get(gameState.currentTurn());
+                        assertThat(currentTurn.providedHints()).containsExactly(new PlayerWord(provider, "trunk"));
+                    });
+        }
+
+        @Test
+        @DisplayName("should use the provided hint checker")
+        void pluggableHintChecker() {
+            new EngineTestUtils.RichState(Try.success(stateWithWord),
+                                          new SelectionState(HintNormaliser.DEFAULT_HINT_NORMALISER,
+                                                             word -> hint -> !hint.equals("trunk")))
+                    .execute(hint(provider, "elephant"))
+                    .isValid()
+                    .execute(hint(provider, "trunk"))
+                    .isInvalidInstanceOfSatisfying(InvalidActionException.class, iae ->
+                            assertThat(iae.errorCodes()).containsExactly(ErrorCode.ILLEGAL_HINT));
+        }
+    }
+
+    @Nested
+    @DisplayName("when the deadline of the phase expires")
+    class DeadlineTest {
+
+        private final List<String> providers = stateWithSelection.turns().get(1).players().stream()
+                                                                 .filter(tp -> tp.roles().contains(TurnRole.PROVIDER))
+                                                                 .map(TurnPlayer::playerId)
+                                                                 .toList();
+
+        @Test
+        @DisplayName("should skip the missing providers and transition turn to REMOVAL phase")
+        void skipMissingProviders() {
+            final var hint = randomString();
+            richStateOf(stateWithSelection)
+                    .execute(hint(providers.get(0), hint))
+                    .execute(proceed(Engine.ROOT))
+                    .isValidSatisfying(gameState -> {
+                        final var currentTurn = gameState.turns().get(gameState.currentTurn());
+                        assertThat(currentTurn.phase()).isEqualTo(TurnPhase.REMOVAL);
+                        assertThat(currentTurn.providedHints())
+                                .containsExactly(new PlayerWord(providers.get(0), hint));
+                        assertThat(currentTurn.hintsToFilter()).isEmpty();
+                    });
+        }
+
+        @Test
+        @DisplayName("should not count the skipped providers as duplicated hints")
+        void noDuplicatedSkippedHints() {
+            richStateOf(stateWithSelection)
+                    .execute(proceed(Engine.ROOT))
+                    .isValidSatisfying(gameState -> {
+                        final var currentTurn = gameState.turns().get(gameState.currentTurn());
+                        assertThat(currentTurn.phase()).isEqualTo(TurnPhase.REMOVAL);
+                        assertThat(currentTurn.providedHints()).isEmpty();
+                        assertThat(currentTurn.hintsToFilter()).isEmpty();
+                    });
+        }
+
+        @Test
+        @DisplayName("should fail with ILLEGAL_ACTION if a player other than root proceeds")
+        void failOnPlayers() {
+            richStateOf(stateWithSelection)
+                    .execute(proceed(host))
+                    .isInvalidInstanceOfSatisfying(IllegalActionException.class, iae ->
+                            assertThat(iae.errorCodes()).containsExactly(ErrorCode.ILLEGAL_ACTION));
+        }
     }
 }
@@ -0,0 +1,108 @@
+package com.github.fburato.justone.game.engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StemHintCheckerTest {
+
+    private final StemHintChecker testee = new StemHintChecker();
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "apples|apple",
+            "boxes|box",
+            "ponies|pon",
+            "cities|cit",
+            "series|ser",
+            "pony|pon",
+            "day|day",
+            "monkey|monkey",
+            "glass|glass",
+            "running|runn",
+            "jumped|jump",
+            "bus|bus",
+            "cats|cat",
+            "as|as",
+            "speed|speed",
+            "tower|tower",
+            "string|string"
+    })
+    @DisplayName("should strip the plural, the final y or a common suffix keeping a long enough stem")
+    void stem(String word, String stem) {
+        assertThat(StemHintChecker.stem(word)).isEqualTo(stem);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "abcabd|abcabcabd|true",
+            "aab|aaab|true",
+            "abab|abaabab|true",
+            "abc|ababab|false",
+            "aaaa|aaabaaa|false"
+    })
+    @DisplayName("should find the pattern in the text")
+    void contains(String pattern, String text, boolean expected) {
+        assertThat(StemHintChecker.contains(text, pattern, StemHintChecker.failureTable(pattern)))
+                .isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"apple", "Apple", " APPLE ", "apples", "Äpple", "pineapple", "apple pie"})
+    @DisplayName("should reject hints containing the stem of the word")
+    void rejectStem(String hint) {
+        assertThat(testee.compile("Apples").test(hint)).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"fruit", "appl", "pear", "app le", ""})
+    @DisplayName("should accept hints not containing the stem of the word")
+    void acceptOthers(String hint) {
+        assertThat(testee.compile("Apples").test(hint)).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"cities", "ponies", "pony", "series", "speed", "tower", "string", "glass", "day", "as"})
+    @DisplayName("should reject the word itself")
+    void rejectWordItself(String word) {
+        assertThat(testee.compile(word).test(word)).isFalse();
+        assertThat(testee.compile(word).test(word.toUpperCase())).isFalse();
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "cities|city",
+            "city|cities",
+            "ponies|pony",
+            "pony|ponies",
+            "day|days",
+            "box|boxes",
+            "jumping|jumped"
+    })
+    @DisplayName("should reject the singular and the plural of the word")
+    void rejectInflections(String word, String hint) {
+        assertThat(testee.compile(word).test(hint)).isFalse();
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "speed|special",
+            "tower|towel",
+            "string|strong",
+            "water|wattage"
+    })
+    @DisplayName("should accept unrelated hints sharing a short prefix with the word")
+    void acceptSharedShortPrefix(String word, String hint) {
+        assertThat(testee.compile(word).test(hint)).isTrue();
+    }
+
+    @Test
+    @DisplayName("should accept every hint for an empty word")
+    void acceptForEmptyWord() {
+        assertThat(testee.compile(" ").test("anything")).isTrue();
+    }
+}
@@ -0,0 +1,103 @@
+package com.github.fburato.justone.game.engine;
+
+import com.github.fburato.justone.model.Action;
+import com.github.fburato.justone.model.GameState;
+import com.github.fburato.justone.model.Turn;
+import com.github.fburato.justone.model.TurnAction;
+import com.github.fburato.justone.model.TurnPhase;
+import io.vavr.control.Try;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.github.fburato.justone.model.Builders.gameStateBuilder;
+import static com.github.fburato.justone.model.Builders.turnBuilder;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransitionTableTest {
+
+    private final EngineState unknownState = new TestState(EnumSet.allOf(TurnAction.class));
+    private final EngineState selectionState = new TestState(EnumSet.of(TurnAction.PROVIDE_HINT));
+    private final EngineState removalState = new TestState(EnumSet.of(TurnAction.REMOVE_HINT, TurnAction.PROCEED));
+    private final EngineState cancelGame = new TestState(EnumSet.of(TurnAction.CANCEL_GAME));
+    private final EngineState illegalAction = new TestState(Set.of());
+
+    private final TransitionTable testee = new TransitionTable(
+            Map.of(EngineStateType.SELECTION, selectionState,
+                   EngineStateType.REMOVAL, removalState,
+                   EngineStateType.UNKNOWN, unknownState),
+            Map.of(TurnAction.CANCEL_GAME, cancelGame),
+            illegalAction);
+
+    private static GameState inPhase(TurnPhase phase) {
+        return gameStateBuilder().with(gsb -> {
+            gsb.turns = List.of(turnBuilder().with(tb -> {
+                tb.phase = phase;
+                tb.providedHints = List.of();
+                tb.hintsToFilter = List.of();
+                tb.hintsToRemove = List.of();
+                tb.wordGuessed = Optional.empty();
+                tb.players = List.of();
+            }).build());
+            gsb.currentTurn = 0;
+        }).build();
+    }
+
+    @Test
+    @DisplayName("should resolve the type of state from the current turn")
+    void stateTypeOf() {
+        assertThat(TransitionTable.stateTypeOf(gameStateBuilder().with(gsb -> gsb.turns = List.of()).build()))
+                .isEqualTo(EngineStateType.INIT);
+        assertThat(TransitionTable.stateTypeOf(gameStateBuilder().with(gsb -> {
+            gsb.turns = List.of();
+            gsb.currentTurn = 1;
+        }).build())).isEqualTo(EngineStateType.INVALID_CURRENT_TURN);
+        assertThat(TransitionTable.stateTypeOf(inPhase(TurnPhase.SELECTION))).isEqualTo(EngineStateType.SELECTION);
+        assertThat(TransitionTable.stateTypeOf(inPhase(TurnPhase.REMOVAL))).isEqualTo(EngineStateType.REMOVAL);
+        assertThat(TransitionTable.stateTypeOf(inPhase(TurnPhase.GUESSING))).isEqualTo(EngineStateType.GUESS);
+        assertThat(TransitionTable.stateTypeOf(inPhase(TurnPhase.CONCLUSION)))
+                .isEqualTo(EngineStateType.CONCLUSION);
+        assertThat(TransitionTable.stateTypeOf(inPhase(null))).isEqualTo(EngineStateType.UNKNOWN);
+    }
+
+    @Test
+    @DisplayName("should route accepted actions to the state and every other action to the illegal action handler")
+    void routeByAcceptedActions() {
+        final var removal = inPhase(TurnPhase.REMOVAL);
+
+        assertThat(testee.transition(removal, TurnAction.REMOVE_HINT)).isSameAs(removalState);
+        assertThat(testee.transition(removal, TurnAction.PROCEED)).isSameAs(removalState);
+        assertThat(testee.transition(removal, TurnAction.PROVIDE_HINT)).isSameAs(illegalAction);
+        assertThat(testee.transition(inPhase(TurnPhase.SELECTION), TurnAction.PROVIDE_HINT))
+                .isSameAs(selectionState);
+    }
+
+    @Test
+    @DisplayName("should route to the unknown state the types of state without a registered state")
+    void routeToUnknown() {
+        assertThat(testee.transition(inPhase(TurnPhase.GUESSING), TurnAction.GUESS_WORD)).isSameAs(unknownState);
+        assertThat(testee.transition(inPhase(null), TurnAction.PROVIDE_HINT)).isSameAs(unknownState);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(TurnPhase.class)
+    @DisplayName("should route game actions to their handler in every state")
+    void routeGameActions(TurnPhase phase) {
+        assertThat(testee.transition(inPhase(phase), TurnAction.CANCEL_GAME)).isSameAs(cancelGame);
+    }
+
+    private record TestState(Set<TurnAction> acceptedActions) implements EngineState {
+
+        @Override
+        public Try<List<GameEvent>> events(GameState gameState, Action<?> action) {
+            return NO_EVENTS;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.github.fburato.justone.game.errors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EngineExceptionTest {
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(ErrorCode.class)
+    @DisplayName("should share one instance without stack trace per error code")
+    void sharedInstances(ErrorCode errorCode) {
+        final var exception = IllegalActionException.of(errorCode);
+
+        assertThat(IllegalActionException.of(errorCode)).isSameAs(exception);
+        assertThat(exception.errorCodes()).containsExactly(errorCode);
+        assertThat(exception.getMessage()).isEqualTo(errorCode.name());
+        assertThat(exception.getStackTrace()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should keep shared instances apart by exception type")
+    void instancesByType() {
+        assertThat(InvalidActionException.of(ErrorCode.INVALID_PAYLOAD))
+                .isInstanceOf(InvalidActionException.class);
+        assertThat(InvalidStateException.of(ErrorCode.INVALID_CURRENT_TURN))
+                .isInstanceOf(InvalidStateException.class);
+    }
+
+    @Test
+    @DisplayName("should not record suppressed exceptions on shared instances")
+    void noSuppressed() {
+        final var exception = IllegalActionException.of(ErrorCode.ILLEGAL_ACTION);
+
+        exception.addSuppressed(new RuntimeException());
+
+        assertThat(exception.getSuppressed()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should fill the stack trace of exceptions created directly")
+    void stackTrace() {
+        assertThat(new IllegalActionException(ErrorCode.ILLEGAL_ACTION).getStackTrace()).isNotEmpty();
+    }
+}
@@ -0,0 +1,138 @@
+package com.github.fburato.justone.internals;
+
+import com.github.fburato.justone.internals.IndexedCrudRepository.Index;
+import com.github.fburato.justone.io.InMemoryCrudRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.fburato.justone.RandomUtils.randomString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IndexedCrudRepositoryTest {
+
+    private static final String STATUS = "status";
+    private static final String MEMBER = "member";
+    private static final List<Index<TestEntity>> INDEXES = List.of(Index.of(STATUS, TestEntity::status),
+                                                                   new Index<>(MEMBER, TestEntity::members));
+
+    private final InMemoryCrudRepository<String, TestEntity> repository = new InMemoryCrudRepository<>(TestEntity::id);
+    private final String status1 = randomString();
+    private final String status2 = randomString();
+    private final String member1 = randomString();
+    private final String member2 = randomString();
+    private final TestEntity testEntity1 = new TestEntity(randomString(), status1, List.of(member1, member2));
+    private final TestEntity testEntity2 = new TestEntity(randomString(), status1, List.of(member2));
+    private final TestEntity testEntity3 = new TestEntity(randomString(), status2, List.of());
+    private final IndexedCrudRepository<String, TestEntity> testee = new IndexedCrudRepository<>(repository, INDEXES);
+
+    @Test
+    @DisplayName("should index the entities already in the decorated repository")
+    void indexExisting() {
+        repository.saveAll(List.of(testEntity1, testEntity2));
+
+        final var indexed = new IndexedCrudRepository<>(repository, INDEXES);
+
+        assertThat(indexed.findBy(STATUS, status1)).containsExactlyInAnyOrder(testEntity1, testEntity2);
+        assertThat(indexed.findIdsBy(MEMBER, member1)).containsExactly(testEntity1.id());
+    }
+
+    @Test
+    @DisplayName("should pass the entities already in the decorated repository on as they are indexed")
+    void passOnScanned() {
+        repository.saveAll(List.of(testEntity1, testEntity2));
+        final List<TestEntity> scanned = new ArrayList<>();
+
+        final var indexed = new IndexedCrudRepository<>(repository, INDEXES, scanned::add);
+
+        assertThat(scanned).containsExactlyInAnyOrder(testEntity1, testEntity2);
+        assertThat(indexed.findIdsBy(MEMBER, member2)).containsExactlyInAnyOrder(testEntity1.id(), testEntity2.id());
+    }
+
+    @Test
+    @DisplayName("should find saved entities by every key")
+    void findSaved() {
+        testee.save(testEntity1);
+        testee.saveAll(List.of(testEntity2, testEntity3));
+
+        assertThat(testee.findBy(STATUS, status1)).containsExactlyInAnyOrder(testEntity1, testEntity2);
+        assertThat(testee.findBy(STATUS, status2)).containsExactly(testEntity3);
+        assertThat(testee.findBy(MEMBER, member1)).containsExactly(testEntity1);
+        assertThat(testee.findIdsBy(MEMBER, member2)).containsExactlyInAnyOrder(testEntity1.id(), testEntity2.id());
+        assertThat(testee.findBy(STATUS, randomString())).isEmpty();
+        assertThat(repository.getAll()).containsExactlyInAnyOrder(testEntity1, testEntity2, testEntity3);
+    }
+
+    @Test
+    @DisplayName("should find updated entities by their new keys only")
+    void reindexUpdated() {
+        final var updatedTestEntity1 = new TestEntity(testEntity1.id(), status2, List.of(member2));
+        testee.save(testEntity1);
+
+        testee.save(updatedTestEntity1);
+
+        assertThat(testee.findBy(STATUS, status1)).isEmpty();
+        assertThat(testee.findBy(STATUS, status2)).containsExactly(updatedTestEntity1);
+        assertThat(testee.findIdsBy(MEMBER, member1)).isEmpty();
+        assertThat(testee.findBy(MEMBER, member2)).containsExactly(updatedTestEntity1);
+    }
+
+    @Test
+    @DisplayName("should not find entities updated without the decorator under their previous keys")
+    void filterStaleKeys() {
+        testee.save(testEntity1);
+
+        repository.save(new TestEntity(testEntity1.id(), status2, List.of()));
+
+        assertThat(testee.findIdsBy(STATUS, status1)).containsExactly(testEntity1.id());
+        assertThat(testee.findBy(STATUS, status1)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should not find deleted entities")
+    void unindexDeleted() {
+        testee.saveAll(List.of(testEntity1, testEntity2));
+
+        assertThat(testee.delete(testEntity1.id())).isTrue();
+        assertThat(testee.delete(testEntity3.id())).isFalse();
+
+        assertThat(testee.findBy(STATUS, status1)).containsExactly(testEntity2);
+        assertThat(testee.findIdsBy(MEMBER, member1)).isEmpty();
+        assertThat(repository.getAll()).containsExactly(testEntity2);
+    }
+
+    @Test
+    @DisplayName("should not index null keys")
+    void skipNullKeys() {
+        final var testEntity = new TestEntity(randomString(), null, null);
+
+        testee.save(testEntity);
+
+        assertThat(testee.findIdsBy(STATUS, null)).isEmpty();
+        assertThat(testee.findById(testEntity.id())).contains(testEntity);
+    }
+
+    @Test
+    @DisplayName("should reject lookups on undefined indexes")
+    void rejectUndefinedIndex() {
+        assertThatThrownBy(() -> testee.findBy(randomString(), status1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> testee.findIdsBy(randomString(), null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("should reject indexes defined more than once")
+    void rejectDuplicateIndex() {
+        assertThatThrownBy(() -> new IndexedCrudRepository<>(repository,
+                                                              List.of(Index.of(STATUS, TestEntity::status),
+                                                                      Index.of(STATUS, TestEntity::id))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    record TestEntity(String id, String status, List<String> members) {
+    }
+}
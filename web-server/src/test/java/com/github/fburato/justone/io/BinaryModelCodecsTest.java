@@ -0,0 +1,143 @@
+package com.github.fburato.justone.io;
+
+import com.github.fburato.justone.model.FrozenTurns;
+import com.github.fburato.justone.model.GameConfig;
+import com.github.fburato.justone.model.GameState;
+import com.github.fburato.justone.model.GameStatus;
+import com.github.fburato.justone.model.Player;
+import com.github.fburato.justone.model.PlayerRole;
+import com.github.fburato.justone.model.PlayerWord;
+import com.github.fburato.justone.model.Turn;
+import com.github.fburato.justone.model.TurnPhase;
+import com.github.fburato.justone.model.TurnPlayer;
+import com.github.fburato.justone.model.TurnRole;
+import com.github.fburato.justone.model.Words;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static com.github.fburato.justone.RandomUtils.randomString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinaryModelCodecsTest {
+
+    private final String host = randomString();
+    private final String guesser = randomString();
+    private final String provider = randomString();
+    private final String hint = randomString();
+    private final Turn completedTurn = new Turn(TurnPhase.CONCLUSION,
+                                                List.of(new PlayerWord(provider, hint), new PlayerWord(host, hint)),
+                                                List.of(hint),
+                                                List.of(new PlayerWord(provider, hint)),
+                                                Optional.of(new PlayerWord(guesser, "àèìòù")),
+                                                List.of(new TurnPlayer(host, List.of(TurnRole.REMOVER,
+                                                                                     TurnRole.PROVIDER)),
+                                                        new TurnPlayer(guesser, List.of(TurnRole.GUESSER)),
+                                                        new TurnPlayer(provider, List.of(TurnRole.PROVIDER))));
+    private final Turn currentTurn = new Turn(TurnPhase.SELECTION,
+                                              List.of(new PlayerWord(host, hint)),
+                                              List.of(),
+                                              List.of(),
+                                              Optional.empty(),
+                                              List.of(new TurnPlayer(guesser, List.of(TurnRole.REMOVER)),
+                                                      new TurnPlayer(host, List.of(TurnRole.GUESSER)),
+                                                      new TurnPlayer(provider, List.of())));
+    private final GameState gameState = new GameState(randomString(),
+                                                      GameStatus.IN_PROGRESS,
+                                                      List.of(new Player(host, PlayerRole.HOST),
+                                                              new Player(guesser, PlayerRole.PLAYER),
+                                                              new Player(provider, PlayerRole.PLAYER)),
+                                                      List.of(completedTurn, currentTurn),
+                                                      List.of(randomString(), randomString(), randomString()),
+                                                      1,
+                                                      Long.MIN_VALUE,
+                                                      new Words(2, 0, 1),
+                                                      randomString());
+
+    @Nested
+    @DisplayName("on game states")
+    class GameStateTest {
+
+        @Test
+        @DisplayName("should round-trip to an equal game state")
+        void roundTrip() {
+            assertThat(roundTrip(gameState)).isEqualTo(gameState);
+        }
+
+        @Test
+        @DisplayName("should round-trip null fields")
+        void roundTripNulls() {
+            final var nullGameState = new GameState(null, null, null, null, null, -1, 0, null, null);
+
+            assertThat(roundTrip(nullGameState)).isEqualTo(nullGameState);
+        }
+
+        @Test
+        @DisplayName("should freeze the turns before the last one")
+        void freezeCompletedTurns() {
+            final var decoded = roundTrip(gameState);
+
+            assertThat(FrozenTurns.isFrozen(decoded.turns().get(0))).isTrue();
+            assertThat(FrozenTurns.isFrozen(decoded.turns().get(1))).isFalse();
+        }
+
+        @Test
+        @DisplayName("should write repeated strings once")
+        void writeRepeatedStringsOnce() {
+            final var encoded = new String(BinaryModelCodecs.GAME_STATE.encode(gameState), StandardCharsets.UTF_8);
+
+            assertThat(encoded.split(hint, -1)).hasSize(2);
+            assertThat(encoded.split(provider, -1)).hasSize(2);
+        }
+
+        private GameState roundTrip(GameState gameState) {
+            return BinaryModelCodecs.GAME_STATE.decode(BinaryModelCodecs.GAME_STATE.encode(gameState));
+        }
+    }
+
+    @Test
+    @DisplayName("should round-trip turns")
+    void roundTripTurn() {
+        for (final var turn : List.of(completedTurn, currentTurn, FrozenTurns.freeze(completedTurn),
+                                      new Turn(null, null, null, null, null, null))) {
+            assertThat(BinaryModelCodecs.TURN.decode(BinaryModelCodecs.TURN.encode(turn)))
+                    .isEqualTo(turn);
+        }
+    }
+
+    @Test
+    @DisplayName("should round-trip game configs")
+    void roundTripGameConfig() {
+        for (final var gameConfig : List.of(new GameConfig(randomString(), host, randomString(),
+                                                           List.of(randomString(), randomString())),
+                                             new GameConfig(null, null, null, null))) {
+            assertThat(BinaryModelCodecs.GAME_CONFIG.decode(BinaryModelCodecs.GAME_CONFIG.encode(gameConfig)))
+                    .isEqualTo(gameConfig);
+        }
+    }
+
+    @Test
+    @DisplayName("should reject encodings of another format version")
+    void rejectOtherVersion() {
+        final var encoded = BinaryModelCodecs.GAME_STATE.encode(gameState);
+        encoded[0] = BinaryModelCodecs.FORMAT_VERSION + 1;
+
+        assertThatThrownBy(() -> BinaryModelCodecs.GAME_STATE.decode(encoded))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("should reject truncated encodings")
+    void rejectTruncated() {
+        final var encoded = BinaryModelCodecs.GAME_STATE.encode(gameState);
+
+        assertThatThrownBy(() -> BinaryModelCodecs.GAME_STATE.decode(Arrays.copyOf(encoded, encoded.length - 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
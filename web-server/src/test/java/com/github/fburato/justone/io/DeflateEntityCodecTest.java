@@ -0,0 +1,43 @@
+package com.github.fburato.justone.io;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static com.github.fburato.justone.RandomUtils.randomString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DeflateEntityCodecTest {
+
+    private final JsonEntityCodec<TestEntity> json = new JsonEntityCodec<>(new ObjectMapper(), TestEntity.class);
+    private final DeflateEntityCodec<TestEntity> testee = new DeflateEntityCodec<>(json);
+
+    @Test
+    @DisplayName("should round-trip entities")
+    void roundTrip() {
+        final var testEntity = new TestEntity(randomString(), randomString());
+
+        assertThat(testee.decode(testee.encode(testEntity))).isEqualTo(testEntity);
+    }
+
+    @Test
+    @DisplayName("should compress repetitive encodings")
+    void compress() {
+        final var testEntity = new TestEntity(randomString(), randomString().repeat(100));
+
+        assertThat(testee.encode(testEntity).length).isLessThan(json.encode(testEntity).length / 10);
+        assertThat(testee.decode(testee.encode(testEntity))).isEqualTo(testEntity);
+    }
+
+    @Test
+    @DisplayName("should reject truncated encodings")
+    void rejectTruncated() {
+        final var encoded = testee.encode(new TestEntity(randomString(), randomString()));
+
+        assertThatThrownBy(() -> testee.decode(Arrays.copyOf(encoded, encoded.length - 2)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
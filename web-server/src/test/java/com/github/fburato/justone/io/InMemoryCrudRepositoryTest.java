@@ -133,7 +133,3 @@ class InMemoryCrudRepositoryTest {
     }
 
 }
-
-record TestEntity(String id, String data) {
-
-}
\ No newline at end of file
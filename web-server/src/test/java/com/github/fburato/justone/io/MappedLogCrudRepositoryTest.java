@@ -0,0 +1,285 @@
+package com.github.fburato.justone.io;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.github.fburato.justone.RandomUtils.randomString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MappedLogCrudRepositoryTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    private final JsonEntityCodec<TestEntity> codec = new JsonEntityCodec<>(new ObjectMapper(), TestEntity.class);
+    private final TestEntity testEntity1 = new TestEntity(randomString(), randomString());
+    private final TestEntity testEntity2 = new TestEntity(randomString(), randomString());
+    private final TestEntity testEntity3 = new TestEntity(randomString(), randomString());
+
+    @TempDir
+    Path directory;
+
+    private MappedLogCrudRepository<TestEntity> testee;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (testee != null) {
+            testee.close();
+        }
+    }
+
+    private MappedLogCrudRepository<TestEntity> open() throws IOException {
+        return open(Duration.ofMinutes(1));
+    }
+
+    private MappedLogCrudRepository<TestEntity> open(Duration syncInterval) throws IOException {
+        testee = new MappedLogCrudRepository<>(directory, codec, TestEntity::id, SEGMENT_SIZE, syncInterval,
+                                               MappedLogCrudRepository.DEFAULT_COMPACTION_THRESHOLD, false);
+        return testee;
+    }
+
+    private MappedLogCrudRepository<TestEntity> reopen() throws IOException {
+        testee.close();
+        return open();
+    }
+
+    @Test
+    @DisplayName("on findById should return empty if repository is empty")
+    void findEmptyOnEmptyRepository() throws IOException {
+        assertThat(open().findById(randomString()))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("should find entity by id after save")
+    void findByIdAfterSave() throws IOException {
+        open().save(testEntity1);
+
+        assertThat(testee.findById(testEntity1.id()))
+                .contains(testEntity1);
+    }
+
+    @Test
+    @DisplayName("should return all entities after saving")
+    void getAllAfterSave() throws IOException {
+        open().save(testEntity1);
+        testee.saveAll(List.of(testEntity2, testEntity3));
+
+        assertThat(testee.getAll())
+                .containsExactlyInAnyOrder(testEntity1, testEntity2, testEntity3);
+    }
+
+    @Test
+    @DisplayName("should update existing entity on save")
+    void updateEntity() throws IOException {
+        final var otherTestEntity1 = new TestEntity(testEntity1.id(), randomString());
+        open().save(testEntity1);
+        testee.save(otherTestEntity1);
+
+        assertThat(testee.findById(testEntity1.id()))
+                .contains(otherTestEntity1);
+        assertThat(testee.getAll())
+                .containsExactly(otherTestEntity1);
+    }
+
+    @Test
+    @DisplayName("on delete should return whether the entity existed and remove it")
+    void deleteEntity() throws IOException {
+        open().saveAll(List.of(testEntity1, testEntity2));
+
+        assertThat(testee.delete(testEntity3.id())).isFalse();
+        assertThat(testee.delete(testEntity1.id())).isTrue();
+        assertThat(testee.getAll())
+                .containsExactly(testEntity2);
+    }
+
+    @Test
+    @DisplayName("should recover saved and deleted entities when reopened")
+    void recoverOnReopen() throws IOException {
+        final var otherTestEntity1 = new TestEntity(testEntity1.id(), randomString());
+        open().saveAll(List.of(testEntity1, testEntity2, testEntity3));
+        testee.save(otherTestEntity1);
+        testee.delete(testEntity2.id());
+
+        reopen();
+
+        assertThat(testee.getAll())
+                .containsExactlyInAnyOrder(otherTestEntity1, testEntity3);
+    }
+
+    @Test
+    @DisplayName("should recover entities stored in more than one segment")
+    void recoverManySegments() throws IOException {
+        final var entities = IntStream.range(0, 200)
+                                      .mapToObj(i -> new TestEntity(randomString(), randomString()))
+                                      .toList();
+        open().saveAll(entities);
+
+        assertThat(testee.segmentCount()).isGreaterThan(1);
+
+        reopen();
+
+        assertThat(testee.getAll())
+                .containsExactlyInAnyOrderElementsOf(entities);
+    }
+
+    @Test
+    @DisplayName("should discard a torn record at the end of the log and keep appending after the last valid one")
+    void discardTornRecord() throws IOException {
+        open().saveAll(List.of(testEntity1, testEntity2));
+        testee.close();
+        final var segment = onlySegment();
+        final var end = endOfLog(segment);
+        try (final var file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(end);
+            file.writeInt(100);
+            file.writeInt(42);
+            file.write(new byte[]{1, 0, 0, 0});
+        }
+
+        open();
+
+        assertThat(testee.getAll())
+                .containsExactlyInAnyOrder(testEntity1, testEntity2);
+
+        testee.save(testEntity3);
+        reopen();
+
+        assertThat(testee.getAll())
+                .containsExactlyInAnyOrder(testEntity1, testEntity2, testEntity3);
+    }
+
+    @Test
+    @DisplayName("should discard a record whose checksum does not match and everything after it")
+    void discardCorruptedRecord() throws IOException {
+        open().save(testEntity1);
+        final var offset = endOfLog(onlySegment());
+        testee.save(testEntity2);
+        testee.save(testEntity3);
+        testee.close();
+        try (final var file = new RandomAccessFile(onlySegment().toFile(), "rw")) {
+            file.seek(offset + 12);
+            file.write('!');
+        }
+
+        open();
+
+        assertThat(testee.getAll())
+                .containsExactly(testEntity1);
+    }
+
+    @Test
+    @DisplayName("should discard the segments following a corrupted record in a segment which is not the last")
+    void discardSegmentsAfterCorruptedRecord() throws IOException {
+        open().save(testEntity1);
+        final var firstSegment = onlySegment();
+        final var offset = endOfLog(firstSegment);
+        testee.save(testEntity2);
+        testee.delete(testEntity1.id());
+        testee.saveAll(IntStream.range(0, 200)
+                                .mapToObj(i -> new TestEntity(randomString(), randomString()))
+                                .toList());
+        testee.save(new TestEntity(testEntity1.id(), randomString()));
+        assertThat(testee.segmentCount()).isGreaterThan(1);
+        testee.close();
+        try (final var file = new RandomAccessFile(firstSegment.toFile(), "rw")) {
+            file.seek(offset + 12);
+            file.write('!');
+        }
+
+        open();
+
+        assertThat(testee.getAll())
+                .containsExactly(testEntity1);
+        assertThat(testee.segmentCount()).isEqualTo(1);
+        try (final var files = Files.list(directory)) {
+            assertThat(files.filter(path -> path.toString().endsWith(".discarded"))).isNotEmpty();
+        }
+
+        testee.save(testEntity3);
+        reopen();
+
+        assertThat(testee.getAll())
+                .containsExactlyInAnyOrder(testEntity1, testEntity3);
+    }
+
+    @Test
+    @DisplayName("should compact segments made mostly of dead records without losing live ones")
+    void compactDeadSegments() throws IOException {
+        open();
+        for (int i = 0; i < 200; ++i) {
+            testee.save(new TestEntity(testEntity1.id(), randomString()));
+        }
+        testee.saveAll(List.of(testEntity1, testEntity2));
+        testee.delete(testEntity2.id());
+        final var segmentsBefore = testee.segmentCount();
+
+        testee.compact();
+
+        assertThat(testee.segmentCount()).isLessThan(segmentsBefore);
+        assertThat(testee.getAll())
+                .containsExactly(testEntity1);
+
+        reopen();
+
+        assertThat(testee.getAll())
+                .containsExactly(testEntity1);
+    }
+
+    @Test
+    @DisplayName("should persist every write before returning with a zero sync interval")
+    void syncEveryWrite() throws IOException {
+        open(Duration.ZERO).save(testEntity1);
+
+        try (final var other = new MappedLogCrudRepository<>(directory, codec, TestEntity::id, SEGMENT_SIZE,
+                                                             Duration.ZERO, 0.5, false)) {
+            assertThat(other.findById(testEntity1.id()))
+                    .contains(testEntity1);
+        }
+    }
+
+    @Test
+    @DisplayName("should reject writes after being closed")
+    void rejectWritesAfterClose() throws IOException {
+        open().close();
+
+        assertThatThrownBy(() -> testee.save(testEntity1))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> testee.delete(testEntity1.id()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private Path onlySegment() throws IOException {
+        try (final var files = Files.list(directory)) {
+            final var segments = files.toList();
+            assertThat(segments).hasSize(1);
+            return segments.get(0);
+        }
+    }
+
+    private static int endOfLog(Path segment) throws IOException {
+        try (final var file = new RandomAccessFile(segment.toFile(), "r")) {
+            int offset = 0;
+            while (offset + 8 <= file.length()) {
+                file.seek(offset);
+                final var length = file.readInt();
+                if (length == 0) {
+                    break;
+                }
+                offset += 8 + length;
+            }
+            return offset;
+        }
+    }
+}
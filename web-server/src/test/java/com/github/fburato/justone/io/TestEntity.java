@@ -0,0 +1,5 @@
+package com.github.fburato.justone.io;
+
+record TestEntity(String id, String data) {
+
+}
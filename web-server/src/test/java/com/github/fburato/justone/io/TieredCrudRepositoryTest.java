@@ -0,0 +1,257 @@
+package com.github.fburato.justone.io;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.github.fburato.justone.RandomUtils.randomString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class TieredCrudRepositoryTest {
+
+    private static final String FINISHED = "finished";
+    private static final Duration TTL = Duration.ofMinutes(1);
+
+    private final InMemoryCrudRepository<String, TestEntity> cold = spy(new InMemoryCrudRepository<>(TestEntity::id));
+    private final AtomicLong clock = new AtomicLong();
+    private final TestEntity testEntity1 = new TestEntity(randomString(), randomString());
+    private final TestEntity testEntity2 = new TestEntity(randomString(), randomString());
+    private final TestEntity testEntity3 = new TestEntity(randomString(), randomString());
+    private final TieredCrudRepository<String, TestEntity> testee = testee(10);
+
+    private TieredCrudRepository<String, TestEntity> testee(int maxHotEntities) {
+        return new TieredCrudRepository<>(cold, entity -> FINISHED.equals(entity.data()), TTL, maxHotEntities,
+                                          clock::get, false);
+    }
+
+    @Test
+    @DisplayName("should keep saved entities in memory")
+    void keepHot() {
+        testee.save(testEntity1);
+        testee.saveAll(List.of(testEntity2, testEntity3));
+
+        assertThat(testee.findById(testEntity1.id())).contains(testEntity1);
+        assertThat(testee.getAll()).containsExactlyInAnyOrder(testEntity1, testEntity2, testEntity3);
+        assertThat(testee.hotCount()).isEqualTo(3);
+        assertThat(cold.getAll()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should spill finished entities on sweep")
+    void spillFinished() {
+        final var finished = new TestEntity(randomString(), FINISHED);
+        testee.saveAll(List.of(testEntity1, finished));
+
+        testee.sweep();
+
+        assertThat(testee.hotCount()).isEqualTo(1);
+        assertThat(cold.getAll()).containsExactly(finished);
+        assertThat(testee.getAll()).containsExactlyInAnyOrder(testEntity1, finished);
+    }
+
+    @Test
+    @DisplayName("should spill entities idle for longer than the ttl on sweep")
+    void spillIdle() {
+        testee.saveAll(List.of(testEntity1, testEntity2));
+        clock.set(TTL.toNanos() / 2);
+        testee.findById(testEntity1.id());
+        clock.set(TTL.toNanos());
+
+        testee.sweep();
+
+        assertThat(cold.getAll()).containsExactly(testEntity2);
+        assertThat(testee.hotCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should rehydrate spilled entities on findById")
+    void rehydrate() {
+        testee.save(testEntity1);
+        clock.set(TTL.toNanos());
+        testee.sweep();
+
+        assertThat(testee.hotCount()).isZero();
+        assertThat(testee.findById(testEntity1.id())).contains(testEntity1);
+        assertThat(testee.hotCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should drop rehydrated entities which have not been saved again without writing them")
+    void dropCleanEntities() {
+        cold.save(testEntity1);
+        testee.findById(testEntity1.id());
+        clock.set(TTL.toNanos());
+
+        testee.sweep();
+
+        assertThat(testee.hotCount()).isZero();
+        verify(cold, times(1)).save(any());
+    }
+
+    @Test
+    @DisplayName("should spill the least recently used entities when over the budget")
+    void spillOverBudget() {
+        final var bounded = testee(2);
+        bounded.save(testEntity1);
+        bounded.save(testEntity2);
+        bounded.findById(testEntity1.id());
+
+        bounded.save(testEntity3);
+
+        assertThat(bounded.hotCount()).isEqualTo(2);
+        assertThat(cold.getAll()).containsExactly(testEntity2);
+        assertThat(bounded.getAll()).containsExactlyInAnyOrder(testEntity1, testEntity2, testEntity3);
+    }
+
+    @Test
+    @DisplayName("should serve the latest version of an entity saved again after being spilled")
+    void saveAfterSpill() {
+        final var otherTestEntity1 = new TestEntity(testEntity1.id(), randomString());
+        testee.save(testEntity1);
+        clock.set(TTL.toNanos());
+        testee.sweep();
+
+        testee.save(otherTestEntity1);
+
+        assertThat(testee.findById(testEntity1.id())).contains(otherTestEntity1);
+        assertThat(testee.getAll()).containsExactly(otherTestEntity1);
+    }
+
+    @Test
+    @DisplayName("should delete entities from both tiers")
+    void deleteFromBothTiers() {
+        testee.save(testEntity1);
+        clock.set(TTL.toNanos());
+        testee.sweep();
+        testee.save(testEntity2);
+
+        assertThat(testee.delete(testEntity1.id())).isTrue();
+        assertThat(testee.delete(testEntity2.id())).isTrue();
+        assertThat(testee.delete(testEntity3.id())).isFalse();
+        assertThat(testee.getAll()).isEmpty();
+        assertThat(cold.getAll()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should spill entities saved since they were last spilled on close")
+    void spillOnClose() {
+        testee.save(testEntity1);
+        cold.save(testEntity2);
+        testee.findById(testEntity2.id());
+
+        testee.close();
+
+        assertThat(cold.getAll()).containsExactlyInAnyOrder(testEntity1, testEntity2);
+        verify(cold).saveAll(List.of(testEntity1));
+        assertThatThrownBy(() -> testee.save(testEntity3))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Nested
+    @DisplayName("with a journal")
+    class JournalTest {
+
+        private final InMemoryCrudRepository<String, TestEntity> journal = new InMemoryCrudRepository<>(TestEntity::id);
+
+        private TieredCrudRepository<String, TestEntity> journaled() {
+            return new TieredCrudRepository<>(cold, journal, entity -> FINISHED.equals(entity.data()), TTL, 10,
+                                              clock::get, false);
+        }
+
+        @Test
+        @DisplayName("should write the entities of the hot tier to the journal")
+        void journalHot() {
+            final var testee = journaled();
+
+            testee.save(testEntity1);
+            testee.saveAll(List.of(testEntity2));
+
+            assertThat(journal.getAll()).containsExactlyInAnyOrder(testEntity1, testEntity2);
+            assertThat(cold.getAll()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should drop spilled and deleted entities from the journal")
+        void dropSpilled() {
+            final var testee = journaled();
+            testee.saveAll(List.of(testEntity1, new TestEntity(testEntity2.id(), FINISHED), testEntity3));
+
+            testee.sweep();
+            testee.delete(testEntity3.id());
+
+            assertThat(journal.getAll()).containsExactly(testEntity1);
+        }
+
+        @Test
+        @DisplayName("should move the entities left in the journal to the cold tier when created")
+        void recover() {
+            journal.saveAll(List.of(testEntity1, testEntity2));
+
+            final var testee = journaled();
+
+            assertThat(journal.getAll()).isEmpty();
+            assertThat(cold.getAll()).containsExactlyInAnyOrder(testEntity1, testEntity2);
+            assertThat(testee.findById(testEntity1.id())).contains(testEntity1);
+        }
+
+        @Test
+        @DisplayName("should serve reads while the journal is blocked")
+        void readWhileJournalBlocked() throws Exception {
+            final var entered = new CountDownLatch(1);
+            final var release = new CountDownLatch(1);
+            final var blockedJournal = new InMemoryCrudRepository<String, TestEntity>(TestEntity::id) {
+                @Override
+                public TestEntity save(TestEntity entity) {
+                    entered.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException(e);
+                    }
+                    return super.save(entity);
+                }
+            };
+            final var testee = new TieredCrudRepository<>(cold, blockedJournal,
+                                                          entity -> FINISHED.equals(entity.data()), TTL, 10,
+                                                          clock::get, false);
+            cold.save(testEntity2);
+            final var writer = new Thread(() -> testee.save(testEntity1));
+            writer.start();
+
+            try {
+                assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+                assertThat(testee.findById(testEntity1.id())).contains(testEntity1);
+                assertThat(testee.findById(testEntity2.id())).contains(testEntity2);
+                testee.sweep();
+            } finally {
+                release.countDown();
+                writer.join();
+            }
+            assertThat(blockedJournal.getAll()).containsExactly(testEntity1);
+        }
+
+        @Test
+        @DisplayName("should empty the journal on close")
+        void emptyOnClose() {
+            final var testee = journaled();
+            testee.save(testEntity1);
+
+            testee.close();
+
+            assertThat(journal.getAll()).isEmpty();
+            assertThat(cold.getAll()).containsExactly(testEntity1);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.github.fburato.justone.io;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+
+import static com.github.fburato.justone.RandomUtils.randomString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class WriteBehindCrudRepositoryTest {
+
+    private final InMemoryCrudRepository<String, TestEntity> repository =
+            spy(new InMemoryCrudRepository<>(TestEntity::id));
+    private final TestEntity testEntity1 = new TestEntity(randomString(), randomString());
+    private final TestEntity testEntity2 = new TestEntity(randomString(), randomString());
+    private final TestEntity testEntity3 = new TestEntity(randomString(), randomString());
+    private final WriteBehindCrudRepository<String, TestEntity> testee = testee(10, 10);
+
+    private WriteBehindCrudRepository<String, TestEntity> testee(int capacity, int batchSize) {
+        return new WriteBehindCrudRepository<>(repository, capacity, batchSize, Duration.ofMinutes(1), false);
+    }
+
+    @Test
+    @DisplayName("should serve pending writes before they are flushed")
+    void readPendingWrites() {
+        testee.save(testEntity1);
+        testee.saveAll(List.of(testEntity2, testEntity3));
+
+        assertThat(testee.findById(testEntity1.id())).contains(testEntity1);
+        assertThat(testee.getAll()).containsExactlyInAnyOrder(testEntity1, testEntity2, testEntity3);
+        assertThat(repository.getAll()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should write pending writes to the decorated repository in a single saveAll on flush")
+    void flushPendingWrites() {
+        testee.save(testEntity1);
+        testee.save(testEntity2);
+
+        testee.flush();
+
+        assertThat(repository.getAll()).containsExactlyInAnyOrder(testEntity1, testEntity2);
+        assertThat(testee.pendingCount()).isZero();
+        verify(repository, times(1)).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("should flush only the latest of repeated writes to the same id")
+    void coalesceWrites() {
+        final var otherTestEntity1 = new TestEntity(testEntity1.id(), randomString());
+        testee.save(testEntity1);
+        testee.save(otherTestEntity1);
+
+        assertThat(testee.pendingCount()).isEqualTo(1);
+        assertThat(testee.findById(testEntity1.id())).contains(otherTestEntity1);
+
+        testee.flush();
+
+        verify(repository, never()).save(testEntity1);
+        verify(repository).saveAll(List.of(otherTestEntity1));
+        assertThat(repository.findById(testEntity1.id())).contains(otherTestEntity1);
+    }
+
+    @Test
+    @DisplayName("should hide deleted entities until the deletion is flushed")
+    void deleteBehind() {
+        repository.saveAll(List.of(testEntity1, testEntity2));
+
+        assertThat(testee.delete(testEntity1.id())).isTrue();
+        assertThat(testee.delete(testEntity3.id())).isFalse();
+        assertThat(testee.findById(testEntity1.id())).isEmpty();
+        assertThat(testee.getAll()).containsExactly(testEntity2);
+        assertThat(repository.findById(testEntity1.id())).isPresent();
+
+        testee.flush();
+
+        assertThat(repository.getAll()).containsExactly(testEntity2);
+    }
+
+    @Test
+    @DisplayName("should return false when deleting an entity whose deletion is pending")
+    void deleteDeleted() {
+        testee.save(testEntity1);
+
+        assertThat(testee.delete(testEntity1.id())).isTrue();
+        assertThat(testee.delete(testEntity1.id())).isFalse();
+
+        testee.flush();
+
+        assertThat(repository.getAll()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should flush pending writes in batches")
+    void flushInBatches() {
+        final var batched = testee(10, 2);
+        batched.saveAll(List.of(testEntity1, testEntity2, testEntity3));
+
+        batched.flush();
+
+        verify(repository, times(2)).saveAll(any());
+        assertThat(repository.getAll()).containsExactlyInAnyOrder(testEntity1, testEntity2, testEntity3);
+    }
+
+    @Test
+    @DisplayName("should flush a batch on the writing thread when the queue is full")
+    void flushWhenFull() {
+        final var bounded = testee(2, 2);
+        bounded.save(testEntity1);
+        bounded.save(testEntity2);
+
+        assertThat(repository.getAll()).isEmpty();
+
+        bounded.save(testEntity3);
+
+        assertThat(repository.getAll()).containsExactlyInAnyOrder(testEntity1, testEntity2);
+        assertThat(bounded.pendingCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should keep writes pending and retry them when the flush fails")
+    void retryFailedFlush() {
+        doThrow(new IllegalStateException("failed")).doCallRealMethod().when(repository).saveAll(any());
+        testee.save(testEntity1);
+
+        testee.flush();
+
+        assertThat(repository.getAll()).isEmpty();
+        assertThat(testee.findById(testEntity1.id())).contains(testEntity1);
+
+        testee.flush();
+
+        assertThat(repository.getAll()).containsExactly(testEntity1);
+        assertThat(testee.pendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("should fail the write with the failure of the decorated repository when the queue stays full")
+    void failWhenFullAndFailing() {
+        final var failure = new IllegalStateException("disk full");
+        doThrow(failure).when(repository).saveAll(any());
+        final var bounded = new WriteBehindCrudRepository<>(repository, 1, 1, Duration.ofMinutes(1),
+                                                            Duration.ofMillis(10), false);
+        bounded.save(testEntity1);
+
+        assertThatThrownBy(() -> bounded.save(testEntity2))
+                .isInstanceOf(IllegalStateException.class)
+                .hasCause(failure);
+
+        assertThat(bounded.findById(testEntity2.id())).isEmpty();
+        assertThat(bounded.findById(testEntity1.id())).contains(testEntity1);
+        assertThat(bounded.pendingCount()).isEqualTo(1);
+
+        bounded.save(new TestEntity(testEntity1.id(), "updated"));
+
+        assertThat(bounded.findById(testEntity1.id())).contains(new TestEntity(testEntity1.id(), "updated"));
+    }
+
+    @Test
+    @DisplayName("should flush pending writes and close the decorated repository on close")
+    void flushOnClose() {
+        final var closeable = new CloseableRepository();
+        final var writeBehind = new WriteBehindCrudRepository<>(closeable, 10, 10, Duration.ofMinutes(1));
+        writeBehind.save(testEntity1);
+
+        writeBehind.close();
+
+        assertThat(closeable.getAll()).containsExactly(testEntity1);
+        assertThat(closeable.closed).isTrue();
+        assertThatThrownBy(() -> writeBehind.save(testEntity2))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("should flush pending writes and keep the interrupt flag when closed from an interrupted thread")
+    void flushOnInterruptedClose() {
+        final var writeBehind = new WriteBehindCrudRepository<>(repository, 10, 10, Duration.ofMinutes(1));
+        writeBehind.save(testEntity1);
+
+        Thread.currentThread().interrupt();
+        try {
+            writeBehind.close();
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+        } finally {
+            Thread.interrupted();
+        }
+
+        assertThat(repository.findById(testEntity1.id())).contains(testEntity1);
+    }
+
+    @Test
+    @DisplayName("should wrap a checked failure of the decorated repository on close")
+    void wrapCloseFailure() {
+        final var writeBehind = new WriteBehindCrudRepository<>(new FailingCloseRepository(), 10, 10,
+                                                                Duration.ofMinutes(1), false);
+
+        assertThatThrownBy(writeBehind::close)
+                .isInstanceOf(UncheckedIOException.class)
+                .hasCauseInstanceOf(IOException.class);
+    }
+
+    @Test
+    @DisplayName("should flush pending writes in the background")
+    void flushInBackground() throws Exception {
+        try (final var writeBehind = new WriteBehindCrudRepository<>(repository, 10, 10, Duration.ofMillis(1))) {
+            writeBehind.save(testEntity1);
+
+            for (int i = 0; i < 1000 && repository.findById(testEntity1.id()).isEmpty(); ++i) {
+                Thread.sleep(5);
+            }
+        }
+
+        assertThat(repository.findById(testEntity1.id())).contains(testEntity1);
+    }
+
+    private static class CloseableRepository extends InMemoryCrudRepository<String, TestEntity>
+            implements AutoCloseable {
+
+        private boolean closed;
+
+        CloseableRepository() {
+            super(TestEntity::id);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    private static class FailingCloseRepository extends InMemoryCrudRepository<String, TestEntity>
+            implements AutoCloseable {
+
+        FailingCloseRepository() {
+            super(TestEntity::id);
+        }
+
+        @Override
+        public void close() throws IOException {
+            throw new IOException("cannot close");
+        }
+    }
+}
@@ -34,6 +34,9 @@ public class Builders {
             gsb.turns = gameState.turns();
             gsb.wordsToGuess = gameState.wordsToGuess();
             gsb.currentTurn = gameState.currentTurn();
+            gsb.seed = gameState.seed();
+            gsb.words = gameState.words();
+            gsb.languageId = gameState.languageId();
         });
     }
 
@@ -64,6 +67,9 @@ public class Builders {
         public List<Turn> turns;
         public List<String> wordsToGuess;
         public int currentTurn;
+        public long seed;
+        public Words words;
+        public String languageId;
 
         private GameStateBuilder() {
             super(GameStateBuilder::new);
@@ -71,7 +77,8 @@ public class Builders {
 
         @Override
         protected GameState makeValue() {
-            return new GameState(id, status, players, turns, wordsToGuess, currentTurn);
+            return new GameState(id, status, players, turns, wordsToGuess, currentTurn, seed, words,
+                                 languageId);
         }
     }
 }
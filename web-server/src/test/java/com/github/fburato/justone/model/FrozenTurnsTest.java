@@ -0,0 +1,66 @@
+package com.github.fburato.justone.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static com.github.fburato.justone.RandomUtils.randomString;
+import static com.github.fburato.justone.RandomUtils.randomTurn;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FrozenTurnsTest {
+
+    private final Turn turn = randomTurn();
+
+    @Test
+    @DisplayName("should be equal to the turn it was frozen from")
+    void equalToTurn() {
+        final var frozen = FrozenTurns.freeze(turn);
+
+        assertThat(frozen).isEqualTo(turn);
+        assertThat(frozen.hashCode()).isEqualTo(turn.hashCode());
+        assertThat(FrozenTurns.isFrozen(frozen)).isTrue();
+        assertThat(FrozenTurns.isFrozen(turn)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should return the same instance when already frozen")
+    void reuseInstance() {
+        final var frozen = FrozenTurns.freeze(turn);
+
+        assertThat(FrozenTurns.freeze(frozen)).isSameAs(frozen);
+    }
+
+    @Test
+    @DisplayName("should keep the text of hints not encodable in a single byte and null hints")
+    void encoding() {
+        final var player = randomString();
+        final var hints = Arrays.asList("naïve", null, "", "日本");
+        final var unfrozen = new Turn(TurnPhase.CONCLUSION,
+                                      List.of(new PlayerWord(player, "naïve"), new PlayerWord(randomString(), null)),
+                                      hints,
+                                      List.of(new PlayerWord(player, "日本")),
+                                      Optional.empty(),
+                                      List.of(new TurnPlayer(player, List.of(TurnRole.PROVIDER))));
+
+        final var frozen = FrozenTurns.freeze(unfrozen);
+
+        assertThat(frozen).isEqualTo(unfrozen);
+        assertThat(frozen.hintsToFilter()).containsExactlyElementsOf(hints);
+    }
+
+    @Test
+    @DisplayName("should reject indexes outside of the frozen lists")
+    void outOfBounds() {
+        final var frozen = FrozenTurns.freeze(turn);
+
+        assertThatThrownBy(() -> frozen.providedHints().get(turn.providedHints().size()))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> frozen.hintsToFilter().get(-1))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+}
@@ -0,0 +1,47 @@
+package com.github.fburato.justone.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.github.fburato.justone.RandomUtils.randomString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlayerSymbolsTest {
+
+    private final String player1 = randomString();
+    private final String player2 = randomString();
+    private final PlayerSymbols testee = PlayerSymbols.of(List.of(player1, player2, player1));
+
+    @Test
+    @DisplayName("should assign symbols in the order ids are interned")
+    void symbolsInOrder() {
+        assertThat(testee.size()).isEqualTo(2);
+        assertThat(testee.symbolOf(player1)).isZero();
+        assertThat(testee.symbolOf(player2)).isEqualTo(1);
+        assertThat(testee.idOf(0)).isEqualTo(player1);
+        assertThat(testee.idOf(1)).isEqualTo(player2);
+    }
+
+    @Test
+    @DisplayName("should not assign symbols to ids not interned")
+    void unknownId() {
+        assertThat(testee.symbolOf(randomString())).isEqualTo(-1);
+        assertThat(testee.symbolOf(null)).isEqualTo(-1);
+        assertThat(PlayerSymbols.EMPTY.symbolOf(player1)).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("should intern new ids without changing the original table")
+    void with() {
+        final var player3 = randomString();
+
+        final var extended = testee.with(player3);
+
+        assertThat(extended.symbolOf(player3)).isEqualTo(2);
+        assertThat(extended.symbolOf(player1)).isZero();
+        assertThat(testee.symbolOf(player3)).isEqualTo(-1);
+        assertThat(testee.with(player2)).isSameAs(testee);
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.fburato.justone.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.fburato.justone.RandomUtils.randomString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlayersTest {
+
+    private final Player player1 = new Player(randomString(), PlayerRole.PLAYER);
+    private final Player player2 = new Player(randomString(), PlayerRole.PLAYER);
+    private final Player host = new Player(randomString(), PlayerRole.HOST);
+    private final Players testee = Players.of(new ArrayList<>(List.of(player1, host, player2)));
+
+    @Test
+    @DisplayName("should be equal to a list with the same players")
+    void equalToList() {
+        assertThat(testee).isEqualTo(List.of(player1, host, player2));
+        assertThat(testee.hashCode()).isEqualTo(List.of(player1, host, player2).hashCode());
+        assertThat(Players.of(testee)).isSameAs(testee);
+    }
+
+    @Test
+    @DisplayName("should answer membership, position and host of the game")
+    void lookups() {
+        assertThat(testee.hasPlayer(player2.id())).isTrue();
+        assertThat(testee.hasPlayer(randomString())).isFalse();
+        assertThat(testee.hasPlayer(null)).isFalse();
+        assertThat(testee.positionOf(host.id())).isEqualTo(1);
+        assertThat(testee.positionOf(randomString())).isEqualTo(-1);
+        assertThat(testee.hostId()).isEqualTo(host.id());
+        assertThat(Players.of(List.of(player1)).hostId()).isNull();
+    }
+
+    @Test
+    @DisplayName("should index admitted players")
+    void appended() {
+        final var player3 = new Player(randomString(), PlayerRole.PLAYER);
+
+        final var players = testee.appended(player3);
+
+        assertThat(players).containsExactly(player1, host, player2, player3);
+        assertThat(players.positionOf(player3.id())).isEqualTo(3);
+        assertThat(players.hostId()).isEqualTo(host.id());
+        assertThat(testee.hasPlayer(player3.id())).isFalse();
+    }
+
+    @Test
+    @DisplayName("should shift the positions of the players following a removed player")
+    void removed() {
+        final var players = testee.removed(0);
+
+        assertThat(players).containsExactly(host, player2);
+        assertThat(players.hasPlayer(player1.id())).isFalse();
+        assertThat(players.positionOf(host.id())).isEqualTo(0);
+        assertThat(players.positionOf(player2.id())).isEqualTo(1);
+        assertThat(players.hostId()).isEqualTo(host.id());
+    }
+
+    @Test
+    @DisplayName("should follow the host when it is handed over and removed")
+    void hostHandover() {
+        final var players = testee.updated(2, new Player(player2.id(), PlayerRole.HOST))
+                                  .removed(1);
+
+        assertThat(players).containsExactly(player1, new Player(player2.id(), PlayerRole.HOST));
+        assertThat(players.hostId()).isEqualTo(player2.id());
+        assertThat(players.positionOf(player2.id())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should not be affected by changes to the source list")
+    void copySource() {
+        final var source = new ArrayList<>(List.of(player1));
+        final var players = Players.of(source);
+
+        source.add(host);
+
+        assertThat(players).containsExactly(player1);
+        assertThat(players.hostId()).isNull();
+    }
+}
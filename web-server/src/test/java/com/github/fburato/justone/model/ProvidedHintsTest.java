@@ -0,0 +1,132 @@
+package com.github.fburato.justone.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import static com.github.fburato.justone.RandomUtils.randomString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProvidedHintsTest {
+
+    private final UnaryOperator<String> normaliser = String::toLowerCase;
+    private final String player1 = randomString();
+    private final String player2 = randomString();
+    private final String player3 = randomString();
+    private final ProvidedHints empty = ProvidedHints.of(List.of());
+
+    @Test
+    @DisplayName("should be equal to a list with the same hints")
+    void equalToList() {
+        final var hints = empty.withHint(new PlayerWord(player1, "foo"), "foo")
+                               .withHint(new PlayerWord(player2, "bar"), "bar");
+
+        assertThat(hints).isEqualTo(List.of(new PlayerWord(player1, "foo"), new PlayerWord(player2, "bar")));
+    }
+
+    @Test
+    @DisplayName("should replace the hint of a player keeping its position")
+    void replaceHint() {
+        final var hints = empty.withHint(new PlayerWord(player1, "foo"), "foo")
+                               .withHint(new PlayerWord(player2, "bar"), "bar")
+                               .withHint(new PlayerWord(player1, "baz"), "baz");
+
+        assertThat(hints).containsExactly(new PlayerWord(player1, "baz"), new PlayerWord(player2, "bar"));
+    }
+
+    @Test
+    @DisplayName("should remove the hint of a player")
+    void removeHint() {
+        final var hints = empty.withHint(new PlayerWord(player1, "foo"), "foo")
+                               .withHint(new PlayerWord(player2, "bar"), "bar")
+                               .withoutHintOf(player1);
+
+        assertThat(hints).containsExactly(new PlayerWord(player2, "bar"));
+        assertThat(hints.withoutHintOf(randomString())).isSameAs(hints);
+    }
+
+    @Test
+    @DisplayName("should report the distinct hints sharing a normalised form")
+    void duplicatedHints() {
+        final var hints = empty.withHint(new PlayerWord(player1, "Foo"), "foo")
+                               .withHint(new PlayerWord(player2, "FOO"), "foo")
+                               .withHint(new PlayerWord(player3, "Foo"), "foo");
+
+        assertThat(hints.duplicatedHints()).containsExactly("Foo", "FOO");
+    }
+
+    @Test
+    @DisplayName("should keep the multiset of normalised hints up to date on replacement and removal")
+    void runningDuplicates() {
+        final var duplicated = empty.withHint(new PlayerWord(player1, "foo"), "foo")
+                                    .withHint(new PlayerWord(player2, "foo"), "foo");
+
+        assertThat(duplicated.duplicatedHints()).containsExactly("foo");
+        assertThat(duplicated.withHint(new PlayerWord(player2, "bar"), "bar").duplicatedHints()).isEmpty();
+        assertThat(duplicated.withoutHintOf(player1).duplicatedHints()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should require normalisation of hints created from plain lists")
+    void normaliseOnDemand() {
+        final var plain = ProvidedHints.of(new ArrayList<>(List.of(new PlayerWord(player1, "Foo"),
+                                                                   new PlayerWord(player2, "FOO"))));
+
+        assertThat(plain.isNormalised()).isFalse();
+        assertThatThrownBy(plain::duplicatedHints).isInstanceOf(IllegalStateException.class);
+        final var normalised = plain.normalisedWith(normaliser);
+        assertThat(normalised.isNormalised()).isTrue();
+        assertThat(normalised.duplicatedHints()).containsExactly("Foo", "FOO");
+        assertThat(normalised.normalisedWith(normaliser)).isSameAs(normalised);
+    }
+
+    @Test
+    @DisplayName("should count the hints sharing each normalised form when normalising plain lists")
+    void normalisedCounts() {
+        final var player4 = randomString();
+        final var normalised = ProvidedHints.of(List.of(new PlayerWord(player1, "Foo"),
+                                                        new PlayerWord(player2, "bar"),
+                                                        new PlayerWord(player3, "FOO"),
+                                                        new PlayerWord(player4, "foo")))
+                                            .normalisedWith(normaliser);
+
+        assertThat(normalised.duplicatedHints()).containsExactly("Foo", "FOO", "foo");
+        assertThat(normalised.withoutHintOf(player1).withoutHintOf(player3).duplicatedHints()).isEmpty();
+        assertThat(normalised.withHint(new PlayerWord(player2, "FOO"), "foo").duplicatedHints())
+                .containsExactly("Foo", "FOO", "foo");
+    }
+
+    @Test
+    @DisplayName("should cache the normalised view of plain lists for the same normaliser")
+    void cachedNormalisation() {
+        final var plain = ProvidedHints.of(List.of(new PlayerWord(player1, "Foo"), new PlayerWord(player2, "FOO")));
+
+        assertThat(plain.normalisedIfKnown()).isSameAs(plain);
+        final var normalised = plain.normalisedWith(normaliser);
+        assertThat(plain.normalisedWith(normaliser)).isSameAs(normalised);
+        assertThat(plain.normalisedIfKnown()).isSameAs(normalised);
+        final UnaryOperator<String> other = String::toUpperCase;
+        final var otherNormalised = plain.normalisedWith(other);
+        assertThat(otherNormalised).isNotSameAs(normalised);
+        assertThat(otherNormalised.duplicatedHints()).containsExactly("Foo", "FOO");
+        assertThat(plain.normalisedWith(other)).isSameAs(otherNormalised);
+    }
+
+    @Test
+    @DisplayName("should encode hints against the given symbols and intern unknown players")
+    void symbols() {
+        final var symbols = PlayerSymbols.of(List.of(player1, player2));
+
+        final var hints = ProvidedHints.of(List.of(new PlayerWord(player2, "foo"), new PlayerWord(player3, "bar")),
+                                           symbols)
+                                       .normalisedWith(normaliser);
+
+        assertThat(hints).containsExactly(new PlayerWord(player2, "foo"), new PlayerWord(player3, "bar"));
+        assertThat(hints.withoutHintOf(player2)).containsExactly(new PlayerWord(player3, "bar"));
+        assertThat(hints.withoutHintOf(player1)).isSameAs(hints);
+    }
+}
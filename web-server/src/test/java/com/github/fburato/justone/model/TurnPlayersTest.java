@@ -0,0 +1,105 @@
+package com.github.fburato.justone.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.fburato.justone.RandomUtils.randomString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TurnPlayersTest {
+
+    private final TurnPlayer guesser = new TurnPlayer(randomString(), List.of(TurnRole.GUESSER));
+    private final TurnPlayer remover = new TurnPlayer(randomString(), List.of(TurnRole.REMOVER, TurnRole.PROVIDER));
+    private final TurnPlayer provider = new TurnPlayer(randomString(), List.of(TurnRole.PROVIDER));
+    private final TurnPlayers testee = TurnPlayers.of(new ArrayList<>(List.of(guesser, remover, provider)));
+
+    @Test
+    @DisplayName("should be equal to a list with the same players")
+    void equalToList() {
+        assertThat(testee).isEqualTo(List.of(guesser, remover, provider));
+        assertThat(testee.hashCode()).isEqualTo(List.of(guesser, remover, provider).hashCode());
+    }
+
+    @Test
+    @DisplayName("should return the same instance when already indexed")
+    void reuseInstance() {
+        assertThat(TurnPlayers.of(testee)).isSameAs(testee);
+    }
+
+    @Test
+    @DisplayName("should answer role membership of players in the turn")
+    void hasRole() {
+        assertThat(testee.hasRole(guesser.playerId(), TurnRole.GUESSER)).isTrue();
+        assertThat(testee.hasRole(guesser.playerId(), TurnRole.PROVIDER)).isFalse();
+        assertThat(testee.hasRole(remover.playerId(), TurnRole.REMOVER)).isTrue();
+        assertThat(testee.hasRole(remover.playerId(), TurnRole.PROVIDER)).isTrue();
+        assertThat(testee.hasRole(provider.playerId(), TurnRole.REMOVER)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should not assign roles to players not in the turn")
+    void noRoleForUnknown() {
+        assertThat(testee.hasRole(randomString(), TurnRole.PROVIDER)).isFalse();
+        assertThat(testee.hasRole(null, TurnRole.PROVIDER)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should count and list players by role in turn order")
+    void playersWithRole() {
+        assertThat(testee.countWithRole(TurnRole.PROVIDER)).isEqualTo(2);
+        assertThat(testee.playersWithRole(TurnRole.PROVIDER)).containsExactly(remover.playerId(),
+                                                                             provider.playerId());
+        assertThat(testee.playersWithRole(TurnRole.GUESSER)).containsExactly(guesser.playerId());
+    }
+
+    @Test
+    @DisplayName("should not be affected by changes to the source list")
+    void copySource() {
+        final var source = new ArrayList<>(List.of(guesser));
+        final var turnPlayers = TurnPlayers.of(source);
+
+        source.add(provider);
+
+        assertThat(turnPlayers).containsExactly(guesser);
+        assertThat(turnPlayers.hasRole(provider.playerId(), TurnRole.PROVIDER)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should list roles once each in declaration order")
+    void rolesAsSet() {
+        final var playerId = randomString();
+        final var turnPlayers = TurnPlayers.of(List.of(new TurnPlayer(playerId, List.of(TurnRole.PROVIDER,
+                                                                                        TurnRole.REMOVER,
+                                                                                        TurnRole.PROVIDER))));
+
+        assertThat(turnPlayers.get(0).roles()).containsExactly(TurnRole.REMOVER, TurnRole.PROVIDER);
+    }
+
+    @Test
+    @DisplayName("should encode every player of the game against the symbols of the game")
+    void ofPlayers() {
+        final var players = Players.of(List.of(new Player(guesser.playerId(), PlayerRole.HOST),
+                                               new Player(remover.playerId(), PlayerRole.PLAYER),
+                                               new Player(provider.playerId(), PlayerRole.PLAYER)));
+
+        final var turnPlayers = TurnPlayers.of(players, i -> List.of(guesser, remover, provider).get(i).roles());
+
+        assertThat(turnPlayers).isEqualTo(testee);
+        assertThat(turnPlayers.symbols()).isSameAs(players.symbols());
+        assertThat(TurnPlayers.of(turnPlayers, players.symbols())).isSameAs(turnPlayers);
+    }
+
+    @Test
+    @DisplayName("should remove a player keeping the symbols of the turn")
+    void without() {
+        final var withoutRemover = testee.without(remover.playerId());
+
+        assertThat(withoutRemover).containsExactly(guesser, provider);
+        assertThat(withoutRemover.hasRole(remover.playerId(), TurnRole.REMOVER)).isFalse();
+        assertThat(withoutRemover.symbols()).isSameAs(testee.symbols());
+        assertThat(testee.without(randomString())).isSameAs(testee);
+    }
+}
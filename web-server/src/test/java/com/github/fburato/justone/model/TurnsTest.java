@@ -0,0 +1,67 @@
+package com.github.fburato.justone.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.fburato.justone.RandomUtils.randomTurn;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TurnsTest {
+
+    private final Turn turn1 = randomTurn();
+    private final Turn turn2 = randomTurn();
+    private final Turn turn3 = randomTurn();
+
+    @Test
+    @DisplayName("should be equal to a list with the same turns")
+    void equalToList() {
+        final var turns = Turns.of(new ArrayList<>(List.of(turn1, turn2)));
+
+        assertThat(turns).isEqualTo(List.of(turn1, turn2));
+        assertThat(List.of(turn1, turn2)).isEqualTo(turns);
+        assertThat(turns.hashCode()).isEqualTo(List.of(turn1, turn2).hashCode());
+    }
+
+    @Test
+    @DisplayName("should return the same instance when already persistent")
+    void reuseInstance() {
+        final var turns = Turns.of(List.of(turn1));
+
+        assertThat(Turns.of(turns)).isSameAs(turns);
+    }
+
+    @Test
+    @DisplayName("should replace a turn leaving the original unchanged")
+    void updated() {
+        final var turns = Turns.of(List.of(turn1, turn2));
+
+        final var updated = turns.updated(1, turn3);
+
+        assertThat(updated).containsExactly(turn1, turn3);
+        assertThat(turns).containsExactly(turn1, turn2);
+    }
+
+    @Test
+    @DisplayName("should append a turn leaving the original unchanged")
+    void appended() {
+        final var turns = Turns.of(List.of(turn1));
+
+        final var appended = turns.appended(turn2);
+
+        assertThat(appended).containsExactly(turn1, turn2);
+        assertThat(turns).containsExactly(turn1);
+    }
+
+    @Test
+    @DisplayName("should not support mutation")
+    void immutable() {
+        final var turns = Turns.of(List.of(turn1));
+
+        assertThatThrownBy(() -> turns.set(0, turn2)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> turns.add(turn2)).isInstanceOf(UnsupportedOperationException.class);
+    }
+}
@@ -254,4 +254,35 @@ class GameConfigServiceTest {
                     .verifyComplete();
         }
     }
+    @Nested
+    @DisplayName("on getGameConfigsByHost should")
+    class GetGameConfigsByHostTests {
+        @Test
+        @DisplayName("return the game configs of the games hosted by the host")
+        void returnHostedConfigs() {
+            final var otherGameConfig1 = new GameConfig(randomString(), gameConfig1.host(), randomString(), List.of());
+            StepVerifier.create(testee.createGameConfig(gameConfig1))
+                    .assertNext(GameConfigServiceTest::anyNext)
+                    .verifyComplete();
+            StepVerifier.create(testee.createGameConfig(otherGameConfig1))
+                    .assertNext(GameConfigServiceTest::anyNext)
+                    .verifyComplete();
+            StepVerifier.create(testee.createGameConfig(gameConfig2))
+                    .assertNext(GameConfigServiceTest::anyNext)
+                    .verifyComplete();
+
+            StepVerifier.create(testee.getGameConfigsByHost(gameConfig1.host()).buffer(2))
+                    .assertNext(res -> assertThat(res).containsExactlyInAnyOrder(gameConfig1, otherGameConfig1))
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("return empty if the host has no game")
+        void emptyOnNoHostedGames() {
+            gameConfigCrudRepository.save(gameConfig1);
+
+            StepVerifier.create(testee.getGameConfigsByHost(randomString()))
+                    .verifyComplete();
+        }
+    }
 }
\ No newline at end of file
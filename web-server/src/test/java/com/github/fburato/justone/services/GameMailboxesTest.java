@@ -0,0 +1,589 @@
+package com.github.fburato.justone.services;
+
+import com.github.fburato.justone.game.engine.Engine;
+import com.github.fburato.justone.internals.CrudRepository;
+import com.github.fburato.justone.io.InMemoryCrudRepository;
+import com.github.fburato.justone.model.Action;
+import com.github.fburato.justone.model.GameState;
+import com.github.fburato.justone.model.GameStatus;
+import com.github.fburato.justone.model.TurnAction;
+import com.github.fburato.justone.model.TurnPhase;
+import io.vavr.control.Try;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static com.github.fburato.justone.RandomUtils.randomGameState;
+import static com.github.fburato.justone.RandomUtils.randomString;
+import static com.github.fburato.justone.RandomUtils.randomTurn;
+import static com.github.fburato.justone.model.Builders.gameStateBuilder;
+import static com.github.fburato.justone.model.Builders.turnBuilder;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GameMailboxesTest {
+
+    private final Engine engine = mock(Engine.class);
+    private final CrudRepository<String, GameState> gameStateRepository =
+            spy(new InMemoryCrudRepository<String, GameState>(GameState::id));
+    private final List<Runnable> pendingTasks = new ArrayList<>();
+    private final GameMailboxes testee = new GameMailboxes(engine, gameStateRepository, queued(32));
+    private TimingWheel timingWheel;
+    private final GameState gameState = gameStateBuilder(randomGameState())
+            .with(gsb -> gsb.currentTurn = 0)
+            .build();
+
+    private static Action<Void> someAction() {
+        return new Action<>(randomString(), TurnAction.PROCEED, Void.class, null);
+    }
+
+    private static Action<Void> undo() {
+        return new Action<>(randomString(), TurnAction.UNDO, Void.class, null);
+    }
+
+    private static Try<GameState> previousVersion(GameState previousVersion) {
+        return previousVersion == null
+                ? Try.failure(new IllegalStateException("nothing to undo"))
+                : Try.success(previousVersion);
+    }
+
+    private static Try<GameState> nextTurn(GameState gameState) {
+        return Try.success(gameStateBuilder(gameState)
+                                   .with(gsb -> gsb.currentTurn = gameState.currentTurn() + 1)
+                                   .build());
+    }
+
+    private static boolean byRoot(Action<?> action) {
+        return action != null && Engine.ROOT.equals(action.playerId());
+    }
+
+    /**
+     * @return the settings of mailboxes drained when the test runs the pending tasks
+     */
+    private GameStateService.Settings queued(int maxBatchSize) {
+        return new GameStateService.Settings(Schedulers.fromExecutor(pendingTasks::add), maxBatchSize,
+                                             GameMailboxes.DEFAULT_UNDO_DEPTH, TurnDeadlines.NONE);
+    }
+
+    private void runPendingTasks() {
+        while (!pendingTasks.isEmpty()) {
+            pendingTasks.remove(0).run();
+        }
+    }
+
+    private <T> AtomicReference<Object> subscribe(Mono<T> mono) {
+        final var result = new AtomicReference<>();
+        mono.subscribe(result::set, result::set);
+        return result;
+    }
+
+    @Test
+    @DisplayName("should complete with empty if game does not exist")
+    void emptyOnMissingGame() {
+        final var result = subscribe(testee.submit(gameState.id(), someAction()));
+
+        runPendingTasks();
+
+        assertThat(result.get()).isEqualTo(Optional.empty());
+        verify(engine, never()).execute(any(), any());
+    }
+
+    @Test
+    @DisplayName("should apply queued actions in order reading and saving the game once per batch")
+    void foldBatch() {
+        gameStateRepository.save(gameState);
+        when(engine.execute(any(), any())).thenAnswer(inv -> nextTurn(inv.getArgument(0)));
+        final var actions = IntStream.range(0, 3).mapToObj(i -> someAction()).toList();
+
+        final var results = actions.stream()
+                                   .map(action -> subscribe(testee.submit(gameState.id(), action)))
+                                   .toList();
+        runPendingTasks();
+
+        assertThat(results).extracting(AtomicReference::get)
+                           .extracting(r -> ((Optional<?>) r).map(gs -> ((GameState) gs).currentTurn()))
+                           .containsExactly(Optional.of(1), Optional.of(2), Optional.of(3));
+        verify(gameStateRepository, times(2)).save(any());
+        verify(gameStateRepository, times(1)).findById(gameState.id());
+        assertThat(gameStateRepository.findById(gameState.id()))
+                .hasValueSatisfying(gs -> assertThat(gs.currentTurn()).isEqualTo(3));
+    }
+
+    @Test
+    @DisplayName("should keep applying the batch after a failed action")
+    void isolateFailures() {
+        gameStateRepository.save(gameState);
+        final var failing = someAction();
+        final var exception = new RuntimeException(randomString());
+        when(engine.execute(any(), any())).thenAnswer(inv -> nextTurn(inv.getArgument(0)));
+        doReturn(Try.failure(exception)).when(engine).execute(any(), argThat(failing::equals));
+
+        final var first = subscribe(testee.submit(gameState.id(), someAction()));
+        final var second = subscribe(testee.submit(gameState.id(), failing));
+        final var third = subscribe(testee.submit(gameState.id(), someAction()));
+        runPendingTasks();
+
+        assertThat(first.get()).isInstanceOfSatisfying(Optional.class, gs ->
+                assertThat(((GameState) gs.orElseThrow()).currentTurn()).isEqualTo(1));
+        assertThat(second.get()).isEqualTo(exception);
+        assertThat(third.get()).isInstanceOfSatisfying(Optional.class, gs ->
+                assertThat(((GameState) gs.orElseThrow()).currentTurn()).isEqualTo(2));
+    }
+
+    @Test
+    @DisplayName("should not save if every action of the batch fails")
+    void noSaveOnAllFailures() {
+        gameStateRepository.save(gameState);
+        final var exception = new RuntimeException(randomString());
+        when(engine.execute(any(), any())).thenReturn(Try.failure(exception));
+
+        final var result = subscribe(testee.submit(gameState.id(), someAction()));
+        runPendingTasks();
+
+        assertThat(result.get()).isEqualTo(exception);
+        verify(gameStateRepository, times(1)).save(any());
+    }
+
+    @Test
+    @DisplayName("should split queued actions in batches of at most maxBatchSize")
+    void boundedBatches() {
+        final var smallBatches = new GameMailboxes(engine, gameStateRepository, queued(2));
+        gameStateRepository.save(gameState);
+        when(engine.execute(any(), any())).thenAnswer(inv -> nextTurn(inv.getArgument(0)));
+
+        IntStream.range(0, 5).forEach(i -> subscribe(smallBatches.submit(gameState.id(), someAction())));
+        runPendingTasks();
+
+        verify(gameStateRepository, times(3)).findById(gameState.id());
+        assertThat(gameStateRepository.findById(gameState.id()))
+                .hasValueSatisfying(gs -> assertThat(gs.currentTurn()).isEqualTo(5));
+    }
+
+    @Test
+    @DisplayName("should apply concurrent actions on the same game without losing updates")
+    void serialiseConcurrentActions() {
+        final var parallel = new GameMailboxes(engine, gameStateRepository,
+                                               new GameStateService.Settings(Schedulers.parallel(), 32,
+                                                                             GameMailboxes.DEFAULT_UNDO_DEPTH,
+                                                                             TurnDeadlines.NONE));
+        gameStateRepository.save(gameState);
+        when(engine.execute(any(), any())).thenAnswer(inv -> nextTurn(inv.getArgument(0)));
+
+        final var all = IntStream.range(0, 200)
+                                 .mapToObj(i -> parallel.submit(gameState.id(), someAction())
+                                                        .subscribeOn(Schedulers.parallel()))
+                                 .toList();
+
+        StepVerifier.create(Mono.when(all))
+                    .verifyComplete();
+        assertThat(gameStateRepository.findById(gameState.id()))
+                .hasValueSatisfying(gs -> assertThat(gs.currentTurn()).isEqualTo(200));
+    }
+
+    @Test
+    @DisplayName("should undo the last effective action restoring the previous version")
+    void undoLastAction() {
+        gameStateRepository.save(gameState);
+        when(engine.execute(any(), any())).thenAnswer(inv -> nextTurn(inv.getArgument(0)));
+        when(engine.undo(any(), any(), any())).thenAnswer(inv -> previousVersion(inv.getArgument(2)));
+
+        subscribe(testee.submit(gameState.id(), someAction()));
+        runPendingTasks();
+        final var afterFirst = gameStateRepository.findById(gameState.id()).orElseThrow();
+        subscribe(testee.submit(gameState.id(), someAction()));
+        runPendingTasks();
+        final var firstUndo = subscribe(testee.submit(gameState.id(), undo()));
+        runPendingTasks();
+        final var secondUndo = subscribe(testee.submit(gameState.id(), undo()));
+        runPendingTasks();
+
+        assertThat(firstUndo.get()).isEqualTo(Optional.of(afterFirst));
+        assertThat(secondUndo.get()).isEqualTo(Optional.of(gameState));
+        assertThat(gameStateRepository.findById(gameState.id())).containsSame(gameState);
+    }
+
+    @Test
+    @DisplayName("should keep at most undoDepth versions of a game")
+    void boundedVersions() {
+        final var shallow = new GameMailboxes(engine, gameStateRepository, queued(32).withUndoDepth(1));
+        gameStateRepository.save(gameState);
+        when(engine.execute(any(), any())).thenAnswer(inv -> nextTurn(inv.getArgument(0)));
+        when(engine.undo(any(), any(), any())).thenAnswer(inv -> previousVersion(inv.getArgument(2)));
+
+        subscribe(shallow.submit(gameState.id(), someAction()));
+        subscribe(shallow.submit(gameState.id(), someAction()));
+        subscribe(shallow.submit(gameState.id(), undo()));
+        subscribe(shallow.submit(gameState.id(), undo()));
+        runPendingTasks();
+
+        verify(engine).undo(any(), any(), argThat(gs -> gs != null && gs.currentTurn() == 1));
+        verify(engine).undo(any(), any(), argThat(gs -> gs == null));
+    }
+
+    @Test
+    @DisplayName("should not record a version for actions leaving the game unchanged")
+    void noVersionOnFailure() {
+        gameStateRepository.save(gameState);
+        when(engine.execute(any(), any())).thenReturn(Try.failure(new RuntimeException(randomString())));
+        when(engine.undo(any(), any(), any())).thenAnswer(inv -> previousVersion(inv.getArgument(2)));
+
+        subscribe(testee.submit(gameState.id(), someAction()));
+        subscribe(testee.submit(gameState.id(), undo()));
+        runPendingTasks();
+
+        verify(engine).undo(any(), any(), argThat(gs -> gs == null));
+    }
+
+    @Test
+    @DisplayName("should forget the versions recorded by a batch whose state could not be saved")
+    void noVersionOnFailedSave() {
+        gameStateRepository.save(gameState);
+        when(engine.execute(any(), any())).thenAnswer(inv -> nextTurn(inv.getArgument(0)));
+        when(engine.undo(any(), any(), any())).thenAnswer(inv -> previousVersion(inv.getArgument(2)));
+        final var exception = new RuntimeException(randomString());
+        doThrow(exception).doCallRealMethod().when(gameStateRepository).save(any());
+
+        final var failed = subscribe(testee.submit(gameState.id(), someAction()));
+        runPendingTasks();
+        final var undone = subscribe(testee.submit(gameState.id(), undo()));
+        runPendingTasks();
+
+        assertThat(failed.get()).isEqualTo(exception);
+        assertThat(undone.get()).isInstanceOf(IllegalStateException.class);
+        verify(engine).undo(any(), any(), argThat(gs -> gs == null));
+        assertThat(gameStateRepository.findById(gameState.id())).containsSame(gameState);
+    }
+
+    @Test
+    @DisplayName("should keep the versions forgotten by an undo whose state could not be saved")
+    void keepVersionOnFailedUndo() {
+        gameStateRepository.save(gameState);
+        when(engine.execute(any(), any())).thenAnswer(inv -> nextTurn(inv.getArgument(0)));
+        when(engine.undo(any(), any(), any())).thenAnswer(inv -> previousVersion(inv.getArgument(2)));
+        subscribe(testee.submit(gameState.id(), someAction()));
+        runPendingTasks();
+        doThrow(new RuntimeException(randomString())).doCallRealMethod().when(gameStateRepository).save(any());
+
+        subscribe(testee.submit(gameState.id(), undo()));
+        runPendingTasks();
+        final var undone = subscribe(testee.submit(gameState.id(), undo()));
+        runPendingTasks();
+
+        assertThat(undone.get()).isEqualTo(Optional.of(gameState));
+        assertThat(gameStateRepository.findById(gameState.id())).containsSame(gameState);
+    }
+
+    @Test
+    @DisplayName("should not undo moving the game forward after a deadline expired")
+    void noUndoOfExpiredDeadline() {
+        final var clock = new AtomicLong();
+        final var withDeadlines = withDeadlines(clock);
+        gameStateRepository.save(inSelection());
+        when(engine.execute(any(), any())).thenAnswer(inv -> nextTurn(inv.getArgument(0)));
+        when(engine.undo(any(), any(), any())).thenAnswer(inv -> previousVersion(inv.getArgument(2)));
+
+        withDeadlines.arm(gameState.id());
+        runPendingTasks();
+        subscribe(withDeadlines.submit(gameState.id(), someAction()));
+        runPendingTasks();
+        timingWheel.advanceTo(clock.addAndGet(Duration.ofMillis(50).toNanos()));
+        runPendingTasks();
+        verify(engine, times(1)).execute(any(), argThat(GameMailboxesTest::byRoot));
+        final var undone = subscribe(withDeadlines.submit(gameState.id(), undo()));
+        runPendingTasks();
+
+        assertThat(undone.get()).isInstanceOf(IllegalStateException.class);
+        verify(engine).undo(any(), any(), argThat(gs -> gs == null));
+        assertThat(gameStateRepository.findById(gameState.id()))
+                .hasValueSatisfying(gs -> assertThat(gs.currentTurn()).isEqualTo(2));
+    }
+
+    @Test
+    @DisplayName("should proceed as root when the deadline of the current phase expires")
+    void proceedOnDeadline() {
+        final var clock = new AtomicLong();
+        final var withDeadlines = withDeadlines(clock);
+        gameStateRepository.save(inSelection());
+        when(engine.execute(any(), any())).thenAnswer(inv -> Try.success(inv.getArgument(0)));
+        doAnswer(inv -> nextTurn(inv.getArgument(0))).when(engine).execute(any(), argThat(GameMailboxesTest::byRoot));
+
+        subscribe(withDeadlines.submit(gameState.id(), someAction()));
+        runPendingTasks();
+        timingWheel.advanceTo(clock.addAndGet(Duration.ofMillis(40).toNanos()));
+        runPendingTasks();
+
+        verify(engine, never()).execute(any(), argThat(GameMailboxesTest::byRoot));
+
+        timingWheel.advanceTo(clock.addAndGet(Duration.ofMillis(10).toNanos()));
+        runPendingTasks();
+
+        verify(engine, times(1)).execute(any(), argThat(GameMailboxesTest::byRoot));
+        assertThat(gameStateRepository.findById(gameState.id()))
+                .hasValueSatisfying(gs -> assertThat(gs.currentTurn()).isEqualTo(1));
+    }
+
+    @Test
+    @DisplayName("should not proceed as root if the game left the phase before the deadline expired")
+    void ignoreStaleDeadlines() {
+        final var clock = new AtomicLong();
+        final var withDeadlines = withDeadlines(clock);
+        final var inSelection = inSelection();
+        gameStateRepository.save(gameStateBuilder(inSelection)
+                                         .with(gsb -> gsb.turns = List.of(inSelection.turns().get(0)))
+                                         .build());
+        when(engine.execute(any(), any())).thenAnswer(inv -> Try.success(inv.getArgument(0)));
+        doAnswer(inv -> nextTurn(inv.getArgument(0))).when(engine).execute(any(), argThat(a -> !byRoot(a)));
+
+        subscribe(withDeadlines.submit(gameState.id(), someAction()));
+        runPendingTasks();
+        timingWheel.advanceTo(clock.addAndGet(Duration.ofMillis(100).toNanos()));
+        runPendingTasks();
+
+        verify(engine, never()).execute(any(), argThat(GameMailboxesTest::byRoot));
+    }
+
+    @Test
+    @DisplayName("should arm the deadline of a game when it is created")
+    void armOnCreation() {
+        final var clock = new AtomicLong();
+        final var withDeadlines = withDeadlines(clock);
+        doAnswer(inv -> nextTurn(inv.getArgument(0))).when(engine).execute(any(), argThat(GameMailboxesTest::byRoot));
+
+        subscribe(withDeadlines.create(inSelection()));
+        runPendingTasks();
+        timingWheel.advanceTo(clock.addAndGet(Duration.ofMillis(50).toNanos()));
+        runPendingTasks();
+
+        verify(engine, times(1)).execute(any(), argThat(GameMailboxesTest::byRoot));
+        assertThat(gameStateRepository.findById(gameState.id()))
+                .hasValueSatisfying(gs -> assertThat(gs.currentTurn()).isEqualTo(1));
+    }
+
+    @Test
+    @DisplayName("should arm the deadline of an existing game on request")
+    void armOnRequest() {
+        final var clock = new AtomicLong();
+        final var withDeadlines = withDeadlines(clock);
+        gameStateRepository.save(inSelection());
+        doAnswer(inv -> nextTurn(inv.getArgument(0))).when(engine).execute(any(), argThat(GameMailboxesTest::byRoot));
+
+        withDeadlines.arm(gameState.id());
+        runPendingTasks();
+        timingWheel.advanceTo(clock.addAndGet(Duration.ofMillis(50).toNanos()));
+        runPendingTasks();
+
+        verify(engine, times(1)).execute(any(), argThat(GameMailboxesTest::byRoot));
+        verify(gameStateRepository, times(1)).save(argThat(gs -> gs.currentTurn() == 1));
+    }
+
+    @Test
+    @DisplayName("should arm the deadline again, backing off, if proceeding as root fails")
+    void rearmOnFailedExpiry() {
+        final var clock = new AtomicLong();
+        final var withDeadlines = withDeadlines(clock);
+        gameStateRepository.save(inSelection());
+        final var failures = new AtomicLong(2);
+        doAnswer(inv -> failures.getAndDecrement() > 0
+                ? Try.failure(new RuntimeException(randomString()))
+                : nextTurn(inv.getArgument(0))).when(engine).execute(any(), argThat(GameMailboxesTest::byRoot));
+
+        withDeadlines.arm(gameState.id());
+        runPendingTasks();
+        timingWheel.advanceTo(clock.addAndGet(Duration.ofMillis(50).toNanos()));
+        runPendingTasks();
+        verify(engine, times(1)).execute(any(), argThat(GameMailboxesTest::byRoot));
+
+        timingWheel.advanceTo(clock.addAndGet(Duration.ofMillis(90).toNanos()));
+        runPendingTasks();
+        verify(engine, times(1)).execute(any(), argThat(GameMailboxesTest::byRoot));
+
+        timingWheel.advanceTo(clock.addAndGet(Duration.ofMillis(10).toNanos()));
+        runPendingTasks();
+        verify(engine, times(2)).execute(any(), argThat(GameMailboxesTest::byRoot));
+
+        timingWheel.advanceTo(clock.addAndGet(Duration.ofMillis(200).toNanos()));
+        runPendingTasks();
+        verify(engine, times(3)).execute(any(), argThat(GameMailboxesTest::byRoot));
+        assertThat(gameStateRepository.findById(gameState.id()))
+                .hasValueSatisfying(gs -> assertThat(gs.currentTurn()).isEqualTo(1));
+    }
+
+    @Test
+    @DisplayName("should not proceed as root on deleted games")
+    void disarmOnDeletion() {
+        final var clock = new AtomicLong();
+        final var withDeadlines = withDeadlines(clock);
+        gameStateRepository.save(inSelection());
+        when(engine.execute(any(), any())).thenAnswer(inv -> Try.success(inv.getArgument(0)));
+
+        subscribe(withDeadlines.submit(gameState.id(), someAction()));
+        runPendingTasks();
+        subscribe(withDeadlines.delete(gameState.id()));
+        runPendingTasks();
+        timingWheel.advanceTo(clock.addAndGet(Duration.ofMillis(100).toNanos()));
+        runPendingTasks();
+
+        verify(engine, never()).execute(any(), argThat(GameMailboxesTest::byRoot));
+    }
+
+    @Test
+    @DisplayName("should delete the game after the actions queued before the deletion")
+    void deleteInOrder() {
+        gameStateRepository.save(gameState);
+        when(engine.execute(any(), any())).thenAnswer(inv -> nextTurn(inv.getArgument(0)));
+
+        final var before = subscribe(testee.submit(gameState.id(), someAction()));
+        final var deleted = subscribe(testee.delete(gameState.id()));
+        final var after = subscribe(testee.submit(gameState.id(), someAction()));
+        runPendingTasks();
+
+        assertThat(before.get()).isInstanceOfSatisfying(Optional.class, gs ->
+                assertThat(((GameState) gs.orElseThrow()).currentTurn()).isEqualTo(1));
+        assertThat(deleted.get()).isInstanceOfSatisfying(Optional.class, gs ->
+                assertThat(((GameState) gs.orElseThrow()).currentTurn()).isEqualTo(1));
+        assertThat(after.get()).isEqualTo(Optional.empty());
+        assertThat(gameStateRepository.findById(gameState.id())).isEmpty();
+        verify(gameStateRepository, never()).save(argThat(gs -> gs.currentTurn() == 1));
+    }
+
+    @Test
+    @DisplayName("should complete with empty when deleting a game which does not exist")
+    void deleteMissingGame() {
+        final var deleted = subscribe(testee.delete(gameState.id()));
+        runPendingTasks();
+
+        assertThat(deleted.get()).isEqualTo(Optional.empty());
+        verify(gameStateRepository, never()).delete(any());
+    }
+
+    @Test
+    @DisplayName("should create the game forgetting the versions of the game it replaces")
+    void createReplacingGame() {
+        gameStateRepository.save(gameState);
+        when(engine.execute(any(), any())).thenAnswer(inv -> nextTurn(inv.getArgument(0)));
+        when(engine.undo(any(), any(), any())).thenAnswer(inv -> previousVersion(inv.getArgument(2)));
+        final var replacement = gameStateBuilder(gameState)
+                .with(gsb -> gsb.currentTurn = 42)
+                .build();
+
+        subscribe(testee.submit(gameState.id(), someAction()));
+        final var created = subscribe(testee.create(replacement));
+        subscribe(testee.submit(gameState.id(), undo()));
+        runPendingTasks();
+
+        assertThat(created.get()).isEqualTo(replacement);
+        assertThat(gameStateRepository.findById(gameState.id())).containsSame(replacement);
+        verify(engine).undo(any(), any(), argThat(gs -> gs == null));
+    }
+
+    @Test
+    @DisplayName("should drop the mailbox of a game which does not exist")
+    void dropMailboxOfMissingGame() {
+        IntStream.range(0, 10).forEach(i -> subscribe(testee.submit(randomString(), someAction())));
+        runPendingTasks();
+
+        assertThat(testee.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("should drop the mailbox of a deleted game")
+    void dropMailboxOfDeletedGame() {
+        gameStateRepository.save(gameState);
+
+        subscribe(testee.delete(gameState.id()));
+        runPendingTasks();
+
+        assertThat(testee.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("should drop idle mailboxes without deadlines armed")
+    void dropIdleMailbox() {
+        final var clock = new AtomicLong();
+        final var idle = withIdleTimeout(clock, TurnDeadlines.NONE);
+        gameStateRepository.save(gameState);
+        when(engine.execute(any(), any())).thenAnswer(inv -> nextTurn(inv.getArgument(0)));
+
+        subscribe(idle.submit(gameState.id(), someAction()));
+        runPendingTasks();
+        timingWheel.advanceTo(clock.addAndGet(Duration.ofMillis(150).toNanos()));
+        subscribe(idle.submit(gameState.id(), someAction()));
+        runPendingTasks();
+        timingWheel.advanceTo(clock.addAndGet(Duration.ofMillis(150).toNanos()));
+
+        assertThat(idle.size()).isEqualTo(1);
+
+        timingWheel.advanceTo(clock.addAndGet(Duration.ofMillis(100).toNanos()));
+
+        assertThat(idle.size()).isZero();
+        subscribe(idle.submit(gameState.id(), someAction()));
+        runPendingTasks();
+        assertThat(gameStateRepository.findById(gameState.id()))
+                .hasValueSatisfying(gs -> assertThat(gs.currentTurn()).isEqualTo(3));
+    }
+
+    @Test
+    @DisplayName("should keep idle mailboxes with a deadline armed")
+    void keepMailboxWithDeadline() {
+        final var clock = new AtomicLong();
+        final var deadline = Duration.ofSeconds(1);
+        final var idle = withIdleTimeout(clock, new TurnDeadlines(deadline, deadline, deadline));
+        gameStateRepository.save(inSelection());
+        when(engine.execute(any(), any())).thenAnswer(inv -> Try.success(inv.getArgument(0)));
+
+        subscribe(idle.submit(gameState.id(), someAction()));
+        runPendingTasks();
+        timingWheel.advanceTo(clock.addAndGet(Duration.ofMillis(500).toNanos()));
+
+        assertThat(idle.size()).isEqualTo(1);
+    }
+
+    private GameState inSelection() {
+        final var selection = turnBuilder(randomTurn())
+                .with(tb -> tb.phase = TurnPhase.SELECTION)
+                .build();
+        return gameStateBuilder(gameState)
+                .with(gsb -> {
+                    gsb.status = GameStatus.IN_PROGRESS;
+                    gsb.turns = List.of(selection, selection);
+                })
+                .build();
+    }
+
+    private GameMailboxes withIdleTimeout(AtomicLong clock, TurnDeadlines turnDeadlines) {
+        timingWheel = new TimingWheel(Duration.ofMillis(10), 8, runnable -> new Thread(() -> {
+        }), clock::get);
+        return new GameMailboxes(engine, gameStateRepository, queued(32).withTurnDeadlines(turnDeadlines),
+                                 timingWheel, Duration.ofMillis(200));
+    }
+
+    private GameMailboxes withDeadlines(AtomicLong clock) {
+        // the worker of the wheel never runs: tests advance the wheel themselves
+        timingWheel = new TimingWheel(Duration.ofMillis(10), 8, runnable -> new Thread(() -> {
+        }), clock::get);
+        final var deadline = Duration.ofMillis(50);
+        return new GameMailboxes(engine, gameStateRepository,
+                                 queued(32).withTurnDeadlines(new TurnDeadlines(deadline, deadline, deadline)),
+                                 timingWheel, GameMailboxes.DEFAULT_IDLE_TIMEOUT);
+    }
+}
@@ -2,12 +2,19 @@ package com.github.fburato.justone.services;
 
 
 import com.fasterxml.jackson.databind.node.TextNode;
+import com.github.fburato.justone.game.engine.BatchExecution;
+import com.github.fburato.justone.game.engine.BatchMode;
 import com.github.fburato.justone.game.engine.Engine;
+import com.github.fburato.justone.game.errors.ErrorCode;
 import com.github.fburato.justone.internals.CrudRepository;
 import com.github.fburato.justone.io.InMemoryCrudRepository;
 import com.github.fburato.justone.model.Action;
 import com.github.fburato.justone.model.GameState;
+import com.github.fburato.justone.model.GameStatus;
+import com.github.fburato.justone.model.GameStateSummary;
 import com.github.fburato.justone.model.TurnAction;
+import com.github.fburato.justone.model.TurnPhase;
+import com.github.fburato.justone.model.Words;
 import io.vavr.control.Try;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -16,18 +23,27 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
 
 import static com.github.fburato.justone.RandomUtils.randomGameState;
 import static com.github.fburato.justone.RandomUtils.randomString;
+import static com.github.fburato.justone.RandomUtils.randomTurn;
+import static com.github.fburato.justone.model.Builders.gameStateBuilder;
+import static com.github.fburato.justone.model.Builders.turnBuilder;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.nullable;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -35,7 +51,8 @@ class GameStateServiceTest {
 
     private final CrudRepository<String, GameState> gameStateRepository = new InMemoryCrudRepository<>(GameState::id);
     private final Engine engine = mock(Engine.class);
-    private final GameStateService testee = new GameStateService(engine, gameStateRepository);
+    private final GameStateService testee = new GameStateService(engine, gameStateRepository,
+                                                               GameStateService.Settings.DEFAULT);
 
     private final GameState gameState1 = randomGameState();
     private final GameState gameState2 = randomGameState();
@@ -136,21 +153,21 @@ class GameStateServiceTest {
         @Test
         @DisplayName("should generate game state from engine")
         void initFromEngine() {
-            when(engine.init(anyString(), anyString(), any(), any()))
+            when(engine.init(anyString(), anyString(), any(), any(), nullable(String.class)))
                     .thenReturn(Try.success(gameState1));
 
             StepVerifier.create(testee.createGameState(id, request))
                         .assertNext(GameStateServiceTest::anyNext)
                         .verifyComplete();
 
-            verify(engine).init(id, request.host(), request.players(), request.wordsToGuess());
+            verify(engine).init(id, request.host(), request.players(), request.wordsToGuess(), request.languageId());
         }
 
         @Test
         @DisplayName("should return game generated by engine")
         void returnGameFromEngine() {
 
-            when(engine.init(anyString(), anyString(), any(), any()))
+            when(engine.init(anyString(), anyString(), any(), any(), nullable(String.class)))
                     .thenReturn(Try.success(gameState1));
 
             StepVerifier.create(testee.createGameState(id, request))
@@ -161,7 +178,7 @@ class GameStateServiceTest {
         @Test
         @DisplayName("should save game generated by engine in repository")
         void saveGameInRepository() {
-            when(engine.init(anyString(), anyString(), any(), any()))
+            when(engine.init(anyString(), anyString(), any(), any(), nullable(String.class)))
                     .thenReturn(Try.success(gameState1));
 
             StepVerifier.create(testee.createGameState(id, request))
@@ -175,7 +192,7 @@ class GameStateServiceTest {
         @DisplayName("should return failure if initialisation fails")
         void failOnInitialisationFailure() {
             final var exception = new RuntimeException(randomString());
-            when(engine.init(anyString(), anyString(), any(), any()))
+            when(engine.init(anyString(), anyString(), any(), any(), nullable(String.class)))
                     .thenReturn(Try.failure(exception));
 
             StepVerifier.create(testee.createGameState(id, request))
@@ -214,7 +231,7 @@ class GameStateServiceTest {
         }
 
         @ParameterizedTest
-        @EnumSource(value = TurnAction.class, mode = EnumSource.Mode.EXCLUDE, names = {"PROCEED", "CANCEL_PROVIDED_HINT", "CANCEL_GAME"})
+        @EnumSource(value = TurnAction.class, mode = EnumSource.Mode.EXCLUDE, names = {"PROCEED", "CANCEL_PROVIDED_HINT", "CANCEL_GAME", "UNDO"})
         @DisplayName("compile action request requiring strings in the expected action")
         void compileStringActions(TurnAction turnAction) {
             final var actionRequest = new GameStateService.ActionRequest(
@@ -253,7 +270,7 @@ class GameStateServiceTest {
 
         @ParameterizedTest
         @DisplayName("fail if string action payload is not textual")
-        @EnumSource(value = TurnAction.class, mode = EnumSource.Mode.EXCLUDE, names = {"PROCEED", "CANCEL_PROVIDED_HINT", "CANCEL_GAME"})
+        @EnumSource(value = TurnAction.class, mode = EnumSource.Mode.EXCLUDE, names = {"PROCEED", "CANCEL_PROVIDED_HINT", "CANCEL_GAME", "UNDO"})
         void failOnNotTextForStringActions(TurnAction turnAction) {
             final var actionRequest = new GameStateService.ActionRequest(
                     playerId,
@@ -310,6 +327,327 @@ class GameStateServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("on executeActions should")
+    class ExecuteActionsTest {
+        private final String playerId = randomString();
+        private final String payload = randomString();
+        private final GameStateService.BatchActionRequest batchRequest = new GameStateService.BatchActionRequest(
+                List.of(new GameStateService.ActionRequest(playerId, TurnAction.PROCEED, null),
+                        new GameStateService.ActionRequest(playerId, TurnAction.PROVIDE_HINT, new TextNode(payload))),
+                BatchMode.STOP_AT_FIRST_FAILURE);
+
+        @Test
+        @DisplayName("execute the compiled actions on the engine with gameState from repository")
+        void executeAll() {
+            gameStateRepository.save(gameState1);
+            final var execution = new BatchExecution(gameState2, List.of(Try.success(gameState2)));
+            when(engine.executeAll(any(), any(), any())).thenReturn(execution);
+
+            StepVerifier.create(testee.executeActions(gameState1.id(), batchRequest))
+                        .expectNext(Optional.of(execution))
+                        .verifyComplete();
+
+            verify(engine).executeAll(gameState1,
+                                      List.of(new Action<>(playerId, TurnAction.PROCEED, Void.class, null),
+                                              new Action<>(playerId, TurnAction.PROVIDE_HINT, String.class, payload)),
+                                      BatchMode.STOP_AT_FIRST_FAILURE);
+            assertThat(gameStateRepository.findById(gameState2.id())).contains(gameState2);
+        }
+
+        @Test
+        @DisplayName("return empty if gameState does not exist")
+        void returnEmptyOnNotExisting() {
+            StepVerifier.create(testee.executeActions(gameState1.id(), batchRequest))
+                        .expectNext(Optional.empty())
+                        .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("not save if the batch leaves the state unchanged")
+        void noSaveOnUnchanged() {
+            gameStateRepository.save(gameState1);
+            when(engine.executeAll(any(), any(), any()))
+                    .thenReturn(new BatchExecution(gameState1, List.of(Try.failure(new RuntimeException()))));
+
+            StepVerifier.create(testee.executeActions(gameState1.id(), batchRequest))
+                        .assertNext(GameStateServiceTest::anyNext)
+                        .verifyComplete();
+
+            assertThat(gameStateRepository.findById(gameState2.id())).isEmpty();
+        }
+
+        @Test
+        @DisplayName("fail without executing any action if an action payload is not textual")
+        void failOnInvalidPayload() {
+            gameStateRepository.save(gameState1);
+            final var invalidRequest = new GameStateService.BatchActionRequest(
+                    List.of(new GameStateService.ActionRequest(playerId, TurnAction.PROVIDE_HINT, null)),
+                    BatchMode.ALL_OR_NOTHING);
+
+            StepVerifier.create(testee.executeActions(gameState1.id(), invalidRequest))
+                        .verifyError(IllegalArgumentException.class);
+
+            verify(engine, never()).executeAll(any(), any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("on validateAction should")
+    class ValidateActionTest {
+        private final String playerId = randomString();
+        private final String payload = randomString();
+        private final GameStateService.ActionRequest actionRequest = new GameStateService.ActionRequest(
+                playerId, TurnAction.PROVIDE_HINT, new TextNode(payload));
+
+        @Test
+        @DisplayName("check the compiled action on the engine with gameState from repository")
+        void checkOnEngine() {
+            gameStateRepository.save(gameState1);
+            when(engine.check(any(), any())).thenReturn(List.of(ErrorCode.UNAUTHORISED_ACTION));
+
+            StepVerifier.create(testee.validateAction(gameState1.id(), actionRequest))
+                        .expectNext(Optional.of(List.of(ErrorCode.UNAUTHORISED_ACTION)))
+                        .verifyComplete();
+
+            verify(engine).check(gameState1, new Action<>(playerId, TurnAction.PROVIDE_HINT, String.class, payload));
+            verify(engine, never()).execute(any(), any());
+        }
+
+        @Test
+        @DisplayName("not save the game state")
+        void noSave() {
+            gameStateRepository.save(gameState1);
+            when(engine.check(any(), any())).thenReturn(List.of());
+
+            StepVerifier.create(testee.validateAction(gameState1.id(), actionRequest))
+                        .expectNext(Optional.of(List.of()))
+                        .verifyComplete();
+
+            assertThat(gameStateRepository.findById(gameState1.id())).containsSame(gameState1);
+        }
+
+        @Test
+        @DisplayName("return empty if gameState does not exist")
+        void returnEmptyOnNotExisting() {
+            StepVerifier.create(testee.validateAction(gameState1.id(), actionRequest))
+                        .expectNext(Optional.empty())
+                        .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("fail if string action payload is not textual")
+        void failOnInvalidPayload() {
+            gameStateRepository.save(gameState1);
+
+            StepVerifier.create(testee.validateAction(gameState1.id(),
+                                                      new GameStateService.ActionRequest(playerId,
+                                                                                         TurnAction.PROVIDE_HINT,
+                                                                                         null)))
+                        .verifyError(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("on game state summaries should")
+    class SummaryTest {
+
+        @Test
+        @DisplayName("return empty if gameState does not exist")
+        void returnEmptyOnNotExisting() {
+            StepVerifier.create(testee.getGameStateSummary(gameState1.id()))
+                        .expectNext(Optional.empty())
+                        .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("return the summary of games saved before the service was created")
+        void summariseExisting() {
+            gameStateRepository.save(gameState1);
+            final var service = new GameStateService(engine, gameStateRepository, GameStateService.Settings.DEFAULT);
+
+            StepVerifier.create(service.getGameStateSummary(gameState1.id()))
+                        .expectNext(Optional.of(GameStateSummary.of(gameState1)))
+                        .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("scan the games saved before the service was created once")
+        void scanExistingOnce() {
+            final var repository = spy(new InMemoryCrudRepository<String, GameState>(GameState::id));
+            repository.saveAll(List.of(gameState1, gameState2));
+
+            final var service = new GameStateService(engine, repository, GameStateService.Settings.DEFAULT);
+
+            verify(repository, times(1)).getAll();
+            StepVerifier.create(service.getGameStateSummary(gameState2.id()))
+                        .expectNext(Optional.of(GameStateSummary.of(gameState2)))
+                        .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("keep the summary up to date as games are created, updated and deleted")
+        void keepUpToDate() {
+            when(engine.init(anyString(), anyString(), any(), any(), nullable(String.class)))
+                    .thenReturn(Try.success(gameState1));
+            final var updated = gameStateBuilder(gameState1)
+                    .with(gsb -> gsb.words = new Words(0, 1, 1))
+                    .build();
+            when(engine.execute(any(), any())).thenReturn(Try.success(updated));
+
+            StepVerifier.create(testee.createGameState(gameState1.id(), new GameStateService.CreateStateRequest(
+                                randomString(), List.of(randomString()), List.of(randomString()))))
+                        .assertNext(GameStateServiceTest::anyNext)
+                        .verifyComplete();
+            StepVerifier.create(testee.getGameStateSummary(gameState1.id()))
+                        .expectNext(Optional.of(GameStateSummary.of(gameState1)))
+                        .verifyComplete();
+
+            StepVerifier.create(testee.executeAction(gameState1.id(), new GameStateService.ActionRequest(
+                                randomString(), TurnAction.PROCEED, null)))
+                        .assertNext(GameStateServiceTest::anyNext)
+                        .verifyComplete();
+            StepVerifier.create(testee.getAllGameStateSummaries())
+                        .expectNext(GameStateSummary.of(updated))
+                        .verifyComplete();
+
+            StepVerifier.create(testee.deleteGameState(gameState1.id()))
+                        .assertNext(GameStateServiceTest::anyNext)
+                        .verifyComplete();
+            StepVerifier.create(testee.getAllGameStateSummaries())
+                        .verifyComplete();
+        }
+    }
+
+    @Nested
+    @DisplayName("on game state summaries by status and player should")
+    class IndexedSummaryTest {
+
+        private final GameState inProgress = gameStateBuilder(gameState1)
+                .with(gsb -> gsb.status = GameStatus.IN_PROGRESS)
+                .build();
+        private final GameState cancelled = gameStateBuilder(gameState2)
+                .with(gsb -> gsb.status = GameStatus.CANCELLED)
+                .build();
+
+        @Test
+        @DisplayName("return the summaries of the games with the status")
+        void summariesByStatus() {
+            gameStateRepository.saveAll(List.of(inProgress, cancelled));
+            final var service = new GameStateService(engine, gameStateRepository, GameStateService.Settings.DEFAULT);
+
+            StepVerifier.create(service.getGameStateSummariesByStatus(GameStatus.IN_PROGRESS))
+                        .expectNext(GameStateSummary.of(inProgress))
+                        .verifyComplete();
+            StepVerifier.create(service.getGameStateSummariesByStatus(GameStatus.CONCLUDED))
+                        .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("return the summaries of the games the player is in")
+        void summariesByPlayer() {
+            gameStateRepository.saveAll(List.of(inProgress, cancelled));
+            final var service = new GameStateService(engine, gameStateRepository, GameStateService.Settings.DEFAULT);
+
+            StepVerifier.create(service.getGameStateSummariesByPlayer(inProgress.players().get(0).id()))
+                        .expectNext(GameStateSummary.of(inProgress))
+                        .verifyComplete();
+            StepVerifier.create(service.getGameStateSummariesByPlayer(randomString()))
+                        .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("return the summaries of the games by their latest status and players")
+        void keepUpToDate() {
+            gameStateRepository.save(inProgress);
+            final var service = new GameStateService(engine, gameStateRepository, GameStateService.Settings.DEFAULT);
+            final var concluded = gameStateBuilder(inProgress)
+                    .with(gsb -> {
+                        gsb.status = GameStatus.CONCLUDED;
+                        gsb.players = List.of(inProgress.players().get(1));
+                    })
+                    .build();
+            when(engine.execute(any(), any())).thenReturn(Try.success(concluded));
+
+            StepVerifier.create(service.executeAction(inProgress.id(), new GameStateService.ActionRequest(
+                                randomString(), TurnAction.PROCEED, null)))
+                        .assertNext(GameStateServiceTest::anyNext)
+                        .verifyComplete();
+
+            StepVerifier.create(service.getGameStateSummariesByStatus(GameStatus.IN_PROGRESS))
+                        .verifyComplete();
+            StepVerifier.create(service.getGameStateSummariesByStatus(GameStatus.CONCLUDED))
+                        .expectNext(GameStateSummary.of(concluded))
+                        .verifyComplete();
+            StepVerifier.create(service.getGameStateSummariesByPlayer(inProgress.players().get(0).id()))
+                        .verifyComplete();
+            StepVerifier.create(service.getGameStateSummariesByPlayer(inProgress.players().get(1).id()))
+                        .expectNext(GameStateSummary.of(concluded))
+                        .verifyComplete();
+
+            StepVerifier.create(service.deleteGameState(inProgress.id()))
+                        .assertNext(GameStateServiceTest::anyNext)
+                        .verifyComplete();
+            StepVerifier.create(service.getGameStateSummariesByStatus(GameStatus.CONCLUDED))
+                        .verifyComplete();
+        }
+    }
+
+    @Nested
+    @DisplayName("on turn deadlines should")
+    class TurnDeadlinesTest {
+
+        private final Duration deadline = Duration.ofMillis(50);
+        private final GameStateService.Settings withDeadlines = GameStateService.Settings.DEFAULT
+                .withTurnDeadlines(new TurnDeadlines(deadline, deadline, deadline));
+
+        private GameState inSelection(GameState gameState, GameStatus status) {
+            final var selection = turnBuilder(randomTurn())
+                    .with(tb -> tb.phase = TurnPhase.SELECTION)
+                    .build();
+            return gameStateBuilder(gameState)
+                    .with(gsb -> {
+                        gsb.status = status;
+                        gsb.currentTurn = 0;
+                        gsb.turns = List.of(selection);
+                    })
+                    .build();
+        }
+
+        @Test
+        @DisplayName("arm the deadlines of the games in progress when the service is created")
+        void armGamesInProgressOnStart() {
+            final var inProgress = inSelection(gameState1, GameStatus.IN_PROGRESS);
+            final var concluded = inSelection(gameState2, GameStatus.CONCLUDED);
+            gameStateRepository.saveAll(List.of(inProgress, concluded));
+            when(engine.execute(any(), any())).thenReturn(Try.failure(new RuntimeException(randomString())));
+
+            new GameStateService(engine, gameStateRepository, withDeadlines);
+
+            verify(engine, timeout(5000)).execute(eq(inProgress), argThat(action -> action != null
+                    && Engine.ROOT.equals(action.playerId()) && action.playerAction() == TurnAction.PROCEED));
+            verify(engine, never()).execute(eq(concluded), any());
+        }
+
+        @Test
+        @DisplayName("arm the deadline of a game when it is created")
+        void armOnCreation() {
+            final var created = inSelection(gameState1, GameStatus.IN_PROGRESS);
+            when(engine.init(anyString(), anyString(), any(), any(), nullable(String.class)))
+                    .thenReturn(Try.success(created));
+            when(engine.execute(any(), any())).thenReturn(Try.failure(new RuntimeException(randomString())));
+            final var service = new GameStateService(engine, gameStateRepository, withDeadlines);
+
+            StepVerifier.create(service.createGameState(created.id(), new GameStateService.CreateStateRequest(
+                                randomString(), List.of(randomString()), List.of(randomString()))))
+                        .expectNext(created)
+                        .verifyComplete();
+
+            verify(engine, timeout(5000)).execute(eq(created), argThat(action -> action != null
+                    && Engine.ROOT.equals(action.playerId())));
+        }
+    }
+
     @Nested
     @DisplayName("on deleteGameState should")
     class DeleteTest {
@@ -344,4 +682,4 @@ class GameStateServiceTest {
                         .verifyComplete();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,134 @@
+package com.github.fburato.justone.services;
+
+import com.github.fburato.justone.internals.CrudRepository;
+import com.github.fburato.justone.io.InMemoryCrudRepository;
+import com.github.fburato.justone.model.GameState;
+import com.github.fburato.justone.model.GameStateSummary;
+import com.github.fburato.justone.model.GameStatus;
+import com.github.fburato.justone.model.PlayerWord;
+import com.github.fburato.justone.model.TurnPhase;
+import com.github.fburato.justone.model.Words;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+import static com.github.fburato.justone.RandomUtils.randomGameState;
+import static com.github.fburato.justone.RandomUtils.randomString;
+import static com.github.fburato.justone.model.Builders.gameStateBuilder;
+import static com.github.fburato.justone.model.Builders.turnBuilder;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+class GameStateSummariesTest {
+
+    private final CrudRepository<String, GameState> gameStateRepository =
+            spy(new InMemoryCrudRepository<String, GameState>(GameState::id));
+    private final GameState gameState = randomGameState();
+
+    @Test
+    @DisplayName("should summarise the games already in the repository")
+    void summariseExisting() {
+        gameStateRepository.save(gameState);
+
+        final var testee = new GameStateSummaries(gameStateRepository);
+
+        assertThat(testee.findSummaryById(gameState.id())).contains(GameStateSummary.of(gameState));
+        assertThat(testee.getAllSummaries()).containsExactly(GameStateSummary.of(gameState));
+    }
+
+    @Test
+    @DisplayName("should take the summaries of the existing games from a scan without scanning again")
+    void summariseFromScan() {
+        final var scan = new GameStateSummaries.Scan(UnaryOperator.identity());
+        scan.accept(gameState);
+
+        final var testee = new GameStateSummaries(gameStateRepository, scan);
+
+        verify(gameStateRepository, never()).getAll();
+        assertThat(testee.getAllSummaries()).containsExactly(GameStateSummary.of(gameState));
+    }
+
+    @Test
+    @DisplayName("should save the game in the repository and replace its summary")
+    void summariseOnSave() {
+        final var testee = new GameStateSummaries(gameStateRepository);
+        final var updated = gameStateBuilder(gameState)
+                .with(gsb -> {
+                    gsb.status = GameStatus.CONCLUDED;
+                    gsb.currentTurn = gameState.currentTurn() + 1;
+                    gsb.words = new Words(0, 2, 0);
+                })
+                .build();
+
+        testee.save(gameState);
+        testee.save(updated);
+
+        verify(gameStateRepository).save(updated);
+        assertThat(gameStateRepository.findById(gameState.id())).contains(updated);
+        assertThat(testee.getAllSummaries()).containsExactly(GameStateSummary.of(updated));
+    }
+
+    @Test
+    @DisplayName("should summarise every game saved together")
+    void summariseOnSaveAll() {
+        final var testee = new GameStateSummaries(gameStateRepository);
+        final var other = randomGameState();
+
+        testee.saveAll(List.of(gameState, other));
+
+        assertThat(testee.getAllSummaries())
+                .containsExactlyInAnyOrder(GameStateSummary.of(gameState), GameStateSummary.of(other));
+        assertThat(gameStateRepository.getAll()).containsExactlyInAnyOrder(gameState, other);
+    }
+
+    @Test
+    @DisplayName("should remove the summary of deleted games")
+    void removeOnDelete() {
+        final var testee = new GameStateSummaries(gameStateRepository);
+        testee.save(gameState);
+
+        assertThat(testee.delete(gameState.id())).isTrue();
+
+        assertThat(testee.findSummaryById(gameState.id())).isEmpty();
+        assertThat(gameStateRepository.findById(gameState.id())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should summarise games without the totals of their words with the derived totals")
+    void summariseDerivedTotals() {
+        final var concluded = turnBuilder().with(tb -> {
+            tb.phase = TurnPhase.CONCLUSION;
+            tb.wordGuessed = Optional.of(new PlayerWord(randomString(), randomString()));
+        }).build();
+        final var withoutTotals = gameStateBuilder(gameState)
+                .with(gsb -> {
+                    gsb.turns = List.of(concluded);
+                    gsb.words = null;
+                })
+                .build();
+        final var derived = new Words(1, 0, 1);
+        final var testee = new GameStateSummaries(gameStateRepository,
+                                                  gs -> gameStateBuilder(gs).with(gsb -> gsb.words = derived)
+                                                                            .build());
+
+        testee.save(withoutTotals);
+
+        assertThat(testee.findSummaryById(gameState.id()))
+                .hasValueSatisfying(summary -> assertThat(summary.words()).isEqualTo(derived));
+        assertThat(gameStateRepository.findById(gameState.id())).contains(withoutTotals);
+    }
+
+    @Test
+    @DisplayName("should summarise games from the players and the totals of the words only")
+    void summaryOf() {
+        assertThat(GameStateSummary.of(gameState)).isEqualTo(new GameStateSummary(gameState.id(),
+                                                                                  gameState.status(),
+                                                                                  gameState.players(),
+                                                                                  gameState.words()));
+    }
+}
@@ -0,0 +1,118 @@
+package com.github.fburato.justone.services;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimingWheelTest {
+
+    private static final Duration TICK = Duration.ofMillis(10);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final TimingWheel testee = new TimingWheel(TICK, 8, Thread::new, clock::get);
+    private final List<String> expired = new ArrayList<>();
+
+    private void advance(Duration duration) {
+        testee.advanceTo(clock.addAndGet(duration.toNanos()));
+    }
+
+    @Test
+    @DisplayName("should expire timeouts after their delay")
+    void expireAfterDelay() {
+        final var timeout = testee.scheduleWithoutStarting(() -> expired.add("a"), Duration.ofMillis(35));
+
+        advance(Duration.ofMillis(30));
+        assertThat(expired).isEmpty();
+        assertThat(timeout.isExpired()).isFalse();
+
+        advance(Duration.ofMillis(10));
+        assertThat(expired).containsExactly("a");
+        assertThat(timeout.isExpired()).isTrue();
+    }
+
+    @Test
+    @DisplayName("should expire timeouts longer than a rotation of the wheel in the right rotation")
+    void expireAfterRotations() {
+        testee.scheduleWithoutStarting(() -> expired.add("a"), Duration.ofMillis(250));
+        testee.scheduleWithoutStarting(() -> expired.add("b"), Duration.ofMillis(20));
+
+        advance(Duration.ofMillis(100));
+        assertThat(expired).containsExactly("b");
+
+        advance(Duration.ofMillis(140));
+        assertThat(expired).containsExactly("b");
+
+        advance(Duration.ofMillis(10));
+        assertThat(expired).containsExactly("b", "a");
+    }
+
+    @Test
+    @DisplayName("should not expire cancelled timeouts")
+    void cancel() {
+        final var timeout1 = testee.scheduleWithoutStarting(() -> expired.add("a"), Duration.ofMillis(20));
+        final var timeout2 = testee.scheduleWithoutStarting(() -> expired.add("b"), Duration.ofMillis(20));
+        final var timeout3 = testee.scheduleWithoutStarting(() -> expired.add("c"), Duration.ofMillis(20));
+
+        advance(Duration.ofMillis(10));
+        assertThat(timeout2.cancel()).isTrue();
+        assertThat(timeout2.cancel()).isFalse();
+        advance(Duration.ofMillis(20));
+
+        assertThat(expired).containsExactly("a", "c");
+        assertThat(timeout1.cancel()).isFalse();
+        assertThat(timeout3.isExpired()).isTrue();
+    }
+
+    @Test
+    @DisplayName("should not expire timeouts cancelled before being added to the wheel")
+    void cancelBeforeAdding() {
+        testee.scheduleWithoutStarting(() -> expired.add("a"), Duration.ofMillis(20)).cancel();
+
+        advance(Duration.ofMillis(50));
+
+        assertThat(expired).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should keep expiring timeouts when a task fails")
+    void failingTask() {
+        testee.scheduleWithoutStarting(() -> {
+            throw new IllegalStateException("failed");
+        }, Duration.ofMillis(10));
+        testee.scheduleWithoutStarting(() -> expired.add("a"), Duration.ofMillis(10));
+
+        advance(Duration.ofMillis(20));
+
+        assertThat(expired).containsExactly("a");
+    }
+
+    @Test
+    @DisplayName("should run the timeouts on the worker thread")
+    void worker() throws InterruptedException {
+        final var latch = new CountDownLatch(2);
+        try (final var wheel = new TimingWheel(Duration.ofMillis(1), 16, Thread::new)) {
+            wheel.schedule(latch::countDown, Duration.ofMillis(5));
+            wheel.schedule(latch::countDown, Duration.ofMillis(50));
+
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("should fail on invalid configuration")
+    void invalidConfiguration() {
+        assertThatThrownBy(() -> new TimingWheel(Duration.ZERO, 8, Thread::new))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TimingWheel(TICK, 0, Thread::new))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
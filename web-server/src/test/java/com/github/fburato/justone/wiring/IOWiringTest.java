@@ -0,0 +1,31 @@
+package com.github.fburato.justone.wiring;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IOWiringTest {
+
+    @Test
+    @DisplayName("should convert the segment size to bytes")
+    void segmentSizeInBytes() {
+        assertThat(IOWiring.segmentSize(64)).isEqualTo(64 * 1024 * 1024);
+        assertThat(IOWiring.segmentSize(IOWiring.MAX_SEGMENT_SIZE_MB))
+                .isEqualTo(2047 * 1024 * 1024)
+                .isPositive();
+    }
+
+    @Test
+    @DisplayName("should reject segment sizes that do not fit a mapped segment")
+    void rejectSegmentSizeOutOfRange() {
+        assertThatThrownBy(() -> IOWiring.segmentSize(2048))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("justone.storage.segment-size-mb=2048");
+        assertThatThrownBy(() -> IOWiring.segmentSize(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> IOWiring.segmentSize(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}